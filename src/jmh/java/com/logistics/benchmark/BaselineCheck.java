@@ -0,0 +1,237 @@
+package com.logistics.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares a JMH JSON result with the recorded baseline.
+ *
+ * Usage: BaselineCheck &lt;result.json&gt; &lt;baseline.json&gt; &lt;tolerance&gt; &lt;updateBaseline&gt;
+ *
+ * A benchmark regressed when its score is worse than the baseline by more
+ * than the tolerance (0.20 = 20%): higher for time-per-operation modes,
+ * lower for throughput. Once a baseline has scores, a benchmark that ran but
+ * has none of its own fails too, so nothing passes unchecked. Baseline
+ * entries that did not run (e.g. with -Djmh.include) are only reported.
+ *
+ * Scores only compare runs on the same machine and JDK, so none are
+ * committed. When the baseline file is missing or empty, the run records
+ * itself as the baseline (record mode) and passes; commit the file from the
+ * machine that runs the check. With updateBaseline=true the scores of this
+ * run are merged into the baseline file, replacing those of the same
+ * benchmarks. Recorded scores keep the JMH version, JDK and CPU they ran on,
+ * and a check on a different JDK or CPU says so.
+ *
+ * Exits with status 1 on a failed check so that {@code mvn -Pbenchmark verify}
+ * fails.
+ */
+public final class BaselineCheck {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private BaselineCheck() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 4) {
+            System.err.println("Usage: BaselineCheck <result.json> <baseline.json> <tolerance> <updateBaseline>");
+            System.exit(2);
+        }
+        Path resultFile = Path.of(args[0]);
+        Path baselineFile = Path.of(args[1]);
+        double tolerance = Double.parseDouble(args[2]);
+        boolean updateBaseline = Boolean.parseBoolean(args[3]);
+
+        Map<String, Score> results = read(resultFile);
+        String cpu = cpuModel();
+        results.values().forEach(score -> score.cpu = cpu);
+        Map<String, Score> baseline = Files.exists(baselineFile) ? read(baselineFile) : new LinkedHashMap<>();
+        if (baseline.isEmpty() || updateBaseline) {
+            if (baseline.isEmpty()) {
+                System.out.printf("No baseline scores in %s, recording this run as the baseline. "
+                        + "Commit it so that later runs are checked against it.%n", baselineFile);
+            }
+            baseline.putAll(results);
+            write(baselineFile, baseline);
+            System.out.printf("Recorded %d benchmark scores in the baseline %s%n", results.size(), baselineFile);
+            return;
+        }
+
+        List<String> regressions = compare(baseline, results, tolerance);
+        if (!regressions.isEmpty()) {
+            System.err.printf("%d benchmark(s) regressed by more than %.0f%% or have no baseline score "
+                    + "(record with -Djmh.updateBaseline=true):%n", regressions.size(), tolerance * 100);
+            regressions.forEach(regression -> System.err.println("  " + regression));
+            System.exit(1);
+        }
+        System.out.printf("No benchmark regressed by more than %.0f%% against %s%n", tolerance * 100, baselineFile);
+    }
+
+    static List<String> compare(Map<String, Score> baseline, Map<String, Score> results, double tolerance) {
+        List<String> regressions = new ArrayList<>();
+        for (Map.Entry<String, Score> entry : results.entrySet()) {
+            Score expected = baseline.get(entry.getKey());
+            Score actual = entry.getValue();
+            if (expected == null) {
+                regressions.add(entry.getKey() + ": no baseline score");
+                continue;
+            }
+            if (!expected.sameEnvironment(actual)) {
+                System.out.printf("Note: %s was recorded on %s, this run is on %s%n",
+                        entry.getKey(), expected.environment(), actual.environment());
+            }
+            if (!expected.mode.equals(actual.mode) || !expected.unit.equals(actual.unit)) {
+                System.out.printf("Skipping %s: baseline is %s in %s, result is %s in %s%n", entry.getKey(),
+                        expected.mode, expected.unit, actual.mode, actual.unit);
+                continue;
+            }
+
+            double change = (actual.score - expected.score) / expected.score;
+            // Throughput regresses downwards, every other mode upwards
+            boolean regressed = "thrpt".equals(actual.mode) ? change < -tolerance : change > tolerance;
+            String line = String.format("%s: %.3f -> %.3f %s (%+.1f%%)",
+                    entry.getKey(), expected.score, actual.score, actual.unit, change * 100);
+            if (regressed) {
+                regressions.add(line);
+            } else {
+                System.out.println(line);
+            }
+        }
+        for (String key : baseline.keySet()) {
+            if (!results.containsKey(key)) {
+                System.out.println("Not run: " + key);
+            }
+        }
+        return regressions;
+    }
+
+    /**
+     * Reads a JMH JSON result (or a baseline, which has the same format)
+     * into scores keyed by benchmark name and parameters.
+     */
+    static Map<String, Score> read(Path file) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode run : OBJECT_MAPPER.readTree(file.toFile())) {
+            JsonNode metric = run.path("primaryMetric");
+            Score score = new Score(run.path("mode").asText(),
+                    metric.path("score").asDouble(), metric.path("scoreUnit").asText());
+            score.jmhVersion = run.path("jmhVersion").asText("");
+            score.jdkVersion = run.path("jdkVersion").asText("");
+            score.vmName = run.path("vmName").asText("");
+            score.cpu = run.path("cpu").asText("");
+            scores.put(key(run), score);
+        }
+        return scores;
+    }
+
+    private static void write(Path file, Map<String, Score> scores) throws IOException {
+        ArrayNode runs = OBJECT_MAPPER.createArrayNode();
+        for (Map.Entry<String, Score> entry : scores.entrySet()) {
+            String[] keyParts = entry.getKey().split(" ", 2);
+            Score score = entry.getValue();
+            ObjectNode run = runs.addObject();
+            run.put("jmhVersion", score.jmhVersion);
+            run.put("benchmark", keyParts[0]);
+            run.put("mode", score.mode);
+            run.put("jdkVersion", score.jdkVersion);
+            run.put("vmName", score.vmName);
+            run.put("cpu", score.cpu);
+            if (keyParts.length > 1) {
+                ObjectNode params = run.putObject("params");
+                for (String param : keyParts[1].substring(1, keyParts[1].length() - 1).split(",")) {
+                    String[] nameValue = param.split("=", 2);
+                    params.put(nameValue[0], nameValue[1]);
+                }
+            }
+            ObjectNode metric = run.putObject("primaryMetric");
+            metric.put("score", score.score);
+            metric.put("scoreUnit", score.unit);
+        }
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        OBJECT_MAPPER.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), runs);
+    }
+
+    /**
+     * The CPU model from /proc/cpuinfo, or the architecture and core count
+     * where that is not available.
+     */
+    private static String cpuModel() {
+        String fallback = System.getProperty("os.arch") + ", "
+                + Runtime.getRuntime().availableProcessors() + " cores";
+        Path cpuInfo = Path.of("/proc/cpuinfo");
+        if (!Files.isReadable(cpuInfo)) {
+            return fallback;
+        }
+        try {
+            for (String line : Files.readAllLines(cpuInfo)) {
+                if (line.startsWith("model name")) {
+                    return line.substring(line.indexOf(':') + 1).trim() + ", "
+                            + Runtime.getRuntime().availableProcessors() + " cores";
+                }
+            }
+        } catch (IOException e) {
+            // Fall through to the architecture
+        }
+        return fallback;
+    }
+
+    /**
+     * "com.logistics.benchmark.PricingBenchmark.calculatePrice {pricing=RULES}"
+     */
+    private static String key(JsonNode run) {
+        StringBuilder key = new StringBuilder(run.path("benchmark").asText());
+        JsonNode params = run.path("params");
+        if (params.isObject() && params.size() > 0) {
+            key.append(" {");
+            Iterator<Map.Entry<String, JsonNode>> fields = params.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> param = fields.next();
+                key.append(param.getKey()).append('=').append(param.getValue().asText());
+                if (fields.hasNext()) {
+                    key.append(',');
+                }
+            }
+            key.append('}');
+        }
+        return key.toString();
+    }
+
+    static final class Score {
+        private final String mode;
+        private final double score;
+        private final String unit;
+        private String jmhVersion = "";
+        private String jdkVersion = "";
+        private String vmName = "";
+        private String cpu = "";
+
+        Score(String mode, double score, String unit) {
+            this.mode = mode;
+            this.score = score;
+            this.unit = unit;
+        }
+
+        /**
+         * Baselines recorded before the environment was kept match any run.
+         */
+        private boolean sameEnvironment(Score other) {
+            return (jdkVersion.isEmpty() || jdkVersion.equals(other.jdkVersion))
+                    && (cpu.isEmpty() || cpu.equals(other.cpu));
+        }
+
+        private String environment() {
+            return "JMH " + jmhVersion + ", " + vmName + " " + jdkVersion + ", " + cpu;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.logistics.benchmark;
+
+import com.logistics.model.entity.Company;
+import com.logistics.model.entity.Customer;
+import com.logistics.model.entity.Employee;
+import com.logistics.model.entity.Office;
+import com.logistics.model.entity.Shipment;
+import com.logistics.model.entity.User;
+import com.logistics.model.enums.EmployeeType;
+import com.logistics.model.enums.Role;
+import com.logistics.model.enums.ShipmentStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Fixtures shared by the benchmarks: fully populated entities, the way they
+ * come back from the GRAPH_RESPONSE fetch plan.
+ */
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Builds a shipment with sender, recipient, employee and both offices set.
+     * Every third shipment is an address delivery.
+     */
+    static Shipment shipment(long id) {
+        Company company = new Company();
+        company.setId(1L);
+        company.setName("Benchmark Logistics");
+        company.setRegistrationNumber("BENCH001");
+        company.setAddress("1 Benchmark Blvd");
+
+        Office origin = office(1L, company, "Varna Central", "Varna");
+        Office destination = office(2L, company, "Sofia North", "Sofia");
+
+        Employee employee = new Employee();
+        employee.setId(1L);
+        employee.setUser(user(3L, "employee", Role.EMPLOYEE));
+        employee.setCompany(company);
+        employee.setOffice(origin);
+        employee.setEmployeeType(EmployeeType.OFFICE_STAFF);
+        employee.setHireDate(LocalDate.of(2024, 1, 15));
+        employee.setSalary(new BigDecimal("50000.00"));
+
+        Customer sender = new Customer(user(1L, "sender" + id, Role.CUSTOMER));
+        sender.setId(1L);
+        sender.setPhone("1234567890");
+        sender.setAddress("123 Sender St");
+
+        Customer recipient = new Customer(user(2L, "recipient" + id, Role.CUSTOMER));
+        recipient.setId(2L);
+        recipient.setPhone("0987654321");
+        recipient.setAddress("456 Recipient Ave");
+
+        Shipment shipment = new Shipment();
+        shipment.setId(id);
+        shipment.setSender(sender);
+        shipment.setRecipient(recipient);
+        shipment.setRegisteredBy(employee);
+        shipment.setOriginOffice(origin);
+        if (id % 3 == 0) {
+            shipment.setDeliveryAddress("789 Delivery Rd, Apt " + id);
+        } else {
+            shipment.setDeliveryOffice(destination);
+        }
+        shipment.setWeight(BigDecimal.valueOf(100 + id % 5_000, 2));
+        shipment.setPrice(new BigDecimal("25.00"));
+        shipment.setStatus(ShipmentStatus.IN_TRANSIT);
+        shipment.setRegisteredAt(LocalDateTime.of(2026, 3, 1, 9, 30).plusMinutes(id));
+        shipment.setUpdatedAt(LocalDateTime.of(2026, 3, 2, 14, 0));
+        return shipment;
+    }
+
+    private static Office office(Long id, Company company, String name, String city) {
+        Office office = new Office();
+        office.setId(id);
+        office.setCompany(company);
+        office.setName(name);
+        office.setAddress("100 Office St");
+        office.setCity(city);
+        office.setCountry("Bulgaria");
+        office.setPhone("0888123456");
+        return office;
+    }
+
+    private static User user(Long id, String username, Role role) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setRole(role);
+        return user;
+    }
+}
@@ -0,0 +1,48 @@
+package com.logistics.benchmark;
+
+import com.logistics.dto.shipment.ShipmentResponse;
+import com.logistics.model.entity.Shipment;
+import com.logistics.util.EntityMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EntityMapper.toShipmentResponse on a shipment with every association loaded.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EntityMapperBenchmark {
+
+    private Shipment officeDelivery;
+    private Shipment addressDelivery;
+
+    @Setup
+    public void setUp() {
+        officeDelivery = BenchmarkData.shipment(1L);
+        addressDelivery = BenchmarkData.shipment(3L);
+    }
+
+    @Benchmark
+    public ShipmentResponse toShipmentResponse_OfficeDelivery() {
+        return EntityMapper.toShipmentResponse(officeDelivery);
+    }
+
+    @Benchmark
+    public ShipmentResponse toShipmentResponse_AddressDelivery() {
+        return EntityMapper.toShipmentResponse(addressDelivery);
+    }
+}
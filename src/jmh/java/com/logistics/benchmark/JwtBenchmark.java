@@ -0,0 +1,65 @@
+package com.logistics.benchmark;
+
+import com.logistics.model.enums.Role;
+import com.logistics.security.AuthenticatedUser;
+import com.logistics.security.JwtTokenProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtTokenProvider.generateToken and validateToken.
+ *
+ * validateToken_Cached repeats one token, as a client does between logins,
+ * and hits the verified-token cache. validateToken_Uncached runs with the
+ * cache disabled, so every call verifies the HMAC signature and parses claims.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private static final String SECRET = "BenchmarkSecretKeyForJWTTokenGenerationMustBeAtLeast256BitsLong";
+    private static final long EXPIRATION_MS = 3_600_000L;
+
+    private JwtTokenProvider cachingProvider;
+    private JwtTokenProvider uncachedProvider;
+    private AuthenticatedUser user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cachingProvider = new JwtTokenProvider(SECRET, EXPIRATION_MS);
+        uncachedProvider = new JwtTokenProvider(SECRET, EXPIRATION_MS, 0);
+        user = new AuthenticatedUser("employee", Role.EMPLOYEE, 3L, null, 1L);
+        token = cachingProvider.generateToken(user);
+        cachingProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cachingProvider.generateToken(user);
+    }
+
+    @Benchmark
+    public boolean validateToken_Cached() {
+        return cachingProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public boolean validateToken_Uncached() {
+        return uncachedProvider.validateToken(token);
+    }
+}
@@ -0,0 +1,132 @@
+package com.logistics.benchmark;
+
+import com.logistics.model.entity.PricingConfig;
+import com.logistics.model.entity.PricingRuleSet;
+import com.logistics.model.entity.PricingWeightBracket;
+import com.logistics.model.entity.PricingZone;
+import com.logistics.model.entity.PricingZoneSurcharge;
+import com.logistics.repository.OfficeRepository;
+import com.logistics.repository.PricingConfigRepository;
+import com.logistics.repository.PricingRuleSetRepository;
+import com.logistics.service.PricingHistoryService;
+import com.logistics.service.impl.PricingServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * PricingServiceImpl.calculatePrice and quotePrices with stubbed repositories.
+ *
+ * The repositories are only read when the snapshot and rule table load,
+ * which happens in setup, so the measurement covers in-memory pricing only.
+ * CONFIG prices with the PricingConfig formula, RULES with a compiled rule set.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PricingBenchmark {
+
+    private static final int BATCH_SIZE = 1_000;
+
+    @Param({"CONFIG", "RULES"})
+    public String pricing;
+
+    private PricingServiceImpl pricingService;
+
+    private final BigDecimal weight = new BigDecimal("12.35");
+    private BigDecimal[] weights;
+    private boolean[] officeDeliveries;
+    private long[] originOfficeIds;
+    private long[] deliveryOfficeIds;
+
+    @Setup
+    public void setUp() {
+        PricingConfigRepository configRepository = mock(PricingConfigRepository.class);
+        when(configRepository.findByActiveTrue()).thenReturn(Optional.of(new PricingConfig(
+                new BigDecimal("5.00"), new BigDecimal("2.00"), new BigDecimal("10.00"))));
+
+        PricingRuleSetRepository ruleSetRepository = mock(PricingRuleSetRepository.class);
+        OfficeRepository officeRepository = mock(OfficeRepository.class);
+        if ("RULES".equals(pricing)) {
+            stubRuleSet(ruleSetRepository, officeRepository);
+        } else {
+            when(ruleSetRepository.findByActiveTrue()).thenReturn(Optional.empty());
+        }
+
+        pricingService = new PricingServiceImpl(configRepository, ruleSetRepository, officeRepository,
+                mock(PricingHistoryService.class));
+
+        weights = new BigDecimal[BATCH_SIZE];
+        officeDeliveries = new boolean[BATCH_SIZE];
+        originOfficeIds = new long[BATCH_SIZE];
+        deliveryOfficeIds = new long[BATCH_SIZE];
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            weights[i] = BigDecimal.valueOf(1 + i * 37L % 200_000, 2);
+            officeDeliveries[i] = i % 3 != 0;
+            originOfficeIds[i] = 1 + i % 3;
+            deliveryOfficeIds[i] = 1 + (i + 1) % 3;
+        }
+
+        // Load the snapshot and rule table before measuring
+        pricingService.calculatePrice(weight, true, 1L, 2L);
+    }
+
+    private static void stubRuleSet(PricingRuleSetRepository ruleSetRepository, OfficeRepository officeRepository) {
+        PricingRuleSet ruleSet = new PricingRuleSet("Benchmark", new BigDecimal("4.00"));
+        ruleSet.setId(1L);
+        ruleSet.addBracket(new PricingWeightBracket(
+                new BigDecimal("2.00"), new BigDecimal("3.00"), new BigDecimal("1.50")));
+        ruleSet.addBracket(new PricingWeightBracket(
+                new BigDecimal("30.00"), new BigDecimal("5.00"), new BigDecimal("1.00")));
+        ruleSet.addBracket(new PricingWeightBracket(
+                new BigDecimal("10000.00"), new BigDecimal("20.00"), new BigDecimal("0.50")));
+        ruleSet.addZone(new PricingZone("NORTH", "Bulgaria", "Varna"));
+        ruleSet.addZone(new PricingZone("CAPITAL", "Bulgaria", "Sofia"));
+        ruleSet.addSurcharge(new PricingZoneSurcharge("NORTH", "CAPITAL", new BigDecimal("3.00")));
+        ruleSet.addSurcharge(new PricingZoneSurcharge("CAPITAL", "NORTH", new BigDecimal("3.00")));
+
+        List<Object[]> offices = new ArrayList<>();
+        offices.add(new Object[]{1L, "Varna", "Bulgaria"});
+        offices.add(new Object[]{2L, "Sofia", "Bulgaria"});
+        offices.add(new Object[]{3L, "Plovdiv", "Bulgaria"});
+
+        when(ruleSetRepository.findByActiveTrue()).thenReturn(Optional.of(ruleSet));
+        when(ruleSetRepository.findBrackets(1L)).thenReturn(ruleSet.getBrackets());
+        when(ruleSetRepository.findZones(1L)).thenReturn(ruleSet.getZones());
+        when(ruleSetRepository.findSurcharges(1L)).thenReturn(ruleSet.getSurcharges());
+        when(officeRepository.findLocationColumns()).thenReturn(offices);
+    }
+
+    @Benchmark
+    public BigDecimal calculatePrice() {
+        return pricingService.calculatePrice(weight, false, 1L, 2L);
+    }
+
+    /**
+     * Prices {@value #BATCH_SIZE} parcels per call.
+     */
+    @Benchmark
+    public long[] quotePrices() {
+        return pricingService.quotePrices(weights, officeDeliveries, originOfficeIds, deliveryOfficeIds);
+    }
+}
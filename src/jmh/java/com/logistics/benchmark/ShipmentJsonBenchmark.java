@@ -0,0 +1,59 @@
+package com.logistics.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.logistics.dto.shipment.ShipmentResponse;
+import com.logistics.util.EntityMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of ShipmentResponse lists, the body of the
+ * shipment list endpoints.
+ *
+ * The ObjectMapper comes from Jackson2ObjectMapperBuilder, which applies the
+ * same defaults Spring Boot's auto-configured mapper has (ISO dates, Java
+ * time module).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ShipmentJsonBenchmark {
+
+    @Param({"1", "100", "1000"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private List<ShipmentResponse> shipments;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        shipments = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            shipments.add(EntityMapper.toShipmentResponse(BenchmarkData.shipment(id)));
+        }
+    }
+
+    @Benchmark
+    public byte[] writeShipmentList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(shipments);
+    }
+}
@@ -0,0 +1,449 @@
+package com.logistics.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+
+/**
+ * Bulk-loads companies, offices, employees, customers and shipments over
+ * plain JDBC, for load tests at production-like volume.
+ *
+ * Rows are appended after the existing ones with explicit ids, in batched
+ * INSERTs committed every --batch-size rows. The schema must exist: start
+ * the application once so that Hibernate creates it, stop it, seed, and
+ * start it again, so that the dashboard counts, analytics, latency
+ * histograms and revenue rollup are built from the seeded rows at startup.
+ *
+ * Distributions, all reproducible with --seed:
+ * - senders follow a Zipf distribution over customers (--sender-skew), so a
+ *   few customers send most shipments; recipients are uniform
+ * - weights are log-normal around --median-weight kg
+ * - registration times are uniform over the last --days days; delivered
+ *   shipments arrive a log-normal --median-transit-hours later
+ * - --address-ratio of shipments go to an address, the rest to an office
+ *
+ * Writes a {@link SeedManifest} for LoadDriver to --manifest.
+ */
+public final class DataSeeder {
+
+    private static final String[][] CITIES = {
+            {"Sofia", "Bulgaria"}, {"Plovdiv", "Bulgaria"}, {"Varna", "Bulgaria"}, {"Burgas", "Bulgaria"},
+            {"Ruse", "Bulgaria"}, {"Stara Zagora", "Bulgaria"}, {"Pleven", "Bulgaria"}, {"Bucharest", "Romania"},
+            {"Cluj-Napoca", "Romania"}, {"Athens", "Greece"}, {"Thessaloniki", "Greece"}, {"Belgrade", "Serbia"},
+            {"Skopje", "North Macedonia"}, {"Istanbul", "Turkey"}
+    };
+
+    private static final BigDecimal DEFAULT_BASE_PRICE = new BigDecimal("5.00");
+    private static final BigDecimal DEFAULT_PRICE_PER_KG = new BigDecimal("2.00");
+    private static final BigDecimal DEFAULT_ADDRESS_DELIVERY_FEE = new BigDecimal("10.00");
+
+    private final Connection connection;
+    private final Random random;
+    private final int batchSize;
+
+    private DataSeeder(Connection connection, long seed, int batchSize) {
+        this.connection = connection;
+        this.random = new Random(seed);
+        this.batchSize = batchSize;
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        String url = options.string("url", "jdbc:h2:file:./target/loadtest/logistics_db;MODE=MySQL;AUTO_SERVER=TRUE");
+        String user = options.string("user", "sa");
+        String password = options.string("password", "");
+        int companies = options.intValue("companies", 5);
+        int offices = options.intValue("offices", 200);
+        int employees = options.intValue("employees", 1_000);
+        int customers = options.intValue("customers", 50_000);
+        long shipments = options.longValue("shipments", 1_000_000);
+        int days = options.intValue("days", 365);
+        double senderSkew = options.doubleValue("sender-skew", 1.0);
+        double medianWeight = options.doubleValue("median-weight", 2.5);
+        double medianTransitHours = options.doubleValue("median-transit-hours", 30);
+        double addressRatio = options.doubleValue("address-ratio", 0.3);
+        double deliveredRatio = options.doubleValue("delivered-ratio", 0.8);
+        double cancelledRatio = options.doubleValue("cancelled-ratio", 0.03);
+        String prefix = options.string("prefix", "lt");
+        String userPassword = options.string("user-password", "loadtest");
+        long seed = options.longValue("seed", 42);
+        int batchSize = options.intValue("batch-size", 1_000);
+        String manifestPath = options.string("manifest", "target/loadtest/seed-manifest.json");
+        options.checkAllUsed();
+
+        if (companies < 1 || offices < 1 || employees < 1 || customers < 2 || shipments < 0 || days < 1) {
+            throw new IllegalArgumentException("Need at least 1 company, office, employee and day, and 2 customers");
+        }
+
+        try (Connection connection = DriverManager.getConnection(url, user, password)) {
+            connection.setAutoCommit(false);
+            DataSeeder seeder = new DataSeeder(connection, seed, batchSize);
+            SeedManifest manifest = seeder.seed(companies, offices, employees, customers, shipments, days,
+                    senderSkew, medianWeight, medianTransitHours, addressRatio, deliveredRatio, cancelledRatio,
+                    prefix, userPassword);
+
+            File manifestFile = new File(manifestPath);
+            File directory = manifestFile.getAbsoluteFile().getParentFile();
+            if (!directory.isDirectory() && !directory.mkdirs()) {
+                throw new IllegalStateException("Cannot create " + directory);
+            }
+            ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(manifestFile, manifest);
+            System.out.println("Wrote " + manifestFile);
+        }
+    }
+
+    private SeedManifest seed(int companies, int offices, int employees, int customers, long shipments, int days,
+                              double senderSkew, double medianWeight, double medianTransitHours,
+                              double addressRatio, double deliveredRatio, double cancelledRatio,
+                              String prefix, String userPassword) throws SQLException {
+        checkSchema(prefix);
+
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        LocalDateTime start = now.minusDays(days);
+        long[] pricing = activePricingCents(start);
+
+        long firstCompanyId = maxId("companies") + 1;
+        long firstOfficeId = maxId("offices") + 1;
+        long firstUserId = maxId("users") + 1;
+        long firstEmployeeId = maxId("employees") + 1;
+        long firstCustomerId = maxId("customers") + 1;
+        long firstShipmentId = firstShipmentId();
+
+        // Every account shares one hash; BCrypt is deliberately too slow to run per row
+        String passwordHash = new BCryptPasswordEncoder().encode(userPassword);
+
+        insert("companies", new String[]{"id", "name", "registration_number", "address", "phone", "email",
+                "created_at"}, companies, (statement, i) -> {
+            statement.setLong(1, firstCompanyId + i);
+            statement.setString(2, "Load Test Logistics " + (i + 1));
+            statement.setString(3, prefix + "-" + (firstCompanyId + i));
+            statement.setString(4, (i + 1) + " Industrial Zone, Sofia");
+            statement.setString(5, phone(i));
+            statement.setString(6, "company" + (i + 1) + "@" + prefix + ".loadtest.local");
+            statement.setObject(7, start);
+        });
+
+        // Larger cities get more offices
+        Zipf cityDistribution = new Zipf(CITIES.length, 1.0);
+        int[] officeCity = new int[offices];
+        insert("offices", new String[]{"id", "company_id", "name", "address", "city", "country", "phone",
+                "created_at"}, offices, (statement, i) -> {
+            int city = cityDistribution.sample(random);
+            officeCity[(int) i] = city;
+            statement.setLong(1, firstOfficeId + i);
+            statement.setLong(2, firstCompanyId + i % companies);
+            statement.setString(3, CITIES[city][0] + " Office " + (i + 1));
+            statement.setString(4, (i + 1) + " Main Street");
+            statement.setString(5, CITIES[city][0]);
+            statement.setString(6, CITIES[city][1]);
+            statement.setString(7, phone(i));
+            statement.setObject(8, start);
+        });
+
+        insert("users", new String[]{"id", "username", "email", "password", "role", "created_at"},
+                (long) employees + customers, (statement, i) -> {
+            boolean employee = i < employees;
+            String username = employee
+                    ? prefix + "-employee-" + (i + 1)
+                    : prefix + "-customer-" + (i - employees + 1);
+            statement.setLong(1, firstUserId + i);
+            statement.setString(2, username);
+            statement.setString(3, username + "@loadtest.local");
+            statement.setString(4, passwordHash);
+            statement.setString(5, employee ? "EMPLOYEE" : "CUSTOMER");
+            statement.setObject(6, start);
+        });
+
+        // Employee i works at office i % offices; every fifth one is office staff
+        insert("employees", new String[]{"id", "user_id", "company_id", "employee_type", "office_id", "hire_date",
+                "salary", "created_at"}, employees, (statement, i) -> {
+            long office = i % offices;
+            statement.setLong(1, firstEmployeeId + i);
+            statement.setLong(2, firstUserId + i);
+            statement.setLong(3, firstCompanyId + office % companies);
+            statement.setString(4, i % 5 == 0 ? "OFFICE_STAFF" : "COURIER");
+            statement.setLong(5, firstOfficeId + office);
+            statement.setObject(6, start.toLocalDate().minusDays(random.nextInt(3_650)));
+            statement.setBigDecimal(7, BigDecimal.valueOf(150_000 + random.nextInt(250_000), 2));
+            statement.setObject(8, start);
+        });
+
+        String[] customerAddresses = new String[customers];
+        insert("customers", new String[]{"id", "user_id", "phone", "address", "created_at"}, customers,
+                (statement, i) -> {
+            String[] city = CITIES[officeCity[random.nextInt(offices)]];
+            customerAddresses[(int) i] = (1 + random.nextInt(200)) + " Residential Street, " + city[0];
+            statement.setLong(1, firstCustomerId + i);
+            statement.setLong(2, firstUserId + employees + i);
+            statement.setString(3, phone(i));
+            statement.setString(4, customerAddresses[(int) i]);
+            statement.setObject(5, start);
+        });
+
+        Zipf senderDistribution = new Zipf(customers, senderSkew);
+        long rangeSeconds = ChronoUnit.SECONDS.between(start, now);
+        double weightMu = Math.log(medianWeight);
+        double transitMu = Math.log(medianTransitHours * 3_600);
+        insert("shipments", new String[]{"id", "sender_id", "recipient_id", "registered_by_id", "origin_office_id",
+                "delivery_address", "delivery_office_id", "weight", "price", "status", "registered_at",
+                "delivered_at", "updated_at"}, shipments, (statement, i) -> {
+            int sender = senderDistribution.sample(random);
+            int recipient = random.nextInt(customers - 1);
+            if (recipient >= sender) {
+                recipient++;
+            }
+            int employee = random.nextInt(employees);
+            boolean officeDelivery = random.nextDouble() >= addressRatio;
+
+            // Hundredths of a kg between 0.01 and 1000.00
+            long weight = Math.max(1, Math.min(100_000,
+                    Math.round(Math.exp(weightMu + random.nextGaussian()) * 100)));
+
+            LocalDateTime registeredAt = start.plusSeconds((long) (random.nextDouble() * rangeSeconds));
+            LocalDateTime deliveredAt = null;
+            String status;
+            double outcome = random.nextDouble();
+            if (outcome < deliveredRatio) {
+                LocalDateTime arrival = registeredAt.plusSeconds(
+                        Math.round(Math.exp(transitMu + 0.6 * random.nextGaussian())));
+                // Recent shipments that would arrive in the future are still on their way
+                if (arrival.isAfter(now)) {
+                    status = "IN_TRANSIT";
+                } else {
+                    status = "DELIVERED";
+                    deliveredAt = arrival;
+                }
+            } else if (outcome < deliveredRatio + cancelledRatio) {
+                status = "CANCELLED";
+            } else {
+                status = random.nextBoolean() ? "IN_TRANSIT" : "REGISTERED";
+            }
+
+            statement.setLong(1, firstShipmentId + i);
+            statement.setLong(2, firstCustomerId + sender);
+            statement.setLong(3, firstCustomerId + recipient);
+            statement.setLong(4, firstEmployeeId + employee);
+            statement.setLong(5, firstOfficeId + employee % offices);
+            if (officeDelivery) {
+                statement.setNull(6, Types.VARCHAR);
+                statement.setLong(7, firstOfficeId + random.nextInt(offices));
+            } else {
+                statement.setString(6, customerAddresses[recipient]);
+                statement.setNull(7, Types.BIGINT);
+            }
+            statement.setBigDecimal(8, BigDecimal.valueOf(weight, 2));
+            statement.setBigDecimal(9, BigDecimal.valueOf(priceCents(pricing, weight, officeDelivery), 2));
+            statement.setString(10, status);
+            statement.setObject(11, registeredAt);
+            statement.setObject(12, deliveredAt);
+            statement.setObject(13, deliveredAt != null ? deliveredAt : registeredAt);
+        });
+
+        advanceIdGenerators(firstShipmentId + shipments);
+
+        SeedManifest manifest = new SeedManifest();
+        manifest.setPrefix(prefix);
+        manifest.setPassword(userPassword);
+        manifest.setFirstOfficeId(firstOfficeId);
+        manifest.setOfficeCount(offices);
+        manifest.setFirstEmployeeId(firstEmployeeId);
+        manifest.setEmployeeCount(employees);
+        manifest.setFirstCustomerId(firstCustomerId);
+        manifest.setCustomerCount(customers);
+        manifest.setFirstShipmentId(firstShipmentId);
+        manifest.setShipmentCount(shipments);
+        manifest.setStartDate(start.toLocalDate());
+        manifest.setEndDate(now.toLocalDate());
+        return manifest;
+    }
+
+    private void checkSchema(String prefix) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT COUNT(*) FROM users WHERE username = ? OR username = ?")) {
+            statement.setString(1, prefix + "-employee-1");
+            statement.setString(2, prefix + "-customer-1");
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                if (resultSet.getLong(1) > 0) {
+                    throw new IllegalStateException("Users with prefix '" + prefix
+                            + "' already exist; seed again with another --prefix");
+                }
+            }
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Cannot read the users table. Start the application once "
+                    + "against this database so that Hibernate creates the schema.", ex);
+        }
+    }
+
+    /**
+     * Base price, price per kg and address delivery fee in cents, from the
+     * active pricing config. Without one the defaults are inserted, effective
+     * from the start of the seeded range so that the pricing history covers
+     * every seeded shipment.
+     */
+    private long[] activePricingCents(LocalDateTime start) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT base_price, price_per_kg, address_delivery_fee "
+                     + "FROM pricing_config WHERE active = TRUE")) {
+            if (resultSet.next()) {
+                return new long[]{toCents(resultSet.getBigDecimal(1)), toCents(resultSet.getBigDecimal(2)),
+                        toCents(resultSet.getBigDecimal(3))};
+            }
+        }
+        try (PreparedStatement statement = connection.prepareStatement("INSERT INTO pricing_config "
+                + "(base_price, price_per_kg, address_delivery_fee, active, effective_from, created_at) "
+                + "VALUES (?, ?, ?, TRUE, ?, ?)")) {
+            statement.setBigDecimal(1, DEFAULT_BASE_PRICE);
+            statement.setBigDecimal(2, DEFAULT_PRICE_PER_KG);
+            statement.setBigDecimal(3, DEFAULT_ADDRESS_DELIVERY_FEE);
+            statement.setObject(4, start);
+            statement.setObject(5, start);
+            statement.executeUpdate();
+        }
+        connection.commit();
+        return new long[]{toCents(DEFAULT_BASE_PRICE), toCents(DEFAULT_PRICE_PER_KG),
+                toCents(DEFAULT_ADDRESS_DELIVERY_FEE)};
+    }
+
+    /**
+     * Same formula and rounding as PricingSnapshot.quoteCents.
+     */
+    private static long priceCents(long[] pricing, long weightHundredths, boolean officeDelivery) {
+        long total = pricing[0] * 100 + weightHundredths * pricing[1];
+        if (!officeDelivery) {
+            total += pricing[2] * 100;
+        }
+        return (total + 50) / 100;
+    }
+
+    private static long toCents(BigDecimal value) {
+        return value.movePointRight(2).longValueExact();
+    }
+
+    private long maxId(String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    /**
+     * Starts after every id the shipment generator may already have handed
+     * out, including the unused rest of a running instance's block.
+     */
+    private long firstShipmentId() throws SQLException {
+        long maxId = maxId("shipments");
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(
+                     "SELECT next_val FROM id_sequences WHERE sequence_name = 'shipments'")) {
+            return Math.max(maxId, resultSet.next() ? resultSet.getLong(1) : 0) + 1;
+        }
+    }
+
+    /**
+     * Moves the id generators past the seeded rows. MySQL does that itself
+     * for AUTO_INCREMENT columns; H2 identity columns have to be restarted.
+     * Also empties the revenue rollup, which the application then rebuilds
+     * from all shipments at startup.
+     */
+    private void advanceIdGenerators(long nextShipmentId) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            // next_val is the upper end of the next block of 50 ids (see schema.sql)
+            long nextVal = nextShipmentId - 1 + 50;
+            if (statement.executeUpdate("UPDATE id_sequences SET next_val = " + nextVal
+                    + " WHERE sequence_name = 'shipments'") == 0) {
+                statement.executeUpdate("INSERT INTO id_sequences (sequence_name, next_val) VALUES ('shipments', "
+                        + nextVal + ")");
+            }
+
+            if ("H2".equals(connection.getMetaData().getDatabaseProductName())) {
+                for (String table : Arrays.asList("companies", "offices", "users", "employees", "customers")) {
+                    statement.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH "
+                            + (maxId(table) + 1));
+                }
+            }
+
+            statement.executeUpdate("DELETE FROM daily_revenue");
+        }
+        connection.commit();
+    }
+
+    /**
+     * Inserts rows in JDBC batches, committing after each batch.
+     */
+    private void insert(String table, String[] columns, long rows, RowWriter writer) throws SQLException {
+        String sql = "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES ("
+                + String.join(", ", Collections.nCopies(columns.length, "?")) + ")";
+        long started = System.nanoTime();
+        long reportEvery = Math.max(batchSize, 100_000 / batchSize * batchSize);
+
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (long i = 0; i < rows; i++) {
+                writer.write(statement, i);
+                statement.addBatch();
+                if ((i + 1) % batchSize == 0 || i + 1 == rows) {
+                    statement.executeBatch();
+                    connection.commit();
+                }
+                if ((i + 1) % reportEvery == 0 && i + 1 < rows) {
+                    System.out.printf("%s: %,d / %,d%n", table, i + 1, rows);
+                }
+            }
+        }
+
+        double seconds = Math.max(1, System.nanoTime() - started) / 1e9;
+        System.out.printf("%s: %,d rows in %.1f s (%,.0f rows/s)%n", table, rows, seconds, rows / seconds);
+    }
+
+    private String phone(long i) {
+        return String.format("+3598%08d", (i * 7_919 + random.nextInt(1_000)) % 100_000_000);
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(PreparedStatement statement, long index) throws SQLException;
+    }
+
+    /**
+     * Zipf distribution over ranks 0..n-1: rank k is drawn with probability
+     * proportional to 1 / (k + 1)^exponent. Exponent 0 is uniform.
+     */
+    private static final class Zipf {
+
+        private final double[] cumulative;
+
+        Zipf(int n, double exponent) {
+            cumulative = new double[n];
+            double sum = 0;
+            for (int k = 0; k < n; k++) {
+                sum += 1 / Math.pow(k + 1, exponent);
+                cumulative[k] = sum;
+            }
+            for (int k = 0; k < n; k++) {
+                cumulative[k] /= sum;
+            }
+        }
+
+        int sample(Random random) {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble());
+            return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.logistics.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Compares two LoadDriver reports endpoint by endpoint, e.g. the same
+ * workload against platform and virtual threads:
+ *
+ * --baseline=target/loadtest/platform.json --candidate=target/loadtest/virtual.json
+ *
+ * Prints throughput and p50/p99 latency of both runs with the relative
+ * change, and the error counts. Endpoints missing from one report are shown
+ * with empty columns for it.
+ *
+ * With --record=src/loadtest/results/virtual-threads.md the table is also
+ * written to that file, under the hardware and JDK of this machine and the
+ * settings the runs used (--driver-threads, --tomcat-threads, --pool-size),
+ * so that a run can be committed next to the code it measured. Run the
+ * comparison on the machine that served both runs.
+ */
+public final class LoadComparison {
+
+    private static final String HEADER_COLUMNS = String.format(" %9s %9s %7s", "baseline", "candidate", "change");
+
+    private LoadComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        String baselinePath = options.string("baseline", "target/loadtest/platform.json");
+        String candidatePath = options.string("candidate", "target/loadtest/virtual.json");
+        String recordPath = options.string("record", null);
+        int driverThreads = options.intValue("driver-threads", 400);
+        int tomcatThreads = options.intValue("tomcat-threads", 200);
+        int poolSize = options.intValue("pool-size", 10);
+        options.checkAllUsed();
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        Map<String, JsonNode> baseline = read(objectMapper, new File(baselinePath));
+        Map<String, JsonNode> candidate = read(objectMapper, new File(candidatePath));
+
+        String table = compare(baseline, candidate);
+        System.out.printf("Baseline:  %s%nCandidate: %s%n%n", baselinePath, candidatePath);
+        System.out.println(table);
+
+        if (recordPath != null) {
+            String record = String.format(Locale.ROOT, "# Platform vs virtual threads, %s%n%n"
+                            + "- Hardware: %s, %d MB max heap for this JVM%n"
+                            + "- JDK: %s (%s), %s%n"
+                            + "- Load driver: %d closed-loop threads%n"
+                            + "- Baseline (%s): Tomcat pool of %d platform threads%n"
+                            + "- Candidate (%s): one virtual thread per request%n"
+                            + "- Connection pool: %d, both runs%n%n```%n%s```%n",
+                    LocalDate.now(), cpuModel(), Runtime.getRuntime().maxMemory() >> 20,
+                    System.getProperty("java.version"), System.getProperty("java.vm.name"),
+                    System.getProperty("os.name"), driverThreads, baselinePath, tomcatThreads,
+                    candidatePath, poolSize, table);
+            Path path = Path.of(recordPath);
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            Files.writeString(path, record);
+            System.out.println("Wrote " + recordPath);
+        }
+    }
+
+    private static String cpuModel() {
+        String cores = Runtime.getRuntime().availableProcessors() + " cores";
+        Path cpuInfo = Path.of("/proc/cpuinfo");
+        if (Files.isReadable(cpuInfo)) {
+            try {
+                for (String line : Files.readAllLines(cpuInfo)) {
+                    if (line.startsWith("model name")) {
+                        return line.substring(line.indexOf(':') + 1).trim() + ", " + cores;
+                    }
+                }
+            } catch (IOException e) {
+                // Fall back to the architecture
+            }
+        }
+        return System.getProperty("os.arch") + ", " + cores;
+    }
+
+    private static Map<String, JsonNode> read(ObjectMapper objectMapper, File file) throws IOException {
+        Map<String, JsonNode> endpoints = new LinkedHashMap<>();
+        for (JsonNode endpoint : objectMapper.readTree(file)) {
+            endpoints.put(endpoint.get("endpoint").asText(), endpoint);
+        }
+        return endpoints;
+    }
+
+    static String compare(Map<String, JsonNode> baseline, Map<String, JsonNode> candidate) {
+        StringBuilder table = new StringBuilder(String.format("%-58s %27s %27s %27s %13s%n",
+                "", "Throughput (req/s)", "p50 latency (ms)", "p99 latency (ms)", "Errors"));
+        table.append(String.format("%-58s%s%s%s %13s%n", "Endpoint",
+                HEADER_COLUMNS, HEADER_COLUMNS, HEADER_COLUMNS, "base/cand"));
+        Map<String, JsonNode> endpoints = new LinkedHashMap<>(baseline);
+        candidate.forEach(endpoints::putIfAbsent);
+        for (String endpoint : endpoints.keySet()) {
+            JsonNode before = baseline.get(endpoint);
+            JsonNode after = candidate.get(endpoint);
+            table.append(String.format("%-58s", endpoint))
+                    .append(columns(before, after, "throughput"))
+                    .append(columns(before, after, "p50Ms"))
+                    .append(columns(before, after, "p99Ms"))
+                    .append(String.format(" %6s/%-6s%n", value(before, "errors", "%.0f"),
+                            value(after, "errors", "%.0f")));
+        }
+        return table.toString();
+    }
+
+    private static String columns(JsonNode before, JsonNode after, String field) {
+        return String.format(" %9s %9s %7s", value(before, field, "%.2f"), value(after, field, "%.2f"),
+                change(before, after, field));
+    }
+
+    private static String value(JsonNode endpoint, String field, String format) {
+        return endpoint != null ? String.format(Locale.ROOT, format, endpoint.get(field).asDouble()) : "-";
+    }
+
+    private static String change(JsonNode before, JsonNode after, String field) {
+        if (before == null || after == null || before.get(field).asDouble() == 0) {
+            return "";
+        }
+        double ratio = after.get(field).asDouble() / before.get(field).asDouble() - 1;
+        return String.format(Locale.ROOT, "%+.0f%%", ratio * 100);
+    }
+}
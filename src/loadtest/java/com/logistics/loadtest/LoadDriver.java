@@ -0,0 +1,468 @@
+package com.logistics.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * Replays a weighted mix of requests against a running instance and reports
+ * throughput and latency percentiles per endpoint.
+ *
+ * Logs in a pool of the users DataSeeder created (read from its manifest),
+ * then runs --threads closed-loop workers: each sends a request, waits for
+ * the whole response and sends the next. Requests in the first --warmup
+ * seconds are not counted. Every worker has its own random sequence derived
+ * from --seed, so a run replays the same requests as long as the server
+ * answers at a similar pace.
+ *
+ * --mix sets the relative weight of each operation, e.g.
+ * --mix=shipment-by-id=50,report-dashboard=10 (unlisted operations get 0).
+ */
+public final class LoadDriver {
+
+    private static final String DEFAULT_MIX = "login=5,shipment-by-id=25,shipments-page=10,"
+            + "customer-shipments-page=15,create-shipment=10,report-customer-sent=10,report-dashboard=10,"
+            + "report-revenue=5,report-latency=5,customer-metrics=5";
+
+    private static final int PAGE_SIZE = 50;
+
+    /**
+     * One kind of request of the workload.
+     */
+    enum Operation {
+        LOGIN("POST /api/auth/login"),
+        SHIPMENT_BY_ID("GET /api/shipments/{id}"),
+        SHIPMENTS_PAGE("GET /api/shipments?limit=" + PAGE_SIZE + " (employee)"),
+        CUSTOMER_SHIPMENTS_PAGE("GET /api/shipments?limit=" + PAGE_SIZE + " (customer)"),
+        CREATE_SHIPMENT("POST /api/shipments"),
+        REPORT_CUSTOMER_SENT("GET /api/reports/shipments/customer/{id}/sent"),
+        REPORT_DASHBOARD("GET /api/reports/dashboard"),
+        REPORT_REVENUE("GET /api/reports/revenue"),
+        REPORT_LATENCY("GET /api/reports/latency"),
+        CUSTOMER_METRICS("GET /api/reports/customer-metrics");
+
+        private final String endpoint;
+
+        Operation(String endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        /**
+         * Name used in --mix, e.g. "shipment-by-id".
+         */
+        String optionName() {
+            return name().toLowerCase(Locale.ROOT).replace('_', '-');
+        }
+
+        static Operation ofOptionName(String name) {
+            for (Operation operation : values()) {
+                if (operation.optionName().equals(name)) {
+                    return operation;
+                }
+            }
+            throw new IllegalArgumentException("Unknown operation in --mix: " + name);
+        }
+    }
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+    private final SeedManifest manifest;
+    private final Duration timeout;
+
+    private final List<Session> employees = new ArrayList<>();
+    private final List<Session> customers = new ArrayList<>();
+
+    private LoadDriver(String baseUrl, SeedManifest manifest, ObjectMapper objectMapper, Duration timeout) {
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+        this.objectMapper = objectMapper;
+        this.baseUrl = baseUrl;
+        this.manifest = manifest;
+        this.timeout = timeout;
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        String baseUrl = options.string("base-url", "http://localhost:8080");
+        String manifestPath = options.string("manifest", "target/loadtest/seed-manifest.json");
+        int threads = options.intValue("threads", 16);
+        int warmupSeconds = options.intValue("warmup", 10);
+        int durationSeconds = options.intValue("duration", 60);
+        int employeeSessions = options.intValue("employee-sessions", 10);
+        int customerSessions = options.intValue("customer-sessions", 200);
+        long seed = options.longValue("seed", 42);
+        int timeoutSeconds = options.intValue("timeout", 30);
+        Map<Operation, Integer> mix = parseMix(options.string("mix", DEFAULT_MIX));
+        String reportPath = options.string("report", "target/loadtest/report.json");
+        options.checkAllUsed();
+
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        SeedManifest manifest = objectMapper.readValue(new File(manifestPath), SeedManifest.class);
+        LoadDriver driver = new LoadDriver(baseUrl, manifest, objectMapper, Duration.ofSeconds(timeoutSeconds));
+
+        Random random = new Random(seed);
+        driver.logIn(employeeSessions, customerSessions, random);
+
+        System.out.printf("Running %d threads against %s: %d s warmup, %d s measured%n",
+                threads, baseUrl, warmupSeconds, durationSeconds);
+        EndpointStats[] stats = driver.run(mix, threads, warmupSeconds, durationSeconds, seed);
+
+        String report = report(stats, durationSeconds);
+        System.out.println();
+        System.out.println(report);
+        writeReport(objectMapper, new File(reportPath), stats, durationSeconds);
+        System.out.println("Wrote " + reportPath);
+    }
+
+    static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] nameWeight = entry.trim().split("=", 2);
+            if (nameWeight.length != 2) {
+                throw new IllegalArgumentException("Expected operation=weight in --mix, got: " + entry);
+            }
+            int weight = Integer.parseInt(nameWeight[1].trim());
+            if (weight > 0) {
+                weights.put(Operation.ofOptionName(nameWeight[0].trim()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("--mix has no operation with a positive weight");
+        }
+        return weights;
+    }
+
+    /**
+     * Logs in random seeded users; their tokens are used for the whole run.
+     */
+    private void logIn(int employeeSessions, int customerSessions, Random random)
+            throws IOException, InterruptedException {
+        for (int n : distinct(Math.min(employeeSessions, manifest.getEmployeeCount()),
+                manifest.getEmployeeCount(), random)) {
+            employees.add(new Session(login(manifest.employeeUsername(n)), manifest.getFirstEmployeeId() + n - 1));
+        }
+        for (int n : distinct(Math.min(customerSessions, manifest.getCustomerCount()),
+                manifest.getCustomerCount(), random)) {
+            customers.add(new Session(login(manifest.customerUsername(n)), manifest.getFirstCustomerId() + n - 1));
+        }
+        System.out.printf("Logged in %d employees and %d customers%n", employees.size(), customers.size());
+    }
+
+    /**
+     * count distinct numbers between 1 and bound.
+     */
+    private static int[] distinct(int count, int bound, Random random) {
+        return random.ints(1, bound + 1).distinct().limit(count).toArray();
+    }
+
+    private String login(String username) throws IOException, InterruptedException {
+        HttpResponse<String> response = httpClient.send(loginRequest(username), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login as " + username + " failed with " + response.statusCode()
+                    + ": " + response.body());
+        }
+        JsonNode body = objectMapper.readTree(response.body());
+        return body.path("token").asText();
+    }
+
+    private HttpRequest loginRequest(String username) throws IOException {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("username", username);
+        body.put("password", manifest.getPassword());
+        return post("/api/auth/login", null, body);
+    }
+
+    private EndpointStats[] run(Map<Operation, Integer> mix, int threads, int warmupSeconds, int durationSeconds,
+                                long seed) throws InterruptedException {
+        Operation[] operations = mix.keySet().toArray(new Operation[0]);
+        int[] cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += mix.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+        int totalWeight = total;
+
+        long measureFrom = System.nanoTime() + warmupSeconds * 1_000_000_000L;
+        long end = measureFrom + durationSeconds * 1_000_000_000L;
+
+        EndpointStats[][] perThread = new EndpointStats[threads][];
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            EndpointStats[] stats = EndpointStats.forEachOperation();
+            perThread[t] = stats;
+            Random random = new Random(seed + 1 + t);
+            workers[t] = new Thread(() -> {
+                while (System.nanoTime() < end) {
+                    int pick = random.nextInt(totalWeight);
+                    int index = 0;
+                    while (cumulativeWeights[index] <= pick) {
+                        index++;
+                    }
+                    execute(operations[index], random, stats, measureFrom);
+                }
+            }, "load-driver-" + t);
+            workers[t].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        EndpointStats[] merged = EndpointStats.forEachOperation();
+        for (EndpointStats[] stats : perThread) {
+            for (int i = 0; i < merged.length; i++) {
+                merged[i].addAll(stats[i]);
+            }
+        }
+        return merged;
+    }
+
+    private void execute(Operation operation, Random random, EndpointStats[] stats, long measureFrom) {
+        long started = System.nanoTime();
+        int status;
+        try {
+            HttpRequest request = request(operation, random);
+            started = System.nanoTime();
+            status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException ex) {
+            status = -1;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        long elapsed = System.nanoTime() - started;
+        if (started >= measureFrom) {
+            stats[operation.ordinal()].record(elapsed, status);
+        }
+    }
+
+    private HttpRequest request(Operation operation, Random random) throws IOException {
+        Session employee = employees.get(random.nextInt(employees.size()));
+        Session customer = customers.get(random.nextInt(customers.size()));
+        LocalDate endDate = manifest.getEndDate();
+
+        switch (operation) {
+            case LOGIN:
+                return loginRequest(manifest.customerUsername(1 + random.nextInt(manifest.getCustomerCount())));
+            case SHIPMENT_BY_ID:
+                return get("/api/shipments/" + (manifest.getFirstShipmentId()
+                        + (long) (random.nextDouble() * manifest.getShipmentCount())), employee);
+            case SHIPMENTS_PAGE:
+                return get("/api/shipments?limit=" + PAGE_SIZE, employee);
+            case CUSTOMER_SHIPMENTS_PAGE:
+                return get("/api/shipments?limit=" + PAGE_SIZE, customer);
+            case CREATE_SHIPMENT:
+                return post("/api/shipments", employee, shipmentRequest(customer, random));
+            case REPORT_CUSTOMER_SENT:
+                return get("/api/reports/shipments/customer/" + customer.id + "/sent", customer);
+            case REPORT_DASHBOARD:
+                return get("/api/reports/dashboard", employee);
+            case REPORT_REVENUE:
+                return get("/api/reports/revenue?startDate=" + endDate.minusDays(30)
+                        + "&endDate=" + endDate, employee);
+            case REPORT_LATENCY:
+                return get("/api/reports/latency?startDate=" + endDate.minusDays(7)
+                        + "&endDate=" + endDate, employee);
+            case CUSTOMER_METRICS:
+                return get("/api/reports/customer-metrics", customer);
+            default:
+                throw new IllegalArgumentException("Unsupported operation: " + operation);
+        }
+    }
+
+    private Map<String, Object> shipmentRequest(Session sender, Random random) {
+        long recipientId = manifest.getFirstCustomerId() + random.nextInt(manifest.getCustomerCount());
+        if (recipientId == sender.id) {
+            recipientId = recipientId == manifest.getFirstCustomerId() ? recipientId + 1 : recipientId - 1;
+        }
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("senderId", sender.id);
+        body.put("recipientId", recipientId);
+        body.put("originOfficeId", manifest.getFirstOfficeId() + random.nextInt(manifest.getOfficeCount()));
+        if (random.nextInt(10) < 3) {
+            body.put("deliveryAddress", (1 + random.nextInt(200)) + " Load Test Street");
+        } else {
+            body.put("deliveryOfficeId", manifest.getFirstOfficeId() + random.nextInt(manifest.getOfficeCount()));
+        }
+        body.put("weight", String.format(Locale.ROOT, "%.2f", 0.1 + random.nextDouble() * 20));
+        return body;
+    }
+
+    private HttpRequest get(String path, Session session) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(timeout)
+                .header("Authorization", "Bearer " + session.token)
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String path, Session session, Map<String, Object> body) throws IOException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+        if (session != null) {
+            builder.header("Authorization", "Bearer " + session.token);
+        }
+        return builder.build();
+    }
+
+    static String report(EndpointStats[] stats, int durationSeconds) {
+        StringBuilder report = new StringBuilder(String.format("%-58s %9s %7s %9s %9s %9s %9s %9s%n",
+                "Endpoint", "Requests", "Errors", "Req/s", "p50 ms", "p95 ms", "p99 ms", "Max ms"));
+        EndpointStats total = new EndpointStats();
+        for (Operation operation : Operation.values()) {
+            EndpointStats endpoint = stats[operation.ordinal()];
+            if (endpoint.count() > 0) {
+                report.append(line(operation.endpoint, endpoint, durationSeconds));
+                total.addAll(endpoint);
+            }
+        }
+        report.append(line("Total", total, durationSeconds));
+
+        for (Operation operation : Operation.values()) {
+            EndpointStats endpoint = stats[operation.ordinal()];
+            if (endpoint.errors() > 0) {
+                report.append(String.format("%nErrors of %s by status (-1: no response): %s",
+                        operation.endpoint, endpoint.errorStatuses));
+            }
+        }
+        return report.toString();
+    }
+
+    private static String line(String name, EndpointStats stats, int durationSeconds) {
+        return String.format(Locale.ROOT, "%-58s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n", name, stats.count(),
+                stats.errors(), (double) stats.count() / durationSeconds, millis(stats.percentile(50)),
+                millis(stats.percentile(95)), millis(stats.percentile(99)), millis(stats.percentile(100)));
+    }
+
+    private static void writeReport(ObjectMapper objectMapper, File file, EndpointStats[] stats,
+                                    int durationSeconds) throws IOException {
+        List<Map<String, Object>> endpoints = new ArrayList<>();
+        for (Operation operation : Operation.values()) {
+            EndpointStats endpoint = stats[operation.ordinal()];
+            if (endpoint.count() == 0) {
+                continue;
+            }
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("endpoint", operation.endpoint);
+            entry.put("requests", endpoint.count());
+            entry.put("errors", endpoint.errors());
+            entry.put("throughput", (double) endpoint.count() / durationSeconds);
+            entry.put("p50Ms", millis(endpoint.percentile(50)));
+            entry.put("p95Ms", millis(endpoint.percentile(95)));
+            entry.put("p99Ms", millis(endpoint.percentile(99)));
+            entry.put("maxMs", millis(endpoint.percentile(100)));
+            endpoints.add(entry);
+        }
+        File directory = file.getAbsoluteFile().getParentFile();
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Cannot create " + directory);
+        }
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(file, endpoints);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    /**
+     * A logged-in user: the token and the employee or customer id.
+     */
+    private static final class Session {
+        private final String token;
+        private final long id;
+
+        Session(String token, long id) {
+            this.token = token;
+            this.id = id;
+        }
+    }
+
+    /**
+     * Every latency of one endpoint, kept exactly: a run of a few minutes
+     * records a few million values at most. Not thread-safe; each worker
+     * has its own, merged at the end.
+     */
+    static final class EndpointStats {
+        private long[] latencies = new long[1_024];
+        private int count;
+        private long errors;
+        private final Map<Integer, Long> errorStatuses = new TreeMap<>();
+        private boolean sorted = true;
+
+        static EndpointStats[] forEachOperation() {
+            EndpointStats[] stats = new EndpointStats[Operation.values().length];
+            for (int i = 0; i < stats.length; i++) {
+                stats[i] = new EndpointStats();
+            }
+            return stats;
+        }
+
+        void record(long latencyNanos, int status) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+            sorted = false;
+            if (status < 200 || status >= 300) {
+                errors++;
+                errorStatuses.merge(status, 1L, Long::sum);
+            }
+        }
+
+        void addAll(EndpointStats other) {
+            if (count + other.count > latencies.length) {
+                latencies = Arrays.copyOf(latencies, Math.max(latencies.length * 2, count + other.count));
+            }
+            System.arraycopy(other.latencies, 0, latencies, count, other.count);
+            count += other.count;
+            sorted = false;
+            errors += other.errors;
+            other.errorStatuses.forEach((status, n) -> errorStatuses.merge(status, n, Long::sum));
+        }
+
+        int count() {
+            return count;
+        }
+
+        long errors() {
+            return errors;
+        }
+
+        /**
+         * Nearest-rank percentile in nanoseconds, 0 without recordings.
+         */
+        long percentile(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            if (!sorted) {
+                Arrays.sort(latencies, 0, count);
+                sorted = true;
+            }
+            int rank = (int) Math.ceil(percentile / 100.0 * count);
+            return latencies[Math.max(rank, 1) - 1];
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.logistics.loadtest;
+
+import java.time.LocalDate;
+
+/**
+ * What DataSeeder inserted, for LoadDriver to build requests from.
+ *
+ * Ids of one kind are consecutive: the n-th seeded customer (1-based) has
+ * id firstCustomerId + n - 1 and logs in as "{prefix}-customer-{n}", the
+ * n-th employee as "{prefix}-employee-{n}", all with the same password.
+ */
+public class SeedManifest {
+
+    private String prefix;
+    private String password;
+    private long firstOfficeId;
+    private int officeCount;
+    private long firstEmployeeId;
+    private int employeeCount;
+    private long firstCustomerId;
+    private int customerCount;
+    private long firstShipmentId;
+    private long shipmentCount;
+    private LocalDate startDate;
+    private LocalDate endDate;
+
+    // Default constructor
+    public SeedManifest() {
+    }
+
+    String employeeUsername(int n) {
+        return prefix + "-employee-" + n;
+    }
+
+    String customerUsername(int n) {
+        return prefix + "-customer-" + n;
+    }
+
+    // Getters and Setters
+    public String getPrefix() {
+        return prefix;
+    }
+
+    public void setPrefix(String prefix) {
+        this.prefix = prefix;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
+    public long getFirstOfficeId() {
+        return firstOfficeId;
+    }
+
+    public void setFirstOfficeId(long firstOfficeId) {
+        this.firstOfficeId = firstOfficeId;
+    }
+
+    public int getOfficeCount() {
+        return officeCount;
+    }
+
+    public void setOfficeCount(int officeCount) {
+        this.officeCount = officeCount;
+    }
+
+    public long getFirstEmployeeId() {
+        return firstEmployeeId;
+    }
+
+    public void setFirstEmployeeId(long firstEmployeeId) {
+        this.firstEmployeeId = firstEmployeeId;
+    }
+
+    public int getEmployeeCount() {
+        return employeeCount;
+    }
+
+    public void setEmployeeCount(int employeeCount) {
+        this.employeeCount = employeeCount;
+    }
+
+    public long getFirstCustomerId() {
+        return firstCustomerId;
+    }
+
+    public void setFirstCustomerId(long firstCustomerId) {
+        this.firstCustomerId = firstCustomerId;
+    }
+
+    public int getCustomerCount() {
+        return customerCount;
+    }
+
+    public void setCustomerCount(int customerCount) {
+        this.customerCount = customerCount;
+    }
+
+    public long getFirstShipmentId() {
+        return firstShipmentId;
+    }
+
+    public void setFirstShipmentId(long firstShipmentId) {
+        this.firstShipmentId = firstShipmentId;
+    }
+
+    public long getShipmentCount() {
+        return shipmentCount;
+    }
+
+    public void setShipmentCount(long shipmentCount) {
+        this.shipmentCount = shipmentCount;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+}
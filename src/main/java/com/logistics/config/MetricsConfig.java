@@ -0,0 +1,28 @@
+package com.logistics.config;
+
+import com.logistics.metrics.HandlerMethodObservationConvention;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.ServerRequestObservationConvention;
+
+/**
+ * Application-specific metrics, on top of those Spring Boot binds itself
+ * (HTTP requests, repository invocations, HikariCP pools, Hibernate statistics).
+ * JWT verification and password hashing timers are registered by
+ * JwtTokenProvider and the PasswordEncoder bean.
+ *
+ * Everything is exposed at /actuator/prometheus; see management.* in
+ * application.properties.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Picked up by Spring Boot in place of the default convention, so every
+     * http.server.requests timer also carries the controller method.
+     */
+    @Bean
+    public ServerRequestObservationConvention serverRequestObservationConvention() {
+        return new HandlerMethodObservationConvention();
+    }
+}
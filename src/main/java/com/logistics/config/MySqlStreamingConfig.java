@@ -0,0 +1,40 @@
+package com.logistics.config;
+
+import com.logistics.datasource.MySqlStreamingDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Streams the fetch-size-hinted queries from MySQL (see
+ * {@link MySqlStreamingDataSource}) by wrapping the "dataSource" bean.
+ *
+ * Only active with the MySQL driver: H2, used by the test and h2 profiles,
+ * honours a positive fetch size on its own and rejects a negative one.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.datasource.driver-class-name", havingValue = "com.mysql.cj.jdbc.Driver")
+public class MySqlStreamingConfig {
+
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    /**
+     * Static, so that it is registered before the DataSource is created.
+     */
+    @Bean
+    public static BeanPostProcessor mySqlStreamingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (DATA_SOURCE_BEAN.equals(beanName) && bean instanceof DataSource dataSource
+                        && !(bean instanceof MySqlStreamingDataSource)) {
+                    return new MySqlStreamingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,61 @@
+package com.logistics.config;
+
+import com.logistics.datasource.QueryBudgetFilter;
+import com.logistics.datasource.QueryCountingDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+/**
+ * Per-request SQL statement counting (sql.query-budget.*).
+ *
+ * Wraps the DataSource JPA and JdbcTemplate use, the "dataSource" bean,
+ * in a {@link QueryCountingDataSource}; with the read replica enabled the
+ * pools behind it stay unwrapped, so the replica lag checks are not counted.
+ *
+ * A development and test diagnostic: off unless sql.query-budget.enabled=true,
+ * which the dev and test profiles set.
+ */
+@Configuration
+@ConditionalOnProperty(name = "sql.query-budget.enabled", havingValue = "true")
+public class QueryBudgetConfig {
+
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    /**
+     * Static, so that it is registered before the DataSource is created.
+     */
+    @Bean
+    public static BeanPostProcessor queryCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (DATA_SOURCE_BEAN.equals(beanName) && bean instanceof DataSource dataSource
+                        && !(bean instanceof QueryCountingDataSource)) {
+                    return new QueryCountingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Ordered before the security filter chain, so that statements issued
+     * while authenticating the request are counted too.
+     */
+    @Bean
+    public FilterRegistrationBean<QueryBudgetFilter> queryBudgetFilter(
+            @Value("${sql.query-budget.max-queries:20}") int maxQueries,
+            @Value("${sql.query-budget.repeat-threshold:5}") int repeatThreshold) {
+        FilterRegistrationBean<QueryBudgetFilter> registration =
+                new FilterRegistrationBean<>(new QueryBudgetFilter(maxQueries, repeatThreshold));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
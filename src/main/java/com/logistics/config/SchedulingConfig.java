@@ -0,0 +1,13 @@
+package com.logistics.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled background tasks, such as polling the database for
+ * pricing configuration changes made by other application instances.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,52 @@
+package com.logistics.config;
+
+import com.logistics.metrics.VirtualThreadPinningMonitor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+
+/**
+ * Virtual-thread execution mode (spring.threads.virtual.enabled=true).
+ *
+ * Spring Boot then handles every request on its own virtual thread instead of
+ * Tomcat's platform thread pool, so controllers and the @Transactional service
+ * calls they make block cheaply on JDBC; @Scheduled tasks run on virtual
+ * threads too. Concurrency is then bounded by the connection pool rather than
+ * by server.tomcat.threads.max. Report job workers stay a fixed pool of
+ * platform threads, since they are the reports' connection budget.
+ *
+ * Needs a Java 21 runtime; on older ones Spring Boot ignores the property.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    public VirtualThreadConfig(Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            logger.info("Handling requests on virtual threads");
+        } else {
+            logger.warn("spring.threads.virtual.enabled is set, but Java {} has no virtual threads; "
+                    + "requests are handled on platform threads", Runtime.version().feature());
+        }
+    }
+
+    @Bean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    @ConditionalOnProperty(name = "threads.pinning-monitor.enabled", havingValue = "true", matchIfMissing = true)
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            @Value("${threads.pinning-monitor.threshold-ms:20}") long thresholdMs,
+            MeterRegistry meterRegistry) {
+        return new VirtualThreadPinningMonitor(Duration.ofMillis(thresholdMs), meterRegistry);
+    }
+}
@@ -0,0 +1,54 @@
+package com.logistics.controller;
+
+import com.logistics.dto.analytics.AnalyticsQueryRequest;
+import com.logistics.dto.analytics.AnalyticsQueryResponse;
+import com.logistics.service.ShipmentAnalyticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Ad-hoc shipment analytics, answered from memory. Employee only.
+ */
+@RestController
+@RequestMapping("/api/analytics")
+@Tag(name = "Analytics", description = "Ad-hoc shipment analytics endpoints")
+@SecurityRequirement(name = "bearerAuth")
+public class AnalyticsController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalyticsController.class);
+
+    private final ShipmentAnalyticsService shipmentAnalyticsService;
+
+    public AnalyticsController(ShipmentAnalyticsService shipmentAnalyticsService) {
+        this.shipmentAnalyticsService = shipmentAnalyticsService;
+    }
+
+    @PostMapping("/query")
+    @PreAuthorize("hasRole('EMPLOYEE')")
+    @Operation(summary = "Query shipment analytics",
+            description = "Filters shipments, groups them by up to 3 dimensions and returns count, revenue " +
+                    "and weight per group. Runs against an in-memory snapshot (Employee only)")
+    public ResponseEntity<AnalyticsQueryResponse> query(@Valid @RequestBody AnalyticsQueryRequest request) {
+        logger.debug("Running analytics query grouped by {}", request.getGroupBy());
+
+        return ResponseEntity.ok(shipmentAnalyticsService.query(request));
+    }
+
+    @PostMapping("/rebuild")
+    @PreAuthorize("hasRole('EMPLOYEE')")
+    @Operation(summary = "Rebuild analytics snapshot",
+            description = "Reloads the in-memory snapshot from the shipments table (Employee only)")
+    public ResponseEntity<Void> rebuild() {
+        logger.info("Rebuilding analytics snapshot");
+
+        shipmentAnalyticsService.rebuild();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,72 @@
+package com.logistics.controller;
+
+import com.logistics.datasource.ReadReplicaRoutingDataSource;
+import com.logistics.datasource.ReplicaLagMonitor;
+import com.logistics.dto.datasource.DataSourcePoolResponse;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Per-pool statistics for the primary / read replica split. Only present
+ * with datasource.replica.enabled=true. Employee only.
+ */
+@RestController
+@RequestMapping("/api/datasources")
+@ConditionalOnProperty(name = "datasource.replica.enabled", havingValue = "true")
+@Tag(name = "Data Sources", description = "Database connection pool endpoints")
+@SecurityRequirement(name = "bearerAuth")
+public class DataSourceController {
+
+    private final ReadReplicaRoutingDataSource routingDataSource;
+
+    public DataSourceController(ReadReplicaRoutingDataSource routingDataSource) {
+        this.routingDataSource = routingDataSource;
+    }
+
+    @GetMapping
+    @PreAuthorize("hasRole('EMPLOYEE')")
+    @Operation(summary = "Get connection pool statistics",
+            description = "Returns routed connections, pool usage and replica lag for the primary " +
+                    "and read replica pools (Employee only)")
+    public ResponseEntity<List<DataSourcePoolResponse>> getPools() {
+        ReplicaLagMonitor monitor = routingDataSource.getReplicaLagMonitor();
+
+        DataSourcePoolResponse primary = poolResponse("primary", routingDataSource.getPrimary());
+        primary.setAvailable(true);
+        primary.setConnectionsRouted(routingDataSource.getPrimaryConnections());
+        primary.setFallbackReads(routingDataSource.getReplicaFallbacks());
+
+        DataSourcePoolResponse replica = poolResponse("replica", routingDataSource.getReplica());
+        replica.setAvailable(monitor.isReplicaUsable());
+        replica.setReplicationLagMs(monitor.getLagMs());
+        replica.setConnectionsRouted(routingDataSource.getReplicaConnections());
+        replica.setFailedHealthChecks(monitor.getFailedChecks());
+
+        return ResponseEntity.ok(List.of(primary, replica));
+    }
+
+    private DataSourcePoolResponse poolResponse(String name, DataSource dataSource) {
+        DataSourcePoolResponse response = new DataSourcePoolResponse();
+        response.setName(name);
+        if (dataSource instanceof HikariDataSource hikari && hikari.getHikariPoolMXBean() != null) {
+            HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+            response.setActiveConnections(pool.getActiveConnections());
+            response.setIdleConnections(pool.getIdleConnections());
+            response.setTotalConnections(pool.getTotalConnections());
+            response.setThreadsAwaitingConnection(pool.getThreadsAwaitingConnection());
+        }
+        return response;
+    }
+}
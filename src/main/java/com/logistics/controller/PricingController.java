@@ -2,8 +2,16 @@ package com.logistics.controller;
 
 import com.logistics.dto.pricing.PricingConfigRequest;
 import com.logistics.dto.pricing.PricingConfigResponse;
+import com.logistics.dto.pricing.PriceQuoteBatchRequest;
+import com.logistics.dto.pricing.PriceQuoteBatchResponse;
+import com.logistics.dto.pricing.PricingRulesRequest;
+import com.logistics.dto.pricing.PricingRulesResponse;
+import com.logistics.dto.pricing.PricingSimulationRequest;
+import com.logistics.dto.pricing.PricingSimulationResponse;
+import com.logistics.dto.pricing.ShipmentRepriceResponse;
 import com.logistics.dto.report.PricingInfoResponse;
 import com.logistics.model.entity.PricingConfig;
+import com.logistics.service.PricingHistoryService;
 import com.logistics.service.PricingService;
 import com.logistics.service.impl.PricingServiceImpl;
 import io.swagger.v3.oas.annotations.Operation;
@@ -16,6 +24,10 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/pricing")
 @Tag(name = "Pricing", description = "Pricing configuration endpoints")
@@ -25,9 +37,11 @@ public class PricingController {
     private static final Logger logger = LoggerFactory.getLogger(PricingController.class);
 
     private final PricingServiceImpl pricingService;
+    private final PricingHistoryService pricingHistoryService;
 
-    public PricingController(PricingServiceImpl pricingService) {
+    public PricingController(PricingServiceImpl pricingService, PricingHistoryService pricingHistoryService) {
         this.pricingService = pricingService;
+        this.pricingHistoryService = pricingHistoryService;
     }
 
     @GetMapping
@@ -44,6 +58,24 @@ public class PricingController {
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/quote/batch")
+    @Operation(summary = "Quote prices in batch",
+            description = "Prices up to 10000 parcels (weight, delivery type, optional offices) in one call with " +
+                    "the current pricing. Each price equals the one a shipment with the same values would get")
+    public ResponseEntity<PriceQuoteBatchResponse> quotePrices(@Valid @RequestBody PriceQuoteBatchRequest request) {
+        logger.debug("Quoting prices for {} parcels", request.getWeights().length);
+
+        long[] cents = pricingService.quotePrices(request.getWeights(), request.getOfficeDeliveries(),
+                request.getOriginOfficeIds(), request.getDeliveryOfficeIds());
+
+        List<BigDecimal> prices = new ArrayList<>(cents.length);
+        for (long price : cents) {
+            prices.add(BigDecimal.valueOf(price, 2));
+        }
+
+        return ResponseEntity.ok(new PriceQuoteBatchResponse(prices));
+    }
+
     @GetMapping("/config")
     @PreAuthorize("hasRole('EMPLOYEE')")
     @Operation(summary = "Get pricing config", description = "Returns full pricing configuration (Employee only)")
@@ -52,17 +84,7 @@ public class PricingController {
 
         PricingConfig config = pricingService.getActivePricingConfig();
 
-        PricingConfigResponse response = new PricingConfigResponse(
-                config.getId(),
-                config.getBasePrice(),
-                config.getPricePerKg(),
-                config.getAddressDeliveryFee(),
-                config.getActive(),
-                config.getCreatedAt(),
-                config.getUpdatedAt()
-        );
-
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(toResponse(config));
     }
 
     @PutMapping("/config")
@@ -77,19 +99,105 @@ public class PricingController {
         PricingConfig updated = pricingService.updatePricingConfig(
                 request.getBasePrice(),
                 request.getPricePerKg(),
-                request.getAddressDeliveryFee()
+                request.getAddressDeliveryFee(),
+                request.getEffectiveFrom()
         );
 
-        PricingConfigResponse response = new PricingConfigResponse(
-                updated.getId(),
-                updated.getBasePrice(),
-                updated.getPricePerKg(),
-                updated.getAddressDeliveryFee(),
-                updated.getActive(),
-                updated.getCreatedAt(),
-                updated.getUpdatedAt()
-        );
+        return ResponseEntity.ok(toResponse(updated));
+    }
+
+    @DeleteMapping("/config/{id}")
+    @PreAuthorize("hasRole('EMPLOYEE')")
+    @Operation(summary = "Cancel scheduled pricing config",
+            description = "Deletes a pricing config whose effectiveFrom is still in the future (Employee only)")
+    public ResponseEntity<Void> cancelScheduledConfig(@PathVariable Long id) {
+        logger.info("Cancelling scheduled pricing config ID: {}", id);
+
+        pricingService.cancelScheduledConfig(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/history")
+    @PreAuthorize("hasRole('EMPLOYEE')")
+    @Operation(summary = "Get pricing history",
+            description = "Returns every pricing config, oldest first. Each is in effect from its effectiveFrom " +
+                    "until the next one's (Employee only)")
+    public ResponseEntity<List<PricingConfigResponse>> getPricingHistory() {
+        logger.debug("Getting pricing history");
+
+        List<PricingConfigResponse> response = pricingHistoryService.getHistory().stream()
+                .map(PricingController::toResponse)
+                .toList();
 
         return ResponseEntity.ok(response);
     }
+
+    @GetMapping("/history/shipments/{shipmentId}")
+    @PreAuthorize("hasRole('EMPLOYEE')")
+    @Operation(summary = "Re-price a shipment",
+            description = "Prices a shipment with the pricing config in effect when it was registered and " +
+                    "compares it with the charged price (Employee only)")
+    public ResponseEntity<ShipmentRepriceResponse> repriceShipment(@PathVariable Long shipmentId) {
+        logger.debug("Re-pricing shipment {}", shipmentId);
+
+        return ResponseEntity.ok(pricingHistoryService.repriceShipment(shipmentId));
+    }
+
+    @PostMapping("/history/simulations")
+    @PreAuthorize("hasRole('EMPLOYEE')")
+    @Operation(summary = "Simulate a tariff",
+            description = "Re-prices every shipment registered between two dates under a past pricing config " +
+                    "(configId) or a proposed one, and compares the revenue with what was charged (Employee only)")
+    public ResponseEntity<PricingSimulationResponse> simulatePricing(
+            @Valid @RequestBody PricingSimulationRequest request) {
+        logger.info("Simulating pricing: startDate={}, endDate={}, configId={}",
+                request.getStartDate(), request.getEndDate(), request.getConfigId());
+
+        return ResponseEntity.ok(pricingHistoryService.simulate(request));
+    }
+
+    @GetMapping("/rules")
+    @PreAuthorize("hasRole('EMPLOYEE')")
+    @Operation(summary = "Get pricing rules",
+            description = "Returns the active weight bracket and zone pricing rules (Employee only)")
+    public ResponseEntity<PricingRulesResponse> getPricingRules() {
+        logger.debug("Getting active pricing rules");
+
+        return ResponseEntity.ok(pricingService.getActivePricingRules());
+    }
+
+    @PutMapping("/rules")
+    @PreAuthorize("hasRole('EMPLOYEE')")
+    @Operation(summary = "Update pricing rules",
+            description = "Saves a new version of the weight bracket and zone pricing rules and makes it " +
+                    "active. While rules are active they replace the pricing config formula (Employee only)")
+    public ResponseEntity<PricingRulesResponse> updatePricingRules(@Valid @RequestBody PricingRulesRequest request) {
+        logger.info("Updating pricing rules: name={}", request.getName());
+
+        return ResponseEntity.ok(pricingService.updatePricingRules(request));
+    }
+
+    @DeleteMapping("/rules")
+    @PreAuthorize("hasRole('EMPLOYEE')")
+    @Operation(summary = "Deactivate pricing rules",
+            description = "Deactivates the pricing rules, so prices come from the pricing config again (Employee only)")
+    public ResponseEntity<Void> deactivatePricingRules() {
+        logger.info("Deactivating pricing rules");
+
+        pricingService.deactivatePricingRules();
+        return ResponseEntity.noContent().build();
+    }
+
+    private static PricingConfigResponse toResponse(PricingConfig config) {
+        return new PricingConfigResponse(
+                config.getId(),
+                config.getBasePrice(),
+                config.getPricePerKg(),
+                config.getAddressDeliveryFee(),
+                config.getActive(),
+                config.getEffectiveFrom(),
+                config.getCreatedAt(),
+                config.getUpdatedAt()
+        );
+    }
 }
@@ -4,26 +4,44 @@ import com.logistics.dto.customer.CustomerResponse;
 import com.logistics.dto.employee.EmployeeResponse;
 import com.logistics.dto.report.CustomerMetricsResponse;
 import com.logistics.dto.report.DashboardMetricsResponse;
+import com.logistics.dto.report.DeliveryLatencyResponse;
+import com.logistics.dto.report.ReportJobRequest;
+import com.logistics.dto.report.ReportJobResponse;
 import com.logistics.dto.report.RevenueResponse;
 import com.logistics.dto.shipment.ShipmentResponse;
+import com.logistics.exception.InvalidDataException;
 import com.logistics.exception.UnauthorizedException;
-import com.logistics.service.CustomerService;
+import com.logistics.model.enums.DeliveryType;
+import com.logistics.model.enums.ExportFormat;
+import com.logistics.service.DeliveryLatencyService;
+import com.logistics.service.ReportJobService;
 import com.logistics.service.ReportService;
+import com.logistics.service.RevenueRollupService;
+import com.logistics.service.ShipmentExportService;
 import com.logistics.service.ShipmentService;
+import com.logistics.security.CurrentUser;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Locale;
 
 /**
  * Employees can access all reports. Customers can only view their own shipments.
@@ -38,14 +56,26 @@ public class ReportController {
 
     private final ReportService reportService;
     private final ShipmentService shipmentService;
-    private final CustomerService customerService;
+    private final CurrentUser currentUser;
+    private final ShipmentExportService shipmentExportService;
+    private final RevenueRollupService revenueRollupService;
+    private final ReportJobService reportJobService;
+    private final DeliveryLatencyService deliveryLatencyService;
 
     public ReportController(ReportService reportService,
                             ShipmentService shipmentService,
-                            CustomerService customerService) {
+                            CurrentUser currentUser,
+                            ShipmentExportService shipmentExportService,
+                            RevenueRollupService revenueRollupService,
+                            ReportJobService reportJobService,
+                            DeliveryLatencyService deliveryLatencyService) {
         this.reportService = reportService;
         this.shipmentService = shipmentService;
-        this.customerService = customerService;
+        this.currentUser = currentUser;
+        this.shipmentExportService = shipmentExportService;
+        this.revenueRollupService = revenueRollupService;
+        this.reportJobService = reportJobService;
+        this.deliveryLatencyService = deliveryLatencyService;
     }
 
     @GetMapping("/employees")
@@ -72,8 +102,8 @@ public class ReportController {
         logger.debug("Generating shipments report for user: {}", authentication.getName());
 
         List<ShipmentResponse> shipments;
-        if (isCustomer(authentication)) {
-            Long customerId = getCustomerIdFromAuth(authentication);
+        if (currentUser.isCustomer()) {
+            Long customerId = currentUser.getCustomerId();
             shipments = shipmentService.getShipmentsByCustomerId(customerId);
         } else {
             shipments = reportService.getAllShipmentsReport();
@@ -82,6 +112,26 @@ public class ReportController {
         return ResponseEntity.ok(shipments);
     }
 
+    @GetMapping("/shipments/export")
+    @Operation(summary = "Export shipments", description = "Streams shipments as ndjson or csv. Employees get all, customers their own.")
+    public ResponseEntity<StreamingResponseBody> exportShipmentsReport(
+            @RequestParam(defaultValue = "ndjson") String format,
+            Authentication authentication) {
+
+        logger.debug("Exporting shipments report for user: {}", authentication.getName());
+        ExportFormat exportFormat = parseExportFormat(format);
+
+        StreamingResponseBody body;
+        if (currentUser.isCustomer()) {
+            Long customerId = currentUser.getCustomerId();
+            body = out -> shipmentExportService.exportShipmentsByCustomerId(customerId, exportFormat, out);
+        } else {
+            body = out -> shipmentExportService.exportAllShipments(exportFormat, out);
+        }
+
+        return streamingExport("shipments", exportFormat, body);
+    }
+
     @GetMapping("/shipments/employee/{employeeId}")
     @PreAuthorize("hasRole('EMPLOYEE')")
     @Operation(summary = "Shipments by employee", description = "Lists shipments registered by an employee (Employee only)")
@@ -100,16 +150,27 @@ public class ReportController {
         return ResponseEntity.ok(shipments);
     }
 
+    @GetMapping("/shipments/pending/export")
+    @PreAuthorize("hasRole('EMPLOYEE')")
+    @Operation(summary = "Export pending shipments", description = "Streams non-delivered shipments as ndjson or csv (Employee only)")
+    public ResponseEntity<StreamingResponseBody> exportPendingShipmentsReport(
+            @RequestParam(defaultValue = "ndjson") String format) {
+
+        logger.debug("Exporting pending shipments report");
+        ExportFormat exportFormat = parseExportFormat(format);
+
+        StreamingResponseBody body = out -> shipmentExportService.exportPendingShipments(exportFormat, out);
+        return streamingExport("pending-shipments", exportFormat, body);
+    }
+
     @GetMapping("/shipments/customer/{customerId}/sent")
     @Operation(summary = "Shipments sent by customer", description = "Lists shipments sent by a customer")
-    public ResponseEntity<List<ShipmentResponse>> getShipmentsSentByCustomer(
-            @PathVariable Long customerId,
-            Authentication authentication) {
+    public ResponseEntity<List<ShipmentResponse>> getShipmentsSentByCustomer(@PathVariable Long customerId) {
 
         logger.debug("Generating sent shipments report for customer ID: {}", customerId);
 
-        if (isCustomer(authentication)) {
-            Long authCustomerId = getCustomerIdFromAuth(authentication);
+        if (currentUser.isCustomer()) {
+            Long authCustomerId = currentUser.getCustomerId();
             if (!customerId.equals(authCustomerId)) {
                 throw new UnauthorizedException("You can only view your own sent shipments");
             }
@@ -121,14 +182,12 @@ public class ReportController {
 
     @GetMapping("/shipments/customer/{customerId}/received")
     @Operation(summary = "Shipments received by customer", description = "Lists shipments received by a customer")
-    public ResponseEntity<List<ShipmentResponse>> getShipmentsReceivedByCustomer(
-            @PathVariable Long customerId,
-            Authentication authentication) {
+    public ResponseEntity<List<ShipmentResponse>> getShipmentsReceivedByCustomer(@PathVariable Long customerId) {
 
         logger.debug("Generating received shipments report for customer ID: {}", customerId);
 
-        if (isCustomer(authentication)) {
-            Long authCustomerId = getCustomerIdFromAuth(authentication);
+        if (currentUser.isCustomer()) {
+            Long authCustomerId = currentUser.getCustomerId();
             if (!customerId.equals(authCustomerId)) {
                 throw new UnauthorizedException("You can only view your own received shipments");
             }
@@ -150,19 +209,99 @@ public class ReportController {
         return ResponseEntity.ok(revenue);
     }
 
-    private boolean isCustomer(Authentication authentication) {
-        return authentication.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_CUSTOMER"));
+    @PostMapping("/revenue/rebuild")
+    @PreAuthorize("hasRole('EMPLOYEE')")
+    @Operation(summary = "Rebuild revenue rollup",
+            description = "Recomputes the daily revenue rollup for a date range from the shipments table " +
+                    "and returns the rebuilt revenue report (Employee only)")
+    public ResponseEntity<RevenueResponse> rebuildRevenueRollup(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+
+        logger.info("Rebuilding revenue rollup from {} to {}", startDate, endDate);
+        revenueRollupService.rebuild(startDate, endDate);
+        RevenueResponse revenue = reportService.getRevenueReport(startDate, endDate);
+        return ResponseEntity.ok(revenue);
+    }
+
+    @GetMapping("/latency")
+    @PreAuthorize("hasRole('EMPLOYEE')")
+    @Operation(summary = "Delivery latency report",
+            description = "Returns p50/p95/p99 of registration-to-delivery time in seconds for shipments " +
+                    "delivered in the weeks covering a date range, overall, per origin office and per " +
+                    "destination. Filter by origin office or by destination, not both. Only the last " +
+                    "latency.retention-days days are kept (Employee only)")
+    public ResponseEntity<DeliveryLatencyResponse> getDeliveryLatencyReport(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) Long originOfficeId,
+            @RequestParam(required = false) DeliveryType deliveryType,
+            @RequestParam(required = false) Long deliveryOfficeId) {
+
+        logger.debug("Generating delivery latency report from {} to {}", startDate, endDate);
+        DeliveryLatencyResponse latency = deliveryLatencyService.getLatencyReport(
+                startDate, endDate, originOfficeId, deliveryType, deliveryOfficeId);
+        return ResponseEntity.ok(latency);
     }
 
-    private Long getCustomerIdFromAuth(Authentication authentication) {
-        String username = authentication.getName();
+    @PostMapping("/jobs")
+    @PreAuthorize("hasRole('EMPLOYEE')")
+    @Operation(summary = "Submit report job",
+            description = "Generates a report in the background and returns the job to poll. " +
+                    "An identical report that is already running is returned instead (Employee only)")
+    public ResponseEntity<ReportJobResponse> submitReportJob(
+            @Valid @RequestBody ReportJobRequest request,
+            Authentication authentication) {
+
+        logger.info("Submitting {} report job for user: {}", request.getReportType(), authentication.getName());
+        ReportJobResponse job = reportJobService.submit(request, authentication.getName());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+
+    @GetMapping("/jobs/{id}")
+    @PreAuthorize("hasRole('EMPLOYEE')")
+    @Operation(summary = "Get report job", description = "Returns the status of a report job (Employee only)")
+    public ResponseEntity<ReportJobResponse> getReportJob(@PathVariable Long id) {
+        logger.debug("Getting report job ID: {}", id);
+        ReportJobResponse job = reportJobService.getJob(id);
+        return ResponseEntity.ok(job);
+    }
+
+    @GetMapping("/jobs/{id}/download")
+    @PreAuthorize("hasRole('EMPLOYEE')")
+    @Operation(summary = "Download report job result",
+            description = "Downloads the gzip-compressed result of a completed report job (Employee only)")
+    public ResponseEntity<Resource> downloadReportJob(@PathVariable Long id) {
+        logger.debug("Downloading report job ID: {}", id);
+        Path file = reportJobService.getResultFile(id);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/gzip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + file.getFileName() + "\"")
+                .body(new FileSystemResource(file));
+    }
+
+    private ExportFormat parseExportFormat(String format) {
         try {
-            return customerService.getCustomerIdByUsername(username);
-        } catch (Exception e) {
-            throw new UnauthorizedException("Customer not found for user: " + username);
+            return ExportFormat.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidDataException("format", "Format must be ndjson or csv");
         }
     }
 
+    /**
+     * Rows are written from the MVC async executor after this method returns,
+     * so the export must not depend on request-thread state.
+     */
+    private ResponseEntity<StreamingResponseBody> streamingExport(String fileName, ExportFormat format,
+                                                                  StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + fileName + "." + format.getFileExtension() + "\"")
+                .body(body);
+    }
+
     @GetMapping("/dashboard")
     @PreAuthorize("hasRole('EMPLOYEE')")
     @Operation(summary = "Dashboard metrics", description = "Returns aggregated dashboard metrics (Employee only)")
@@ -178,8 +317,8 @@ public class ReportController {
         logger.debug("Getting customer metrics for user: {}", authentication.getName());
 
         Long customerId;
-        if (isCustomer(authentication)) {
-            customerId = getCustomerIdFromAuth(authentication);
+        if (currentUser.isCustomer()) {
+            customerId = currentUser.getCustomerId();
         } else {
             throw new UnauthorizedException("Only customers can access customer metrics");
         }
@@ -1,10 +1,15 @@
 package com.logistics.controller;
 
+import com.logistics.dto.shipment.ShipmentBatchResponse;
+import com.logistics.dto.shipment.ShipmentBulkStatusRequest;
+import com.logistics.dto.shipment.ShipmentBulkStatusResponse;
+import com.logistics.dto.shipment.ShipmentPageResponse;
 import com.logistics.dto.shipment.ShipmentRequest;
 import com.logistics.dto.shipment.ShipmentResponse;
 import com.logistics.dto.shipment.ShipmentStatusUpdateRequest;
+import com.logistics.exception.InvalidDataException;
 import com.logistics.exception.UnauthorizedException;
-import com.logistics.service.CustomerService;
+import com.logistics.security.CurrentUser;
 import com.logistics.service.ShipmentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -33,11 +38,11 @@ public class ShipmentController {
     private static final Logger logger = LoggerFactory.getLogger(ShipmentController.class);
 
     private final ShipmentService shipmentService;
-    private final CustomerService customerService;
+    private final CurrentUser currentUser;
 
-    public ShipmentController(ShipmentService shipmentService, CustomerService customerService) {
+    public ShipmentController(ShipmentService shipmentService, CurrentUser currentUser) {
         this.shipmentService = shipmentService;
-        this.customerService = customerService;
+        this.currentUser = currentUser;
     }
 
     @PostMapping
@@ -54,6 +59,20 @@ public class ShipmentController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping("/batch")
+    @PreAuthorize("hasRole('EMPLOYEE')")
+    @Operation(summary = "Register shipments in bulk", description = "Registers up to 1000 shipments in one request (Employee only). Returns a result per item.")
+    public ResponseEntity<ShipmentBatchResponse> registerShipments(
+            @RequestBody List<ShipmentRequest> requests,
+            Authentication authentication) {
+
+        String employeeUsername = authentication.getName();
+        logger.info("Registering shipment batch by employee: {}", employeeUsername);
+
+        ShipmentBatchResponse response = shipmentService.registerShipments(requests, employeeUsername);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get shipment by ID", description = "Retrieves a shipment. Customers can only see their own shipments.")
     public ResponseEntity<ShipmentResponse> getShipmentById(
@@ -63,7 +82,7 @@ public class ShipmentController {
         ShipmentResponse shipment = shipmentService.getShipmentById(id);
 
         if (isCustomer(authentication)) {
-            Long customerId = getCustomerIdFromAuth(authentication);
+            Long customerId = currentUser.getCustomerId();
             if (!shipment.getSenderId().equals(customerId) &&
                     !shipment.getRecipientId().equals(customerId)) {
                 throw new UnauthorizedException("You can only view shipments where you are sender or recipient");
@@ -80,7 +99,7 @@ public class ShipmentController {
 
         List<ShipmentResponse> shipments;
         if (isCustomer(authentication)) {
-            Long customerId = getCustomerIdFromAuth(authentication);
+            Long customerId = currentUser.getCustomerId();
             shipments = shipmentService.getShipmentsByCustomerId(customerId);
         } else {
             shipments = shipmentService.getAllShipments();
@@ -89,6 +108,49 @@ public class ShipmentController {
         return ResponseEntity.ok(shipments);
     }
 
+    @GetMapping(params = "limit")
+    @Operation(summary = "Get shipments page",
+            description = "Keyset-paginated shipments ordered by registration time. " +
+                    "Pass nextCursor back as cursor to get the next page. Customers see only their own.")
+    public ResponseEntity<ShipmentPageResponse> getShipmentsPage(
+            @RequestParam int limit,
+            @RequestParam(required = false) String cursor,
+            Authentication authentication) {
+
+        logger.debug("Fetching shipments page for user: {}, limit: {}", authentication.getName(), limit);
+
+        ShipmentPageResponse page;
+        if (isCustomer(authentication)) {
+            Long customerId = currentUser.getCustomerId();
+            page = shipmentService.getShipmentsPageByCustomerId(customerId, cursor, limit);
+        } else {
+            page = shipmentService.getShipmentsPage(cursor, limit);
+        }
+
+        return ResponseEntity.ok(page);
+    }
+
+    @PatchMapping("/status")
+    @PreAuthorize("hasRole('EMPLOYEE')")
+    @Operation(summary = "Bulk update shipment status",
+            description = "Moves a list of shipments, or all shipments in a status (optionally at one origin office), to a new status in one statement (Employee only)")
+    public ResponseEntity<ShipmentBulkStatusResponse> updateShipmentStatuses(
+            @Valid @RequestBody ShipmentBulkStatusRequest request) {
+
+        boolean byIds = request.getIds() != null && !request.getIds().isEmpty();
+        boolean byFilter = request.getCurrentStatus() != null;
+        if (byIds == byFilter) {
+            throw new InvalidDataException("Provide either ids or currentStatus, not both");
+        }
+
+        logger.info("Bulk updating shipment status to: {}", request.getStatus());
+        ShipmentBulkStatusResponse response = byIds
+                ? shipmentService.updateShipmentStatuses(request.getIds(), request.getStatus())
+                : shipmentService.updateShipmentStatuses(
+                        request.getCurrentStatus(), request.getOriginOfficeId(), request.getStatus());
+        return ResponseEntity.ok(response);
+    }
+
     @PatchMapping("/{id}/status")
     @PreAuthorize("hasRole('EMPLOYEE')")
     @Operation(summary = "Update shipment status", description = "Updates shipment status (Employee only)")
@@ -128,13 +190,4 @@ public class ShipmentController {
     private boolean isCustomer(Authentication authentication) {
         return authentication.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_CUSTOMER"));
     }
-
-    private Long getCustomerIdFromAuth(Authentication authentication) {
-        String username = authentication.getName();
-        try {
-            return customerService.getCustomerIdByUsername(username);
-        } catch (Exception e) {
-            throw new UnauthorizedException("Customer not found for user: " + username);
-        }
-    }
 }
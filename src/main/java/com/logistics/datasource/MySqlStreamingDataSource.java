@@ -0,0 +1,104 @@
+package com.logistics.datasource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Makes MySQL stream the result of a statement that asks for a fetch size.
+ *
+ * Connector/J ignores a positive fetch size and buffers the whole result set,
+ * unless useCursorFetch=true is on the URL, which turns every statement of
+ * the connection into a server-side prepared statement. Instead, this turns
+ * setFetchSize(n > 0) into setFetchSize(Integer.MIN_VALUE), the driver's
+ * row-by-row streaming mode, so only the statements with a fetch size hint
+ * (the export and simulation streams) stream; all others run as before.
+ *
+ * While such a result set is open its connection cannot run another
+ * statement, so a streaming transaction must read everything else it needs
+ * before opening the stream.
+ */
+public class MySqlStreamingDataSource extends DelegatingDataSource {
+
+    public MySqlStreamingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private static Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(MySqlStreamingDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new ConnectionHandler(connection));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+
+    private static final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = MySqlStreamingDataSource.invoke(target, method, args);
+            switch (method.getName()) {
+                case "createStatement":
+                    return wrapStatement(Statement.class, result);
+                case "prepareStatement":
+                    return wrapStatement(PreparedStatement.class, result);
+                case "prepareCall":
+                    return wrapStatement(CallableStatement.class, result);
+                default:
+                    return result;
+            }
+        }
+
+        private static Object wrapStatement(Class<?> type, Object statement) {
+            return Proxy.newProxyInstance(MySqlStreamingDataSource.class.getClassLoader(),
+                    new Class<?>[]{type}, new StatementHandler(statement));
+        }
+    }
+
+    private static final class StatementHandler implements InvocationHandler {
+
+        private final Object target;
+
+        StatementHandler(Object target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if ("setFetchSize".equals(method.getName()) && (Integer) args[0] > 0) {
+                return MySqlStreamingDataSource.invoke(target, method, new Object[]{Integer.MIN_VALUE});
+            }
+            return MySqlStreamingDataSource.invoke(target, method, args);
+        }
+    }
+}
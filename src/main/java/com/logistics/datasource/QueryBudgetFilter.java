@@ -0,0 +1,79 @@
+package com.logistics.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Counts the SQL statements of each HTTP request and stores the
+ * {@link QueryStatistics} as the {@link QueryStatistics#REQUEST_ATTRIBUTE}
+ * request attribute.
+ *
+ * Logs a warning for requests that issue more than maxQueries statements or
+ * run one statement at least repeatThreshold times, the usual sign of an
+ * N+1 pattern, listing the repeated statements. Other requests that touch
+ * the database are logged at DEBUG.
+ */
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryBudgetFilter.class);
+
+    private static final int MAX_LOGGED_SQL_LENGTH = 200;
+
+    private final int maxQueries;
+    private final int repeatThreshold;
+
+    public QueryBudgetFilter(int maxQueries, int repeatThreshold) {
+        this.maxQueries = maxQueries;
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        QueryStatistics statistics = QueryCounter.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            QueryCounter.stop();
+            request.setAttribute(QueryStatistics.REQUEST_ATTRIBUTE, statistics);
+            log(request, response, statistics);
+        }
+    }
+
+    private void log(HttpServletRequest request, HttpServletResponse response, QueryStatistics statistics) {
+        if (statistics.getQueryCount() == 0) {
+            return;
+        }
+        Map<String, Integer> repeated = statistics.getRepeatedStatements(repeatThreshold);
+        if (statistics.getQueryCount() > maxQueries || !repeated.isEmpty()) {
+            logger.warn("{} {} ({}) issued {} (budget {}){}", request.getMethod(), request.getRequestURI(),
+                    response.getStatus(), statistics, maxQueries, describe(repeated));
+        } else if (logger.isDebugEnabled()) {
+            logger.debug("{} {} ({}) issued {}", request.getMethod(), request.getRequestURI(),
+                    response.getStatus(), statistics);
+        }
+    }
+
+    private static String describe(Map<String, Integer> repeated) {
+        if (repeated.isEmpty()) {
+            return "";
+        }
+        return repeated.entrySet().stream()
+                .map(entry -> "\n  " + entry.getValue() + "x " + abbreviate(entry.getKey()))
+                .collect(Collectors.joining("", "; repeated statements:", ""));
+    }
+
+    private static String abbreviate(String sql) {
+        return sql.length() <= MAX_LOGGED_SQL_LENGTH ? sql : sql.substring(0, MAX_LOGGED_SQL_LENGTH) + "...";
+    }
+}
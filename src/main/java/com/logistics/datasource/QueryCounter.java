@@ -0,0 +1,51 @@
+package com.logistics.datasource;
+
+/**
+ * Turns statement counting on and off for the current thread.
+ *
+ * Statements executed through a {@link QueryCountingDataSource} between
+ * {@link #start()} and {@link #stop()} on the same thread are recorded in
+ * the returned {@link QueryStatistics}; statements on other threads (async
+ * work, schedulers) are not. Scopes nest: a statement counts in every
+ * scope that is open, so a test can measure one call inside a request.
+ */
+public final class QueryCounter {
+
+    private static final ThreadLocal<QueryStatistics> CURRENT = new ThreadLocal<>();
+
+    private QueryCounter() {
+    }
+
+    /**
+     * Opens a counting scope on this thread. Every start must be followed
+     * by a {@link #stop()} in a finally block.
+     */
+    public static QueryStatistics start() {
+        QueryStatistics statistics = new QueryStatistics(CURRENT.get());
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    /**
+     * Closes the innermost counting scope on this thread and returns its statistics.
+     */
+    public static QueryStatistics stop() {
+        QueryStatistics statistics = CURRENT.get();
+        if (statistics == null) {
+            throw new IllegalStateException("No query counting scope is open on this thread");
+        }
+        if (statistics.getParent() == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(statistics.getParent());
+        }
+        return statistics;
+    }
+
+    /**
+     * The innermost open scope, or null if this thread is not counting.
+     */
+    static QueryStatistics current() {
+        return CURRENT.get();
+    }
+}
@@ -0,0 +1,92 @@
+package com.logistics.datasource;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * JDBC statements executed on one thread while {@link QueryCounter} was
+ * counting: how many, how long they took, and how often each distinct
+ * statement ran.
+ *
+ * Statements are grouped by their SQL with whitespace collapsed and IN lists
+ * of any length folded into one, so the lazy loads of an N+1 pattern show up
+ * as one statement with a count of N.
+ *
+ * Confined to the thread that records it; not thread-safe.
+ */
+public class QueryStatistics {
+
+    /**
+     * Request attribute the statistics of an HTTP request are stored under.
+     */
+    public static final String REQUEST_ATTRIBUTE = QueryStatistics.class.getName();
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\?(\\s*,\\s*\\?)+");
+
+    private final QueryStatistics parent;
+
+    private int queryCount;
+    private long totalNanos;
+    private final Map<String, Integer> countsByStatement = new HashMap<>();
+
+    QueryStatistics(QueryStatistics parent) {
+        this.parent = parent;
+    }
+
+    QueryStatistics getParent() {
+        return parent;
+    }
+
+    /**
+     * Records a statement here and in every enclosing counting scope.
+     */
+    void record(String sql, long nanos) {
+        String statement = normalize(sql);
+        for (QueryStatistics statistics = this; statistics != null; statistics = statistics.parent) {
+            statistics.queryCount++;
+            statistics.totalNanos += nanos;
+            statistics.countsByStatement.merge(statement, 1, Integer::sum);
+        }
+    }
+
+    static String normalize(String sql) {
+        if (sql == null) {
+            return "(batch)";
+        }
+        String collapsed = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        return PARAMETER_LIST.matcher(collapsed).replaceAll("?, ...");
+    }
+
+    public int getQueryCount() {
+        return queryCount;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    public double getTotalMillis() {
+        return totalNanos / 1_000_000.0;
+    }
+
+    /**
+     * Statements that ran at least minCount times, most frequent first.
+     */
+    public Map<String, Integer> getRepeatedStatements(int minCount) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        countsByStatement.entrySet().stream()
+                .filter(entry -> entry.getValue() >= minCount)
+                .sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder()))
+                .forEach(entry -> repeated.put(entry.getKey(), entry.getValue()));
+        return repeated;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d SQL statements in %.1f ms", queryCount, getTotalMillis());
+    }
+}
@@ -0,0 +1,87 @@
+package com.logistics.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sends connections for readOnly transactions to the read replica and
+ * everything else to the primary. Reads fall back to the primary while
+ * the {@link ReplicaLagMonitor} reports the replica as lagging or down.
+ *
+ * The readOnly flag is only set after the transaction manager has asked for
+ * a connection, so this must sit behind a LazyConnectionDataSourceProxy,
+ * which defers the lookup until the first statement runs.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY,
+        REPLICA
+    }
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final ReplicaLagMonitor replicaLagMonitor;
+
+    private final LongAdder primaryConnections = new LongAdder();
+    private final LongAdder replicaConnections = new LongAdder();
+    private final LongAdder replicaFallbacks = new LongAdder();
+
+    public ReadReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor replicaLagMonitor) {
+        this.primary = primary;
+        this.replica = replica;
+        this.replicaLagMonitor = replicaLagMonitor;
+        setTargetDataSources(Map.<Object, Object>of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            primaryConnections.increment();
+            return Route.PRIMARY;
+        }
+        if (replicaLagMonitor.isReplicaUsable()) {
+            replicaConnections.increment();
+            return Route.REPLICA;
+        }
+        replicaFallbacks.increment();
+        primaryConnections.increment();
+        return Route.PRIMARY;
+    }
+
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    public DataSource getReplica() {
+        return replica;
+    }
+
+    public ReplicaLagMonitor getReplicaLagMonitor() {
+        return replicaLagMonitor;
+    }
+
+    /**
+     * Connections handed out by the primary, including reads that fell back to it.
+     */
+    public long getPrimaryConnections() {
+        return primaryConnections.sum();
+    }
+
+    public long getReplicaConnections() {
+        return replicaConnections.sum();
+    }
+
+    /**
+     * readOnly transactions sent to the primary because the replica was not usable.
+     */
+    public long getReplicaFallbacks() {
+        return replicaFallbacks.sum();
+    }
+}
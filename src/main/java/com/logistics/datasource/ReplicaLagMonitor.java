@@ -0,0 +1,133 @@
+package com.logistics.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Decides whether the read replica may serve readOnly transactions.
+ *
+ * Every check writes a heartbeat row to the primary, then compares the
+ * heartbeat visible on the replica with the one written on the previous check. The replica is usable while it is reachable and no more
+ * than maxLagMs behind; lag is measured at check-interval granularity.
+ *
+ * With maxLagMs = 0 the heartbeat is skipped and only reachability is checked,
+ * for replicas that are not fed from the primary (e.g. two local H2 databases).
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    static final String CREATE_HEARTBEAT_TABLE =
+            "CREATE TABLE IF NOT EXISTS replica_heartbeat (id INT NOT NULL PRIMARY KEY, beat_millis BIGINT NOT NULL)";
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final long maxLagMs;
+
+    private final LongAdder failedChecks = new LongAdder();
+
+    /**
+     * Serializes checks. A lock rather than a synchronized method, so that a
+     * check blocked on JDBC does not pin a virtual thread to its carrier.
+     */
+    private final ReentrantLock checkLock = new ReentrantLock();
+
+    private boolean heartbeatTableReady;
+    private long lastBeatMillis;
+
+    /**
+     * Reads stay on the primary until the first check has passed.
+     */
+    private volatile boolean replicaUsable;
+    private volatile Long lagMs;
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, long maxLagMs) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.maxLagMs = maxLagMs;
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.check-interval-ms:1000}")
+    public void check() {
+        checkLock.lock();
+        try {
+            runCheck();
+        } finally {
+            checkLock.unlock();
+        }
+    }
+
+    private void runCheck() {
+        try {
+            if (maxLagMs <= 0) {
+                replica.queryForObject("SELECT 1", Integer.class);
+                lagMs = null;
+                markUsable(true);
+                return;
+            }
+
+            long now = System.currentTimeMillis();
+            writeHeartbeat(now);
+            long previousBeat = lastBeatMillis > 0 ? lastBeatMillis : now;
+            lastBeatMillis = now;
+
+            List<Long> beats = replica.queryForList(
+                    "SELECT beat_millis FROM replica_heartbeat WHERE id = 1", Long.class);
+            if (beats.isEmpty()) {
+                lagMs = null;
+                markUsable(false);
+                return;
+            }
+            long lag = Math.max(0, previousBeat - beats.get(0));
+            lagMs = lag;
+            markUsable(lag <= maxLagMs);
+        } catch (DataAccessException ex) {
+            failedChecks.increment();
+            lagMs = null;
+            if (replicaUsable) {
+                logger.warn("Replica check failed, routing reads to the primary: {}", ex.getMessage());
+            }
+            replicaUsable = false;
+        }
+    }
+
+    private void writeHeartbeat(long now) {
+        if (!heartbeatTableReady) {
+            primary.execute(CREATE_HEARTBEAT_TABLE);
+            heartbeatTableReady = true;
+        }
+        if (primary.update("UPDATE replica_heartbeat SET beat_millis = ? WHERE id = 1", now) == 0) {
+            primary.update("INSERT INTO replica_heartbeat (id, beat_millis) VALUES (1, ?)", now);
+        }
+    }
+
+    private void markUsable(boolean usable) {
+        if (usable != replicaUsable) {
+            logger.info("Read replica {} (lag {} ms)", usable ? "in use" : "lagging, routing reads to the primary", lagMs);
+        }
+        replicaUsable = usable;
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    /**
+     * Replication lag seen by the last check, or null if it could not be measured.
+     */
+    public Long getLagMs() {
+        return lagMs;
+    }
+
+    public long getFailedChecks() {
+        return failedChecks.sum();
+    }
+}
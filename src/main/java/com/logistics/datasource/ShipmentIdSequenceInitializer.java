@@ -0,0 +1,60 @@
+package com.logistics.datasource;
+
+import com.logistics.model.entity.Shipment;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Moves the shipment id generator past the ids already in the shipments table.
+ *
+ * Shipment ids come from the pooled table generator on id_sequences. When the
+ * 'shipments' row is missing, Hibernate starts it at 1, which collides with
+ * rows inserted while the ids were still IDENTITY-assigned or loaded directly.
+ * next_val is the upper end of the next block, so the row is raised to at least
+ * MAX(id) + allocationSize, which makes the next block start at MAX(id) + 1.
+ * A higher value, e.g. one advanced by a running instance, is left alone.
+ *
+ * Runs once the EntityManagerFactory has created or updated the schema and
+ * before anything can insert a shipment.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class ShipmentIdSequenceInitializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShipmentIdSequenceInitializer.class);
+
+    static final String SEQUENCE_NAME = "shipments";
+
+    private final JdbcTemplate jdbc;
+
+    public ShipmentIdSequenceInitializer(DataSource dataSource) {
+        this.jdbc = new JdbcTemplate(dataSource);
+    }
+
+    @PostConstruct
+    public void initialize() {
+        Long maxId = jdbc.queryForObject("SELECT COALESCE(MAX(id), 0) FROM shipments", Long.class);
+        long floor = (maxId == null ? 0 : maxId) + Shipment.ID_ALLOCATION_SIZE;
+
+        int raised = jdbc.update("UPDATE id_sequences SET next_val = ? "
+                + "WHERE sequence_name = ? AND (next_val IS NULL OR next_val < ?)",
+                floor, SEQUENCE_NAME, floor);
+        if (raised > 0) {
+            logger.info("Advanced the shipment id generator to {}", floor);
+            return;
+        }
+
+        Integer rows = jdbc.queryForObject("SELECT COUNT(*) FROM id_sequences WHERE sequence_name = ?",
+                Integer.class, SEQUENCE_NAME);
+        if (rows == null || rows == 0) {
+            jdbc.update("INSERT INTO id_sequences (sequence_name, next_val) VALUES (?, ?)", SEQUENCE_NAME, floor);
+            logger.info("Seeded the shipment id generator at {}", floor);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.logistics.dto.analytics;
+
+import com.logistics.model.enums.AnalyticsDimension;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * DTO for one group of an analytics query result.
+ *
+ * key holds the group's value for each requested dimension: a status or
+ * delivery type name, an office ID, or the ISO date that starts a time
+ * bucket. A missing office is reported as null. Weights are in kg.
+ */
+public class AnalyticsGroupResponse {
+
+    private Map<AnalyticsDimension, String> key;
+    private long shipmentCount;
+    private BigDecimal totalRevenue;
+    private BigDecimal averagePrice;
+    private BigDecimal totalWeight;
+    private BigDecimal averageWeight;
+
+    // Default constructor
+    public AnalyticsGroupResponse() {
+    }
+
+    public AnalyticsGroupResponse(Map<AnalyticsDimension, String> key, long shipmentCount,
+                                  BigDecimal totalRevenue, BigDecimal averagePrice,
+                                  BigDecimal totalWeight, BigDecimal averageWeight) {
+        this.key = key;
+        this.shipmentCount = shipmentCount;
+        this.totalRevenue = totalRevenue;
+        this.averagePrice = averagePrice;
+        this.totalWeight = totalWeight;
+        this.averageWeight = averageWeight;
+    }
+
+    // Getters and Setters
+    public Map<AnalyticsDimension, String> getKey() {
+        return key;
+    }
+
+    public void setKey(Map<AnalyticsDimension, String> key) {
+        this.key = key;
+    }
+
+    public long getShipmentCount() {
+        return shipmentCount;
+    }
+
+    public void setShipmentCount(long shipmentCount) {
+        this.shipmentCount = shipmentCount;
+    }
+
+    public BigDecimal getTotalRevenue() {
+        return totalRevenue;
+    }
+
+    public void setTotalRevenue(BigDecimal totalRevenue) {
+        this.totalRevenue = totalRevenue;
+    }
+
+    public BigDecimal getAveragePrice() {
+        return averagePrice;
+    }
+
+    public void setAveragePrice(BigDecimal averagePrice) {
+        this.averagePrice = averagePrice;
+    }
+
+    public BigDecimal getTotalWeight() {
+        return totalWeight;
+    }
+
+    public void setTotalWeight(BigDecimal totalWeight) {
+        this.totalWeight = totalWeight;
+    }
+
+    public BigDecimal getAverageWeight() {
+        return averageWeight;
+    }
+
+    public void setAverageWeight(BigDecimal averageWeight) {
+        this.averageWeight = averageWeight;
+    }
+}
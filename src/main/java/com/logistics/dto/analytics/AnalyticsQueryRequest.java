@@ -0,0 +1,125 @@
+package com.logistics.dto.analytics;
+
+import com.logistics.model.enums.AnalyticsDimension;
+import com.logistics.model.enums.DeliveryType;
+import com.logistics.model.enums.ShipmentStatus;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO for an ad-hoc analytics query over shipments.
+ *
+ * Every filter is optional and they are combined with AND. Matching
+ * shipments are grouped by up to three dimensions; with no groupBy the
+ * result is a single row covering every match.
+ */
+public class AnalyticsQueryRequest {
+
+    /**
+     * Filter: only shipments in one of these statuses.
+     */
+    private List<ShipmentStatus> statuses;
+
+    /**
+     * Filter: only shipments registered at this office.
+     */
+    private Long originOfficeId;
+
+    /**
+     * Filter: only shipments delivered to this office.
+     */
+    private Long deliveryOfficeId;
+
+    /**
+     * Filter: only office or only address deliveries.
+     */
+    private DeliveryType deliveryType;
+
+    /**
+     * Filter: registered on or after this day.
+     */
+    private LocalDate registeredFrom;
+
+    /**
+     * Filter: registered on or before this day.
+     */
+    private LocalDate registeredTo;
+
+    @Size(max = 3, message = "At most 3 group-by dimensions are supported")
+    private List<AnalyticsDimension> groupBy;
+
+    // Default constructor
+    public AnalyticsQueryRequest() {
+    }
+
+    public AnalyticsQueryRequest(List<ShipmentStatus> statuses, Long originOfficeId, Long deliveryOfficeId,
+                                 DeliveryType deliveryType, LocalDate registeredFrom, LocalDate registeredTo,
+                                 List<AnalyticsDimension> groupBy) {
+        this.statuses = statuses;
+        this.originOfficeId = originOfficeId;
+        this.deliveryOfficeId = deliveryOfficeId;
+        this.deliveryType = deliveryType;
+        this.registeredFrom = registeredFrom;
+        this.registeredTo = registeredTo;
+        this.groupBy = groupBy;
+    }
+
+    // Getters and Setters
+    public List<ShipmentStatus> getStatuses() {
+        return statuses;
+    }
+
+    public void setStatuses(List<ShipmentStatus> statuses) {
+        this.statuses = statuses;
+    }
+
+    public Long getOriginOfficeId() {
+        return originOfficeId;
+    }
+
+    public void setOriginOfficeId(Long originOfficeId) {
+        this.originOfficeId = originOfficeId;
+    }
+
+    public Long getDeliveryOfficeId() {
+        return deliveryOfficeId;
+    }
+
+    public void setDeliveryOfficeId(Long deliveryOfficeId) {
+        this.deliveryOfficeId = deliveryOfficeId;
+    }
+
+    public DeliveryType getDeliveryType() {
+        return deliveryType;
+    }
+
+    public void setDeliveryType(DeliveryType deliveryType) {
+        this.deliveryType = deliveryType;
+    }
+
+    public LocalDate getRegisteredFrom() {
+        return registeredFrom;
+    }
+
+    public void setRegisteredFrom(LocalDate registeredFrom) {
+        this.registeredFrom = registeredFrom;
+    }
+
+    public LocalDate getRegisteredTo() {
+        return registeredTo;
+    }
+
+    public void setRegisteredTo(LocalDate registeredTo) {
+        this.registeredTo = registeredTo;
+    }
+
+    public List<AnalyticsDimension> getGroupBy() {
+        return groupBy;
+    }
+
+    public void setGroupBy(List<AnalyticsDimension> groupBy) {
+        this.groupBy = groupBy;
+    }
+}
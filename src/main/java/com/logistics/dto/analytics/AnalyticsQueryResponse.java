@@ -0,0 +1,64 @@
+package com.logistics.dto.analytics;
+
+import com.logistics.model.enums.AnalyticsDimension;
+
+import java.util.List;
+
+/**
+ * DTO for the result of an analytics query.
+ *
+ * Groups are ordered by their key, dimension by dimension.
+ * shipmentsScanned is the size of the snapshot the query ran against.
+ */
+public class AnalyticsQueryResponse {
+
+    private List<AnalyticsDimension> groupBy;
+    private List<AnalyticsGroupResponse> groups;
+    private long shipmentsScanned;
+    private long shipmentsMatched;
+
+    // Default constructor
+    public AnalyticsQueryResponse() {
+    }
+
+    public AnalyticsQueryResponse(List<AnalyticsDimension> groupBy, List<AnalyticsGroupResponse> groups,
+                                  long shipmentsScanned, long shipmentsMatched) {
+        this.groupBy = groupBy;
+        this.groups = groups;
+        this.shipmentsScanned = shipmentsScanned;
+        this.shipmentsMatched = shipmentsMatched;
+    }
+
+    // Getters and Setters
+    public List<AnalyticsDimension> getGroupBy() {
+        return groupBy;
+    }
+
+    public void setGroupBy(List<AnalyticsDimension> groupBy) {
+        this.groupBy = groupBy;
+    }
+
+    public List<AnalyticsGroupResponse> getGroups() {
+        return groups;
+    }
+
+    public void setGroups(List<AnalyticsGroupResponse> groups) {
+        this.groups = groups;
+    }
+
+    public long getShipmentsScanned() {
+        return shipmentsScanned;
+    }
+
+    public void setShipmentsScanned(long shipmentsScanned) {
+        this.shipmentsScanned = shipmentsScanned;
+    }
+
+    public long getShipmentsMatched() {
+        return shipmentsMatched;
+    }
+
+    public void setShipmentsMatched(long shipmentsMatched) {
+        this.shipmentsMatched = shipmentsMatched;
+    }
+}
@@ -0,0 +1,128 @@
+package com.logistics.dto.datasource;
+
+/**
+ * DTO for the connection pool statistics of the primary or read replica.
+ */
+public class DataSourcePoolResponse {
+
+    private String name;
+
+    /**
+     * Primary is always available; the replica only while it passes the lag check.
+     */
+    private boolean available;
+
+    /**
+     * Replica only; null on the primary or when the last check could not measure it.
+     */
+    private Long replicationLagMs;
+
+    /**
+     * Connections handed out through this pool since startup.
+     */
+    private long connectionsRouted;
+
+    /**
+     * Primary only: readOnly transactions it served because the replica was not usable.
+     */
+    private Long fallbackReads;
+
+    /**
+     * Replica only: lag checks that failed with a database error.
+     */
+    private Long failedHealthChecks;
+
+    /**
+     * Pool state; null before the pool's first connection.
+     */
+    private Integer activeConnections;
+
+    private Integer idleConnections;
+    private Integer totalConnections;
+    private Integer threadsAwaitingConnection;
+
+    // Default constructor
+    public DataSourcePoolResponse() {
+    }
+
+    // Getters and Setters
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    public void setAvailable(boolean available) {
+        this.available = available;
+    }
+
+    public Long getReplicationLagMs() {
+        return replicationLagMs;
+    }
+
+    public void setReplicationLagMs(Long replicationLagMs) {
+        this.replicationLagMs = replicationLagMs;
+    }
+
+    public long getConnectionsRouted() {
+        return connectionsRouted;
+    }
+
+    public void setConnectionsRouted(long connectionsRouted) {
+        this.connectionsRouted = connectionsRouted;
+    }
+
+    public Long getFallbackReads() {
+        return fallbackReads;
+    }
+
+    public void setFallbackReads(Long fallbackReads) {
+        this.fallbackReads = fallbackReads;
+    }
+
+    public Long getFailedHealthChecks() {
+        return failedHealthChecks;
+    }
+
+    public void setFailedHealthChecks(Long failedHealthChecks) {
+        this.failedHealthChecks = failedHealthChecks;
+    }
+
+    public Integer getActiveConnections() {
+        return activeConnections;
+    }
+
+    public void setActiveConnections(Integer activeConnections) {
+        this.activeConnections = activeConnections;
+    }
+
+    public Integer getIdleConnections() {
+        return idleConnections;
+    }
+
+    public void setIdleConnections(Integer idleConnections) {
+        this.idleConnections = idleConnections;
+    }
+
+    public Integer getTotalConnections() {
+        return totalConnections;
+    }
+
+    public void setTotalConnections(Integer totalConnections) {
+        this.totalConnections = totalConnections;
+    }
+
+    public Integer getThreadsAwaitingConnection() {
+        return threadsAwaitingConnection;
+    }
+
+    public void setThreadsAwaitingConnection(Integer threadsAwaitingConnection) {
+        this.threadsAwaitingConnection = threadsAwaitingConnection;
+    }
+}
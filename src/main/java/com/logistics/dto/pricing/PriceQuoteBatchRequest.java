@@ -0,0 +1,73 @@
+package com.logistics.dto.pricing;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO for batch price quote requests.
+ *
+ * Parcels are given as parallel arrays: weights[i] in kilograms (read as
+ * BigDecimal, so 0.1 is exactly 0.1 as in a shipment request) and
+ * officeDeliveries[i] (true for office delivery, false for address delivery).
+ * The optional originOfficeIds[i] and deliveryOfficeIds[i] (0 for none)
+ * select the pricing zones when a pricing rule set is active.
+ */
+public class PriceQuoteBatchRequest {
+
+    public static final int MAX_PARCELS = 10_000;
+
+    @NotNull(message = "Weights are required")
+    @Size(min = 1, max = MAX_PARCELS, message = "Between 1 and 10000 parcels can be quoted at once")
+    private BigDecimal[] weights;
+
+    @NotNull(message = "Delivery types are required")
+    private boolean[] officeDeliveries;
+
+    private long[] originOfficeIds;
+
+    private long[] deliveryOfficeIds;
+
+    // Default constructor
+    public PriceQuoteBatchRequest() {
+    }
+
+    public PriceQuoteBatchRequest(BigDecimal[] weights, boolean[] officeDeliveries) {
+        this.weights = weights;
+        this.officeDeliveries = officeDeliveries;
+    }
+
+    // Getters and Setters
+    public BigDecimal[] getWeights() {
+        return weights;
+    }
+
+    public void setWeights(BigDecimal[] weights) {
+        this.weights = weights;
+    }
+
+    public boolean[] getOfficeDeliveries() {
+        return officeDeliveries;
+    }
+
+    public void setOfficeDeliveries(boolean[] officeDeliveries) {
+        this.officeDeliveries = officeDeliveries;
+    }
+
+    public long[] getOriginOfficeIds() {
+        return originOfficeIds;
+    }
+
+    public void setOriginOfficeIds(long[] originOfficeIds) {
+        this.originOfficeIds = originOfficeIds;
+    }
+
+    public long[] getDeliveryOfficeIds() {
+        return deliveryOfficeIds;
+    }
+
+    public void setDeliveryOfficeIds(long[] deliveryOfficeIds) {
+        this.deliveryOfficeIds = deliveryOfficeIds;
+    }
+}
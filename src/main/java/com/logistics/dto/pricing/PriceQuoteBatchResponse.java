@@ -0,0 +1,29 @@
+package com.logistics.dto.pricing;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * DTO for batch price quotes: one price per requested parcel, in request order.
+ */
+public class PriceQuoteBatchResponse {
+
+    private List<BigDecimal> prices;
+
+    // Default constructor
+    public PriceQuoteBatchResponse() {
+    }
+
+    public PriceQuoteBatchResponse(List<BigDecimal> prices) {
+        this.prices = prices;
+    }
+
+    // Getters and Setters
+    public List<BigDecimal> getPrices() {
+        return prices;
+    }
+
+    public void setPrices(List<BigDecimal> prices) {
+        this.prices = prices;
+    }
+}
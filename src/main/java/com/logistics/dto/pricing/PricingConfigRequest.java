@@ -4,6 +4,7 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PositiveOrZero;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 /**
  * DTO for pricing configuration update requests.
@@ -22,6 +23,12 @@ public class PricingConfigRequest {
     @PositiveOrZero(message = "Address delivery fee must be zero or positive")
     private BigDecimal addressDeliveryFee;
 
+    /**
+     * When the new config takes effect. Defaults to now; may be back-dated,
+     * but not before the latest config takes effect, or scheduled in the future.
+     */
+    private LocalDateTime effectiveFrom;
+
     public PricingConfigRequest() {
     }
 
@@ -54,4 +61,12 @@ public class PricingConfigRequest {
     public void setAddressDeliveryFee(BigDecimal addressDeliveryFee) {
         this.addressDeliveryFee = addressDeliveryFee;
     }
+
+    public LocalDateTime getEffectiveFrom() {
+        return effectiveFrom;
+    }
+
+    public void setEffectiveFrom(LocalDateTime effectiveFrom) {
+        this.effectiveFrom = effectiveFrom;
+    }
 }
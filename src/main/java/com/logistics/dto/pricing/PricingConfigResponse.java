@@ -13,6 +13,7 @@ public class PricingConfigResponse {
     private BigDecimal pricePerKg;
     private BigDecimal addressDeliveryFee;
     private Boolean active;
+    private LocalDateTime effectiveFrom;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
@@ -20,13 +21,14 @@ public class PricingConfigResponse {
     }
 
     public PricingConfigResponse(Long id, BigDecimal basePrice, BigDecimal pricePerKg,
-                                  BigDecimal addressDeliveryFee, Boolean active,
+                                  BigDecimal addressDeliveryFee, Boolean active, LocalDateTime effectiveFrom,
                                   LocalDateTime createdAt, LocalDateTime updatedAt) {
         this.id = id;
         this.basePrice = basePrice;
         this.pricePerKg = pricePerKg;
         this.addressDeliveryFee = addressDeliveryFee;
         this.active = active;
+        this.effectiveFrom = effectiveFrom;
         this.createdAt = createdAt;
         this.updatedAt = updatedAt;
     }
@@ -71,6 +73,14 @@ public class PricingConfigResponse {
         this.active = active;
     }
 
+    public LocalDateTime getEffectiveFrom() {
+        return effectiveFrom;
+    }
+
+    public void setEffectiveFrom(LocalDateTime effectiveFrom) {
+        this.effectiveFrom = effectiveFrom;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -0,0 +1,86 @@
+package com.logistics.dto.pricing;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for replacing the active pricing rule set.
+ *
+ * Brackets must cover weights up to 10000 kg. Zones and surcharges are
+ * optional; without them every shipment is in the DEFAULT zone.
+ */
+public class PricingRulesRequest {
+
+    @NotBlank(message = "Name is required")
+    @Size(max = 100, message = "Name cannot exceed 100 characters")
+    private String name;
+
+    @NotNull(message = "Address delivery fee is required")
+    @PositiveOrZero(message = "Address delivery fee must be zero or positive")
+    @Digits(integer = 8, fraction = 2, message = "Address delivery fee can have at most 2 decimal places")
+    private BigDecimal addressDeliveryFee;
+
+    @NotEmpty(message = "At least one weight bracket is required")
+    @Size(max = 100, message = "A rule set cannot have more than 100 weight brackets")
+    private List<@Valid WeightBracketEntry> brackets = new ArrayList<>();
+
+    @Size(max = 1000, message = "A rule set cannot have more than 1000 zone entries")
+    private List<@Valid PricingZoneEntry> zones = new ArrayList<>();
+
+    @Size(max = 10000, message = "A rule set cannot have more than 10000 zone surcharges")
+    private List<@Valid ZoneSurchargeEntry> surcharges = new ArrayList<>();
+
+    // Default constructor
+    public PricingRulesRequest() {
+    }
+
+    // Getters and Setters
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public BigDecimal getAddressDeliveryFee() {
+        return addressDeliveryFee;
+    }
+
+    public void setAddressDeliveryFee(BigDecimal addressDeliveryFee) {
+        this.addressDeliveryFee = addressDeliveryFee;
+    }
+
+    public List<WeightBracketEntry> getBrackets() {
+        return brackets;
+    }
+
+    public void setBrackets(List<WeightBracketEntry> brackets) {
+        this.brackets = brackets;
+    }
+
+    public List<PricingZoneEntry> getZones() {
+        return zones;
+    }
+
+    public void setZones(List<PricingZoneEntry> zones) {
+        this.zones = zones;
+    }
+
+    public List<ZoneSurchargeEntry> getSurcharges() {
+        return surcharges;
+    }
+
+    public void setSurcharges(List<ZoneSurchargeEntry> surcharges) {
+        this.surcharges = surcharges;
+    }
+}
@@ -0,0 +1,100 @@
+package com.logistics.dto.pricing;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO for a pricing rule set with its brackets, zones and surcharges.
+ */
+public class PricingRulesResponse {
+
+    private Long id;
+    private String name;
+    private BigDecimal addressDeliveryFee;
+    private Boolean active;
+    private List<WeightBracketEntry> brackets;
+    private List<PricingZoneEntry> zones;
+    private List<ZoneSurchargeEntry> surcharges;
+    private LocalDateTime createdAt;
+
+    // Default constructor
+    public PricingRulesResponse() {
+    }
+
+    public PricingRulesResponse(Long id, String name, BigDecimal addressDeliveryFee, Boolean active, List<WeightBracketEntry> brackets, List<PricingZoneEntry> zones, List<ZoneSurchargeEntry> surcharges, LocalDateTime createdAt) {
+        this.id = id;
+        this.name = name;
+        this.addressDeliveryFee = addressDeliveryFee;
+        this.active = active;
+        this.brackets = brackets;
+        this.zones = zones;
+        this.surcharges = surcharges;
+        this.createdAt = createdAt;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public BigDecimal getAddressDeliveryFee() {
+        return addressDeliveryFee;
+    }
+
+    public void setAddressDeliveryFee(BigDecimal addressDeliveryFee) {
+        this.addressDeliveryFee = addressDeliveryFee;
+    }
+
+    public Boolean getActive() {
+        return active;
+    }
+
+    public void setActive(Boolean active) {
+        this.active = active;
+    }
+
+    public List<WeightBracketEntry> getBrackets() {
+        return brackets;
+    }
+
+    public void setBrackets(List<WeightBracketEntry> brackets) {
+        this.brackets = brackets;
+    }
+
+    public List<PricingZoneEntry> getZones() {
+        return zones;
+    }
+
+    public void setZones(List<PricingZoneEntry> zones) {
+        this.zones = zones;
+    }
+
+    public List<ZoneSurchargeEntry> getSurcharges() {
+        return surcharges;
+    }
+
+    public void setSurcharges(List<ZoneSurchargeEntry> surcharges) {
+        this.surcharges = surcharges;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
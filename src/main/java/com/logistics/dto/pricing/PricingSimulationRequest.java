@@ -0,0 +1,96 @@
+package com.logistics.dto.pricing;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * DTO for re-pricing the shipments registered in a date range under a tariff.
+ *
+ * The tariff is either a pricing config from the history (configId) or a
+ * proposed one (basePrice, pricePerKg and addressDeliveryFee).
+ */
+public class PricingSimulationRequest {
+
+    @NotNull(message = "Start date is required")
+    private LocalDate startDate;
+
+    @NotNull(message = "End date is required")
+    private LocalDate endDate;
+
+    private Long configId;
+
+    @PositiveOrZero(message = "Base price must be zero or positive")
+    private BigDecimal basePrice;
+
+    @PositiveOrZero(message = "Price per kg must be zero or positive")
+    private BigDecimal pricePerKg;
+
+    @PositiveOrZero(message = "Address delivery fee must be zero or positive")
+    private BigDecimal addressDeliveryFee;
+
+    // Default constructor
+    public PricingSimulationRequest() {
+    }
+
+    public PricingSimulationRequest(LocalDate startDate, LocalDate endDate, Long configId,
+                                    BigDecimal basePrice, BigDecimal pricePerKg, BigDecimal addressDeliveryFee) {
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.configId = configId;
+        this.basePrice = basePrice;
+        this.pricePerKg = pricePerKg;
+        this.addressDeliveryFee = addressDeliveryFee;
+    }
+
+    // Getters and Setters
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public Long getConfigId() {
+        return configId;
+    }
+
+    public void setConfigId(Long configId) {
+        this.configId = configId;
+    }
+
+    public BigDecimal getBasePrice() {
+        return basePrice;
+    }
+
+    public void setBasePrice(BigDecimal basePrice) {
+        this.basePrice = basePrice;
+    }
+
+    public BigDecimal getPricePerKg() {
+        return pricePerKg;
+    }
+
+    public void setPricePerKg(BigDecimal pricePerKg) {
+        this.pricePerKg = pricePerKg;
+    }
+
+    public BigDecimal getAddressDeliveryFee() {
+        return addressDeliveryFee;
+    }
+
+    public void setAddressDeliveryFee(BigDecimal addressDeliveryFee) {
+        this.addressDeliveryFee = addressDeliveryFee;
+    }
+}
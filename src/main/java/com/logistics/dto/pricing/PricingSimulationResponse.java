@@ -0,0 +1,138 @@
+package com.logistics.dto.pricing;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * DTO for the result of re-pricing shipments under a tariff.
+ *
+ * chargedRevenue is the sum of the prices the shipments were registered
+ * with, simulatedRevenue the sum under the tariff. ruleSetPricedCount of the
+ * shipments were charged a pricing rule set price rather than a config
+ * price; they are still part of the totals.
+ */
+public class PricingSimulationResponse {
+
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Long configId;
+    private BigDecimal basePrice;
+    private BigDecimal pricePerKg;
+    private BigDecimal addressDeliveryFee;
+    private long shipmentCount;
+    private BigDecimal chargedRevenue;
+    private BigDecimal simulatedRevenue;
+    private BigDecimal difference;
+    private long increasedCount;
+    private long decreasedCount;
+    private long ruleSetPricedCount;
+
+    // Default constructor
+    public PricingSimulationResponse() {
+    }
+
+    // Getters and Setters
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public Long getConfigId() {
+        return configId;
+    }
+
+    public void setConfigId(Long configId) {
+        this.configId = configId;
+    }
+
+    public BigDecimal getBasePrice() {
+        return basePrice;
+    }
+
+    public void setBasePrice(BigDecimal basePrice) {
+        this.basePrice = basePrice;
+    }
+
+    public BigDecimal getPricePerKg() {
+        return pricePerKg;
+    }
+
+    public void setPricePerKg(BigDecimal pricePerKg) {
+        this.pricePerKg = pricePerKg;
+    }
+
+    public BigDecimal getAddressDeliveryFee() {
+        return addressDeliveryFee;
+    }
+
+    public void setAddressDeliveryFee(BigDecimal addressDeliveryFee) {
+        this.addressDeliveryFee = addressDeliveryFee;
+    }
+
+    public long getShipmentCount() {
+        return shipmentCount;
+    }
+
+    public void setShipmentCount(long shipmentCount) {
+        this.shipmentCount = shipmentCount;
+    }
+
+    public BigDecimal getChargedRevenue() {
+        return chargedRevenue;
+    }
+
+    public void setChargedRevenue(BigDecimal chargedRevenue) {
+        this.chargedRevenue = chargedRevenue;
+    }
+
+    public BigDecimal getSimulatedRevenue() {
+        return simulatedRevenue;
+    }
+
+    public void setSimulatedRevenue(BigDecimal simulatedRevenue) {
+        this.simulatedRevenue = simulatedRevenue;
+    }
+
+    public BigDecimal getDifference() {
+        return difference;
+    }
+
+    public void setDifference(BigDecimal difference) {
+        this.difference = difference;
+    }
+
+    public long getIncreasedCount() {
+        return increasedCount;
+    }
+
+    public void setIncreasedCount(long increasedCount) {
+        this.increasedCount = increasedCount;
+    }
+
+    public long getDecreasedCount() {
+        return decreasedCount;
+    }
+
+    public void setDecreasedCount(long decreasedCount) {
+        this.decreasedCount = decreasedCount;
+    }
+
+    public long getRuleSetPricedCount() {
+        return ruleSetPricedCount;
+    }
+
+    public void setRuleSetPricedCount(long ruleSetPricedCount) {
+        this.ruleSetPricedCount = ruleSetPricedCount;
+    }
+}
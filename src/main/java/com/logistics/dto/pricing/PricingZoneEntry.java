@@ -0,0 +1,58 @@
+package com.logistics.dto.pricing;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+/**
+ * DTO for one location of a pricing zone. Offices are matched by country and
+ * city (case-insensitive); leave city empty to cover the rest of a country.
+ * Several entries with the same name form one zone.
+ */
+public class PricingZoneEntry {
+
+    @NotBlank(message = "Zone name is required")
+    @Size(max = 50, message = "Zone name cannot exceed 50 characters")
+    private String name;
+
+    @NotBlank(message = "Country is required")
+    @Size(max = 100, message = "Country cannot exceed 100 characters")
+    private String country;
+
+    @Size(max = 100, message = "City cannot exceed 100 characters")
+    private String city;
+
+    // Default constructor
+    public PricingZoneEntry() {
+    }
+
+    public PricingZoneEntry(String name, String country, String city) {
+        this.name = name;
+        this.country = country;
+        this.city = city;
+    }
+
+    // Getters and Setters
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getCountry() {
+        return country;
+    }
+
+    public void setCountry(String country) {
+        this.country = country;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public void setCity(String city) {
+        this.city = city;
+    }
+}
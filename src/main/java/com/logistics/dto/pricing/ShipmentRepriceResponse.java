@@ -0,0 +1,139 @@
+package com.logistics.dto.pricing;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * DTO comparing a shipment's price with the pricing config in effect when
+ * it was registered.
+ *
+ * A shipment registered while a pricing rule set was active was not priced
+ * with any config: it comes back with supported = false and the ruleSetId,
+ * and without a tariff price or difference.
+ */
+public class ShipmentRepriceResponse {
+
+    private Long shipmentId;
+    private LocalDateTime registeredAt;
+    private BigDecimal weight;
+    private boolean officeDelivery;
+    private Long configId;
+    private BigDecimal chargedPrice;
+    private BigDecimal tariffPrice;
+    private BigDecimal difference;
+    private boolean supported;
+    private Long ruleSetId;
+
+    // Default constructor
+    public ShipmentRepriceResponse() {
+    }
+
+    public ShipmentRepriceResponse(Long shipmentId, LocalDateTime registeredAt, BigDecimal weight,
+                                   boolean officeDelivery, Long configId, BigDecimal chargedPrice,
+                                   BigDecimal tariffPrice) {
+        this.shipmentId = shipmentId;
+        this.registeredAt = registeredAt;
+        this.weight = weight;
+        this.officeDelivery = officeDelivery;
+        this.configId = configId;
+        this.chargedPrice = chargedPrice;
+        this.tariffPrice = tariffPrice;
+        this.difference = chargedPrice.subtract(tariffPrice);
+        this.supported = true;
+    }
+
+    /**
+     * For a shipment priced by the rule set ruleSetId, which cannot be re-priced.
+     */
+    public ShipmentRepriceResponse(Long shipmentId, LocalDateTime registeredAt, BigDecimal weight,
+                                   boolean officeDelivery, BigDecimal chargedPrice, Long ruleSetId) {
+        this.shipmentId = shipmentId;
+        this.registeredAt = registeredAt;
+        this.weight = weight;
+        this.officeDelivery = officeDelivery;
+        this.chargedPrice = chargedPrice;
+        this.supported = false;
+        this.ruleSetId = ruleSetId;
+    }
+
+    // Getters and Setters
+    public Long getShipmentId() {
+        return shipmentId;
+    }
+
+    public void setShipmentId(Long shipmentId) {
+        this.shipmentId = shipmentId;
+    }
+
+    public LocalDateTime getRegisteredAt() {
+        return registeredAt;
+    }
+
+    public void setRegisteredAt(LocalDateTime registeredAt) {
+        this.registeredAt = registeredAt;
+    }
+
+    public BigDecimal getWeight() {
+        return weight;
+    }
+
+    public void setWeight(BigDecimal weight) {
+        this.weight = weight;
+    }
+
+    public boolean isOfficeDelivery() {
+        return officeDelivery;
+    }
+
+    public void setOfficeDelivery(boolean officeDelivery) {
+        this.officeDelivery = officeDelivery;
+    }
+
+    public Long getConfigId() {
+        return configId;
+    }
+
+    public void setConfigId(Long configId) {
+        this.configId = configId;
+    }
+
+    public BigDecimal getChargedPrice() {
+        return chargedPrice;
+    }
+
+    public void setChargedPrice(BigDecimal chargedPrice) {
+        this.chargedPrice = chargedPrice;
+    }
+
+    public BigDecimal getTariffPrice() {
+        return tariffPrice;
+    }
+
+    public void setTariffPrice(BigDecimal tariffPrice) {
+        this.tariffPrice = tariffPrice;
+    }
+
+    public BigDecimal getDifference() {
+        return difference;
+    }
+
+    public void setDifference(BigDecimal difference) {
+        this.difference = difference;
+    }
+
+    public boolean isSupported() {
+        return supported;
+    }
+
+    public void setSupported(boolean supported) {
+        this.supported = supported;
+    }
+
+    public Long getRuleSetId() {
+        return ruleSetId;
+    }
+
+    public void setRuleSetId(Long ruleSetId) {
+        this.ruleSetId = ruleSetId;
+    }
+}
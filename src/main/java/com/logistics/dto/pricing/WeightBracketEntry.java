@@ -0,0 +1,65 @@
+package com.logistics.dto.pricing;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO for one weight bracket of a pricing rule set: parcels up to maxWeight kg
+ * (and above the previous bracket) cost basePrice + weight × pricePerKg.
+ */
+public class WeightBracketEntry {
+
+    @NotNull(message = "Max weight is required")
+    @DecimalMin(value = "0.01", message = "Max weight must be at least 0.01 kg")
+    @Digits(integer = 8, fraction = 2, message = "Max weight can have at most 2 decimal places")
+    private BigDecimal maxWeight;
+
+    @NotNull(message = "Base price is required")
+    @PositiveOrZero(message = "Base price must be zero or positive")
+    @Digits(integer = 8, fraction = 2, message = "Base price can have at most 2 decimal places")
+    private BigDecimal basePrice;
+
+    @NotNull(message = "Price per kg is required")
+    @PositiveOrZero(message = "Price per kg must be zero or positive")
+    @Digits(integer = 8, fraction = 2, message = "Price per kg can have at most 2 decimal places")
+    private BigDecimal pricePerKg;
+
+    // Default constructor
+    public WeightBracketEntry() {
+    }
+
+    public WeightBracketEntry(BigDecimal maxWeight, BigDecimal basePrice, BigDecimal pricePerKg) {
+        this.maxWeight = maxWeight;
+        this.basePrice = basePrice;
+        this.pricePerKg = pricePerKg;
+    }
+
+    // Getters and Setters
+    public BigDecimal getMaxWeight() {
+        return maxWeight;
+    }
+
+    public void setMaxWeight(BigDecimal maxWeight) {
+        this.maxWeight = maxWeight;
+    }
+
+    public BigDecimal getBasePrice() {
+        return basePrice;
+    }
+
+    public void setBasePrice(BigDecimal basePrice) {
+        this.basePrice = basePrice;
+    }
+
+    public BigDecimal getPricePerKg() {
+        return pricePerKg;
+    }
+
+    public void setPricePerKg(BigDecimal pricePerKg) {
+        this.pricePerKg = pricePerKg;
+    }
+}
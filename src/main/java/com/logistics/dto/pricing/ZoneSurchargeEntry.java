@@ -0,0 +1,61 @@
+package com.logistics.dto.pricing;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO for the surcharge on shipments from originZone to destinationZone.
+ * Zones are referenced by name; DEFAULT covers offices in no zone.
+ */
+public class ZoneSurchargeEntry {
+
+    @NotBlank(message = "Origin zone is required")
+    private String originZone;
+
+    @NotBlank(message = "Destination zone is required")
+    private String destinationZone;
+
+    @NotNull(message = "Surcharge amount is required")
+    @PositiveOrZero(message = "Surcharge amount must be zero or positive")
+    @Digits(integer = 8, fraction = 2, message = "Surcharge amount can have at most 2 decimal places")
+    private BigDecimal amount;
+
+    // Default constructor
+    public ZoneSurchargeEntry() {
+    }
+
+    public ZoneSurchargeEntry(String originZone, String destinationZone, BigDecimal amount) {
+        this.originZone = originZone;
+        this.destinationZone = destinationZone;
+        this.amount = amount;
+    }
+
+    // Getters and Setters
+    public String getOriginZone() {
+        return originZone;
+    }
+
+    public void setOriginZone(String originZone) {
+        this.originZone = originZone;
+    }
+
+    public String getDestinationZone() {
+        return destinationZone;
+    }
+
+    public void setDestinationZone(String destinationZone) {
+        this.destinationZone = destinationZone;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+}
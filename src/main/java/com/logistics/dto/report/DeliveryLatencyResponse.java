@@ -0,0 +1,76 @@
+package com.logistics.dto.report;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO for the delivery latency report.
+ *
+ * Covers shipments delivered between startDate and endDate (inclusive,
+ * whole weeks) that match the report's filters: one overall row, plus one
+ * row per origin office and one per destination. A report filtered by origin
+ * office has no destination rows, and one filtered by destination no origin rows.
+ */
+public class DeliveryLatencyResponse {
+
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private LatencyPercentilesResponse overall;
+    private List<LatencyPercentilesResponse> origins;
+    private List<LatencyPercentilesResponse> destinations;
+
+    // Default constructor
+    public DeliveryLatencyResponse() {
+    }
+
+    public DeliveryLatencyResponse(LocalDate startDate, LocalDate endDate,
+                                   LatencyPercentilesResponse overall, List<LatencyPercentilesResponse> origins,
+                                   List<LatencyPercentilesResponse> destinations) {
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.overall = overall;
+        this.origins = origins;
+        this.destinations = destinations;
+    }
+
+    // Getters and Setters
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public LatencyPercentilesResponse getOverall() {
+        return overall;
+    }
+
+    public void setOverall(LatencyPercentilesResponse overall) {
+        this.overall = overall;
+    }
+
+    public List<LatencyPercentilesResponse> getOrigins() {
+        return origins;
+    }
+
+    public void setOrigins(List<LatencyPercentilesResponse> origins) {
+        this.origins = origins;
+    }
+
+    public List<LatencyPercentilesResponse> getDestinations() {
+        return destinations;
+    }
+
+    public void setDestinations(List<LatencyPercentilesResponse> destinations) {
+        this.destinations = destinations;
+    }
+}
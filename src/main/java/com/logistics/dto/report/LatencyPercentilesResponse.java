@@ -0,0 +1,100 @@
+package com.logistics.dto.report;
+
+import com.logistics.model.enums.DeliveryType;
+
+/**
+ * DTO for the delivery latency percentiles of one origin office, one
+ * destination, or all shipments.
+ *
+ * Latency is deliveredAt - registeredAt in seconds, read from a histogram,
+ * so percentiles are accurate to about 6%. An origin row sets only
+ * originOfficeId, a destination row only deliveryType and deliveryOfficeId
+ * (null for address deliveries), and the overall row none of them.
+ */
+public class LatencyPercentilesResponse {
+
+    private Long originOfficeId;
+    private DeliveryType deliveryType;
+    private Long deliveryOfficeId;
+
+    /**
+     * Number of delivered shipments the percentiles cover.
+     */
+    private long shipmentCount;
+
+    private Long p50Seconds;
+    private Long p95Seconds;
+    private Long p99Seconds;
+
+    // Default constructor
+    public LatencyPercentilesResponse() {
+    }
+
+    public LatencyPercentilesResponse(Long originOfficeId, DeliveryType deliveryType, Long deliveryOfficeId,
+                                      long shipmentCount, Long p50Seconds, Long p95Seconds, Long p99Seconds) {
+        this.originOfficeId = originOfficeId;
+        this.deliveryType = deliveryType;
+        this.deliveryOfficeId = deliveryOfficeId;
+        this.shipmentCount = shipmentCount;
+        this.p50Seconds = p50Seconds;
+        this.p95Seconds = p95Seconds;
+        this.p99Seconds = p99Seconds;
+    }
+
+    // Getters and Setters
+    public Long getOriginOfficeId() {
+        return originOfficeId;
+    }
+
+    public void setOriginOfficeId(Long originOfficeId) {
+        this.originOfficeId = originOfficeId;
+    }
+
+    public DeliveryType getDeliveryType() {
+        return deliveryType;
+    }
+
+    public void setDeliveryType(DeliveryType deliveryType) {
+        this.deliveryType = deliveryType;
+    }
+
+    public Long getDeliveryOfficeId() {
+        return deliveryOfficeId;
+    }
+
+    public void setDeliveryOfficeId(Long deliveryOfficeId) {
+        this.deliveryOfficeId = deliveryOfficeId;
+    }
+
+    public long getShipmentCount() {
+        return shipmentCount;
+    }
+
+    public void setShipmentCount(long shipmentCount) {
+        this.shipmentCount = shipmentCount;
+    }
+
+    public Long getP50Seconds() {
+        return p50Seconds;
+    }
+
+    public void setP50Seconds(Long p50Seconds) {
+        this.p50Seconds = p50Seconds;
+    }
+
+    public Long getP95Seconds() {
+        return p95Seconds;
+    }
+
+    public void setP95Seconds(Long p95Seconds) {
+        this.p95Seconds = p95Seconds;
+    }
+
+    public Long getP99Seconds() {
+        return p99Seconds;
+    }
+
+    public void setP99Seconds(Long p99Seconds) {
+        this.p99Seconds = p99Seconds;
+    }
+}
@@ -0,0 +1,84 @@
+package com.logistics.dto.report;
+
+import com.logistics.model.enums.ExportFormat;
+import com.logistics.model.enums.ReportType;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+
+/**
+ * DTO for submitting a background report job.
+ *
+ * employeeId is required for EMPLOYEE_SHIPMENTS, startDate and endDate
+ * for REVENUE. Parameters a report type does not use are ignored.
+ */
+public class ReportJobRequest {
+
+    @NotNull(message = "Report type is required")
+    private ReportType reportType;
+
+    /**
+     * Output format. Defaults to NDJSON.
+     */
+    private ExportFormat format;
+
+    private Long employeeId;
+
+    private LocalDate startDate;
+
+    private LocalDate endDate;
+
+    // Default constructor
+    public ReportJobRequest() {
+    }
+
+    public ReportJobRequest(ReportType reportType, ExportFormat format, Long employeeId,
+                            LocalDate startDate, LocalDate endDate) {
+        this.reportType = reportType;
+        this.format = format;
+        this.employeeId = employeeId;
+        this.startDate = startDate;
+        this.endDate = endDate;
+    }
+
+    // Getters and Setters
+    public ReportType getReportType() {
+        return reportType;
+    }
+
+    public void setReportType(ReportType reportType) {
+        this.reportType = reportType;
+    }
+
+    public ExportFormat getFormat() {
+        return format;
+    }
+
+    public void setFormat(ExportFormat format) {
+        this.format = format;
+    }
+
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    public void setEmployeeId(Long employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+}
@@ -0,0 +1,57 @@
+package com.logistics.dto.shipment;
+
+/**
+ * DTO for the outcome of one item in a batch shipment registration.
+ *
+ * index refers to the position of the item in the submitted list.
+ * Exactly one of shipment and error is set.
+ */
+public class ShipmentBatchItemResult {
+
+    private int index;
+    private boolean success;
+    private ShipmentResponse shipment;
+    private String error;
+
+    public ShipmentBatchItemResult() {
+    }
+
+    public ShipmentBatchItemResult(int index, boolean success, ShipmentResponse shipment, String error) {
+        this.index = index;
+        this.success = success;
+        this.shipment = shipment;
+        this.error = error;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+
+    public ShipmentResponse getShipment() {
+        return shipment;
+    }
+
+    public void setShipment(ShipmentResponse shipment) {
+        this.shipment = shipment;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -0,0 +1,50 @@
+package com.logistics.dto.shipment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for the result of a batch shipment registration.
+ *
+ * Invalid items are rejected individually; the valid ones are still
+ * registered. results has one entry per submitted item, in request order.
+ */
+public class ShipmentBatchResponse {
+
+    private int registered;
+    private int rejected;
+    private List<ShipmentBatchItemResult> results = new ArrayList<>();
+
+    public ShipmentBatchResponse() {
+    }
+
+    public ShipmentBatchResponse(int registered, int rejected, List<ShipmentBatchItemResult> results) {
+        this.registered = registered;
+        this.rejected = rejected;
+        this.results = results;
+    }
+
+    public int getRegistered() {
+        return registered;
+    }
+
+    public void setRegistered(int registered) {
+        this.registered = registered;
+    }
+
+    public int getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(int rejected) {
+        this.rejected = rejected;
+    }
+
+    public List<ShipmentBatchItemResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<ShipmentBatchItemResult> results) {
+        this.results = results;
+    }
+}
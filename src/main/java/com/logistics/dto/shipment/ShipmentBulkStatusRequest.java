@@ -0,0 +1,78 @@
+package com.logistics.dto.shipment;
+
+import com.logistics.model.enums.ShipmentStatus;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+/**
+ * DTO for bulk shipment status transitions.
+ *
+ * Targets either an explicit list of shipment IDs, or every shipment in
+ * currentStatus (optionally limited to one origin office). Not both.
+ */
+public class ShipmentBulkStatusRequest {
+
+    @NotNull(message = "Status is required")
+    private ShipmentStatus status;
+
+    /**
+     * Shipments to transition. Mutually exclusive with currentStatus.
+     */
+    private List<Long> ids;
+
+    /**
+     * Filter: transition every shipment currently in this status.
+     */
+    private ShipmentStatus currentStatus;
+
+    /**
+     * Optional filter refinement: only shipments registered at this office.
+     */
+    private Long originOfficeId;
+
+    // Default constructor
+    public ShipmentBulkStatusRequest() {
+    }
+
+    public ShipmentBulkStatusRequest(ShipmentStatus status, List<Long> ids,
+                                     ShipmentStatus currentStatus, Long originOfficeId) {
+        this.status = status;
+        this.ids = ids;
+        this.currentStatus = currentStatus;
+        this.originOfficeId = originOfficeId;
+    }
+
+    // Getters and Setters
+    public ShipmentStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ShipmentStatus status) {
+        this.status = status;
+    }
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public ShipmentStatus getCurrentStatus() {
+        return currentStatus;
+    }
+
+    public void setCurrentStatus(ShipmentStatus currentStatus) {
+        this.currentStatus = currentStatus;
+    }
+
+    public Long getOriginOfficeId() {
+        return originOfficeId;
+    }
+
+    public void setOriginOfficeId(Long originOfficeId) {
+        this.originOfficeId = originOfficeId;
+    }
+}
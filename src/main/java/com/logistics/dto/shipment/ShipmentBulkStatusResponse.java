@@ -0,0 +1,63 @@
+package com.logistics.dto.shipment;
+
+import com.logistics.model.enums.ShipmentStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for the result of a bulk shipment status transition.
+ *
+ * rejectedIds are shipments whose current status does not allow the
+ * transition; they are left unchanged. notFoundIds do not exist.
+ */
+public class ShipmentBulkStatusResponse {
+
+    private ShipmentStatus status;
+    private int updated;
+    private List<Long> rejectedIds = new ArrayList<>();
+    private List<Long> notFoundIds = new ArrayList<>();
+
+    public ShipmentBulkStatusResponse() {
+    }
+
+    public ShipmentBulkStatusResponse(ShipmentStatus status, int updated,
+                                      List<Long> rejectedIds, List<Long> notFoundIds) {
+        this.status = status;
+        this.updated = updated;
+        this.rejectedIds = rejectedIds;
+        this.notFoundIds = notFoundIds;
+    }
+
+    public ShipmentStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ShipmentStatus status) {
+        this.status = status;
+    }
+
+    public int getUpdated() {
+        return updated;
+    }
+
+    public void setUpdated(int updated) {
+        this.updated = updated;
+    }
+
+    public List<Long> getRejectedIds() {
+        return rejectedIds;
+    }
+
+    public void setRejectedIds(List<Long> rejectedIds) {
+        this.rejectedIds = rejectedIds;
+    }
+
+    public List<Long> getNotFoundIds() {
+        return notFoundIds;
+    }
+
+    public void setNotFoundIds(List<Long> notFoundIds) {
+        this.notFoundIds = notFoundIds;
+    }
+}
@@ -0,0 +1,55 @@
+package com.logistics.dto.shipment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for one page of a keyset-paginated shipment listing.
+ *
+ * Pages are ordered by (registeredAt, id). To fetch the next page, send
+ * nextCursor back as the cursor parameter. The cursor is opaque to clients.
+ */
+public class ShipmentPageResponse {
+
+    private List<ShipmentResponse> items = new ArrayList<>();
+
+    /**
+     * Continuation token for the next page, or null when this is the last page.
+     */
+    private String nextCursor;
+
+    private boolean hasMore;
+
+    public ShipmentPageResponse() {
+    }
+
+    public ShipmentPageResponse(List<ShipmentResponse> items, String nextCursor, boolean hasMore) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    public List<ShipmentResponse> getItems() {
+        return items;
+    }
+
+    public void setItems(List<ShipmentResponse> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
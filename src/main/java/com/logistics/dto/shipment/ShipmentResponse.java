@@ -1,6 +1,7 @@
 package com.logistics.dto.shipment;
 
 import com.logistics.model.enums.ShipmentStatus;
+import com.logistics.util.AddressFormatter;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -59,6 +60,49 @@ public class ShipmentResponse {
     public ShipmentResponse() {
     }
 
+    /**
+     * Flat-column constructor used by the JPQL constructor expression in
+     * ShipmentRepository.RESPONSE_PROJECTION. Read-only list endpoints build
+     * responses straight from one joined SELECT without hydrating entities.
+     */
+    public ShipmentResponse(Long id,
+                            Long senderId, String senderName, String senderEmail,
+                            Long recipientId, String recipientName, String recipientEmail,
+                            Long registeredById, String registeredByName,
+                            Long originOfficeId, String originOfficeName,
+                            String deliveryAddress, Long deliveryOfficeId, String deliveryOfficeName,
+                            String deliveryOfficeStreet, String deliveryOfficeCity, String deliveryOfficeCountry,
+                            BigDecimal weight, BigDecimal price, ShipmentStatus status,
+                            LocalDateTime registeredAt, LocalDateTime deliveredAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.senderId = senderId;
+        this.senderName = senderName;
+        this.senderEmail = senderEmail;
+        this.recipientId = recipientId;
+        this.recipientName = recipientName;
+        this.recipientEmail = recipientEmail;
+        this.receiverName = recipientName;
+        this.registeredById = registeredById;
+        this.registeredByName = registeredByName;
+        this.originOfficeId = originOfficeId;
+        this.originOfficeName = originOfficeName;
+        this.deliveryAddress = deliveryAddress;
+        this.deliverToAddress = deliveryAddress != null && !deliveryAddress.isBlank();
+        this.deliveryOfficeId = deliveryOfficeId;
+        this.deliveryOfficeName = deliveryOfficeName;
+        this.destinationOfficeName = deliveryOfficeName;
+        String deliveryOfficeAddress = deliveryOfficeId == null ? null
+                : AddressFormatter.formatFullAddress(deliveryOfficeStreet, deliveryOfficeCity, deliveryOfficeCountry);
+        this.deliveryDestination = AddressFormatter.describeDestination(
+                deliveryAddress, deliveryOfficeId == null ? null : deliveryOfficeName, deliveryOfficeAddress);
+        this.weight = weight;
+        this.price = price;
+        this.status = status;
+        this.registeredAt = registeredAt;
+        this.deliveredAt = deliveredAt;
+        this.updatedAt = updatedAt;
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
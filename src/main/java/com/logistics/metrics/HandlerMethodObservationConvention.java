@@ -0,0 +1,36 @@
+package com.logistics.metrics;
+
+import io.micrometer.common.KeyValues;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Adds a "handler" tag naming the controller method that served the request,
+ * e.g. "ShipmentController.getShipmentById", to the http.server.requests
+ * metrics. Requests that never reached a controller (rejected by security,
+ * static files, actuator endpoints) are tagged "none".
+ */
+public class HandlerMethodObservationConvention extends DefaultServerRequestObservationConvention {
+
+    static final String HANDLER_KEY = "handler";
+    static final String NO_HANDLER = "none";
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        return super.getLowCardinalityKeyValues(context).and(HANDLER_KEY, handlerName(context.getCarrier()));
+    }
+
+    static String handlerName(HttpServletRequest request) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod handlerMethod
+                && AnnotatedElementUtils.hasAnnotation(handlerMethod.getBeanType(), Controller.class)) {
+            return handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+        }
+        return NO_HANDLER;
+    }
+}
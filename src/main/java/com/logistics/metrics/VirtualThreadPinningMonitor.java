@@ -0,0 +1,123 @@
+package com.logistics.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedMethod;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reports virtual threads that block while pinned to their carrier thread,
+ * from the JDK's jdk.VirtualThreadPinned flight recorder event (Java 21+).
+ *
+ * A virtual thread is pinned inside synchronized code and native frames. If it
+ * blocks there, on JDBC I/O or a lock, it keeps one of the few carrier threads
+ * busy and other virtual threads queue behind it. Every pinned block longer
+ * than the threshold is recorded in the jvm.threads.virtual.pinned timer. The
+ * first one from each application call site is logged at WARN with its stack,
+ * repeats at DEBUG.
+ */
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final String APPLICATION_PACKAGE = "com.logistics.";
+    private static final int MAX_LOGGED_FRAMES = 24;
+    private static final int MAX_REPORTED_SITES = 1_000;
+
+    private final Duration threshold;
+    private final Timer pinnedTimer;
+
+    /**
+     * Call sites already logged at WARN, bounded so that a stream of distinct
+     * sites cannot grow it without limit.
+     */
+    private final Set<String> reportedSites = ConcurrentHashMap.newKeySet();
+
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(Duration threshold, MeterRegistry meterRegistry) {
+        this.threshold = threshold;
+        this.pinnedTimer = Timer.builder("jvm.threads.virtual.pinned")
+                .description("Time virtual threads spent blocked while pinned to their carrier thread")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        logger.info("Reporting virtual threads pinned for more than {} ms", threshold.toMillis());
+    }
+
+    @PreDestroy
+    public void close() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedTimer.record(event.getDuration());
+
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        List<RecordedFrame> frames = stackTrace != null ? stackTrace.getFrames() : List.of();
+        String site = callSite(frames);
+        if (reportedSites.size() < MAX_REPORTED_SITES && reportedSites.add(site)) {
+            logger.warn("Virtual thread pinned for {} ms at {} on {}{}", event.getDuration().toMillis(), site,
+                    event.getThread() != null ? event.getThread().getJavaName() : "unknown thread",
+                    format(frames));
+        } else {
+            logger.debug("Virtual thread pinned for {} ms at {}", event.getDuration().toMillis(), site);
+        }
+    }
+
+    /**
+     * The innermost application frame, which is where the fix usually goes;
+     * the top frame if the stack has none (e.g. pinned inside a library).
+     */
+    static String callSite(List<RecordedFrame> frames) {
+        for (RecordedFrame frame : frames) {
+            if (frame.getMethod() != null
+                    && frame.getMethod().getType().getName().startsWith(APPLICATION_PACKAGE)) {
+                return describe(frame);
+            }
+        }
+        return frames.isEmpty() ? "unknown" : describe(frames.get(0));
+    }
+
+    private static String format(List<RecordedFrame> frames) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < frames.size() && i < MAX_LOGGED_FRAMES; i++) {
+            text.append("\n\tat ").append(describe(frames.get(i)));
+        }
+        if (frames.size() > MAX_LOGGED_FRAMES) {
+            text.append("\n\t...");
+        }
+        return text.toString();
+    }
+
+    private static String describe(RecordedFrame frame) {
+        RecordedMethod method = frame.getMethod();
+        if (method == null) {
+            return "unknown";
+        }
+        String name = method.getType().getName() + "." + method.getName();
+        return frame.getLineNumber() > 0 ? name + ":" + frame.getLineNumber() : name;
+    }
+}
@@ -0,0 +1,127 @@
+package com.logistics.model.entity;
+
+import com.logistics.model.enums.DeliveryType;
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Rollup of delivered shipments per day, delivery type and origin office.
+ *
+ * Maintained incrementally in the same transaction as each DELIVERED
+ * transition, so revenue reports read a handful of rows per day instead of
+ * every delivered shipment. Can always be rebuilt from the shipments table.
+ */
+@Entity
+@Table(name = "daily_revenue", uniqueConstraints = @UniqueConstraint(
+        name = "uk_daily_revenue_bucket",
+        columnNames = {"revenue_date", "delivery_type", "origin_office_id"}))
+public class DailyRevenue {
+
+    /**
+     * Stored in origin_office_id for shipments without an origin office,
+     * so the bucket key never contains NULL and stays unique.
+     */
+    public static final long NO_ORIGIN_OFFICE = 0L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Day the shipments were delivered (date part of deliveredAt).
+     */
+    @Column(name = "revenue_date", nullable = false)
+    private LocalDate revenueDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "delivery_type", nullable = false, length = 20)
+    private DeliveryType deliveryType;
+
+    /**
+     * Origin office ID, or {@link #NO_ORIGIN_OFFICE}. Plain column rather than
+     * a relationship: the rollup only ever groups by it.
+     */
+    @Column(name = "origin_office_id", nullable = false)
+    private Long originOfficeId;
+
+    @Column(name = "shipment_count", nullable = false)
+    private long shipmentCount;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue;
+
+    // Default constructor
+    public DailyRevenue() {
+    }
+
+    /**
+     * Creates a bucket. A null origin office is stored as {@link #NO_ORIGIN_OFFICE}.
+     */
+    public DailyRevenue(LocalDate revenueDate, DeliveryType deliveryType, Long originOfficeId,
+                        long shipmentCount, BigDecimal revenue) {
+        this.revenueDate = revenueDate;
+        this.deliveryType = deliveryType;
+        this.originOfficeId = originOfficeId != null ? originOfficeId : NO_ORIGIN_OFFICE;
+        this.shipmentCount = shipmentCount;
+        this.revenue = revenue;
+    }
+
+    /**
+     * Constructor used by the JPQL aggregation queries in ShipmentRepository.
+     */
+    public DailyRevenue(LocalDate revenueDate, Boolean officeDelivery, Long originOfficeId,
+                        Long shipmentCount, BigDecimal revenue) {
+        this(revenueDate, DeliveryType.of(officeDelivery), originOfficeId, shipmentCount, revenue);
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public LocalDate getRevenueDate() {
+        return revenueDate;
+    }
+
+    public void setRevenueDate(LocalDate revenueDate) {
+        this.revenueDate = revenueDate;
+    }
+
+    public DeliveryType getDeliveryType() {
+        return deliveryType;
+    }
+
+    public void setDeliveryType(DeliveryType deliveryType) {
+        this.deliveryType = deliveryType;
+    }
+
+    public Long getOriginOfficeId() {
+        return originOfficeId;
+    }
+
+    public void setOriginOfficeId(Long originOfficeId) {
+        this.originOfficeId = originOfficeId;
+    }
+
+    public long getShipmentCount() {
+        return shipmentCount;
+    }
+
+    public void setShipmentCount(long shipmentCount) {
+        this.shipmentCount = shipmentCount;
+    }
+
+    public BigDecimal getRevenue() {
+        return revenue;
+    }
+
+    public void setRevenue(BigDecimal revenue) {
+        this.revenue = revenue;
+    }
+}
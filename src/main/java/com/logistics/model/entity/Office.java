@@ -1,5 +1,6 @@
 package com.logistics.model.entity;
 
+import com.logistics.util.AddressFormatter;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -227,6 +228,6 @@ public class Office {
      * @return formatted full address string
      */
     public String getFullAddress() {
-        return String.format("%s, %s, %s", address, city, country);
+        return AddressFormatter.formatFullAddress(address, city, country);
     }
 }
@@ -13,6 +13,11 @@ import java.time.LocalDateTime;
  * Only ONE record should be active at a time (active = true).
  * This allows changing pricing without code deployment.
  *
+ * Old rows are kept as pricing history: each config is in effect from its
+ * effectiveFrom until the next config's, so the tariff of any past moment
+ * is well defined. A config with a future effectiveFrom is saved inactive
+ * and activated once it takes effect.
+ *
  * Pricing Formula:
  * Total = basePrice + (weight × pricePerKg) + addressDeliveryFee (if address delivery)
  */
@@ -49,6 +54,13 @@ public class PricingConfig {
     @Column(nullable = false)
     private Boolean active = true;
 
+    /**
+     * When this config took effect. Null on rows inserted directly into the
+     * table, which take effect at createdAt.
+     */
+    @Column(name = "effective_from")
+    private LocalDateTime effectiveFrom;
+
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -109,6 +121,17 @@ public class PricingConfig {
         this.active = active;
     }
 
+    /**
+     * @return when this config took effect, createdAt if effectiveFrom is not set
+     */
+    public LocalDateTime getEffectiveFrom() {
+        return effectiveFrom != null ? effectiveFrom : createdAt;
+    }
+
+    public void setEffectiveFrom(LocalDateTime effectiveFrom) {
+        this.effectiveFrom = effectiveFrom;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
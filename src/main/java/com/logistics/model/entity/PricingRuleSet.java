@@ -0,0 +1,179 @@
+package com.logistics.model.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Versioned set of zone- and weight-tier pricing rules.
+ *
+ * Like {@link PricingConfig}, only ONE rule set is active at a time and a
+ * change is saved as a new row, so older versions stay in the table. While a
+ * rule set is active it replaces the PricingConfig formula:
+ *
+ * Total = bracket basePrice + (weight × bracket pricePerKg)
+ *       + zone surcharge (origin zone → destination zone)
+ *       + addressDeliveryFee (if address delivery)
+ *
+ * The rules are never evaluated row by row: PricingServiceImpl compiles the
+ * active set into lookup tables.
+ */
+@Entity
+@Table(name = "pricing_rule_sets")
+public class PricingRuleSet {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String name;
+
+    /**
+     * Additional fee for address delivery (office delivery = 0).
+     */
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal addressDeliveryFee;
+
+    @Column(nullable = false)
+    private Boolean active = true;
+
+    /**
+     * Only written through the rule set (cascade). Pricing reads the rules
+     * with PricingRuleSetRepository queries instead of these lazy lists.
+     */
+    @OneToMany(mappedBy = "ruleSet", cascade = CascadeType.PERSIST)
+    private List<PricingWeightBracket> brackets = new ArrayList<>();
+
+    @OneToMany(mappedBy = "ruleSet", cascade = CascadeType.PERSIST)
+    private List<PricingZone> zones = new ArrayList<>();
+
+    @OneToMany(mappedBy = "ruleSet", cascade = CascadeType.PERSIST)
+    private List<PricingZoneSurcharge> surcharges = new ArrayList<>();
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
+    /**
+     * When the rule set stopped replacing the config formula. Set by the bulk
+     * deactivation, which bypasses @UpdateTimestamp; null while active, and on
+     * versions deactivated before the column existed.
+     */
+    @Column(name = "deactivated_at")
+    private LocalDateTime deactivatedAt;
+
+    // Default constructor
+    public PricingRuleSet() {
+    }
+
+    public PricingRuleSet(String name, BigDecimal addressDeliveryFee) {
+        this.name = name;
+        this.addressDeliveryFee = addressDeliveryFee;
+        this.active = true;
+    }
+
+    public void addBracket(PricingWeightBracket bracket) {
+        bracket.setRuleSet(this);
+        brackets.add(bracket);
+    }
+
+    public void addZone(PricingZone zone) {
+        zone.setRuleSet(this);
+        zones.add(zone);
+    }
+
+    public void addSurcharge(PricingZoneSurcharge surcharge) {
+        surcharge.setRuleSet(this);
+        surcharges.add(surcharge);
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public BigDecimal getAddressDeliveryFee() {
+        return addressDeliveryFee;
+    }
+
+    public void setAddressDeliveryFee(BigDecimal addressDeliveryFee) {
+        this.addressDeliveryFee = addressDeliveryFee;
+    }
+
+    public Boolean getActive() {
+        return active;
+    }
+
+    public void setActive(Boolean active) {
+        this.active = active;
+    }
+
+    public List<PricingWeightBracket> getBrackets() {
+        return brackets;
+    }
+
+    public void setBrackets(List<PricingWeightBracket> brackets) {
+        this.brackets = brackets;
+    }
+
+    public List<PricingZone> getZones() {
+        return zones;
+    }
+
+    public void setZones(List<PricingZone> zones) {
+        this.zones = zones;
+    }
+
+    public List<PricingZoneSurcharge> getSurcharges() {
+        return surcharges;
+    }
+
+    public void setSurcharges(List<PricingZoneSurcharge> surcharges) {
+        this.surcharges = surcharges;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public LocalDateTime getDeactivatedAt() {
+        return deactivatedAt;
+    }
+
+    public void setDeactivatedAt(LocalDateTime deactivatedAt) {
+        this.deactivatedAt = deactivatedAt;
+    }
+}
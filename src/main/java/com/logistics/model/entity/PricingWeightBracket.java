@@ -0,0 +1,86 @@
+package com.logistics.model.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Weight tier of a {@link PricingRuleSet}: parcels up to maxWeight kg, and
+ * heavier than the previous bracket's maxWeight, cost
+ * basePrice + (weight × pricePerKg).
+ */
+@Entity
+@Table(name = "pricing_weight_brackets")
+public class PricingWeightBracket {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "rule_set_id", nullable = false)
+    private PricingRuleSet ruleSet;
+
+    /**
+     * Upper bound of the bracket in kg, inclusive.
+     */
+    @Column(name = "max_weight", nullable = false, precision = 10, scale = 2)
+    private BigDecimal maxWeight;
+
+    @Column(name = "base_price", nullable = false, precision = 10, scale = 2)
+    private BigDecimal basePrice;
+
+    @Column(name = "price_per_kg", nullable = false, precision = 10, scale = 2)
+    private BigDecimal pricePerKg;
+
+    // Default constructor
+    public PricingWeightBracket() {
+    }
+
+    public PricingWeightBracket(BigDecimal maxWeight, BigDecimal basePrice, BigDecimal pricePerKg) {
+        this.maxWeight = maxWeight;
+        this.basePrice = basePrice;
+        this.pricePerKg = pricePerKg;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public PricingRuleSet getRuleSet() {
+        return ruleSet;
+    }
+
+    public void setRuleSet(PricingRuleSet ruleSet) {
+        this.ruleSet = ruleSet;
+    }
+
+    public BigDecimal getMaxWeight() {
+        return maxWeight;
+    }
+
+    public void setMaxWeight(BigDecimal maxWeight) {
+        this.maxWeight = maxWeight;
+    }
+
+    public BigDecimal getBasePrice() {
+        return basePrice;
+    }
+
+    public void setBasePrice(BigDecimal basePrice) {
+        this.basePrice = basePrice;
+    }
+
+    public BigDecimal getPricePerKg() {
+        return pricePerKg;
+    }
+
+    public void setPricePerKg(BigDecimal pricePerKg) {
+        this.pricePerKg = pricePerKg;
+    }
+}
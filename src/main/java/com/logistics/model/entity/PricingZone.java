@@ -0,0 +1,85 @@
+package com.logistics.model.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * Named zone of a {@link PricingRuleSet}, matched against Office.country and
+ * Office.city (case-insensitive). A zone without a city covers every office
+ * in the country that no city zone claims. Offices matching no zone are in
+ * the built-in DEFAULT zone.
+ */
+@Entity
+@Table(name = "pricing_zones")
+public class PricingZone {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "rule_set_id", nullable = false)
+    private PricingRuleSet ruleSet;
+
+    @Column(nullable = false, length = 50)
+    private String name;
+
+    @Column(nullable = false, length = 100)
+    private String country;
+
+    /**
+     * Null for a zone covering the whole country.
+     */
+    @Column(length = 100)
+    private String city;
+
+    // Default constructor
+    public PricingZone() {
+    }
+
+    public PricingZone(String name, String country, String city) {
+        this.name = name;
+        this.country = country;
+        this.city = city;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public PricingRuleSet getRuleSet() {
+        return ruleSet;
+    }
+
+    public void setRuleSet(PricingRuleSet ruleSet) {
+        this.ruleSet = ruleSet;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getCountry() {
+        return country;
+    }
+
+    public void setCountry(String country) {
+        this.country = country;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public void setCity(String city) {
+        this.city = city;
+    }
+}
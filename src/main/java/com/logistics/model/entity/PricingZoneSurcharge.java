@@ -0,0 +1,83 @@
+package com.logistics.model.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Surcharge of a {@link PricingRuleSet} for shipments from one zone to another.
+ * Directional: A → B and B → A are separate rows. Zone pairs without a row
+ * have no surcharge. Zones are referenced by name; DEFAULT is allowed.
+ */
+@Entity
+@Table(name = "pricing_zone_surcharges")
+public class PricingZoneSurcharge {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "rule_set_id", nullable = false)
+    private PricingRuleSet ruleSet;
+
+    @Column(name = "origin_zone", nullable = false, length = 50)
+    private String originZone;
+
+    @Column(name = "destination_zone", nullable = false, length = 50)
+    private String destinationZone;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal amount;
+
+    // Default constructor
+    public PricingZoneSurcharge() {
+    }
+
+    public PricingZoneSurcharge(String originZone, String destinationZone, BigDecimal amount) {
+        this.originZone = originZone;
+        this.destinationZone = destinationZone;
+        this.amount = amount;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public PricingRuleSet getRuleSet() {
+        return ruleSet;
+    }
+
+    public void setRuleSet(PricingRuleSet ruleSet) {
+        this.ruleSet = ruleSet;
+    }
+
+    public String getOriginZone() {
+        return originZone;
+    }
+
+    public void setOriginZone(String originZone) {
+        this.originZone = originZone;
+    }
+
+    public String getDestinationZone() {
+        return destinationZone;
+    }
+
+    public void setDestinationZone(String destinationZone) {
+        this.destinationZone = destinationZone;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+}
@@ -1,6 +1,7 @@
 package com.logistics.model.entity;
 
 import com.logistics.model.enums.ShipmentStatus;
+import com.logistics.util.AddressFormatter;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.DecimalMin;
@@ -8,6 +9,7 @@ import jakarta.validation.constraints.NotNull;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 
 /**
  * Entity representing a shipment in the logistics system.
@@ -24,14 +26,56 @@ import java.time.LocalDateTime;
  * NEVER use double or float for monetary values!
  */
 @Entity
-@Table(name = "shipments")
+@NamedEntityGraph(
+        name = Shipment.GRAPH_RESPONSE,
+        attributeNodes = {
+                @NamedAttributeNode(value = "sender", subgraph = "customer"),
+                @NamedAttributeNode(value = "recipient", subgraph = "customer"),
+                @NamedAttributeNode(value = "registeredBy", subgraph = "employee"),
+                @NamedAttributeNode("originOffice"),
+                @NamedAttributeNode("deliveryOffice")
+        },
+        subgraphs = {
+                @NamedSubgraph(name = "customer", attributeNodes = @NamedAttributeNode(value = "user", subgraph = "user")),
+                @NamedSubgraph(name = "employee", attributeNodes = @NamedAttributeNode(value = "user", subgraph = "user")),
+                // User's inverse one-to-ones can't be proxied, so Hibernate would otherwise
+                // issue a SELECT per user to find out whether they are null.
+                @NamedSubgraph(name = "user", attributeNodes = {
+                        @NamedAttributeNode("customer"),
+                        @NamedAttributeNode("employee")
+                })
+        }
+)
+@Table(name = "shipments", indexes = {
+        @Index(name = "idx_shipments_registered_at_id", columnList = "registered_at, id")
+})
 public class Shipment {
 
+    /**
+     * Fetch plan covering every association read by EntityMapper.toShipmentResponse.
+     * List queries use it so a page of shipments loads in a single joined SELECT
+     * instead of one extra SELECT per lazy association per row.
+     */
+    public static final String GRAPH_RESPONSE = "Shipment.response";
+
+    /**
+     * Ids the generator reserves per round trip to id_sequences.
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     /**
      * Unique identifier for the shipment.
+     *
+     * Taken from a pooled table generator rather than IDENTITY: Hibernate cannot
+     * batch INSERTs when it needs the database to assign each key, while the pool
+     * hands out 50 ids per round trip to id_sequences. The row is seeded past
+     * existing ids at startup by ShipmentIdSequenceInitializer.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "shipment_id")
+    @TableGenerator(name = "shipment_id", table = "id_sequences",
+            pkColumnName = "sequence_name", valueColumnName = "next_val",
+            pkColumnValue = "shipments", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     /**
@@ -133,7 +177,10 @@ public class Shipment {
 
     @PrePersist
     protected void onCreate() {
-        this.registeredAt = LocalDateTime.now();
+        // Keyset pages order by (registeredAt, id), so equal timestamps are
+        // broken by id. Truncate to the DATETIME(6) column's precision so a
+        // cursor built from this instance matches the stored value.
+        this.registeredAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
         this.updatedAt = LocalDateTime.now();
         // Default status is REGISTERED when first created
         if (this.status == null) {
@@ -300,11 +347,10 @@ public class Shipment {
      */
     public String getDeliveryDestination() {
         if (isOfficeDelivery()) {
-            return "Office: " + deliveryOffice.getName() + " - " + deliveryOffice.getFullAddress();
-        } else if (isAddressDelivery()) {
-            return "Address: " + deliveryAddress;
+            return AddressFormatter.describeDestination(
+                    deliveryAddress, deliveryOffice.getName(), deliveryOffice.getFullAddress());
         }
-        return "Unknown";
+        return AddressFormatter.describeDestination(deliveryAddress, null, null);
     }
 
     /**
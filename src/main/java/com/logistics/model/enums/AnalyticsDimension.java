@@ -0,0 +1,44 @@
+package com.logistics.model.enums;
+
+/**
+ * Enumeration of the columns an analytics query can group shipments by.
+ *
+ * Time dimensions bucket shipments by their registration time; weeks
+ * start on Monday and are reported by the date of that Monday.
+ */
+public enum AnalyticsDimension {
+    /**
+     * Current shipment status.
+     */
+    STATUS,
+
+    /**
+     * Office the shipment was registered at.
+     */
+    ORIGIN_OFFICE,
+
+    /**
+     * Office the shipment is delivered to (none for address delivery).
+     */
+    DELIVERY_OFFICE,
+
+    /**
+     * OFFICE or ADDRESS delivery.
+     */
+    DELIVERY_TYPE,
+
+    /**
+     * Registration day.
+     */
+    REGISTERED_DAY,
+
+    /**
+     * Registration week.
+     */
+    REGISTERED_WEEK,
+
+    /**
+     * Registration month.
+     */
+    REGISTERED_MONTH
+}
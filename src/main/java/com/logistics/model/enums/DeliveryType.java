@@ -0,0 +1,23 @@
+package com.logistics.model.enums;
+
+/**
+ * Enumeration of shipment delivery destinations.
+ *
+ * A shipment goes either to an office (picked up by the recipient) or to
+ * an address (delivered by courier, which carries an extra fee).
+ */
+public enum DeliveryType {
+    /**
+     * Delivered to one of the company's offices.
+     */
+    OFFICE,
+
+    /**
+     * Delivered to the recipient's address.
+     */
+    ADDRESS;
+
+    public static DeliveryType of(boolean officeDelivery) {
+        return officeDelivery ? OFFICE : ADDRESS;
+    }
+}
@@ -0,0 +1,35 @@
+package com.logistics.model.enums;
+
+/**
+ * Enumeration of the formats supported by the streaming report exports.
+ *
+ * Both formats are line oriented, so rows can be written one at a time
+ * without building the whole report in memory.
+ */
+public enum ExportFormat {
+    /**
+     * Newline-delimited JSON: one ShipmentResponse object per line.
+     */
+    NDJSON("application/x-ndjson", "ndjson"),
+
+    /**
+     * Comma-separated values with a header row (RFC 4180 quoting).
+     */
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String fileExtension;
+
+    ExportFormat(String contentType, String fileExtension) {
+        this.contentType = contentType;
+        this.fileExtension = fileExtension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getFileExtension() {
+        return fileExtension;
+    }
+}
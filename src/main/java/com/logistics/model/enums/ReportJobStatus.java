@@ -0,0 +1,34 @@
+package com.logistics.model.enums;
+
+/**
+ * Enumeration representing the lifecycle of a background report job.
+ *
+ * Report job lifecycle:
+ * QUEUED -> RUNNING -> COMPLETED
+ *                  \-> FAILED
+ */
+public enum ReportJobStatus {
+    /**
+     * Accepted and waiting for a free report worker.
+     */
+    QUEUED,
+
+    /**
+     * A worker is generating the report file.
+     */
+    RUNNING,
+
+    /**
+     * The report file is ready for download.
+     */
+    COMPLETED,
+
+    /**
+     * Generation failed, or the job was lost in a restart. See the error message.
+     */
+    FAILED;
+
+    public boolean isActive() {
+        return this == QUEUED || this == RUNNING;
+    }
+}
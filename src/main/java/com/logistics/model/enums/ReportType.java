@@ -0,0 +1,27 @@
+package com.logistics.model.enums;
+
+/**
+ * Enumeration of the reports that can be generated as background jobs.
+ */
+public enum ReportType {
+    /**
+     * Every shipment, in registration order.
+     */
+    ALL_SHIPMENTS,
+
+    /**
+     * Shipments that have not been delivered yet.
+     */
+    PENDING_SHIPMENTS,
+
+    /**
+     * Shipments registered by one employee. Requires employeeId.
+     */
+    EMPLOYEE_SHIPMENTS,
+
+    /**
+     * Revenue from DELIVERED shipments over a date range.
+     * Requires startDate and endDate.
+     */
+    REVENUE
+}
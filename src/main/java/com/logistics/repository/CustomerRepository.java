@@ -1,11 +1,14 @@
 package com.logistics.repository;
 
 import com.logistics.model.entity.Customer;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -49,4 +52,14 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
      * @return true if a customer record exists for this user
      */
     boolean existsByUserId(Long userId);
+
+    /**
+     * Finds customers by ID with their user accounts fetched in the same query.
+     * Used by batch shipment registration to resolve all senders and recipients at once.
+     *
+     * @param ids the customer IDs
+     * @return the customers that exist, in no particular order
+     */
+    @EntityGraph(attributePaths = {"user", "user.customer", "user.employee"})
+    List<Customer> findByIdIn(Collection<Long> ids);
 }
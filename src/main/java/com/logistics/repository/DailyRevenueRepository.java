@@ -0,0 +1,66 @@
+package com.logistics.repository;
+
+import com.logistics.model.entity.DailyRevenue;
+import com.logistics.model.enums.DeliveryType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Repository interface for the daily revenue rollup.
+ */
+@Repository
+public interface DailyRevenueRepository extends JpaRepository<DailyRevenue, Long> {
+
+    /**
+     * Adds to an existing bucket in place, so concurrent deliveries on the same
+     * day never overwrite each other's totals.
+     *
+     * @return 1 if the bucket existed, 0 if it still has to be inserted
+     */
+    @Modifying
+    @Query("UPDATE DailyRevenue d SET d.shipmentCount = d.shipmentCount + :count, " +
+           "d.revenue = d.revenue + :revenue " +
+           "WHERE d.revenueDate = :revenueDate AND d.deliveryType = :deliveryType " +
+           "AND d.originOfficeId = :originOfficeId")
+    int addToBucket(@Param("revenueDate") LocalDate revenueDate,
+                    @Param("deliveryType") DeliveryType deliveryType,
+                    @Param("originOfficeId") Long originOfficeId,
+                    @Param("count") long count,
+                    @Param("revenue") BigDecimal revenue);
+
+    /**
+     * Sums revenue over an inclusive date range.
+     *
+     * @return total revenue, zero if there is none
+     */
+    @Query("SELECT COALESCE(SUM(d.revenue), 0) FROM DailyRevenue d " +
+           "WHERE d.revenueDate >= :startDate AND d.revenueDate <= :endDate")
+    BigDecimal sumRevenueBetween(@Param("startDate") LocalDate startDate,
+                                 @Param("endDate") LocalDate endDate);
+
+    /**
+     * Counts delivered shipments over an inclusive date range.
+     *
+     * @return number of delivered shipments
+     */
+    @Query("SELECT COALESCE(SUM(d.shipmentCount), 0) FROM DailyRevenue d " +
+           "WHERE d.revenueDate >= :startDate AND d.revenueDate <= :endDate")
+    long sumShipmentCountBetween(@Param("startDate") LocalDate startDate,
+                                 @Param("endDate") LocalDate endDate);
+
+    /**
+     * Removes the buckets of an inclusive date range before it is rebuilt.
+     *
+     * @return number of buckets removed
+     */
+    @Modifying
+    @Query("DELETE FROM DailyRevenue d WHERE d.revenueDate >= :startDate AND d.revenueDate <= :endDate")
+    int deleteBetween(@Param("startDate") LocalDate startDate,
+                      @Param("endDate") LocalDate endDate);
+}
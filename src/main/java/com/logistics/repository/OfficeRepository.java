@@ -2,6 +2,7 @@ package com.logistics.repository;
 
 import com.logistics.model.entity.Office;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -45,4 +46,23 @@ public interface OfficeRepository extends JpaRepository<Office, Long> {
      * @return list of matching offices
      */
     List<Office> findByNameContainingIgnoreCase(String name);
+
+    /**
+     * Loads every office's location as (id, city, country) rows, for
+     * assigning offices to pricing zones.
+     *
+     * @return one row per office
+     */
+    @Query("SELECT o.id, o.city, o.country FROM Office o")
+    List<Object[]> findLocationColumns();
+
+    /**
+     * Summarizes all offices as one (count, max id, max updatedAt) row, which
+     * changes whenever an office is created, deleted or updated. Lets pricing
+     * poll for location changes without loading every office.
+     *
+     * @return a single row
+     */
+    @Query("SELECT COUNT(o), MAX(o.id), MAX(o.updatedAt) FROM Office o")
+    List<Object[]> findLocationVersion();
 }
@@ -1,17 +1,23 @@
 package com.logistics.repository;
 
 import com.logistics.model.entity.PricingConfig;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 /**
  * Repository for PricingConfig entity.
  *
- * Only one pricing configuration should be active at a time.
+ * Only one pricing configuration should be active at a time. Inactive
+ * rows are the pricing history, or scheduled with a future effectiveFrom.
  */
 @Repository
 public interface PricingConfigRepository extends JpaRepository<PricingConfig, Long> {
@@ -31,4 +37,59 @@ public interface PricingConfigRepository extends JpaRepository<PricingConfig, Lo
     @Modifying
     @Query("UPDATE PricingConfig p SET p.active = false WHERE p.active = true")
     void deactivateAll();
+
+    /**
+     * Finds every pricing configuration, active or not.
+     *
+     * @return the pricing history in insertion order
+     */
+    List<PricingConfig> findAllByOrderByIdAsc();
+
+    /**
+     * Finds when the most recent pricing configuration in effect at the given
+     * time took effect. Rows without effective_from take effect at created_at.
+     *
+     * @param time the moment to look up, usually now
+     * @return the latest effective time not after time, empty if there is none
+     */
+    @Query("SELECT MAX(COALESCE(p.effectiveFrom, p.createdAt)) FROM PricingConfig p "
+            + "WHERE COALESCE(p.effectiveFrom, p.createdAt) <= :time")
+    Optional<LocalDateTime> findLatestEffectiveFrom(@Param("time") LocalDateTime time);
+
+    /**
+     * Deletes the scheduled configurations that take effect at or after from.
+     * Only rows still in the future (after now) are touched.
+     *
+     * @param from the effective time of the config replacing them
+     * @param now  the current time
+     * @return the number of configs deleted
+     */
+    @Modifying
+    @Query("DELETE FROM PricingConfig p WHERE p.active = false "
+            + "AND p.effectiveFrom > :now AND p.effectiveFrom >= :from")
+    int deleteScheduledFrom(@Param("from") LocalDateTime from, @Param("now") LocalDateTime now);
+
+    /**
+     * Finds the configuration in effect at the given time: the one with the
+     * latest effective time not after it, the later insert on ties.
+     *
+     * @param time     the moment to look up
+     * @param pageable PageRequest.of(0, 1)
+     * @return the config in effect, or an empty list if time is before the first
+     */
+    @Query("SELECT p FROM PricingConfig p WHERE COALESCE(p.effectiveFrom, p.createdAt) <= :time "
+            + "ORDER BY COALESCE(p.effectiveFrom, p.createdAt) DESC, p.id DESC")
+    List<PricingConfig> findInEffectAt(@Param("time") LocalDateTime time, Pageable pageable);
+
+    /**
+     * Makes the given configuration the only active one, in one statement.
+     *
+     * @param id the config to activate
+     * @return the number of rows changed
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE PricingConfig p SET p.active = CASE WHEN p.id = :id THEN true ELSE false END "
+            + "WHERE p.active = true OR p.id = :id")
+    int activate(@Param("id") Long id);
 }
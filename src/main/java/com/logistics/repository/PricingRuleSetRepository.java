@@ -0,0 +1,58 @@
+package com.logistics.repository;
+
+import com.logistics.model.entity.PricingRuleSet;
+import com.logistics.model.entity.PricingWeightBracket;
+import com.logistics.model.entity.PricingZone;
+import com.logistics.model.entity.PricingZoneSurcharge;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for PricingRuleSet entity and its rules.
+ *
+ * Only one rule set should be active at a time. The rules are read with
+ * separate queries, so they can be loaded outside of a transaction.
+ */
+@Repository
+public interface PricingRuleSetRepository extends JpaRepository<PricingRuleSet, Long> {
+
+    /**
+     * Finds the currently active rule set.
+     *
+     * @return the active rule set, if exists
+     */
+    Optional<PricingRuleSet> findByActiveTrue();
+
+    /**
+     * Finds every rule set version, the current one included.
+     *
+     * @return all rule sets, oldest first
+     */
+    List<PricingRuleSet> findAllByOrderByCreatedAtAscIdAsc();
+
+    /**
+     * Deactivates all rule sets, recording when they went out of force.
+     * Used before saving a new active version, or to go back to PricingConfig.
+     *
+     * @param time the deactivation time
+     */
+    @Modifying
+    @Query("UPDATE PricingRuleSet r SET r.active = false, r.deactivatedAt = :time WHERE r.active = true")
+    void deactivateAll(@Param("time") LocalDateTime time);
+
+    @Query("SELECT b FROM PricingWeightBracket b WHERE b.ruleSet.id = :ruleSetId ORDER BY b.maxWeight ASC")
+    List<PricingWeightBracket> findBrackets(@Param("ruleSetId") Long ruleSetId);
+
+    @Query("SELECT z FROM PricingZone z WHERE z.ruleSet.id = :ruleSetId ORDER BY z.id ASC")
+    List<PricingZone> findZones(@Param("ruleSetId") Long ruleSetId);
+
+    @Query("SELECT s FROM PricingZoneSurcharge s WHERE s.ruleSet.id = :ruleSetId ORDER BY s.id ASC")
+    List<PricingZoneSurcharge> findSurcharges(@Param("ruleSetId") Long ruleSetId);
+}
@@ -0,0 +1,35 @@
+package com.logistics.repository;
+
+import com.logistics.model.entity.ReportJob;
+import com.logistics.model.enums.ReportJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for background report jobs.
+ */
+@Repository
+public interface ReportJobRepository extends JpaRepository<ReportJob, Long> {
+
+    /**
+     * Finds jobs in the given statuses.
+     * Used at startup to fail jobs that were queued or running before a restart.
+     *
+     * @param statuses statuses to match
+     * @return matching jobs
+     */
+    List<ReportJob> findByStatusIn(Collection<ReportJobStatus> statuses);
+
+    /**
+     * Finds finished jobs older than a cutoff, whose files can be removed.
+     *
+     * @param statuses finished statuses
+     * @param cutoff   jobs created before this are returned
+     * @return expired jobs
+     */
+    List<ReportJob> findByStatusInAndCreatedAtBefore(Collection<ReportJobStatus> statuses, LocalDateTime cutoff);
+}
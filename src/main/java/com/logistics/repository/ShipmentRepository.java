@@ -1,23 +1,135 @@
 package com.logistics.repository;
 
+import com.logistics.dto.report.CustomerMetricsResponse;
+import com.logistics.dto.shipment.ShipmentResponse;
+import com.logistics.model.entity.DailyRevenue;
 import com.logistics.model.entity.Shipment;
 import com.logistics.model.enums.ShipmentStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Shipment entity database operations.
  * Spring Data JPA provides the implementation automatically.
+ *
+ * Every list query that feeds EntityMapper.toShipmentResponse uses the
+ * {@link Shipment#GRAPH_RESPONSE} fetch plan, so callers get a constant
+ * number of statements per call no matter how many rows come back.
+ *
+ * Read-only endpoints use the ...Response queries instead: they select the
+ * flat columns of {@link ShipmentResponse} in one joined SELECT, so no managed
+ * entities, proxies or dirty-checking snapshots are created.
  */
 @Repository
 public interface ShipmentRepository extends JpaRepository<Shipment, Long> {
 
+    /**
+     * Constructor expression shared by the ...Response queries.
+     * Origin and delivery offices are optional, so they are outer-joined.
+     */
+    String RESPONSE_PROJECTION =
+            "SELECT new com.logistics.dto.shipment.ShipmentResponse(" +
+            "s.id, sender.id, senderUser.username, senderUser.email, " +
+            "recipient.id, recipientUser.username, recipientUser.email, " +
+            "employee.id, employeeUser.username, origin.id, origin.name, " +
+            "s.deliveryAddress, destination.id, destination.name, " +
+            "destination.address, destination.city, destination.country, " +
+            "s.weight, s.price, s.status, s.registeredAt, s.deliveredAt, s.updatedAt) " +
+            "FROM Shipment s " +
+            "JOIN s.sender sender JOIN sender.user senderUser " +
+            "JOIN s.recipient recipient JOIN recipient.user recipientUser " +
+            "JOIN s.registeredBy employee JOIN employee.user employeeUser " +
+            "LEFT JOIN s.originOffice origin " +
+            "LEFT JOIN s.deliveryOffice destination ";
+
+    /**
+     * Columns the in-memory analytics snapshot keeps per shipment:
+     * [id, status, origin office ID, delivery office ID, price, weight, registeredAt].
+     */
+    String ANALYTICS_COLUMNS =
+            "SELECT s.id, s.status, origin.id, destination.id, s.price, s.weight, s.registeredAt " +
+            "FROM Shipment s " +
+            "LEFT JOIN s.originOffice origin " +
+            "LEFT JOIN s.deliveryOffice destination ";
+
+    /**
+     * Columns the delivery latency histograms need per delivered shipment:
+     * [id, origin office ID, delivery office ID, registeredAt, deliveredAt].
+     */
+    String LATENCY_COLUMNS =
+            "SELECT s.id, origin.id, destination.id, s.registeredAt, s.deliveredAt " +
+            "FROM Shipment s " +
+            "LEFT JOIN s.originOffice origin " +
+            "LEFT JOIN s.deliveryOffice destination " +
+            "WHERE s.status = com.logistics.model.enums.ShipmentStatus.DELIVERED ";
+
+    /**
+     * Columns needed to re-price a shipment:
+     * [weight, delivery office ID, price, registeredAt].
+     */
+    String PRICING_COLUMNS =
+            "SELECT s.weight, destination.id, s.price, s.registeredAt " +
+            "FROM Shipment s " +
+            "LEFT JOIN s.deliveryOffice destination ";
+
+    /**
+     * Keyset ordering shared by the paginated queries.
+     */
+    String KEYSET_ORDER = " ORDER BY s.registeredAt ASC, s.id ASC";
+
+    /**
+     * Groups delivered shipments into daily revenue buckets
+     * (delivery day, delivery type, origin office). Shared by the rollup
+     * rebuild and the bulk DELIVERED transition.
+     */
+    String DAILY_REVENUE_SELECT =
+            "SELECT new com.logistics.model.entity.DailyRevenue(" +
+            "cast(s.deliveredAt as LocalDate), " +
+            "CASE WHEN destination.id IS NULL THEN false ELSE true END, " +
+            "origin.id, COUNT(s), SUM(s.price)) " +
+            "FROM Shipment s " +
+            "LEFT JOIN s.originOffice origin " +
+            "LEFT JOIN s.deliveryOffice destination " +
+            "WHERE s.status = com.logistics.model.enums.ShipmentStatus.DELIVERED ";
+
+    String DAILY_REVENUE_GROUP_BY =
+            " GROUP BY cast(s.deliveredAt as LocalDate), " +
+            "CASE WHEN destination.id IS NULL THEN false ELSE true END, origin.id";
+
+    /**
+     * JDBC fetch size for the export streams. Keeps the driver from buffering
+     * the whole result set; on MySQL, MySqlStreamingDataSource turns it into
+     * row-by-row streaming.
+     */
+    String EXPORT_FETCH_SIZE = "500";
+
+    /**
+     * Finds all shipments with sender, recipient, employee and offices fetched.
+     * Used for the unpaginated /shipments and /reports/shipments endpoints.
+     *
+     * @return list of all shipments
+     */
+    @Override
+    @EntityGraph(Shipment.GRAPH_RESPONSE)
+    List<Shipment> findAll();
+
     /**
      * Finds all shipments registered by a specific employee.
      * Used for the /reports/shipments/employee/{id} endpoint.
@@ -25,6 +137,7 @@ public interface ShipmentRepository extends JpaRepository<Shipment, Long> {
      * @param employeeId the registering employee's ID
      * @return list of shipments registered by the employee
      */
+    @EntityGraph(Shipment.GRAPH_RESPONSE)
     List<Shipment> findByRegisteredById(Long employeeId);
 
     /**
@@ -34,6 +147,7 @@ public interface ShipmentRepository extends JpaRepository<Shipment, Long> {
      * @param customerId the sender's customer ID
      * @return list of shipments sent by the customer
      */
+    @EntityGraph(Shipment.GRAPH_RESPONSE)
     List<Shipment> findBySenderId(Long customerId);
 
     /**
@@ -43,6 +157,7 @@ public interface ShipmentRepository extends JpaRepository<Shipment, Long> {
      * @param customerId the recipient's customer ID
      * @return list of shipments received by the customer
      */
+    @EntityGraph(Shipment.GRAPH_RESPONSE)
     List<Shipment> findByRecipientId(Long customerId);
 
     /**
@@ -54,6 +169,7 @@ public interface ShipmentRepository extends JpaRepository<Shipment, Long> {
      * @return list of shipments associated with the customer
      */
     @Query("SELECT s FROM Shipment s WHERE s.sender.id = :senderId OR s.recipient.id = :recipientId")
+    @EntityGraph(Shipment.GRAPH_RESPONSE)
     List<Shipment> findBySenderIdOrRecipientId(@Param("senderId") Long senderId,
                                                 @Param("recipientId") Long recipientId);
 
@@ -63,6 +179,7 @@ public interface ShipmentRepository extends JpaRepository<Shipment, Long> {
      * @param status the shipment status to filter by
      * @return list of shipments with the specified status
      */
+    @EntityGraph(Shipment.GRAPH_RESPONSE)
     List<Shipment> findByStatus(ShipmentStatus status);
 
     /**
@@ -72,6 +189,7 @@ public interface ShipmentRepository extends JpaRepository<Shipment, Long> {
      * @return list of non-delivered shipments
      */
     @Query("SELECT s FROM Shipment s WHERE s.status != 'DELIVERED'")
+    @EntityGraph(Shipment.GRAPH_RESPONSE)
     List<Shipment> findAllPendingShipments();
 
     /**
@@ -109,6 +227,7 @@ public interface ShipmentRepository extends JpaRepository<Shipment, Long> {
      * @param officeId the delivery office's ID
      * @return list of shipments delivered to the office
      */
+    @EntityGraph(Shipment.GRAPH_RESPONSE)
     List<Shipment> findByDeliveryOfficeId(Long officeId);
 
     /**
@@ -138,6 +257,26 @@ public interface ShipmentRepository extends JpaRepository<Shipment, Long> {
     @Query("SELECT COUNT(s) FROM Shipment s WHERE s.status = 'REGISTERED' OR s.status = 'IN_TRANSIT'")
     long countInTransitShipments();
 
+    /**
+     * Reads the analytics columns of the shipments after the given ID, in ID order.
+     * Loads the analytics snapshot in keyset chunks without holding a cursor open.
+     *
+     * @param afterId  last ID of the previous chunk (0 for the first)
+     * @param pageable chunk size
+     * @return rows of {@link #ANALYTICS_COLUMNS}
+     */
+    @Query(ANALYTICS_COLUMNS + "WHERE s.id > :afterId ORDER BY s.id ASC")
+    List<Object[]> findAnalyticsColumnsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Counts shipments and sums their prices per status in one pass.
+     * Seeds and reconciles the in-memory dashboard counters.
+     *
+     * @return rows of [status, count, price sum]
+     */
+    @Query("SELECT s.status, COUNT(s), COALESCE(SUM(s.price), 0) FROM Shipment s GROUP BY s.status")
+    List<Object[]> countAndSumPriceByStatus();
+
     /**
      * Counts shipments sent by a customer that are in transit.
      *
@@ -181,4 +320,372 @@ public interface ShipmentRepository extends JpaRepository<Shipment, Long> {
      * @return count of shipments sent by the customer
      */
     long countBySenderId(Long senderId);
+
+    /**
+     * Computes all customer dashboard metrics in one round trip using conditional
+     * aggregation. Starting from the customer row means an unknown customer
+     * yields an empty result instead of all-zero metrics.
+     *
+     * @param customerId the customer ID
+     * @return the metrics, or empty if the customer does not exist
+     */
+    @Query("SELECT new com.logistics.dto.report.CustomerMetricsResponse(" +
+           "COUNT(CASE WHEN s.sender.id = c.id THEN 1 END), " +
+           "COUNT(CASE WHEN s.recipient.id = c.id " +
+           "AND s.status = com.logistics.model.enums.ShipmentStatus.DELIVERED THEN 1 END), " +
+           "COUNT(CASE WHEN s.sender.id = c.id AND s.status IN (" +
+           "com.logistics.model.enums.ShipmentStatus.REGISTERED, " +
+           "com.logistics.model.enums.ShipmentStatus.IN_TRANSIT) THEN 1 END) + " +
+           "COUNT(CASE WHEN s.recipient.id = c.id AND s.status IN (" +
+           "com.logistics.model.enums.ShipmentStatus.REGISTERED, " +
+           "com.logistics.model.enums.ShipmentStatus.IN_TRANSIT) THEN 1 END), " +
+           "COALESCE(SUM(CASE WHEN s.sender.id = c.id THEN s.price END), 0)) " +
+           "FROM Customer c " +
+           "LEFT JOIN Shipment s ON s.sender.id = c.id OR s.recipient.id = c.id " +
+           "WHERE c.id = :customerId " +
+           "GROUP BY c.id")
+    Optional<CustomerMetricsResponse> findCustomerMetrics(@Param("customerId") Long customerId);
+
+    // ===== Read-only projections =====
+
+    /**
+     * Projects a single shipment straight into its response DTO.
+     *
+     * @param id the shipment ID
+     * @return the shipment response, if found
+     */
+    @Query(RESPONSE_PROJECTION + "WHERE s.id = :id")
+    Optional<ShipmentResponse> findResponseById(@Param("id") Long id);
+
+    /**
+     * Projects all shipments into response DTOs.
+     *
+     * @return responses for all shipments
+     */
+    @Query(RESPONSE_PROJECTION)
+    List<ShipmentResponse> findAllResponses();
+
+    /**
+     * Projects all shipments with a specific status.
+     *
+     * @param status the shipment status to filter by
+     * @return responses for shipments with the status
+     */
+    @Query(RESPONSE_PROJECTION + "WHERE s.status = :status")
+    List<ShipmentResponse> findResponsesByStatus(@Param("status") ShipmentStatus status);
+
+    /**
+     * Projects all shipments that are not delivered.
+     *
+     * @return responses for pending shipments
+     */
+    @Query(RESPONSE_PROJECTION + "WHERE s.status != 'DELIVERED'")
+    List<ShipmentResponse> findPendingResponses();
+
+    /**
+     * Projects all shipments registered by a specific employee.
+     *
+     * @param employeeId the registering employee's ID
+     * @return responses for the employee's shipments
+     */
+    @Query(RESPONSE_PROJECTION + "WHERE employee.id = :employeeId")
+    List<ShipmentResponse> findResponsesByRegisteredById(@Param("employeeId") Long employeeId);
+
+    /**
+     * Projects all shipments sent by a specific customer.
+     *
+     * @param customerId the sender's customer ID
+     * @return responses for shipments sent by the customer
+     */
+    @Query(RESPONSE_PROJECTION + "WHERE sender.id = :customerId")
+    List<ShipmentResponse> findResponsesBySenderId(@Param("customerId") Long customerId);
+
+    /**
+     * Projects all shipments received by a specific customer.
+     *
+     * @param customerId the recipient's customer ID
+     * @return responses for shipments received by the customer
+     */
+    @Query(RESPONSE_PROJECTION + "WHERE recipient.id = :customerId")
+    List<ShipmentResponse> findResponsesByRecipientId(@Param("customerId") Long customerId);
+
+    /**
+     * Projects all shipments where a customer is either sender or recipient.
+     *
+     * @param customerId the customer ID
+     * @return responses for the customer's shipments
+     */
+    @Query(RESPONSE_PROJECTION + "WHERE sender.id = :customerId OR recipient.id = :customerId")
+    List<ShipmentResponse> findResponsesByCustomerId(@Param("customerId") Long customerId);
+
+    /**
+     * Returns the first keyset page of all shipments, ordered by (registeredAt, id).
+     * The page size is taken from the pageable; its offset is always 0.
+     *
+     * @param pageable page size holder
+     * @return the first shipment responses in registration order
+     */
+    @Query(RESPONSE_PROJECTION + KEYSET_ORDER)
+    List<ShipmentResponse> findFirstPage(Pageable pageable);
+
+    /**
+     * Returns the keyset page of all shipments that follows the given position.
+     * Uses the (registered_at, id) index instead of an OFFSET scan.
+     *
+     * @param registeredAt registration time of the last shipment on the previous page
+     * @param id           ID of the last shipment on the previous page
+     * @param pageable     page size holder
+     * @return the next shipment responses in registration order
+     */
+    @Query(RESPONSE_PROJECTION +
+           "WHERE s.registeredAt > :registeredAt OR (s.registeredAt = :registeredAt AND s.id > :id)" +
+           KEYSET_ORDER)
+    List<ShipmentResponse> findPageAfter(@Param("registeredAt") LocalDateTime registeredAt,
+                                         @Param("id") Long id,
+                                         Pageable pageable);
+
+    /**
+     * Returns the first keyset page of shipments where a customer is sender or recipient.
+     *
+     * @param customerId the customer ID
+     * @param pageable   page size holder
+     * @return the customer's first shipment responses in registration order
+     */
+    @Query(RESPONSE_PROJECTION + "WHERE sender.id = :customerId OR recipient.id = :customerId" + KEYSET_ORDER)
+    List<ShipmentResponse> findFirstPageByCustomerId(@Param("customerId") Long customerId, Pageable pageable);
+
+    /**
+     * Returns the keyset page of a customer's shipments that follows the given position.
+     *
+     * @param customerId   the customer ID
+     * @param registeredAt registration time of the last shipment on the previous page
+     * @param id           ID of the last shipment on the previous page
+     * @param pageable     page size holder
+     * @return the customer's next shipment responses in registration order
+     */
+    @Query(RESPONSE_PROJECTION +
+           "WHERE (sender.id = :customerId OR recipient.id = :customerId) " +
+           "AND (s.registeredAt > :registeredAt OR (s.registeredAt = :registeredAt AND s.id > :id))" +
+           KEYSET_ORDER)
+    List<ShipmentResponse> findPageByCustomerIdAfter(@Param("customerId") Long customerId,
+                                                     @Param("registeredAt") LocalDateTime registeredAt,
+                                                     @Param("id") Long id,
+                                                     Pageable pageable);
+
+    // ===== Streaming exports =====
+    // Callers must consume these inside a transaction and close the stream.
+
+    /**
+     * Streams all shipments as responses in registration order.
+     *
+     * @return stream of shipment responses backed by an open cursor
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query(RESPONSE_PROJECTION + KEYSET_ORDER)
+    Stream<ShipmentResponse> streamAllResponses();
+
+    /**
+     * Streams all non-delivered shipments as responses in registration order.
+     *
+     * @return stream of pending shipment responses backed by an open cursor
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query(RESPONSE_PROJECTION + "WHERE s.status != 'DELIVERED'" + KEYSET_ORDER)
+    Stream<ShipmentResponse> streamPendingResponses();
+
+    /**
+     * Streams the shipments where a customer is sender or recipient.
+     *
+     * @param customerId the customer ID
+     * @return stream of the customer's shipment responses backed by an open cursor
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query(RESPONSE_PROJECTION + "WHERE sender.id = :customerId OR recipient.id = :customerId" + KEYSET_ORDER)
+    Stream<ShipmentResponse> streamResponsesByCustomerId(@Param("customerId") Long customerId);
+
+    /**
+     * Streams the shipments registered by a specific employee.
+     *
+     * @param employeeId the employee's ID
+     * @return stream of the employee's shipment responses backed by an open cursor
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query(RESPONSE_PROJECTION + "WHERE employee.id = :employeeId" + KEYSET_ORDER)
+    Stream<ShipmentResponse> streamResponsesByRegisteredById(@Param("employeeId") Long employeeId);
+
+    /**
+     * Streams the pricing columns of shipments registered in [from, until).
+     *
+     * @param from  earliest registration time, inclusive
+     * @param until latest registration time, exclusive
+     * @return rows of {@link #PRICING_COLUMNS} backed by an open cursor
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query(PRICING_COLUMNS + "WHERE s.registeredAt >= :from AND s.registeredAt < :until")
+    Stream<Object[]> streamPricingColumnsRegisteredBetween(@Param("from") LocalDateTime from,
+                                                           @Param("until") LocalDateTime until);
+
+    // ===== Bulk status transitions =====
+    // Single UPDATE statements that bypass entity callbacks, so updatedAt is
+    // passed in explicitly. Moving to DELIVERED also sets deliveredAt to now.
+
+    /**
+     * Moves the given shipments to a new status, but only those currently in
+     * one of the allowed source statuses. Others are left untouched.
+     *
+     * @param ids            the shipment IDs
+     * @param status         the new status
+     * @param sourceStatuses statuses from which the transition is legal
+     * @param now            value for updatedAt (and deliveredAt when delivering)
+     * @return number of shipments updated
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Shipment s SET s.status = :status, s.updatedAt = :now, " +
+           "s.deliveredAt = CASE WHEN :status = com.logistics.model.enums.ShipmentStatus.DELIVERED " +
+           "THEN :now ELSE s.deliveredAt END " +
+           "WHERE s.id IN :ids AND s.status IN :sourceStatuses")
+    int updateStatusByIds(@Param("ids") Collection<Long> ids,
+                          @Param("status") ShipmentStatus status,
+                          @Param("sourceStatuses") Collection<ShipmentStatus> sourceStatuses,
+                          @Param("now") LocalDateTime now);
+
+    /**
+     * Moves every shipment in one status to another, optionally limited to
+     * shipments registered at a specific origin office.
+     *
+     * @param currentStatus  the status to transition from
+     * @param originOfficeId origin office filter, or null for all offices
+     * @param status         the new status
+     * @param now            value for updatedAt (and deliveredAt when delivering)
+     * @return number of shipments updated
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Shipment s SET s.status = :status, s.updatedAt = :now, " +
+           "s.deliveredAt = CASE WHEN :status = com.logistics.model.enums.ShipmentStatus.DELIVERED " +
+           "THEN :now ELSE s.deliveredAt END " +
+           "WHERE s.status = :currentStatus " +
+           "AND (:originOfficeId IS NULL OR s.originOffice.id = :originOfficeId)")
+    int updateStatusByFilter(@Param("currentStatus") ShipmentStatus currentStatus,
+                             @Param("originOfficeId") Long originOfficeId,
+                             @Param("status") ShipmentStatus status,
+                             @Param("now") LocalDateTime now);
+
+    /**
+     * Returns which of the given IDs exist and are not in the given status.
+     * Run after updateStatusByIds to find the shipments it rejected.
+     *
+     * @param ids    the shipment IDs
+     * @param status the status the shipments should now have
+     * @return IDs of existing shipments in any other status
+     */
+    @Query("SELECT s.id FROM Shipment s WHERE s.id IN :ids AND s.status <> :status")
+    List<Long> findIdsNotInStatus(@Param("ids") Collection<Long> ids,
+                                  @Param("status") ShipmentStatus status);
+
+    /**
+     * Returns the senders and recipients of the given shipments, without duplicates.
+     *
+     * @param ids the shipment IDs
+     * @return customer IDs
+     */
+    @Query("SELECT s.sender.id FROM Shipment s WHERE s.id IN :ids "
+            + "UNION SELECT s.recipient.id FROM Shipment s WHERE s.id IN :ids")
+    List<Long> findCustomerIdsByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Returns which of the given IDs exist.
+     *
+     * @param ids the shipment IDs
+     * @return the existing IDs
+     */
+    @Query("SELECT s.id FROM Shipment s WHERE s.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Locks the given shipments that are in one of the source statuses.
+     * Used before a bulk DELIVERED transition so the revenue rollup can be
+     * updated for exactly the rows this transaction delivers.
+     *
+     * @param ids      the shipment IDs
+     * @param statuses the statuses the transition is allowed from
+     * @return the locked IDs
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s.id FROM Shipment s WHERE s.id IN :ids AND s.status IN :statuses")
+    List<Long> lockIdsInStatuses(@Param("ids") Collection<Long> ids,
+                                 @Param("statuses") Collection<ShipmentStatus> statuses);
+
+    /**
+     * Locks the shipments matching a bulk status filter.
+     *
+     * @param currentStatus  the status to transition from
+     * @param originOfficeId origin office filter, or null for all offices
+     * @return the locked IDs
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s.id FROM Shipment s WHERE s.status = :currentStatus " +
+           "AND (:originOfficeId IS NULL OR s.originOffice.id = :originOfficeId)")
+    List<Long> lockIdsByFilter(@Param("currentStatus") ShipmentStatus currentStatus,
+                               @Param("originOfficeId") Long originOfficeId);
+
+    /**
+     * Loads a shipment and locks its row until the transaction ends, so that
+     * concurrent status updates of the same shipment are applied one at a time.
+     *
+     * @param id the shipment ID
+     * @return the locked shipment, if it exists
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM Shipment s WHERE s.id = :id")
+    Optional<Shipment> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Aggregates delivered shipments into daily revenue buckets.
+     * Either bound may be null to leave that side of the range open.
+     *
+     * @param startDate inclusive lower bound on deliveredAt, or null
+     * @param endDate   inclusive upper bound on deliveredAt, or null
+     * @return one unsaved DailyRevenue per bucket
+     */
+    @Query(DAILY_REVENUE_SELECT +
+           "AND (:startDate IS NULL OR s.deliveredAt >= :startDate) " +
+           "AND (:endDate IS NULL OR s.deliveredAt <= :endDate)" +
+           DAILY_REVENUE_GROUP_BY)
+    List<DailyRevenue> aggregateDailyRevenue(@Param("startDate") LocalDateTime startDate,
+                                             @Param("endDate") LocalDateTime endDate);
+
+    /**
+     * Aggregates the given delivered shipments into daily revenue buckets.
+     *
+     * @param ids the shipment IDs
+     * @return one unsaved DailyRevenue per bucket
+     */
+    @Query(DAILY_REVENUE_SELECT + "AND s.id IN :ids" + DAILY_REVENUE_GROUP_BY)
+    List<DailyRevenue> aggregateDailyRevenueByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Reads the latency columns of shipments delivered in [from, until), after
+     * the given ID and in ID order. Rebuilds the latency histograms in keyset chunks.
+     *
+     * @param from     earliest delivery time, inclusive
+     * @param until    latest delivery time, exclusive
+     * @param afterId  last ID of the previous chunk (0 for the first)
+     * @param pageable chunk size
+     * @return rows of {@link #LATENCY_COLUMNS}
+     */
+    @Query(LATENCY_COLUMNS + "AND s.deliveredAt >= :from AND s.deliveredAt < :until " +
+           "AND s.id > :afterId ORDER BY s.id ASC")
+    List<Object[]> findLatencyColumnsDeliveredBetween(@Param("from") LocalDateTime from,
+                                                      @Param("until") LocalDateTime until,
+                                                      @Param("afterId") Long afterId,
+                                                      Pageable pageable);
+
+    /**
+     * Reads the latency columns of the given delivered shipments.
+     *
+     * @param ids the shipment IDs
+     * @return rows of {@link #LATENCY_COLUMNS}
+     */
+    @Query(LATENCY_COLUMNS + "AND s.id IN :ids")
+    List<Object[]> findLatencyColumnsByIds(@Param("ids") Collection<Long> ids);
 }
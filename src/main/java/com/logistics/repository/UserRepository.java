@@ -3,6 +3,8 @@ package com.logistics.repository;
 import com.logistics.model.entity.User;
 import com.logistics.model.enums.Role;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -25,6 +27,16 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     Optional<User> findByUsername(String username);
 
+    /**
+     * Looks up only the current role of a user.
+     * Used to revalidate stateless JWT principals without loading the entity.
+     *
+     * @param username the username to search for
+     * @return Optional containing the role if the user still exists
+     */
+    @Query("SELECT u.role FROM User u WHERE u.username = :username")
+    Optional<Role> findRoleByUsername(@Param("username") String username);
+
     /**
      * Finds a user by their email address.
      * Used for registration validation and password recovery.
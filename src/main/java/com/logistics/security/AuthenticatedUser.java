@@ -0,0 +1,70 @@
+package com.logistics.security;
+
+import com.logistics.model.enums.Role;
+import org.springframework.security.core.AuthenticatedPrincipal;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Principal rebuilt from the claims of a verified JWT.
+ *
+ * Carries everything a request needs to know about the caller, so
+ * authentication does not have to load the User row on every call.
+ * The ids are null when the token predates them or the role has no
+ * matching record.
+ */
+public final class AuthenticatedUser implements AuthenticatedPrincipal {
+
+    private final String username;
+    private final Role role;
+    private final Long userId;
+    private final Long customerId;
+    private final Long employeeId;
+    private final List<GrantedAuthority> authorities;
+
+    public AuthenticatedUser(String username, Role role, Long userId, Long customerId, Long employeeId) {
+        this.username = username;
+        this.role = role;
+        this.userId = userId;
+        this.customerId = customerId;
+        this.employeeId = employeeId;
+        this.authorities = List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public Role getRole() {
+        return role;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    public Collection<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String toString() {
+        return username;
+    }
+}
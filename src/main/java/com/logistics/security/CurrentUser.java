@@ -0,0 +1,76 @@
+package com.logistics.security;
+
+import com.logistics.exception.UnauthorizedException;
+import com.logistics.service.CustomerService;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+/**
+ * The caller of the current request, as seen by controllers.
+ *
+ * Identity ids come from the token claims when the principal is an
+ * {@link AuthenticatedUser}. Tokens issued before the ids were embedded,
+ * and database-backed authentication, fall back to a lookup that runs at
+ * most once per request.
+ */
+@Component
+@RequestScope
+public class CurrentUser {
+
+    private static final SimpleGrantedAuthority CUSTOMER_AUTHORITY = new SimpleGrantedAuthority("ROLE_CUSTOMER");
+
+    private final CustomerService customerService;
+
+    private Long customerId;
+
+    public CurrentUser(CustomerService customerService) {
+        this.customerService = customerService;
+    }
+
+    public String getUsername() {
+        return authentication().getName();
+    }
+
+    public boolean isCustomer() {
+        return authentication().getAuthorities().contains(CUSTOMER_AUTHORITY);
+    }
+
+    /**
+     * Returns the customer id of the caller.
+     *
+     * @return the customer id
+     * @throws UnauthorizedException if the caller has no customer record
+     */
+    public Long getCustomerId() {
+        if (customerId == null) {
+            customerId = resolveCustomerId();
+        }
+        return customerId;
+    }
+
+    private Long resolveCustomerId() {
+        Authentication authentication = authentication();
+        if (authentication.getPrincipal() instanceof AuthenticatedUser principal
+                && principal.getCustomerId() != null) {
+            return principal.getCustomerId();
+        }
+
+        String username = authentication.getName();
+        try {
+            return customerService.getCustomerIdByUsername(username);
+        } catch (Exception e) {
+            throw new UnauthorizedException("Customer not found for user: " + username);
+        }
+    }
+
+    private Authentication authentication() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            throw new UnauthorizedException("No authenticated user for this request");
+        }
+        return authentication;
+    }
+}
@@ -6,6 +6,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -16,9 +17,15 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 /**
  * Intercepts requests to validate JWT tokens and set up the security context.
+ *
+ * By default the principal is rebuilt from the token claims, with
+ * {@link UserRevalidationCache} catching removed accounts and role changes.
+ * Setting jwt.stateless-auth=false loads the user from the database on
+ * every request instead.
  */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -29,11 +36,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
     private final UserDetailsService userDetailsService;
+    private final UserRevalidationCache userRevalidationCache;
+    private final boolean statelessAuth;
 
     public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider,
-                                   UserDetailsService userDetailsService) {
+                                   UserDetailsService userDetailsService,
+                                   UserRevalidationCache userRevalidationCache,
+                                   @Value("${jwt.stateless-auth:true}") boolean statelessAuth) {
         this.jwtTokenProvider = jwtTokenProvider;
         this.userDetailsService = userDetailsService;
+        this.userRevalidationCache = userRevalidationCache;
+        this.statelessAuth = statelessAuth;
     }
 
     @Override
@@ -43,20 +56,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = extractJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && jwtTokenProvider.validateToken(jwt)) {
-                String username = jwtTokenProvider.getUsernameFromToken(jwt);
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            Optional<VerifiedToken> verified = StringUtils.hasText(jwt)
+                    ? jwtTokenProvider.validateAndGetToken(jwt)
+                    : Optional.empty();
 
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(
-                                userDetails,
-                                null,
-                                userDetails.getAuthorities()
-                        );
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+            if (verified.isPresent()) {
+                UsernamePasswordAuthenticationToken authentication = statelessAuth
+                        ? authenticateFromClaims(verified.get())
+                        : authenticateFromDatabase(verified.get());
 
-                logger.debug("Authenticated user: {}", username);
+                if (authentication != null) {
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+
+                    logger.debug("Authenticated user: {}", authentication.getName());
+                }
             }
         } catch (Exception ex) {
             logger.error("Could not set user authentication in security context", ex);
@@ -65,6 +79,19 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private UsernamePasswordAuthenticationToken authenticateFromClaims(VerifiedToken token) {
+        AuthenticatedUser principal = token.getPrincipal();
+        if (!userRevalidationCache.isStillValid(principal)) {
+            return null;
+        }
+        return new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+    }
+
+    private UsernamePasswordAuthenticationToken authenticateFromDatabase(VerifiedToken token) {
+        UserDetails userDetails = userDetailsService.loadUserByUsername(token.getUsername());
+        return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+    }
+
     private String extractJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader(AUTHORIZATION_HEADER);
 
@@ -1,83 +1,141 @@
 package com.logistics.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.logistics.model.enums.Role;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtTokenProvider {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtTokenProvider.class);
 
+    static final int DEFAULT_CACHE_SIZE = 10_000;
+
+    private static final String ROLE_CLAIM = "role";
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String CUSTOMER_ID_CLAIM = "cid";
+    private static final String EMPLOYEE_ID_CLAIM = "eid";
+
     private final SecretKey secretKey;
     private final long expirationMs;
 
+    /**
+     * Built once; JwtParser is immutable and safe to share between threads.
+     */
+    private final JwtParser parser;
+
+    /**
+     * Recently verified tokens keyed by the SHA-256 of the compact token, so
+     * repeat requests skip signature verification until the token expires.
+     * Keying by hash keeps the bearer tokens themselves out of the heap.
+     * Bounded to cacheSize entries, which Caffeine evicts by recency and
+     * frequency without scanning; each entry also expires with its token.
+     * Null when caching is turned off.
+     */
+    private final Cache<String, VerifiedToken> verifiedTokens;
+
+    /**
+     * Time to authenticate a token, tagged by how it was resolved: from the cache,
+     * by verifying its signature, or rejected. Includes hashing the token.
+     */
+    private final Timer verifiedTimer;
+    private final Timer rejectedTimer;
+    private final Timer cacheHitTimer;
+
+    public JwtTokenProvider(String jwtSecret, long jwtExpiration) {
+        this(jwtSecret, jwtExpiration, DEFAULT_CACHE_SIZE);
+    }
+
+    public JwtTokenProvider(String jwtSecret, long jwtExpiration, int cacheSize) {
+        this(jwtSecret, jwtExpiration, cacheSize, Metrics.globalRegistry);
+    }
+
+    @Autowired
     public JwtTokenProvider(
             @Value("${jwt.secret}") String jwtSecret,
-            @Value("${jwt.expiration}") long jwtExpiration) {
+            @Value("${jwt.expiration}") long jwtExpiration,
+            @Value("${jwt.cache-size:" + DEFAULT_CACHE_SIZE + "}") int cacheSize,
+            MeterRegistry meterRegistry) {
         this.secretKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
         this.expirationMs = jwtExpiration;
-        logger.info("JwtTokenProvider initialized with expiration: {} ms", jwtExpiration);
+        this.parser = Jwts.parser().verifyWith(secretKey).build();
+        this.verifiedTokens = cacheSize > 0 ? newTokenCache(cacheSize) : null;
+        this.verifiedTimer = verificationTimer(meterRegistry, "verified");
+        this.rejectedTimer = verificationTimer(meterRegistry, "rejected");
+        this.cacheHitTimer = verificationTimer(meterRegistry, "cached");
+        logger.info("JwtTokenProvider initialized with expiration: {} ms, verified-token cache size: {}",
+                jwtExpiration, cacheSize);
     }
 
     public String generateToken(String username, Role role) {
+        return generateToken(new AuthenticatedUser(username, role, null, null, null));
+    }
+
+    /**
+     * Issues a token carrying the caller's identity, so later requests can be
+     * authenticated from the claims alone.
+     *
+     * @param user the authenticated user; null ids are left out of the token
+     * @return the signed compact JWT
+     */
+    public String generateToken(AuthenticatedUser user) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + expirationMs);
 
-        String token = Jwts.builder()
-                .subject(username)
-                .claim("role", role.name())
+        JwtBuilder builder = Jwts.builder()
+                .subject(user.getUsername())
+                .claim(ROLE_CLAIM, user.getRole().name())
                 .issuedAt(now)
-                .expiration(expiryDate)
-                .signWith(secretKey)
-                .compact();
-
-        logger.debug("Generated token for user: {}, expires at: {}", username, expiryDate);
-
-        return token;
-    }
-
-    public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+                .expiration(expiryDate);
+        addIfPresent(builder, USER_ID_CLAIM, user.getUserId());
+        addIfPresent(builder, CUSTOMER_ID_CLAIM, user.getCustomerId());
+        addIfPresent(builder, EMPLOYEE_ID_CLAIM, user.getEmployeeId());
 
-        return claims.getSubject();
-    }
+        String token = builder.signWith(secretKey).compact();
 
-    public Role getRoleFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        logger.debug("Generated token for user: {}, expires at: {}", user.getUsername(), expiryDate);
 
-        String roleName = claims.get("role", String.class);
-        return Role.valueOf(roleName);
+        return token;
     }
 
-    public boolean validateToken(String token) {
+    /**
+     * Validates the token and returns its claims in a single pass.
+     *
+     * @param token the compact JWT from the Authorization header
+     * @return the verified claims, or empty if the token is invalid or expired
+     */
+    public Optional<VerifiedToken> validateAndGetToken(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(secretKey)
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
+            return Optional.of(verify(token));
         } catch (SignatureException ex) {
             logger.error("Invalid JWT signature");
         } catch (MalformedJwtException ex) {
@@ -89,6 +147,139 @@ public class JwtTokenProvider {
         } catch (IllegalArgumentException ex) {
             logger.error("JWT claims string is empty");
         }
-        return false;
+        return Optional.empty();
+    }
+
+    public String getUsernameFromToken(String token) {
+        return verify(token).getUsername();
+    }
+
+    public Role getRoleFromToken(String token) {
+        return verify(token).getRole();
+    }
+
+    public boolean validateToken(String token) {
+        return validateAndGetToken(token).isPresent();
+    }
+
+    /**
+     * Returns the verified claims for the token, from the cache when possible.
+     *
+     * @throws JwtException if the signature is invalid or the token has expired
+     * @throws IllegalArgumentException if the token is null or empty
+     */
+    private VerifiedToken verify(String token) {
+        if (token == null || token.isEmpty()) {
+            throw new IllegalArgumentException("JWT string cannot be null or empty");
+        }
+
+        long started = System.nanoTime();
+        String key = hash(token);
+        Instant now = Instant.now();
+        VerifiedToken cached = verifiedTokens != null ? verifiedTokens.getIfPresent(key) : null;
+        // An expired token falls through so the parser reports the expiry the usual way
+        if (cached != null && !cached.isExpiredAt(now)) {
+            cacheHitTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            return cached;
+        }
+
+        VerifiedToken verified;
+        try {
+            verified = parse(token);
+        } catch (RuntimeException ex) {
+            rejectedTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            throw ex;
+        }
+        verifiedTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+
+        if (verifiedTokens != null) {
+            verifiedTokens.put(key, verified);
+        }
+        return verified;
+    }
+
+    private VerifiedToken parse(String token) {
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        if (claims.getExpiration() == null) {
+            throw new UnsupportedJwtException("JWT has no expiration");
+        }
+        AuthenticatedUser principal = new AuthenticatedUser(
+                claims.getSubject(),
+                roleOf(claims),
+                claims.get(USER_ID_CLAIM, Long.class),
+                claims.get(CUSTOMER_ID_CLAIM, Long.class),
+                claims.get(EMPLOYEE_ID_CLAIM, Long.class));
+        return new VerifiedToken(principal, claims.getExpiration().toInstant());
+    }
+
+    private static Role roleOf(Claims claims) {
+        String role = claims.get(ROLE_CLAIM, String.class);
+        if (role == null) {
+            throw new MalformedJwtException("JWT has no role claim");
+        }
+        try {
+            return Role.valueOf(role);
+        } catch (IllegalArgumentException ex) {
+            throw new UnsupportedJwtException("JWT has an unknown role: " + role);
+        }
+    }
+
+    private static Timer verificationTimer(MeterRegistry meterRegistry, String result) {
+        return Timer.builder("jwt.verification")
+                .description("Time to authenticate a bearer token")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static Cache<String, VerifiedToken> newTokenCache(int cacheSize) {
+        return Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+                        return untilExpiry(token);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken token, long currentTime,
+                                                  long currentDuration) {
+                        return untilExpiry(token);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken token, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    private static long untilExpiry(VerifiedToken token) {
+        return Math.max(0, TimeUnit.MILLISECONDS.toNanos(
+                token.getExpiresAt().toEpochMilli() - System.currentTimeMillis()));
+    }
+
+    private static void addIfPresent(JwtBuilder builder, String claim, Long value) {
+        if (value != null) {
+            builder.claim(claim, value);
+        }
+    }
+
+    long cachedTokenCount() {
+        if (verifiedTokens == null) {
+            return 0;
+        }
+        verifiedTokens.cleanUp();
+        return verifiedTokens.estimatedSize();
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
     }
 }
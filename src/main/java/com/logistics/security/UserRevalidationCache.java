@@ -0,0 +1,83 @@
+package com.logistics.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.logistics.model.enums.Role;
+import com.logistics.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Periodically re-checks that the user behind a stateless JWT principal
+ * still exists with the role the token claims.
+ *
+ * A token stays valid until it expires even if the account is deleted or
+ * its role changes. This cache bounds that window to the configured TTL
+ * while costing at most one lightweight query per user per TTL, instead of
+ * a full user load on every request. A TTL of 0 turns revalidation off.
+ */
+@Component
+public class UserRevalidationCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserRevalidationCache.class);
+
+    private final UserRepository userRepository;
+    private final boolean enabled;
+
+    /**
+     * Role found at the last check per username, dropped after the TTL and
+     * bounded to maxEntries by Caffeine's size eviction.
+     */
+    private final Cache<String, CheckedRole> checkedRoles;
+
+    public UserRevalidationCache(UserRepository userRepository,
+                                 @Value("${jwt.revalidation-ttl-ms:30000}") long ttlMs,
+                                 @Value("${jwt.cache-size:" + JwtTokenProvider.DEFAULT_CACHE_SIZE + "}") int maxEntries) {
+        this.userRepository = userRepository;
+        this.enabled = ttlMs > 0;
+        this.checkedRoles = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(Math.max(0, ttlMs)))
+                .maximumSize(Math.max(0, maxEntries))
+                .build();
+    }
+
+    /**
+     * Returns whether the principal's account still exists with the same role.
+     *
+     * @param principal the principal rebuilt from token claims
+     * @return true if the principal may be trusted for this request
+     */
+    public boolean isStillValid(AuthenticatedUser principal) {
+        if (!enabled) {
+            return true;
+        }
+
+        // Not Cache.get(key, loader): that would hold a map lock during the query
+        CheckedRole checked = checkedRoles.getIfPresent(principal.getUsername());
+        if (checked == null) {
+            checked = new CheckedRole(userRepository.findRoleByUsername(principal.getUsername()).orElse(null));
+            checkedRoles.put(principal.getUsername(), checked);
+        }
+
+        if (checked.role != principal.getRole()) {
+            logger.warn("Rejecting token for user {}: account removed or role changed", principal.getUsername());
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Role found at the last check, or null if the user no longer existed.
+     */
+    private static final class CheckedRole {
+        private final Role role;
+
+        private CheckedRole(Role role) {
+            this.role = role;
+        }
+    }
+}
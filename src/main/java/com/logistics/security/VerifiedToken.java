@@ -0,0 +1,42 @@
+package com.logistics.security;
+
+import com.logistics.model.enums.Role;
+
+import java.time.Instant;
+
+/**
+ * The claims of a JWT whose signature and expiry have been checked.
+ *
+ * Immutable so one instance can be shared between concurrent requests
+ * presenting the same token.
+ */
+public final class VerifiedToken {
+
+    private final AuthenticatedUser principal;
+    private final Instant expiresAt;
+
+    public VerifiedToken(AuthenticatedUser principal, Instant expiresAt) {
+        this.principal = principal;
+        this.expiresAt = expiresAt;
+    }
+
+    public AuthenticatedUser getPrincipal() {
+        return principal;
+    }
+
+    public String getUsername() {
+        return principal.getUsername();
+    }
+
+    public Role getRole() {
+        return principal.getRole();
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public boolean isExpiredAt(Instant instant) {
+        return !expiresAt.isAfter(instant);
+    }
+}
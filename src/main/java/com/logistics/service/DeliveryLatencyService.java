@@ -0,0 +1,62 @@
+package com.logistics.service;
+
+import com.logistics.dto.report.DeliveryLatencyResponse;
+import com.logistics.model.entity.Shipment;
+import com.logistics.model.enums.DeliveryType;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+/**
+ * Service interface for delivery latency (deliveredAt - registeredAt) percentiles.
+ *
+ * Latencies are kept in memory in fixed-size histograms, one per origin
+ * office and one per destination for each delivery week. The record methods take effect only after the caller's
+ * transaction commits. The histograms are rebuilt from the shipments table
+ * at startup and periodically after that.
+ */
+public interface DeliveryLatencyService {
+
+    /**
+     * Records one freshly delivered shipment.
+     *
+     * @param shipment a shipment that has just been marked DELIVERED
+     */
+    void recordDelivery(Shipment shipment);
+
+    /**
+     * Records shipments delivered by a bulk status update.
+     *
+     * @param shipmentIds IDs of shipments this transaction has just marked DELIVERED
+     */
+    void recordDeliveries(Collection<Long> shipmentIds);
+
+    /**
+     * Takes a delivered shipment back out of the histograms before it is deleted.
+     *
+     * @param shipment the shipment being removed
+     */
+    void recordRemoval(Shipment shipment);
+
+    /**
+     * Replaces the histograms with fresh ones built from the shipments table.
+     */
+    void rebuild();
+
+    /**
+     * Reports latency percentiles of shipments delivered in the weeks
+     * covering a date range. An origin filter cannot be combined with the
+     * destination filters.
+     *
+     * @param startDate        first delivery day, inclusive
+     * @param endDate          last delivery day, inclusive
+     * @param originOfficeId   optional origin office filter
+     * @param deliveryType     optional OFFICE or ADDRESS filter
+     * @param deliveryOfficeId optional delivery office filter
+     * @return overall, per-origin and per-destination percentiles
+     * @throws com.logistics.exception.InvalidDataException if the range is inverted or
+     *         origin and destination filters are combined
+     */
+    DeliveryLatencyResponse getLatencyReport(LocalDate startDate, LocalDate endDate, Long originOfficeId,
+                                             DeliveryType deliveryType, Long deliveryOfficeId);
+}
@@ -0,0 +1,67 @@
+package com.logistics.service;
+
+import com.logistics.dto.pricing.PricingSimulationRequest;
+import com.logistics.dto.pricing.PricingSimulationResponse;
+import com.logistics.dto.pricing.ShipmentRepriceResponse;
+import com.logistics.model.entity.PricingConfig;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Service interface for the pricing config history.
+ *
+ * Every pricing config ever saved stays in the history, in effect from its
+ * effectiveFrom until the next config's. The history is held in memory and
+ * loaded again once it changes, so looking up the tariff of a past moment
+ * does not query the database.
+ *
+ * Only the pricing config formula is versioned this way. Shipments
+ * registered while a pricing rule set was active were not priced with a
+ * config, so re-pricing flags them instead of quoting a config price.
+ */
+public interface PricingHistoryService {
+
+    /**
+     * Returns every pricing config, in the order they took effect.
+     *
+     * @return the pricing history, oldest first
+     */
+    List<PricingConfig> getHistory();
+
+    /**
+     * Calculates a price with the pricing config in effect at a given time.
+     *
+     * @param weight           shipment weight in kg
+     * @param isOfficeDelivery true if delivered to an office
+     * @param time             the moment whose tariff applies
+     * @return the price, rounded to 2 decimals
+     * @throws com.logistics.exception.InvalidDataException if no config was in effect at time
+     */
+    BigDecimal calculatePriceAt(BigDecimal weight, boolean isOfficeDelivery, LocalDateTime time);
+
+    /**
+     * Re-prices a shipment with the pricing config in effect when it was registered.
+     *
+     * @param shipmentId the shipment ID
+     * @return the charged price next to the price of that tariff, or
+     *         unsupported with the rule set ID if a rule set priced it
+     */
+    ShipmentRepriceResponse repriceShipment(Long shipmentId);
+
+    /**
+     * Re-prices every shipment registered in a date range under one tariff
+     * and compares the totals with what was charged.
+     *
+     * @param request the date range and the tariff
+     * @return charged and simulated revenue, and how many shipments a rule set priced
+     */
+    PricingSimulationResponse simulate(PricingSimulationRequest request);
+
+    /**
+     * Drops the in-memory history after a config or rule set was added or
+     * deactivated; it is loaded again on next use.
+     */
+    void historyChanged();
+}
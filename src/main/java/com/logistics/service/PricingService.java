@@ -1,11 +1,17 @@
 package com.logistics.service;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 /**
  * Service interface for shipment pricing calculations.
  *
  * All monetary values use BigDecimal for precision.
+ *
+ * Prices come from the active pricing rule set (weight brackets and zone
+ * surcharges) if there is one, otherwise from the pricing configuration.
+ * Zones depend on the origin and delivery office; the methods without
+ * office arguments price every shipment in the DEFAULT zone.
  */
 public interface PricingService {
 
@@ -20,6 +26,66 @@ public interface PricingService {
      */
     BigDecimal calculatePrice(BigDecimal weight, boolean isOfficeDelivery);
 
+    /**
+     * Calculates the total price for a shipment between two offices.
+     *
+     * @param weight           the shipment weight in kilograms
+     * @param isOfficeDelivery true if delivered to office, false for address delivery
+     * @param originOfficeId   the origin office, or null if none
+     * @param deliveryOfficeId the delivery office, or null for address delivery
+     * @return the calculated price as BigDecimal
+     */
+    BigDecimal calculatePrice(BigDecimal weight, boolean isOfficeDelivery, Long originOfficeId, Long deliveryOfficeId);
+
+    /**
+     * Calculates prices for many shipments against a single read of the
+     * active pricing configuration. Same formula as calculatePrice.
+     *
+     * @param weights          the shipment weights in kilograms
+     * @param officeDeliveries for each weight, true if delivered to office
+     * @return the calculated prices, in the same order as the weights
+     */
+    List<BigDecimal> calculatePrices(List<BigDecimal> weights, List<Boolean> officeDeliveries);
+
+    /**
+     * Calculates prices for many shipments between offices against a single
+     * read of the active pricing. Same formula as calculatePrice.
+     *
+     * @param weights           the shipment weights in kilograms
+     * @param officeDeliveries  for each weight, true if delivered to office
+     * @param originOfficeIds   for each weight, the origin office or null
+     * @param deliveryOfficeIds for each weight, the delivery office or null
+     * @return the calculated prices, in the same order as the weights
+     */
+    List<BigDecimal> calculatePrices(List<BigDecimal> weights, List<Boolean> officeDeliveries,
+                                     List<Long> originOfficeIds, List<Long> deliveryOfficeIds);
+
+    /**
+     * Quotes prices for many parcels against the cached pricing configuration,
+     * in fixed-point arithmetic. Each price equals calculatePrice for the same
+     * weight and delivery type.
+     *
+     * @param weights          parcel weights in kilograms, 0.01 to 10000 with at most 2 decimals
+     * @param officeDeliveries for each weight, true if delivered to office
+     * @return the prices in cents, in the same order as the weights
+     */
+    long[] quotePrices(BigDecimal[] weights, boolean[] officeDeliveries);
+
+    /**
+     * Same as quotePrices, for parcels between offices.
+     *
+     * @param originOfficeIds   for each weight, the origin office or 0; null for none at all
+     * @param deliveryOfficeIds for each weight, the delivery office or 0; null for none at all
+     */
+    long[] quotePrices(BigDecimal[] weights, boolean[] officeDeliveries,
+                       long[] originOfficeIds, long[] deliveryOfficeIds);
+
+    /**
+     * Tells pricing that an office was created, moved or deleted, so zone
+     * lookups are rebuilt once the current transaction commits.
+     */
+    void officeLocationsChanged();
+
     /**
      * Gets the current base price for all shipments.
      *
@@ -0,0 +1,42 @@
+package com.logistics.service;
+
+import com.logistics.dto.report.ReportJobRequest;
+import com.logistics.dto.report.ReportJobResponse;
+
+import java.nio.file.Path;
+
+/**
+ * Service interface for reports generated in the background.
+ *
+ * A submitted report runs on a small, bounded pool of report workers rather
+ * than the request thread, and its result is written to a gzip-compressed
+ * file. Clients poll the job and download the file once it is COMPLETED.
+ */
+public interface ReportJobService {
+
+    /**
+     * Queues a report. If an identical report is already queued or running,
+     * that job is returned instead of starting a new one.
+     *
+     * @param request  the report spec
+     * @param username the employee submitting it
+     * @return the new or already running job
+     */
+    ReportJobResponse submit(ReportJobRequest request, String username);
+
+    /**
+     * Gets the current state of a job.
+     *
+     * @param id the job ID
+     * @return the job
+     */
+    ReportJobResponse getJob(Long id);
+
+    /**
+     * Gets the compressed result file of a completed job.
+     *
+     * @param id the job ID
+     * @return path of the gzip file
+     */
+    Path getResultFile(Long id);
+}
@@ -0,0 +1,52 @@
+package com.logistics.service;
+
+import com.logistics.model.entity.Shipment;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+/**
+ * Service interface for maintaining the daily revenue rollup.
+ *
+ * The record methods join the caller's transaction, so the rollup commits
+ * or rolls back together with the status change that caused it.
+ */
+public interface RevenueRollupService {
+
+    /**
+     * Adds one freshly delivered shipment to its day's bucket.
+     *
+     * @param shipment a shipment that has just been marked DELIVERED
+     */
+    void recordDelivery(Shipment shipment);
+
+    /**
+     * Adds shipments delivered by a bulk status update to their buckets.
+     *
+     * @param shipmentIds IDs of shipments this transaction has just marked DELIVERED
+     */
+    void recordDeliveries(Collection<Long> shipmentIds);
+
+    /**
+     * Takes a delivered shipment back out of its bucket before it is deleted.
+     *
+     * @param shipment the delivered shipment being removed
+     */
+    void recordRemoval(Shipment shipment);
+
+    /**
+     * Recomputes the rollup for an inclusive date range from the shipments table.
+     *
+     * @param startDate first day to rebuild
+     * @param endDate   last day to rebuild
+     * @return number of buckets written
+     */
+    int rebuild(LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Recomputes the whole rollup from the shipments table.
+     *
+     * @return number of buckets written
+     */
+    int rebuildAll();
+}
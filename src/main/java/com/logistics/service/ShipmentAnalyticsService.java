@@ -0,0 +1,64 @@
+package com.logistics.service;
+
+import com.logistics.dto.analytics.AnalyticsQueryRequest;
+import com.logistics.dto.analytics.AnalyticsQueryResponse;
+import com.logistics.model.entity.Shipment;
+import com.logistics.model.enums.ShipmentStatus;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Service interface for ad-hoc analytics over an in-memory snapshot of shipments.
+ *
+ * Queries never touch the database. Like the dashboard counters, the record
+ * methods take effect only after the caller's transaction commits, and the
+ * snapshot is periodically rebuilt from the database.
+ */
+public interface ShipmentAnalyticsService {
+
+    /**
+     * Adds or replaces shipments in the snapshot.
+     *
+     * @param shipments saved shipments
+     */
+    void recordSaved(Collection<Shipment> shipments);
+
+    /**
+     * Applies a bulk status update by IDs.
+     *
+     * @param ids            targeted shipment IDs
+     * @param sourceStatuses statuses a shipment had to be in to be updated
+     * @param status         the new status
+     */
+    void recordStatusChange(Collection<Long> ids, Set<ShipmentStatus> sourceStatuses, ShipmentStatus status);
+
+    /**
+     * Applies a bulk status update by filter.
+     *
+     * @param currentStatus  status of the updated shipments
+     * @param originOfficeId origin office filter, or null for every office
+     * @param status         the new status
+     */
+    void recordStatusChange(ShipmentStatus currentStatus, Long originOfficeId, ShipmentStatus status);
+
+    /**
+     * Removes a deleted shipment from the snapshot.
+     *
+     * @param id the shipment ID
+     */
+    void recordDeleted(Long id);
+
+    /**
+     * Replaces the snapshot with a fresh copy of the shipments table.
+     */
+    void rebuild();
+
+    /**
+     * Filters, groups and aggregates the shipments in the snapshot.
+     *
+     * @param request filters and group-by dimensions
+     * @return one row per group
+     */
+    AnalyticsQueryResponse query(AnalyticsQueryRequest request);
+}
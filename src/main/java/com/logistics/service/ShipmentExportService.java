@@ -0,0 +1,48 @@
+package com.logistics.service;
+
+import com.logistics.model.enums.ExportFormat;
+
+import java.io.OutputStream;
+
+/**
+ * Service interface for streaming shipment report exports.
+ *
+ * Rows are read through a database cursor and written to the output stream
+ * as they arrive, so memory use does not grow with the number of shipments.
+ */
+public interface ShipmentExportService {
+
+    /**
+     * Writes all shipments to the output stream.
+     *
+     * @param format the export format
+     * @param out    the stream to write to (not closed by this method)
+     */
+    void exportAllShipments(ExportFormat format, OutputStream out);
+
+    /**
+     * Writes all non-delivered shipments to the output stream.
+     *
+     * @param format the export format
+     * @param out    the stream to write to (not closed by this method)
+     */
+    void exportPendingShipments(ExportFormat format, OutputStream out);
+
+    /**
+     * Writes the shipments where a customer is sender or recipient.
+     *
+     * @param customerId the customer ID
+     * @param format     the export format
+     * @param out        the stream to write to (not closed by this method)
+     */
+    void exportShipmentsByCustomerId(Long customerId, ExportFormat format, OutputStream out);
+
+    /**
+     * Writes the shipments registered by an employee.
+     *
+     * @param employeeId the employee ID
+     * @param format     the export format
+     * @param out        the stream to write to (not closed by this method)
+     */
+    void exportShipmentsByEmployeeId(Long employeeId, ExportFormat format, OutputStream out);
+}
@@ -0,0 +1,66 @@
+package com.logistics.service;
+
+import com.logistics.dto.report.DashboardMetricsResponse;
+import com.logistics.model.enums.ShipmentStatus;
+
+import java.math.BigDecimal;
+
+/**
+ * Service interface for the in-memory shipment counters behind the dashboard.
+ *
+ * The record methods take effect only after the caller's transaction commits,
+ * so the counters never include changes that roll back. The counters are
+ * seeded from the database at startup and periodically reconciled with it.
+ */
+public interface ShipmentMetricsService {
+
+    /**
+     * Counts newly registered shipments.
+     *
+     * @param count   number of shipments registered
+     * @param revenue sum of their prices
+     */
+    void recordRegistered(long count, BigDecimal revenue);
+
+    /**
+     * Moves shipments from one status to another.
+     *
+     * @param from  status the shipments were in
+     * @param to    status they are in now
+     * @param count number of shipments moved
+     */
+    void recordTransition(ShipmentStatus from, ShipmentStatus to, long count);
+
+    /**
+     * Applies a price change of an existing shipment to the revenue total.
+     *
+     * @param delta new price minus old price
+     */
+    void recordPriceChange(BigDecimal delta);
+
+    /**
+     * Removes a deleted shipment from the counters.
+     *
+     * @param status status the shipment was in
+     * @param price  its price
+     */
+    void recordDeleted(ShipmentStatus status, BigDecimal price);
+
+    /**
+     * Re-reads the counters from the database once the current transaction
+     * commits. For changes whose effect on the per-status counts is not known.
+     */
+    void reconcileAfterCommit();
+
+    /**
+     * Replaces the counters with fresh values from the database.
+     */
+    void reconcile();
+
+    /**
+     * Reads the dashboard metrics from the counters without querying the database.
+     *
+     * @return dashboard metrics
+     */
+    DashboardMetricsResponse getDashboardMetrics();
+}
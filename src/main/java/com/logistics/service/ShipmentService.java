@@ -1,5 +1,8 @@
 package com.logistics.service;
 
+import com.logistics.dto.shipment.ShipmentBatchResponse;
+import com.logistics.dto.shipment.ShipmentBulkStatusResponse;
+import com.logistics.dto.shipment.ShipmentPageResponse;
 import com.logistics.dto.shipment.ShipmentRequest;
 import com.logistics.dto.shipment.ShipmentResponse;
 import com.logistics.dto.shipment.ShipmentStatusUpdateRequest;
@@ -22,6 +25,18 @@ public interface ShipmentService {
      */
     ShipmentResponse registerShipment(ShipmentRequest request, String employeeUsername);
 
+    /**
+     * Registers many shipments in one transaction (Employee only).
+     * Referenced customers and offices are loaded with IN queries, prices are
+     * calculated in one pass and the inserts are sent as JDBC batches.
+     * Invalid items are rejected individually without failing the batch.
+     *
+     * @param requests         the shipments to register
+     * @param employeeUsername the username of the employee registering the shipments
+     * @return per-item results in request order
+     */
+    ShipmentBatchResponse registerShipments(List<ShipmentRequest> requests, String employeeUsername);
+
     /**
      * Retrieves a shipment by ID.
      *
@@ -46,6 +61,26 @@ public interface ShipmentService {
      */
     List<ShipmentResponse> getShipmentsByCustomerId(Long customerId);
 
+    /**
+     * Retrieves one keyset page of all shipments (Employee only).
+     * Ordered by registration time, then ID.
+     *
+     * @param cursor continuation token from the previous page, or null for the first page
+     * @param limit  maximum number of shipments to return
+     * @return the page with a cursor for the next one
+     */
+    ShipmentPageResponse getShipmentsPage(String cursor, int limit);
+
+    /**
+     * Retrieves one keyset page of a customer's shipments (sender OR recipient).
+     *
+     * @param customerId the customer ID
+     * @param cursor     continuation token from the previous page, or null for the first page
+     * @param limit      maximum number of shipments to return
+     * @return the page with a cursor for the next one
+     */
+    ShipmentPageResponse getShipmentsPageByCustomerId(Long customerId, String cursor, int limit);
+
     /**
      * Updates shipment status (Employee only).
      *
@@ -55,6 +90,30 @@ public interface ShipmentService {
      */
     ShipmentResponse updateShipmentStatus(Long id, ShipmentStatusUpdateRequest request);
 
+    /**
+     * Moves many shipments to a new status with one UPDATE statement (Employee only).
+     * Shipments whose current status does not allow the transition are left
+     * unchanged and reported as rejected.
+     *
+     * @param ids    the shipment IDs
+     * @param status the new status
+     * @return updated count, rejected IDs and unknown IDs
+     */
+    ShipmentBulkStatusResponse updateShipmentStatuses(List<Long> ids, ShipmentStatus status);
+
+    /**
+     * Moves every shipment in currentStatus to a new status with one UPDATE
+     * statement, optionally only those registered at one origin office (Employee only).
+     *
+     * @param currentStatus  the status to transition from
+     * @param originOfficeId origin office filter, or null for all offices
+     * @param status         the new status
+     * @return updated count
+     * @throws com.logistics.exception.InvalidDataException if currentStatus cannot move to status
+     */
+    ShipmentBulkStatusResponse updateShipmentStatuses(ShipmentStatus currentStatus, Long originOfficeId,
+                                                      ShipmentStatus status);
+
     /**
      * Updates a shipment.
      *
@@ -15,6 +15,7 @@ import com.logistics.repository.UserRepository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import com.logistics.security.AuthenticatedUser;
 import com.logistics.security.JwtTokenProvider;
 import com.logistics.service.AuthService;
 import org.slf4j.Logger;
@@ -75,9 +76,11 @@ public class AuthServiceImpl implements AuthService {
         logger.info("User created with ID: {}", savedUser.getId());
 
         // Automatically create the role-specific entity (Customer or Employee)
+        Long customerId = null;
+        Long employeeId = null;
         if (Role.CUSTOMER.equals(request.getRole())) {
             Customer customer = new Customer(savedUser);
-            customerRepository.save(customer);
+            customerId = customerRepository.save(customer).getId();
             logger.info("Customer record created for user: {}", savedUser.getUsername());
         } else if (Role.EMPLOYEE.equals(request.getRole())) {
             Employee employee = new Employee();
@@ -85,11 +88,13 @@ public class AuthServiceImpl implements AuthService {
             employee.setEmployeeType(EmployeeType.OFFICE_STAFF);
             employee.setHireDate(LocalDate.now());
             employee.setSalary(BigDecimal.ZERO);
-            employeeRepository.save(employee);
+            employeeId = employeeRepository.save(employee).getId();
             logger.info("Employee record created for user: {}", savedUser.getUsername());
         }
 
-        String token = jwtTokenProvider.generateToken(savedUser.getUsername(), savedUser.getRole());
+        String token = jwtTokenProvider.generateToken(
+                new AuthenticatedUser(savedUser.getUsername(), savedUser.getRole(), savedUser.getId(),
+                        customerId, employeeId));
 
         return new AuthResponse(
                 token,
@@ -111,7 +116,11 @@ public class AuthServiceImpl implements AuthService {
         User user = userRepository.findByUsername(request.getUsername())
                 .orElseThrow(() -> new RuntimeException("User not found after authentication"));
 
-        String token = jwtTokenProvider.generateToken(user.getUsername(), user.getRole());
+        // Embed the role-specific id so requests never have to look it up again
+        Long customerId = user.getCustomer() != null ? user.getCustomer().getId() : null;
+        Long employeeId = user.getEmployee() != null ? user.getEmployee().getId() : null;
+        String token = jwtTokenProvider.generateToken(
+                new AuthenticatedUser(user.getUsername(), user.getRole(), user.getId(), customerId, employeeId));
         logger.info("User logged in successfully: {}", user.getUsername());
 
         return new AuthResponse(
@@ -0,0 +1,167 @@
+package com.logistics.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.logistics.dto.report.CustomerMetricsResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of customer dashboard metrics, which the customer portal polls.
+ *
+ * Shipment writes evict the sender and recipient once they commit. A load
+ * that overlapped an eviction of the same customer (or of everyone) is
+ * returned but not cached, so a value read before a commit can never outlive
+ * it; writes for other customers do not affect it. Entries also expire after a TTL,
+ * which covers writes made through other instances. A TTL of 0 disables
+ * caching.
+ */
+@Component
+public class CustomerMetricsCache {
+
+    private final boolean enabled;
+
+    /**
+     * Bounded to maxEntries by Caffeine's size eviction; entries expire after the TTL.
+     */
+    private final Cache<Long, CustomerMetricsResponse> metricsByCustomer;
+
+    /**
+     * Orders loads and evictions: each eviction takes the next stamp, and a
+     * load remembers the stamp current when it started.
+     */
+    private final AtomicLong clock = new AtomicLong();
+
+    /**
+     * Stamp of the last {@link #evictAllAfterCommit} eviction.
+     */
+    private final AtomicLong allEvictedAt = new AtomicLong();
+
+    /**
+     * Customers with a load running, and when they were last evicted during
+     * one. Only they need an eviction stamp, so this stays as small as the
+     * number of concurrent loads. Storing a load and evicting the same
+     * customer both run inside this map's per-key lock, so neither can slip
+     * between the other's check and write.
+     */
+    private final ConcurrentHashMap<Long, Loads> loadsInFlight = new ConcurrentHashMap<>();
+
+    public CustomerMetricsCache(@Value("${reports.customer-metrics.cache-ttl-ms:30000}") long ttlMs,
+                                @Value("${reports.customer-metrics.cache-size:10000}") int maxEntries) {
+        this.enabled = ttlMs > 0 && maxEntries > 0;
+        this.metricsByCustomer = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(Math.max(0, ttlMs)))
+                .maximumSize(Math.max(0, maxEntries))
+                .build();
+    }
+
+    /**
+     * Returns the cached metrics for the customer, loading them on a miss.
+     *
+     * @param customerId the customer ID
+     * @param loader     computes the metrics from the database
+     * @return the customer's metrics
+     */
+    public CustomerMetricsResponse getOrLoad(Long customerId, Supplier<CustomerMetricsResponse> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        CustomerMetricsResponse cached = metricsByCustomer.getIfPresent(customerId);
+        if (cached != null) {
+            return cached;
+        }
+
+        // Loaded outside any lock, as the loader runs report queries
+        loadsInFlight.compute(customerId, (id, loads) -> {
+            Loads registered = loads != null ? loads : new Loads();
+            registered.running++;
+            return registered;
+        });
+        long startedAt = clock.get();
+        CustomerMetricsResponse loaded = null;
+        try {
+            loaded = loader.get();
+        } finally {
+            CustomerMetricsResponse result = loaded;
+            loadsInFlight.compute(customerId, (id, loads) -> {
+                if (result != null && loads.evictedAt <= startedAt && allEvictedAt.get() <= startedAt) {
+                    metricsByCustomer.put(id, result);
+                    // evictAllAfterCommit does not take this lock: undo a put that landed after its invalidateAll
+                    if (allEvictedAt.get() > startedAt) {
+                        metricsByCustomer.invalidate(id);
+                    }
+                }
+                return --loads.running == 0 ? null : loads;
+            });
+        }
+        return loaded;
+    }
+
+    /**
+     * Evicts the given customers once the current transaction commits.
+     *
+     * @param customerIds senders and recipients of the written shipments
+     */
+    public void evictAfterCommit(Collection<Long> customerIds) {
+        afterCommit(() -> {
+            for (Long customerId : customerIds) {
+                if (customerId != null) {
+                    evict(customerId);
+                }
+            }
+        });
+    }
+
+    /**
+     * Evicts every customer once the current transaction commits. For bulk
+     * writes where the affected customers are not known.
+     */
+    public void evictAllAfterCommit() {
+        afterCommit(() -> {
+            allEvictedAt.accumulateAndGet(clock.incrementAndGet(), Math::max);
+            metricsByCustomer.invalidateAll();
+        });
+    }
+
+    private void evict(Long customerId) {
+        long stamp = clock.incrementAndGet();
+        loadsInFlight.compute(customerId, (id, loads) -> {
+            if (loads != null) {
+                loads.evictedAt = stamp;
+            }
+            metricsByCustomer.invalidate(id);
+            return loads;
+        });
+    }
+
+    private static void afterCommit(Runnable eviction) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eviction.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                eviction.run();
+            }
+        });
+    }
+
+    /**
+     * Loads of one customer that are running. Only touched inside
+     * loadsInFlight's per-key lock.
+     */
+    private static final class Loads {
+        private int running;
+        private long evictedAt;
+    }
+}
@@ -0,0 +1,427 @@
+package com.logistics.service.impl;
+
+import com.logistics.dto.report.DeliveryLatencyResponse;
+import com.logistics.dto.report.LatencyPercentilesResponse;
+import com.logistics.exception.InvalidDataException;
+import com.logistics.model.entity.Shipment;
+import com.logistics.model.enums.DeliveryType;
+import com.logistics.repository.ShipmentRepository;
+import com.logistics.service.DeliveryLatencyService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongPredicate;
+
+/**
+ * Keeps one {@link LatencyHistogram} per origin office and one per destination
+ * for each delivery week. Origin and destination are separate dimensions
+ * rather than a cross product, so there are at most (origins + destinations)
+ * histograms per retained week, whatever the number of shipments: about
+ * 5,000 of 1.5 KB each for 200 offices and 13 weeks.
+ *
+ * A rebuild loads deliveries up to a cutoff and swaps in the new histograms.
+ * Deliveries recorded while it loads are queued, and those at or after the
+ * cutoff (which the load did not read) are replayed onto the new set.
+ */
+@Service
+public class DeliveryLatencyServiceImpl implements DeliveryLatencyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeliveryLatencyServiceImpl.class);
+
+    /**
+     * Rows per query when rebuilding.
+     */
+    private static final int LOAD_CHUNK_SIZE = 5_000;
+
+    private static final long NO_OFFICE = 0L;
+
+    private final ShipmentRepository shipmentRepository;
+    private final int retentionDays;
+
+    /**
+     * Reads rebuild chunks on the primary, for the same reason as
+     * ShipmentAnalyticsServiceImpl: the replay only covers deliveries
+     * committed during the load, not those a lagging replica has not seen.
+     */
+    private final TransactionTemplate primaryReads;
+
+    /**
+     * Serializes rebuilds. Held across the database load, hence not a monitor
+     * (see ShipmentAnalyticsServiceImpl).
+     */
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    /**
+     * Guards pendingDeltas and the swap of histograms.
+     */
+    private final Object deltaLock = new Object();
+
+    /**
+     * Histograms by week (see {@link #weekOf}).
+     */
+    private volatile Map<Long, WeekHistograms> histograms = new ConcurrentHashMap<>();
+    private List<Delta> pendingDeltas;
+
+    public DeliveryLatencyServiceImpl(ShipmentRepository shipmentRepository,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${latency.retention-days:90}") int retentionDays) {
+        this.shipmentRepository = shipmentRepository;
+        this.retentionDays = retentionDays;
+        this.primaryReads = new TransactionTemplate(transactionManager);
+        this.primaryReads.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public void recordDelivery(Shipment shipment) {
+        if (shipment.getRegisteredAt() == null || shipment.getDeliveredAt() == null) {
+            return;
+        }
+        Delta delta = new Delta(shipment.getId(),
+                officeId(shipment.getOriginOffice() != null ? shipment.getOriginOffice().getId() : null),
+                officeId(shipment.getDeliveryOffice() != null ? shipment.getDeliveryOffice().getId() : null),
+                shipment.getRegisteredAt(), shipment.getDeliveredAt(), 1);
+        afterCommit(List.of(delta));
+    }
+
+    @Override
+    public void recordDeliveries(Collection<Long> shipmentIds) {
+        if (shipmentIds.isEmpty()) {
+            return;
+        }
+        List<Delta> deltas = new ArrayList<>(shipmentIds.size());
+        for (Object[] row : shipmentRepository.findLatencyColumnsByIds(shipmentIds)) {
+            deltas.add(toDelta(row));
+        }
+        afterCommit(deltas);
+    }
+
+    @Override
+    public void recordRemoval(Shipment shipment) {
+        if (!shipment.isDelivered() || shipment.getRegisteredAt() == null || shipment.getDeliveredAt() == null) {
+            return;
+        }
+        Delta delta = new Delta(shipment.getId(),
+                officeId(shipment.getOriginOffice() != null ? shipment.getOriginOffice().getId() : null),
+                officeId(shipment.getDeliveryOffice() != null ? shipment.getDeliveryOffice().getId() : null),
+                shipment.getRegisteredAt(), shipment.getDeliveredAt(), -1);
+        afterCommit(List.of(delta));
+    }
+
+    /**
+     * Builds the histograms at startup and rebuilds them periodically, which
+     * drops weeks past the retention window and picks up deliveries made by
+     * other instances.
+     */
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${latency.rebuild-interval-ms:3600000}",
+            initialDelayString = "${latency.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            LocalDateTime cutoff = LocalDateTime.now();
+            // Start at a week boundary, so the oldest week kept is complete
+            LocalDateTime horizon = weekStart(weekOf(cutoff.toLocalDate().minusDays(retentionDays))).atStartOfDay();
+            synchronized (deltaLock) {
+                pendingDeltas = new ArrayList<>();
+            }
+            try {
+                Map<Long, WeekHistograms> loaded = new ConcurrentHashMap<>();
+                PageRequest chunk = PageRequest.ofSize(LOAD_CHUNK_SIZE);
+                // Loaded in ascending id order, so this stays sorted for the replay's binary search
+                long[] loadedIds = new long[LOAD_CHUNK_SIZE];
+                int count = 0;
+                long lastId = 0L;
+                List<Object[]> rows;
+                do {
+                    long after = lastId;
+                    rows = primaryReads.execute(status ->
+                            shipmentRepository.findLatencyColumnsDeliveredBetween(horizon, cutoff, after, chunk));
+                    for (Object[] row : rows) {
+                        add(loaded, toDelta(row));
+                        lastId = (Long) row[0];
+                        if (count == loadedIds.length) {
+                            loadedIds = Arrays.copyOf(loadedIds, count * 2);
+                        }
+                        loadedIds[count++] = lastId;
+                    }
+                } while (rows.size() == LOAD_CHUNK_SIZE);
+
+                synchronized (deltaLock) {
+                    replay(loaded, pendingDeltas, loadedIds, count);
+                    histograms = loaded;
+                }
+                logger.debug("Delivery latency histograms rebuilt from {} deliveries", count);
+            } finally {
+                synchronized (deltaLock) {
+                    pendingDeltas = null;
+                }
+            }
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * Whole weeks are reported: the range is widened to the Monday on or
+     * before startDate and the Sunday on or after endDate.
+     */
+    @Override
+    public DeliveryLatencyResponse getLatencyReport(LocalDate startDate, LocalDate endDate, Long originOfficeId,
+                                                    DeliveryType deliveryType, Long deliveryOfficeId) {
+        if (startDate == null || endDate == null || endDate.isBefore(startDate)) {
+            throw new InvalidDataException("endDate", "End date must not be before start date");
+        }
+        boolean destinationFilter = deliveryType != null || deliveryOfficeId != null;
+        if (originOfficeId != null && destinationFilter) {
+            throw new InvalidDataException("originOfficeId", "Filter by origin office or by destination, not both");
+        }
+
+        long firstWeek = weekOf(startDate);
+        long lastWeek = weekOf(endDate);
+        Map<Long, long[]> byOrigin = new TreeMap<>();
+        Map<Long, long[]> byDestination = new TreeMap<>();
+        for (Map.Entry<Long, WeekHistograms> entry : histograms.entrySet()) {
+            long week = entry.getKey();
+            if (week < firstWeek || week > lastWeek) {
+                continue;
+            }
+            if (!destinationFilter) {
+                collect(entry.getValue().byOrigin, byOrigin,
+                        id -> originOfficeId == null || id == originOfficeId);
+            }
+            if (originOfficeId == null) {
+                collect(entry.getValue().byDestination, byDestination,
+                        id -> (deliveryOfficeId == null || id == deliveryOfficeId)
+                                && (deliveryType == null || destinationType(id) == deliveryType));
+            }
+        }
+
+        // Every delivery has one origin and one destination, so either side sums to the total
+        long[] overall = new long[LatencyHistogram.BUCKET_COUNT];
+        for (long[] totals : (destinationFilter ? byDestination : byOrigin).values()) {
+            for (int i = 0; i < overall.length; i++) {
+                overall[i] += totals[i];
+            }
+        }
+
+        List<LatencyPercentilesResponse> origins = new ArrayList<>(byOrigin.size());
+        for (Map.Entry<Long, long[]> entry : byOrigin.entrySet()) {
+            LatencyPercentilesResponse response = toPercentiles(entry.getValue());
+            if (response.getShipmentCount() > 0) {
+                response.setOriginOfficeId(entry.getKey() == NO_OFFICE ? null : entry.getKey());
+                origins.add(response);
+            }
+        }
+        List<LatencyPercentilesResponse> destinations = new ArrayList<>(byDestination.size());
+        for (Map.Entry<Long, long[]> entry : byDestination.entrySet()) {
+            LatencyPercentilesResponse response = toPercentiles(entry.getValue());
+            if (response.getShipmentCount() > 0) {
+                response.setDeliveryType(destinationType(entry.getKey()));
+                response.setDeliveryOfficeId(entry.getKey() == NO_OFFICE ? null : entry.getKey());
+                destinations.add(response);
+            }
+        }
+
+        return new DeliveryLatencyResponse(weekStart(firstWeek), weekStart(lastWeek).plusDays(6),
+                toPercentiles(overall), origins, destinations);
+    }
+
+    /**
+     * Number of histograms held, at most (origins + destinations) per retained week.
+     */
+    public int histogramCount() {
+        int count = 0;
+        for (WeekHistograms week : histograms.values()) {
+            count += week.byOrigin.size() + week.byDestination.size();
+        }
+        return count;
+    }
+
+    /**
+     * Adds each histogram whose office passes the filter to its office's totals.
+     */
+    private static void collect(Map<Long, LatencyHistogram> histograms, Map<Long, long[]> totals,
+                                LongPredicate filter) {
+        for (Map.Entry<Long, LatencyHistogram> entry : histograms.entrySet()) {
+            if (filter.test(entry.getKey())) {
+                entry.getValue().addTo(totals.computeIfAbsent(entry.getKey(),
+                        id -> new long[LatencyHistogram.BUCKET_COUNT]));
+            }
+        }
+    }
+
+    private static LatencyPercentilesResponse toPercentiles(long[] totals) {
+        long count = 0;
+        for (long bucket : totals) {
+            count += bucket;
+        }
+        LatencyPercentilesResponse response = new LatencyPercentilesResponse();
+        response.setShipmentCount(count);
+        response.setP50Seconds(LatencyHistogram.percentile(totals, count, 50));
+        response.setP95Seconds(LatencyHistogram.percentile(totals, count, 95));
+        response.setP99Seconds(LatencyHistogram.percentile(totals, count, 99));
+        return response;
+    }
+
+    private static Delta toDelta(Object[] row) {
+        return new Delta((Long) row[0], officeId((Long) row[1]), officeId((Long) row[2]),
+                (LocalDateTime) row[3], (LocalDateTime) row[4], 1);
+    }
+
+    /**
+     * Applies the deltas committed while a rebuild was loading. Whether the load
+     * saw a change depends on when it committed, not on its timestamp, so every
+     * delta is replayed against whether its shipment was loaded: a delivery is
+     * added only if it was not, a removal taken out only if it was.
+     */
+    private static void replay(Map<Long, WeekHistograms> loaded, List<Delta> deltas,
+                               long[] loadedIds, int loadedCount) {
+        Map<Long, Boolean> counted = new HashMap<>();
+        for (Delta delta : deltas) {
+            if (delta.shipmentId == null) {
+                add(loaded, delta);
+                continue;
+            }
+            boolean present = counted.computeIfAbsent(delta.shipmentId,
+                    id -> Arrays.binarySearch(loadedIds, 0, loadedCount, id) >= 0);
+            if (present != delta.sign > 0) {
+                add(loaded, delta);
+                counted.put(delta.shipmentId, delta.sign > 0);
+            }
+        }
+    }
+
+    private static long officeId(Long id) {
+        return id != null ? id : NO_OFFICE;
+    }
+
+    /**
+     * An address delivery has no delivery office.
+     */
+    private static DeliveryType destinationType(long deliveryOfficeId) {
+        return DeliveryType.of(deliveryOfficeId != NO_OFFICE);
+    }
+
+    /**
+     * Weeks run Monday to Sunday and are numbered from the one holding 1970-01-01.
+     */
+    private static long weekOf(LocalDate date) {
+        return Math.floorDiv(date.toEpochDay() + 3, 7);
+    }
+
+    private static LocalDate weekStart(long week) {
+        return LocalDate.ofEpochDay(week * 7 - 3);
+    }
+
+    /**
+     * Applies a removal only to existing histograms, so taking back a
+     * delivery from a week that has already been dropped does nothing.
+     */
+    private static void add(Map<Long, WeekHistograms> target, Delta delta) {
+        long week = weekOf(delta.deliveredAt.toLocalDate());
+        WeekHistograms histograms = delta.sign > 0
+                ? target.computeIfAbsent(week, w -> new WeekHistograms())
+                : target.get(week);
+        if (histograms != null) {
+            add(histograms.byOrigin, delta.originOfficeId, delta);
+            add(histograms.byDestination, delta.deliveryOfficeId, delta);
+        }
+    }
+
+    private static void add(Map<Long, LatencyHistogram> target, long officeId, Delta delta) {
+        LatencyHistogram histogram = delta.sign > 0
+                ? target.computeIfAbsent(officeId, id -> new LatencyHistogram())
+                : target.get(officeId);
+        if (histogram != null) {
+            histogram.add(delta.seconds, delta.sign);
+        }
+    }
+
+    /**
+     * Applies deltas once the current transaction commits, or right away
+     * when there is no transaction.
+     */
+    private void afterCommit(List<Delta> deltas) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(deltas);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(deltas);
+            }
+        });
+    }
+
+    private void apply(List<Delta> deltas) {
+        synchronized (deltaLock) {
+            if (pendingDeltas != null) {
+                pendingDeltas.addAll(deltas);
+            }
+            Map<Long, WeekHistograms> current = histograms;
+            for (Delta delta : deltas) {
+                add(current, delta);
+            }
+        }
+    }
+
+    /**
+     * One delivery to add (sign 1) or take back (sign -1).
+     */
+    private static final class Delta {
+        /**
+         * Null for a shipment that was not saved yet; such deltas are always replayed.
+         */
+        private final Long shipmentId;
+        private final long originOfficeId;
+        private final long deliveryOfficeId;
+        private final LocalDateTime deliveredAt;
+        private final long seconds;
+        private final int sign;
+
+        private Delta(Long shipmentId, long originOfficeId, long deliveryOfficeId, LocalDateTime registeredAt,
+                      LocalDateTime deliveredAt, int sign) {
+            this.shipmentId = shipmentId;
+            this.originOfficeId = originOfficeId;
+            this.deliveryOfficeId = deliveryOfficeId;
+            this.deliveredAt = deliveredAt;
+            this.seconds = Math.max(0, Duration.between(registeredAt, deliveredAt).getSeconds());
+            this.sign = sign;
+        }
+    }
+
+    /**
+     * Histograms of one week, by origin office and by delivery office.
+     * Address deliveries are kept under {@link #NO_OFFICE}, as are shipments
+     * without an origin office.
+     */
+    private static final class WeekHistograms {
+        private final Map<Long, LatencyHistogram> byOrigin = new ConcurrentHashMap<>();
+        private final Map<Long, LatencyHistogram> byDestination = new ConcurrentHashMap<>();
+    }
+}
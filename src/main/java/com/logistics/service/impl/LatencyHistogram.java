@@ -0,0 +1,88 @@
+package com.logistics.service.impl;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size, log-linear histogram of durations in seconds.
+ *
+ * Values below 8 get a bucket each; above that, every power of two is split
+ * into 8 equal buckets, so a bucket is never wider than 1/8 of its lower
+ * bound. Percentiles are reported at the bucket midpoint, within about 6%
+ * of the true value. Durations from 2^26 seconds (about two years) on share
+ * the last bucket.
+ *
+ * Recording is lock-free; readers see a possibly slightly stale count.
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 25;
+
+    static final int BUCKET_COUNT = SUB_BUCKETS + (MAX_EXPONENT - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+
+    /**
+     * Adds delta (1 to record, -1 to take a recording back) to the bucket of seconds.
+     */
+    void add(long seconds, long delta) {
+        counts.addAndGet(bucketOf(seconds), delta);
+    }
+
+    /**
+     * Adds this histogram's counts to totals, which has {@link #BUCKET_COUNT} slots.
+     */
+    void addTo(long[] totals) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            totals[i] += counts.get(i);
+        }
+    }
+
+    static int bucketOf(long seconds) {
+        if (seconds < SUB_BUCKETS) {
+            return (int) Math.max(0, seconds);
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(seconds);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKET_COUNT - 1;
+        }
+        int subBucket = (int) (seconds >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return SUB_BUCKETS + (exponent - SUB_BUCKET_BITS) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Midpoint of a bucket, in seconds.
+     */
+    static long valueOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = (bucket - SUB_BUCKETS) / SUB_BUCKETS;
+        int subBucket = (bucket - SUB_BUCKETS) % SUB_BUCKETS;
+        long lower = (long) (SUB_BUCKETS + subBucket) << shift;
+        return lower + ((1L << shift) >> 1);
+    }
+
+    /**
+     * Returns the value at the given percentile of merged counts, or null if they are empty.
+     *
+     * @param totals     bucket counts, as filled by {@link #addTo}
+     * @param total      sum of totals
+     * @param percentile between 0 (exclusive) and 100 (inclusive)
+     */
+    static Long percentile(long[] totals, long total, double percentile) {
+        if (total <= 0) {
+            return null;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < totals.length; i++) {
+            seen += totals[i];
+            if (seen >= rank) {
+                return valueOf(i);
+            }
+        }
+        return valueOf(totals.length - 1);
+    }
+}
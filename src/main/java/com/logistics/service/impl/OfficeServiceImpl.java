@@ -8,6 +8,7 @@ import com.logistics.model.entity.Office;
 import com.logistics.repository.CompanyRepository;
 import com.logistics.repository.OfficeRepository;
 import com.logistics.service.OfficeService;
+import com.logistics.service.PricingService;
 import com.logistics.util.EntityMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -25,10 +26,13 @@ public class OfficeServiceImpl implements OfficeService {
 
     private final OfficeRepository officeRepository;
     private final CompanyRepository companyRepository;
+    private final PricingService pricingService;
 
-    public OfficeServiceImpl(OfficeRepository officeRepository, CompanyRepository companyRepository) {
+    public OfficeServiceImpl(OfficeRepository officeRepository, CompanyRepository companyRepository,
+                             PricingService pricingService) {
         this.officeRepository = officeRepository;
         this.companyRepository = companyRepository;
+        this.pricingService = pricingService;
     }
 
     @Override
@@ -47,6 +51,7 @@ public class OfficeServiceImpl implements OfficeService {
         office.setPhone(request.getPhone());
 
         Office savedOffice = officeRepository.save(office);
+        pricingService.officeLocationsChanged();
         logger.info("Office created with ID: {}", savedOffice.getId());
 
         return EntityMapper.toOfficeResponse(savedOffice);
@@ -107,6 +112,7 @@ public class OfficeServiceImpl implements OfficeService {
         office.setPhone(request.getPhone());
 
         Office updatedOffice = officeRepository.save(office);
+        pricingService.officeLocationsChanged();
         logger.info("Office updated with ID: {}", updatedOffice.getId());
 
         return EntityMapper.toOfficeResponse(updatedOffice);
@@ -121,6 +127,7 @@ public class OfficeServiceImpl implements OfficeService {
         }
 
         officeRepository.deleteById(id);
+        pricingService.officeLocationsChanged();
         logger.info("Office deleted with ID: {}", id);
     }
 }
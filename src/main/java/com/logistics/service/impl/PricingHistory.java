@@ -0,0 +1,95 @@
+package com.logistics.service.impl;
+
+import com.logistics.model.entity.PricingConfig;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Every pricing config ever saved, as snapshots sorted by effectiveFrom.
+ *
+ * Config i is in effect from effectiveFrom[i] until effectiveFrom[i + 1], so
+ * the tariff of a moment is a binary search over a long[] of timestamps (in
+ * microseconds, the precision registeredAt is stored with). Two configs with
+ * the same effectiveFrom can only come from direct inserts; the later one wins.
+ *
+ * Immutable. A changed history is loaded again as a whole.
+ */
+final class PricingHistory {
+
+    /**
+     * Effective time order, the later insert last on ties.
+     */
+    static final Comparator<PricingConfig> EFFECTIVE_ORDER = Comparator
+            .comparing(PricingConfig::getEffectiveFrom)
+            .thenComparing(PricingConfig::getId);
+
+    private final long[] effectiveFrom;
+    private final PricingSnapshot[] snapshots;
+
+    private PricingHistory(long[] effectiveFrom, PricingSnapshot[] snapshots) {
+        this.effectiveFrom = effectiveFrom;
+        this.snapshots = snapshots;
+    }
+
+    /**
+     * @param configs every pricing config, in any order
+     */
+    static PricingHistory of(List<PricingConfig> configs) {
+        List<PricingConfig> sorted = new ArrayList<>(configs);
+        sorted.sort(EFFECTIVE_ORDER);
+
+        long[] effectiveFrom = new long[sorted.size()];
+        PricingSnapshot[] snapshots = new PricingSnapshot[sorted.size()];
+        for (int i = 0; i < sorted.size(); i++) {
+            effectiveFrom[i] = toMicros(sorted.get(i).getEffectiveFrom());
+            snapshots[i] = PricingSnapshot.of(sorted.get(i));
+        }
+        return new PricingHistory(effectiveFrom, snapshots);
+    }
+
+    /**
+     * @return the config in effect at time, or null if it is before the first config
+     */
+    PricingSnapshot at(LocalDateTime time) {
+        long key = toMicros(time);
+
+        // Last index whose effectiveFrom <= key
+        int low = 0;
+        int high = effectiveFrom.length - 1;
+        int found = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (effectiveFrom[mid] <= key) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return found < 0 ? null : snapshots[found];
+    }
+
+    /**
+     * @return the config with the given id, or null if there is none
+     */
+    PricingSnapshot byId(Long id) {
+        for (PricingSnapshot snapshot : snapshots) {
+            if (snapshot.getId().equals(id)) {
+                return snapshot;
+            }
+        }
+        return null;
+    }
+
+    int size() {
+        return snapshots.length;
+    }
+
+    static long toMicros(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1_000;
+    }
+}
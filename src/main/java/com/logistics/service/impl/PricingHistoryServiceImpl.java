@@ -0,0 +1,288 @@
+package com.logistics.service.impl;
+
+import com.logistics.dto.pricing.PricingSimulationRequest;
+import com.logistics.dto.pricing.PricingSimulationResponse;
+import com.logistics.dto.pricing.ShipmentRepriceResponse;
+import com.logistics.exception.InvalidDataException;
+import com.logistics.exception.ResourceNotFoundException;
+import com.logistics.model.entity.PricingConfig;
+import com.logistics.model.entity.Shipment;
+import com.logistics.repository.PricingConfigRepository;
+import com.logistics.repository.PricingRuleSetRepository;
+import com.logistics.repository.ShipmentRepository;
+import com.logistics.service.PricingHistoryService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+/**
+ * Looks up past tariffs in a {@link PricingHistory} and re-prices shipments
+ * with them. Shipments registered while a rule set was active, found in the
+ * {@link RuleSetPeriods}, are flagged instead: no config priced them.
+ *
+ * A simulation reads the shipments through one database cursor and hands
+ * each batch of rows to the common fork-join pool, so pricing a batch
+ * overlaps with reading the next one. Once MAX_BATCHES_IN_FLIGHT batches are
+ * pending, the reader waits for the oldest before reading on, so a cursor
+ * that outpaces pricing holds at most that many batches in memory.
+ */
+@Service
+public class PricingHistoryServiceImpl implements PricingHistoryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PricingHistoryServiceImpl.class);
+
+    /**
+     * Rows read from the cursor before they are handed to a pricing task.
+     */
+    private static final int SIMULATION_BATCH_SIZE = 10_000;
+
+    /**
+     * Batches read but not yet summed: one per pool thread, plus the one
+     * being read.
+     */
+    private static final int MAX_BATCHES_IN_FLIGHT = ForkJoinPool.getCommonPoolParallelism() + 1;
+
+    private final PricingConfigRepository pricingConfigRepository;
+    private final PricingRuleSetRepository pricingRuleSetRepository;
+    private final ShipmentRepository shipmentRepository;
+
+    private final AtomicReference<PricingHistory> history = new AtomicReference<>();
+    private final AtomicReference<RuleSetPeriods> ruleSetPeriods = new AtomicReference<>();
+
+    public PricingHistoryServiceImpl(PricingConfigRepository pricingConfigRepository,
+                                     PricingRuleSetRepository pricingRuleSetRepository,
+                                     ShipmentRepository shipmentRepository) {
+        this.pricingConfigRepository = pricingConfigRepository;
+        this.pricingRuleSetRepository = pricingRuleSetRepository;
+        this.shipmentRepository = shipmentRepository;
+    }
+
+    /**
+     * Returns the in-memory history, loading it on first use.
+     */
+    private PricingHistory currentHistory() {
+        PricingHistory current = history.get();
+        if (current != null) {
+            return current;
+        }
+        PricingHistory loaded = PricingHistory.of(pricingConfigRepository.findAllByOrderByIdAsc());
+        logger.info("Pricing history loaded: {} configs", loaded.size());
+        return history.compareAndSet(null, loaded) ? loaded : history.get();
+    }
+
+    /**
+     * Returns the in-memory rule set periods, loading them on first use.
+     */
+    private RuleSetPeriods currentRuleSetPeriods() {
+        RuleSetPeriods current = ruleSetPeriods.get();
+        if (current != null) {
+            return current;
+        }
+        RuleSetPeriods loaded = RuleSetPeriods.of(pricingRuleSetRepository.findAllByOrderByCreatedAtAscIdAsc());
+        return ruleSetPeriods.compareAndSet(null, loaded) ? loaded : ruleSetPeriods.get();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PricingConfig> getHistory() {
+        List<PricingConfig> configs = new ArrayList<>(pricingConfigRepository.findAllByOrderByIdAsc());
+        configs.sort(PricingHistory.EFFECTIVE_ORDER);
+        return configs;
+    }
+
+    @Override
+    public BigDecimal calculatePriceAt(BigDecimal weight, boolean isOfficeDelivery, LocalDateTime time) {
+        return tariffAt(time).calculatePrice(weight, isOfficeDelivery);
+    }
+
+    private PricingSnapshot tariffAt(LocalDateTime time) {
+        PricingSnapshot tariff = currentHistory().at(time);
+        if (tariff == null) {
+            throw new InvalidDataException("No pricing configuration was in effect at " + time);
+        }
+        return tariff;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ShipmentRepriceResponse repriceShipment(Long shipmentId) {
+        Shipment shipment = shipmentRepository.findById(shipmentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Shipment", "id", shipmentId));
+
+        boolean isOfficeDelivery = shipment.isOfficeDelivery();
+        Long ruleSetId = currentRuleSetPeriods().at(shipment.getRegisteredAt());
+        if (ruleSetId != null) {
+            logger.info("Shipment {} was priced by rule set {}, not re-priced", shipmentId, ruleSetId);
+            return new ShipmentRepriceResponse(shipment.getId(), shipment.getRegisteredAt(), shipment.getWeight(),
+                    isOfficeDelivery, shipment.getPrice(), ruleSetId);
+        }
+
+        PricingSnapshot tariff = tariffAt(shipment.getRegisteredAt());
+        BigDecimal tariffPrice = tariff.calculatePrice(shipment.getWeight(), isOfficeDelivery);
+
+        return new ShipmentRepriceResponse(shipment.getId(), shipment.getRegisteredAt(), shipment.getWeight(),
+                isOfficeDelivery, tariff.getId(), shipment.getPrice(), tariffPrice);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PricingSimulationResponse simulate(PricingSimulationRequest request) {
+        if (request.getEndDate().isBefore(request.getStartDate())) {
+            throw new InvalidDataException("endDate", "End date must not be before start date");
+        }
+        PricingSnapshot tariff = tariffOf(request);
+        // Before the cursor opens: a streaming MySQL connection runs nothing else
+        RuleSetPeriods periods = currentRuleSetPeriods();
+
+        logger.info("Simulating pricing config {} for shipments registered {} to {}",
+                tariff.getId(), request.getStartDate(), request.getEndDate());
+
+        SimulationTotals totals;
+        try (Stream<Object[]> rows = shipmentRepository.streamPricingColumnsRegisteredBetween(
+                request.getStartDate().atStartOfDay(), request.getEndDate().plusDays(1).atStartOfDay())) {
+            totals = priceInParallel(rows.iterator(), tariff, periods);
+        }
+
+        PricingSimulationResponse response = new PricingSimulationResponse();
+        response.setStartDate(request.getStartDate());
+        response.setEndDate(request.getEndDate());
+        response.setConfigId(tariff.getId());
+        response.setBasePrice(tariff.getBasePrice());
+        response.setPricePerKg(tariff.getPricePerKg());
+        response.setAddressDeliveryFee(tariff.getAddressDeliveryFee());
+        response.setShipmentCount(totals.count);
+        response.setChargedRevenue(BigDecimal.valueOf(totals.chargedCents, 2));
+        response.setSimulatedRevenue(BigDecimal.valueOf(totals.simulatedCents, 2));
+        response.setDifference(BigDecimal.valueOf(totals.simulatedCents - totals.chargedCents, 2));
+        response.setIncreasedCount(totals.increased);
+        response.setDecreasedCount(totals.decreased);
+        response.setRuleSetPricedCount(totals.ruleSetPriced);
+
+        logger.info("Simulated {} shipments ({} priced by a rule set): charged={}, simulated={}",
+                totals.count, totals.ruleSetPriced, response.getChargedRevenue(), response.getSimulatedRevenue());
+        return response;
+    }
+
+    /**
+     * A config of the history, or a proposed tariff that is not saved.
+     */
+    private PricingSnapshot tariffOf(PricingSimulationRequest request) {
+        if (request.getConfigId() != null) {
+            PricingSnapshot tariff = currentHistory().byId(request.getConfigId());
+            if (tariff == null) {
+                throw new ResourceNotFoundException("PricingConfig", "id", request.getConfigId());
+            }
+            return tariff;
+        }
+        if (request.getBasePrice() == null || request.getPricePerKg() == null
+                || request.getAddressDeliveryFee() == null) {
+            throw new InvalidDataException("configId",
+                    "Either a pricing config ID or basePrice, pricePerKg and addressDeliveryFee are required");
+        }
+        return PricingSnapshot.of(new PricingConfig(
+                request.getBasePrice(), request.getPricePerKg(), request.getAddressDeliveryFee()));
+    }
+
+    /**
+     * Reads the cursor on the calling thread, which owns the transaction,
+     * and prices the batches on the common pool. Batches are summed in the
+     * order they were read.
+     */
+    private static SimulationTotals priceInParallel(Iterator<Object[]> rows, PricingSnapshot tariff,
+                                                    RuleSetPeriods ruleSetPeriods) {
+        Deque<CompletableFuture<SimulationTotals>> inFlight = new ArrayDeque<>();
+        SimulationTotals totals = new SimulationTotals();
+        while (rows.hasNext()) {
+            if (inFlight.size() == MAX_BATCHES_IN_FLIGHT) {
+                totals.add(inFlight.removeFirst().join());
+            }
+            Object[][] batch = new Object[SIMULATION_BATCH_SIZE][];
+            int size = 0;
+            while (size < batch.length && rows.hasNext()) {
+                batch[size++] = rows.next();
+            }
+            int rowCount = size;
+            inFlight.addLast(CompletableFuture.supplyAsync(() -> SimulationTotals.of(batch, rowCount, tariff, ruleSetPeriods)));
+        }
+
+        for (CompletableFuture<SimulationTotals> batch : inFlight) {
+            totals.add(batch.join());
+        }
+        return totals;
+    }
+
+    @Override
+    public void historyChanged() {
+        history.set(null);
+        ruleSetPeriods.set(null);
+    }
+
+    /**
+     * Sums of one or more batches, money in cents.
+     */
+    private static final class SimulationTotals {
+        private long count;
+        private long chargedCents;
+        private long simulatedCents;
+        private long increased;
+        private long decreased;
+        private long ruleSetPriced;
+
+        /**
+         * @param rows rows of {@link ShipmentRepository#PRICING_COLUMNS}
+         */
+        static SimulationTotals of(Object[][] rows, int rowCount, PricingSnapshot tariff,
+                                   RuleSetPeriods ruleSetPeriods) {
+            SimulationTotals totals = new SimulationTotals();
+            for (int i = 0; i < rowCount; i++) {
+                Object[] row = rows[i];
+                long weight = toHundredths((BigDecimal) row[0]);
+                long charged = row[2] == null ? 0 : toHundredths((BigDecimal) row[2]);
+                long simulated = tariff.quoteCents(weight, row[1] != null);
+
+                totals.count++;
+                if (ruleSetPeriods.at((LocalDateTime) row[3]) != null) {
+                    totals.ruleSetPriced++;
+                }
+                totals.chargedCents += charged;
+                totals.simulatedCents += simulated;
+                if (simulated > charged) {
+                    totals.increased++;
+                } else if (simulated < charged) {
+                    totals.decreased++;
+                }
+            }
+            return totals;
+        }
+
+        void add(SimulationTotals other) {
+            count += other.count;
+            chargedCents += other.chargedCents;
+            simulatedCents += other.simulatedCents;
+            increased += other.increased;
+            decreased += other.decreased;
+            ruleSetPriced += other.ruleSetPriced;
+        }
+
+        /**
+         * Kilograms to hundredths of a kilogram, or money to cents.
+         */
+        private static long toHundredths(BigDecimal value) {
+            return value.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+        }
+    }
+}
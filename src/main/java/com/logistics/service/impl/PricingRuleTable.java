@@ -0,0 +1,234 @@
+package com.logistics.service.impl;
+
+import com.logistics.model.entity.PricingRuleSet;
+import com.logistics.model.entity.PricingWeightBracket;
+import com.logistics.model.entity.PricingZone;
+import com.logistics.model.entity.PricingZoneSurcharge;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Active {@link PricingRuleSet} compiled into flat lookup tables.
+ *
+ * - bracketByWeight: bracket index for every weight from 0 to 10000 kg, in
+ *   steps of 0.01 kg
+ * - zoneByOfficeId: zone index for every office id, 0 (DEFAULT) for unknown ids
+ * - surchargeCents: zone × zone matrix, [originZone * zoneCount + destinationZone]
+ *
+ * so pricing a parcel is a few array reads and long arithmetic: no rule
+ * matching, no allocation. All money is in whole cents; the rule set's
+ * values are validated to 2 decimals before they get here.
+ *
+ * Immutable. Office moves are applied by compiling a copy with new zones.
+ */
+final class PricingRuleTable {
+
+    static final String DEFAULT_ZONE = "DEFAULT";
+
+    static final long MAX_WEIGHT_HUNDREDTHS = 1_000_000;
+
+    /**
+     * Offices with a higher id are priced in the DEFAULT zone, which keeps
+     * zoneByOfficeId small however sparse the ids are.
+     */
+    static final int MAX_OFFICE_ID = 1_000_000;
+
+    /**
+     * Stands for "no active rule set": prices come from PricingConfig.
+     */
+    static final PricingRuleTable NONE = new PricingRuleTable();
+
+    private final Long ruleSetId;
+    private final long addressDeliveryFeeCents;
+
+    private final byte[] bracketByWeight;
+    private final long[] bracketBaseCents;
+    private final long[] bracketPerKgCents;
+
+    /**
+     * Zone index by "country|city" and by "country", lower-cased; kept to
+     * reassign offices without recompiling the whole rule set.
+     */
+    private final Map<String, Integer> zoneByCity;
+    private final Map<String, Integer> zoneByCountry;
+    private final int zoneCount;
+    private final long[] surchargeCents;
+
+    private final int[] zoneByOfficeId;
+
+    private PricingRuleTable() {
+        this.ruleSetId = null;
+        this.addressDeliveryFeeCents = 0;
+        this.bracketByWeight = new byte[0];
+        this.bracketBaseCents = new long[0];
+        this.bracketPerKgCents = new long[0];
+        this.zoneByCity = Map.of();
+        this.zoneByCountry = Map.of();
+        this.zoneCount = 1;
+        this.surchargeCents = new long[1];
+        this.zoneByOfficeId = new int[0];
+    }
+
+    private PricingRuleTable(PricingRuleTable rules, int[] zoneByOfficeId) {
+        this.ruleSetId = rules.ruleSetId;
+        this.addressDeliveryFeeCents = rules.addressDeliveryFeeCents;
+        this.bracketByWeight = rules.bracketByWeight;
+        this.bracketBaseCents = rules.bracketBaseCents;
+        this.bracketPerKgCents = rules.bracketPerKgCents;
+        this.zoneByCity = rules.zoneByCity;
+        this.zoneByCountry = rules.zoneByCountry;
+        this.zoneCount = rules.zoneCount;
+        this.surchargeCents = rules.surchargeCents;
+        this.zoneByOfficeId = zoneByOfficeId;
+    }
+
+    private PricingRuleTable(PricingRuleSet ruleSet, List<PricingWeightBracket> brackets,
+                             List<PricingZone> zones, List<PricingZoneSurcharge> surcharges,
+                             List<Object[]> officeLocations) {
+        this.ruleSetId = ruleSet.getId();
+        this.addressDeliveryFeeCents = toCents(ruleSet.getAddressDeliveryFee());
+
+        // Brackets come sorted by maxWeight; each covers the weights above the previous one
+        this.bracketByWeight = new byte[(int) MAX_WEIGHT_HUNDREDTHS + 1];
+        this.bracketBaseCents = new long[brackets.size()];
+        this.bracketPerKgCents = new long[brackets.size()];
+        int from = 0;
+        for (int i = 0; i < brackets.size(); i++) {
+            PricingWeightBracket bracket = brackets.get(i);
+            bracketBaseCents[i] = toCents(bracket.getBasePrice());
+            bracketPerKgCents[i] = toCents(bracket.getPricePerKg());
+            int to = (int) Math.min(toCents(bracket.getMaxWeight()), MAX_WEIGHT_HUNDREDTHS);
+            Arrays.fill(bracketByWeight, from, to + 1, (byte) i);
+            from = to + 1;
+        }
+        if (from <= MAX_WEIGHT_HUNDREDTHS) {
+            Arrays.fill(bracketByWeight, from, bracketByWeight.length, (byte) (brackets.size() - 1));
+        }
+
+        // Zone 0 is DEFAULT
+        Map<String, Integer> zoneByName = new HashMap<>();
+        zoneByName.put(DEFAULT_ZONE, 0);
+        this.zoneByCity = new HashMap<>();
+        this.zoneByCountry = new HashMap<>();
+        for (PricingZone zone : zones) {
+            int index = zoneByName.computeIfAbsent(zone.getName(), name -> zoneByName.size());
+            if (zone.getCity() == null || zone.getCity().isBlank()) {
+                zoneByCountry.put(key(zone.getCountry()), index);
+            } else {
+                zoneByCity.put(key(zone.getCountry()) + "|" + key(zone.getCity()), index);
+            }
+        }
+        this.zoneCount = zoneByName.size();
+
+        this.surchargeCents = new long[zoneCount * zoneCount];
+        for (PricingZoneSurcharge surcharge : surcharges) {
+            int origin = zoneByName.get(surcharge.getOriginZone());
+            int destination = zoneByName.get(surcharge.getDestinationZone());
+            surchargeCents[origin * zoneCount + destination] = toCents(surcharge.getAmount());
+        }
+
+        this.zoneByOfficeId = assignZones(officeLocations);
+    }
+
+    /**
+     * Compiles a rule set. Brackets must be sorted by maxWeight and every
+     * surcharge must name a zone of the set or DEFAULT.
+     *
+     * @param officeLocations (id, city, country) rows of every office
+     */
+    static PricingRuleTable compile(PricingRuleSet ruleSet, List<PricingWeightBracket> brackets,
+                                    List<PricingZone> zones, List<PricingZoneSurcharge> surcharges,
+                                    List<Object[]> officeLocations) {
+        return new PricingRuleTable(ruleSet, brackets, zones, surcharges, officeLocations);
+    }
+
+    /**
+     * Returns this table with offices reassigned to zones, or this same
+     * instance if no office changed zone.
+     */
+    PricingRuleTable withOfficeLocations(List<Object[]> officeLocations) {
+        if (isEmpty()) {
+            return this;
+        }
+        int[] zones = assignZones(officeLocations);
+        return Arrays.equals(zones, zoneByOfficeId) ? this : new PricingRuleTable(this, zones);
+    }
+
+    private int[] assignZones(List<Object[]> officeLocations) {
+        int maxId = 0;
+        for (Object[] row : officeLocations) {
+            long id = (Long) row[0];
+            if (id <= MAX_OFFICE_ID) {
+                maxId = Math.max(maxId, (int) id);
+            }
+        }
+        int[] zones = new int[maxId + 1];
+        for (Object[] row : officeLocations) {
+            long id = (Long) row[0];
+            if (id <= MAX_OFFICE_ID) {
+                zones[(int) id] = zoneOf((String) row[1], (String) row[2]);
+            }
+        }
+        return zones;
+    }
+
+    private int zoneOf(String city, String country) {
+        String countryKey = key(country);
+        Integer zone = zoneByCity.get(countryKey + "|" + key(city));
+        if (zone == null) {
+            zone = zoneByCountry.get(countryKey);
+        }
+        return zone != null ? zone : 0;
+    }
+
+    private static String key(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static long toCents(BigDecimal value) {
+        return value.movePointRight(2).longValueExact();
+    }
+
+    boolean isEmpty() {
+        return ruleSetId == null;
+    }
+
+    Long getRuleSetId() {
+        return ruleSetId;
+    }
+
+    /**
+     * Price in cents, rounded half up like PricingSnapshot.calculatePrice.
+     *
+     * Address deliveries have no destination office and are priced as
+     * staying within the origin office's zone. Shipments without an origin
+     * office (0) start in the DEFAULT zone.
+     *
+     * @param weightHundredths weight in hundredths of a kilogram
+     * @param originOfficeId   origin office id, or 0 if none
+     * @param deliveryOfficeId delivery office id; ignored for address delivery
+     */
+    long quoteCents(long weightHundredths, boolean isOfficeDelivery, long originOfficeId, long deliveryOfficeId) {
+        int bracket = bracketByWeight[(int) Math.min(Math.max(weightHundredths, 0), MAX_WEIGHT_HUNDREDTHS)];
+        int originZone = zoneOf(originOfficeId);
+        int destinationZone = isOfficeDelivery ? zoneOf(deliveryOfficeId) : originZone;
+
+        // In units of 1/10000, like PricingSnapshot.quoteCents
+        long total = bracketBaseCents[bracket] * 100
+                + weightHundredths * bracketPerKgCents[bracket]
+                + surchargeCents[originZone * zoneCount + destinationZone] * 100;
+        if (!isOfficeDelivery) {
+            total += addressDeliveryFeeCents * 100;
+        }
+        return (total + 50) / 100;
+    }
+
+    private int zoneOf(long officeId) {
+        return officeId > 0 && officeId < zoneByOfficeId.length ? zoneByOfficeId[(int) officeId] : 0;
+    }
+}
@@ -1,30 +1,99 @@
 package com.logistics.service.impl;
 
+import com.logistics.dto.pricing.PricingRulesRequest;
+import com.logistics.dto.pricing.PricingRulesResponse;
+import com.logistics.dto.pricing.PricingZoneEntry;
+import com.logistics.dto.pricing.WeightBracketEntry;
+import com.logistics.dto.pricing.ZoneSurchargeEntry;
 import com.logistics.exception.InvalidDataException;
+import com.logistics.exception.ResourceNotFoundException;
 import com.logistics.model.entity.PricingConfig;
+import com.logistics.model.entity.PricingRuleSet;
+import com.logistics.model.entity.PricingWeightBracket;
+import com.logistics.model.entity.PricingZone;
+import com.logistics.model.entity.PricingZoneSurcharge;
+import com.logistics.repository.OfficeRepository;
 import com.logistics.repository.PricingConfigRepository;
+import com.logistics.repository.PricingRuleSetRepository;
+import com.logistics.service.PricingHistoryService;
 import com.logistics.service.PricingService;
+import com.logistics.util.EntityMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Calculates shipment prices using database-stored configuration.
  * Formula: BasePrice + (Weight × PricePerKg) + DeliveryFee (if address delivery)
+ *
+ * The active config is held as an immutable in-memory snapshot, so pricing
+ * does not query the database. The snapshot is replaced after an update
+ * commits, and a scheduled poll picks up changes made by other instances.
+ *
+ * While a {@link PricingRuleSet} is active it replaces the config formula
+ * with weight brackets and zone surcharges. The rule set is compiled into a
+ * {@link PricingRuleTable} and kept up to date the same way as the snapshot.
+ *
+ * Replaced configs stay in the table as pricing history, see
+ * {@link PricingHistoryService}.
  */
 @Service
 public class PricingServiceImpl implements PricingService {
 
     private static final Logger logger = LoggerFactory.getLogger(PricingServiceImpl.class);
 
+    /**
+     * Shipment weight limits (0.01 to 10000 kg), in hundredths of a kilogram.
+     */
+    private static final long MIN_WEIGHT_HUNDREDTHS = 1;
+    private static final long MAX_WEIGHT_HUNDREDTHS = 1_000_000;
+
     private final PricingConfigRepository pricingConfigRepository;
+    private final PricingRuleSetRepository pricingRuleSetRepository;
+    private final OfficeRepository officeRepository;
+    private final PricingHistoryService pricingHistoryService;
+
+    private final AtomicReference<PricingSnapshot> snapshot = new AtomicReference<>();
+
+    /**
+     * Compiled active rule set, {@link PricingRuleTable#NONE} if there is none,
+     * or null until first use (and after offices change).
+     */
+    private final AtomicReference<PricingRuleTable> rules = new AtomicReference<>();
 
-    public PricingServiceImpl(PricingConfigRepository pricingConfigRepository) {
+    /**
+     * Office version (see OfficeRepository.findLocationVersion) the rule table's
+     * zone lookups were last refreshed at, or null if not polled yet.
+     */
+    private volatile List<Object> officeLocationsVersion;
+
+    public PricingServiceImpl(PricingConfigRepository pricingConfigRepository,
+                              PricingRuleSetRepository pricingRuleSetRepository,
+                              OfficeRepository officeRepository,
+                              PricingHistoryService pricingHistoryService) {
         this.pricingConfigRepository = pricingConfigRepository;
+        this.pricingRuleSetRepository = pricingRuleSetRepository;
+        this.officeRepository = officeRepository;
+        this.pricingHistoryService = pricingHistoryService;
         logger.info("PricingService initialized - will load pricing from database");
     }
 
@@ -34,19 +103,54 @@ public class PricingServiceImpl implements PricingService {
                         "No active pricing configuration found. Please configure pricing in the database."));
     }
 
-    @Override
-    @Transactional(readOnly = true)
-    public BigDecimal calculatePrice(BigDecimal weight, boolean isOfficeDelivery) {
-        PricingConfig config = getActiveConfig();
-
-        BigDecimal total = config.getBasePrice();
-        total = total.add(weight.multiply(config.getPricePerKg()));
+    /**
+     * Returns the in-memory snapshot, loading it on first use.
+     */
+    private PricingSnapshot currentSnapshot() {
+        PricingSnapshot current = snapshot.get();
+        if (current != null) {
+            return current;
+        }
+        PricingSnapshot loaded = PricingSnapshot.of(getActiveConfig());
+        return snapshot.compareAndSet(null, loaded) ? loaded : snapshot.get();
+    }
 
-        if (!isOfficeDelivery) {
-            total = total.add(config.getAddressDeliveryFee());
+    /**
+     * Returns the compiled rule set, loading it on first use.
+     */
+    private PricingRuleTable currentRules() {
+        PricingRuleTable current = rules.get();
+        if (current != null) {
+            return current;
         }
+        PricingRuleTable loaded = pricingRuleSetRepository.findByActiveTrue()
+                .map(this::compileRules)
+                .orElse(PricingRuleTable.NONE);
+        return rules.compareAndSet(null, loaded) ? loaded : rules.get();
+    }
+
+    private PricingRuleTable compileRules(PricingRuleSet ruleSet) {
+        Long id = ruleSet.getId();
+        return PricingRuleTable.compile(ruleSet,
+                pricingRuleSetRepository.findBrackets(id),
+                pricingRuleSetRepository.findZones(id),
+                pricingRuleSetRepository.findSurcharges(id),
+                officeRepository.findLocationColumns());
+    }
 
-        total = total.setScale(2, RoundingMode.HALF_UP);
+    @Override
+    public BigDecimal calculatePrice(BigDecimal weight, boolean isOfficeDelivery) {
+        return calculatePrice(weight, isOfficeDelivery, null, null);
+    }
+
+    @Override
+    public BigDecimal calculatePrice(BigDecimal weight, boolean isOfficeDelivery,
+                                     Long originOfficeId, Long deliveryOfficeId) {
+        PricingRuleTable pricingRules = currentRules();
+        BigDecimal total = pricingRules.isEmpty()
+                ? currentSnapshot().calculatePrice(weight, isOfficeDelivery)
+                : BigDecimal.valueOf(pricingRules.quoteCents(hundredthsOf(weight), isOfficeDelivery,
+                        idOrZero(originOfficeId), idOrZero(deliveryOfficeId)), 2);
 
         logger.debug("Price calculated: weight={}, isOfficeDelivery={}, total={}",
                 weight, isOfficeDelivery, total);
@@ -55,21 +159,215 @@ public class PricingServiceImpl implements PricingService {
     }
 
     @Override
-    @Transactional(readOnly = true)
+    public List<BigDecimal> calculatePrices(List<BigDecimal> weights, List<Boolean> officeDeliveries) {
+        return calculatePrices(weights, officeDeliveries, null, null);
+    }
+
+    @Override
+    public List<BigDecimal> calculatePrices(List<BigDecimal> weights, List<Boolean> officeDeliveries,
+                                            List<Long> originOfficeIds, List<Long> deliveryOfficeIds) {
+        if (weights.size() != officeDeliveries.size()
+                || (originOfficeIds != null && originOfficeIds.size() != weights.size())
+                || (deliveryOfficeIds != null && deliveryOfficeIds.size() != weights.size())) {
+            throw new InvalidDataException("Weights, delivery types and offices must have the same size");
+        }
+
+        PricingRuleTable pricingRules = currentRules();
+        PricingSnapshot pricing = pricingRules.isEmpty() ? currentSnapshot() : null;
+
+        List<BigDecimal> prices = new ArrayList<>(weights.size());
+        for (int i = 0; i < weights.size(); i++) {
+            if (pricing != null) {
+                prices.add(pricing.calculatePrice(weights.get(i), officeDeliveries.get(i)));
+            } else {
+                long cents = pricingRules.quoteCents(hundredthsOf(weights.get(i)), officeDeliveries.get(i),
+                        originOfficeIds == null ? 0 : idOrZero(originOfficeIds.get(i)),
+                        deliveryOfficeIds == null ? 0 : idOrZero(deliveryOfficeIds.get(i)));
+                prices.add(BigDecimal.valueOf(cents, 2));
+            }
+        }
+
+        logger.debug("Prices calculated for {} shipments", prices.size());
+        return prices;
+    }
+
+    @Override
+    public long[] quotePrices(BigDecimal[] weights, boolean[] officeDeliveries) {
+        return quotePrices(weights, officeDeliveries, null, null);
+    }
+
+    @Override
+    public long[] quotePrices(BigDecimal[] weights, boolean[] officeDeliveries,
+                              long[] originOfficeIds, long[] deliveryOfficeIds) {
+        if (weights.length != officeDeliveries.length) {
+            throw new InvalidDataException("officeDeliveries", "Weights and delivery types must have the same size");
+        }
+        if (originOfficeIds != null && originOfficeIds.length != weights.length) {
+            throw new InvalidDataException("originOfficeIds", "Weights and origin offices must have the same size");
+        }
+        if (deliveryOfficeIds != null && deliveryOfficeIds.length != weights.length) {
+            throw new InvalidDataException("deliveryOfficeIds", "Weights and delivery offices must have the same size");
+        }
+
+        PricingRuleTable pricingRules = currentRules();
+        PricingSnapshot pricing = pricingRules.isEmpty() ? currentSnapshot() : null;
+
+        long[] cents = new long[weights.length];
+        for (int i = 0; i < weights.length; i++) {
+            long weight = toHundredths(weights[i], i);
+            cents[i] = pricing != null
+                    ? pricing.quoteCents(weight, officeDeliveries[i])
+                    : pricingRules.quoteCents(weight, officeDeliveries[i],
+                            originOfficeIds == null ? 0 : originOfficeIds[i],
+                            deliveryOfficeIds == null ? 0 : deliveryOfficeIds[i]);
+        }
+
+        logger.debug("Quoted prices for {} parcels", cents.length);
+        return cents;
+    }
+
+    /**
+     * Rule set pricing works in steps of 0.01 kg; finer weights are rounded half up.
+     */
+    private static long hundredthsOf(BigDecimal weight) {
+        return weight.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValue();
+    }
+
+    private static long idOrZero(Long id) {
+        return id == null ? 0 : id;
+    }
+
+    /**
+     * Exact conversion; a weight with more than 2 decimals is rejected rather than rounded.
+     */
+    private static long toHundredths(BigDecimal weight, int index) {
+        long hundredths = -1;
+        if (weight != null) {
+            try {
+                hundredths = weight.setScale(2, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+            } catch (ArithmeticException e) {
+                // More than 2 decimals, or far out of range
+            }
+        }
+        if (hundredths < MIN_WEIGHT_HUNDREDTHS || hundredths > MAX_WEIGHT_HUNDREDTHS) {
+            throw new InvalidDataException("weights[" + index + "]",
+                    "Weight must be between 0.01 and 10000 kg with at most 2 decimal places");
+        }
+        return hundredths;
+    }
+
+    @Override
     public BigDecimal getBasePrice() {
-        return getActiveConfig().getBasePrice();
+        return currentSnapshot().getBasePrice();
     }
 
     @Override
-    @Transactional(readOnly = true)
     public BigDecimal getPricePerKg() {
-        return getActiveConfig().getPricePerKg();
+        return currentSnapshot().getPricePerKg();
     }
 
     @Override
-    @Transactional(readOnly = true)
     public BigDecimal getAddressDeliveryFee() {
-        return getActiveConfig().getAddressDeliveryFee();
+        return currentSnapshot().getAddressDeliveryFee();
+    }
+
+    @Override
+    public void officeLocationsChanged() {
+        // Recompiled on next use; NONE stays, as it does not depend on offices
+        afterCommit(() -> rules.updateAndGet(current -> current != null && current.isEmpty() ? current : null));
+    }
+
+    /**
+     * Re-reads the active config and rule set and swaps them if they changed.
+     * This is how an instance notices an update made through another
+     * instance, or directly in the database.
+     */
+    @Scheduled(fixedDelayString = "${pricing.refresh-interval-ms:5000}")
+    public void refreshSnapshot() {
+        refreshConfig();
+        refreshRules();
+    }
+
+    private void refreshConfig() {
+        activateDueConfig();
+
+        Optional<PricingConfig> active = pricingConfigRepository.findByActiveTrue();
+        PricingSnapshot current = snapshot.get();
+
+        if (active.isEmpty()) {
+            if (current != null && snapshot.compareAndSet(current, null)) {
+                logger.warn("Active pricing config disappeared, dropping cached snapshot");
+            }
+            return;
+        }
+
+        if ((current == null || !current.isSameVersion(active.get()))
+                && publishSnapshot(PricingSnapshot.of(active.get()))) {
+            pricingHistoryService.historyChanged();
+            logger.info("Pricing snapshot refreshed from config ID: {}", active.get().getId());
+        }
+    }
+
+    /**
+     * Activates a scheduled config once its effectiveFrom has passed, so it
+     * takes effect within one poll interval. Every instance may do this; the
+     * update is idempotent.
+     */
+    private void activateDueConfig() {
+        List<PricingConfig> inEffect = pricingConfigRepository.findInEffectAt(LocalDateTime.now(), PageRequest.of(0, 1));
+        if (!inEffect.isEmpty() && !Boolean.TRUE.equals(inEffect.get(0).getActive())) {
+            pricingConfigRepository.activate(inEffect.get(0).getId());
+            logger.info("Scheduled pricing config ID {} took effect", inEffect.get(0).getId());
+        }
+    }
+
+    /**
+     * Replaces the snapshot unless the current one is the same or a newer
+     * config version. A poll that read the active row just before an update
+     * committed would otherwise put the old config back until the next poll.
+     *
+     * @return true if updated was published
+     */
+    private boolean publishSnapshot(PricingSnapshot updated) {
+        while (true) {
+            PricingSnapshot current = snapshot.get();
+            if (current != null && !updated.isNewerThan(current)) {
+                return false;
+            }
+            if (snapshot.compareAndSet(current, updated)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Rule sets are never edited in place, so a different active id means a new
+     * version. With the same version, offices are only re-read when their
+     * version changed, e.g. one moved through another instance.
+     */
+    private void refreshRules() {
+        PricingRuleTable current = rules.get();
+        if (current == null) {
+            return;
+        }
+
+        Optional<PricingRuleSet> active = pricingRuleSetRepository.findByActiveTrue();
+        Long activeId = active.map(PricingRuleSet::getId).orElse(null);
+
+        if (!Objects.equals(current.getRuleSetId(), activeId)) {
+            rules.set(active.map(this::compileRules).orElse(PricingRuleTable.NONE));
+            pricingHistoryService.historyChanged();
+            logger.info("Pricing rules refreshed, active rule set ID: {}", activeId);
+        } else if (!current.isEmpty()) {
+            // Version first: an office changed after it is picked up by the next poll
+            List<Object[]> versionRows = officeRepository.findLocationVersion();
+            List<Object> version = versionRows.isEmpty() ? List.of() : Arrays.asList(versionRows.get(0));
+            if (!version.equals(officeLocationsVersion)) {
+                List<Object[]> offices = officeRepository.findLocationColumns();
+                rules.updateAndGet(table -> table == null ? null : table.withOfficeLocations(offices));
+                officeLocationsVersion = version;
+            }
+        }
     }
 
     @Transactional(readOnly = true)
@@ -80,8 +378,23 @@ public class PricingServiceImpl implements PricingService {
     @Transactional
     public PricingConfig updatePricingConfig(BigDecimal basePrice, BigDecimal pricePerKg,
                                               BigDecimal addressDeliveryFee) {
-        logger.info("Updating pricing config: basePrice={}, pricePerKg={}, addressDeliveryFee={}",
-                basePrice, pricePerKg, addressDeliveryFee);
+        return updatePricingConfig(basePrice, pricePerKg, addressDeliveryFee, null);
+    }
+
+    /**
+     * Saves a new config, in effect from effectiveFrom (now if null) until the
+     * next one. It must take effect after the config in effect now, so past
+     * periods never change; scheduled configs from effectiveFrom on are
+     * replaced by it.
+     *
+     * A config effective now or earlier becomes the active one. A future one
+     * is saved inactive and activated by the refresh poll once it is due.
+     */
+    @Transactional
+    public PricingConfig updatePricingConfig(BigDecimal basePrice, BigDecimal pricePerKg,
+                                              BigDecimal addressDeliveryFee, LocalDateTime effectiveFrom) {
+        logger.info("Updating pricing config: basePrice={}, pricePerKg={}, addressDeliveryFee={}, effectiveFrom={}",
+                basePrice, pricePerKg, addressDeliveryFee, effectiveFrom);
 
         if (basePrice == null || basePrice.compareTo(BigDecimal.ZERO) < 0) {
             throw new InvalidDataException("Base price must be non-negative");
@@ -93,12 +406,214 @@ public class PricingServiceImpl implements PricingService {
             throw new InvalidDataException("Address delivery fee must be non-negative");
         }
 
-        pricingConfigRepository.deactivateAll();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime from = effectiveFrom != null ? effectiveFrom : now;
+        Optional<LocalDateTime> latest = pricingConfigRepository.findLatestEffectiveFrom(now);
+        if (latest.isPresent() && !from.isAfter(latest.get())) {
+            throw new InvalidDataException("effectiveFrom",
+                    "Effective from must be after " + latest.get() + ", when the current pricing took effect");
+        }
+
+        int replaced = pricingConfigRepository.deleteScheduledFrom(from, now);
+        if (replaced > 0) {
+            logger.info("Replaced {} scheduled pricing config(s) taking effect at or after {}", replaced, from);
+        }
+
+        boolean scheduled = from.isAfter(now);
+        if (!scheduled) {
+            pricingConfigRepository.deactivateAll();
+        }
 
         PricingConfig newConfig = new PricingConfig(basePrice, pricePerKg, addressDeliveryFee);
+        newConfig.setEffectiveFrom(from);
+        newConfig.setActive(!scheduled);
         PricingConfig saved = pricingConfigRepository.save(newConfig);
 
-        logger.info("Pricing config updated successfully, new config ID: {}", saved.getId());
+        if (scheduled) {
+            afterCommit(pricingHistoryService::historyChanged);
+            logger.info("Pricing config ID: {} scheduled to take effect at {}", saved.getId(), from);
+        } else {
+            swapSnapshotAfterCommit(PricingSnapshot.of(saved));
+            logger.info("Pricing config updated successfully, new config ID: {}", saved.getId());
+        }
         return saved;
     }
+
+    /**
+     * Deletes a config that has not taken effect yet.
+     *
+     * @throws ResourceNotFoundException if there is no such config
+     * @throws InvalidDataException      if the config is already in effect, or was
+     */
+    @Transactional
+    public void cancelScheduledConfig(Long id) {
+        logger.info("Cancelling scheduled pricing config ID: {}", id);
+
+        PricingConfig config = pricingConfigRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("PricingConfig", "id", id));
+        if (Boolean.TRUE.equals(config.getActive()) || config.getEffectiveFrom() == null
+                || !config.getEffectiveFrom().isAfter(LocalDateTime.now())) {
+            throw new InvalidDataException("id", "Pricing config " + id + " has already taken effect");
+        }
+
+        pricingConfigRepository.delete(config);
+        afterCommit(pricingHistoryService::historyChanged);
+    }
+
+    @Transactional(readOnly = true)
+    public PricingRulesResponse getActivePricingRules() {
+        PricingRuleSet ruleSet = pricingRuleSetRepository.findByActiveTrue()
+                .orElseThrow(() -> new ResourceNotFoundException("No active pricing rule set"));
+        Long id = ruleSet.getId();
+        return EntityMapper.toPricingRulesResponse(ruleSet, pricingRuleSetRepository.findBrackets(id),
+                pricingRuleSetRepository.findZones(id), pricingRuleSetRepository.findSurcharges(id));
+    }
+
+    /**
+     * Saves the rules as a new active rule set version and compiles it.
+     */
+    @Transactional
+    public PricingRulesResponse updatePricingRules(PricingRulesRequest request) {
+        logger.info("Updating pricing rules: name={}, brackets={}, zones={}, surcharges={}",
+                request.getName(), sizeOf(request.getBrackets()), sizeOf(request.getZones()),
+                sizeOf(request.getSurcharges()));
+
+        List<WeightBracketEntry> brackets = validateBrackets(request.getBrackets());
+        List<PricingZoneEntry> zones = request.getZones() == null ? List.of() : request.getZones();
+        List<ZoneSurchargeEntry> surcharges = request.getSurcharges() == null ? List.of() : request.getSurcharges();
+        validateSurcharges(surcharges, validateZones(zones));
+
+        pricingRuleSetRepository.deactivateAll(LocalDateTime.now());
+
+        PricingRuleSet ruleSet = new PricingRuleSet(request.getName().trim(), request.getAddressDeliveryFee());
+        for (WeightBracketEntry bracket : brackets) {
+            ruleSet.addBracket(new PricingWeightBracket(
+                    bracket.getMaxWeight(), bracket.getBasePrice(), bracket.getPricePerKg()));
+        }
+        for (PricingZoneEntry zone : zones) {
+            String city = zone.getCity() == null || zone.getCity().isBlank() ? null : zone.getCity().trim();
+            ruleSet.addZone(new PricingZone(zone.getName().trim(), zone.getCountry().trim(), city));
+        }
+        for (ZoneSurchargeEntry surcharge : surcharges) {
+            ruleSet.addSurcharge(new PricingZoneSurcharge(
+                    surcharge.getOriginZone().trim(), surcharge.getDestinationZone().trim(), surcharge.getAmount()));
+        }
+        PricingRuleSet saved = pricingRuleSetRepository.save(ruleSet);
+
+        PricingRuleTable compiled = PricingRuleTable.compile(saved, saved.getBrackets(), saved.getZones(),
+                saved.getSurcharges(), officeRepository.findLocationColumns());
+        afterCommit(() -> {
+            rules.set(compiled);
+            logger.info("Pricing rules swapped to rule set ID: {}", saved.getId());
+            pricingHistoryService.historyChanged();
+        });
+
+        logger.info("Pricing rules updated successfully, new rule set ID: {}", saved.getId());
+        return EntityMapper.toPricingRulesResponse(saved, saved.getBrackets(), saved.getZones(), saved.getSurcharges());
+    }
+
+    /**
+     * Deactivates the rule set, so prices come from the pricing config again.
+     */
+    @Transactional
+    public void deactivatePricingRules() {
+        logger.info("Deactivating pricing rules");
+
+        pricingRuleSetRepository.deactivateAll(LocalDateTime.now());
+        afterCommit(() -> {
+            rules.set(PricingRuleTable.NONE);
+            pricingHistoryService.historyChanged();
+        });
+    }
+
+    private static int sizeOf(List<?> list) {
+        return list == null ? 0 : list.size();
+    }
+
+    /**
+     * @return the brackets sorted by max weight
+     */
+    private static List<WeightBracketEntry> validateBrackets(List<WeightBracketEntry> brackets) {
+        if (brackets == null || brackets.isEmpty()) {
+            throw new InvalidDataException("brackets", "At least one weight bracket is required");
+        }
+        List<WeightBracketEntry> sorted = new ArrayList<>(brackets);
+        sorted.sort(Comparator.comparing(WeightBracketEntry::getMaxWeight));
+        for (int i = 1; i < sorted.size(); i++) {
+            if (sorted.get(i).getMaxWeight().compareTo(sorted.get(i - 1).getMaxWeight()) == 0) {
+                throw new InvalidDataException("brackets",
+                        "Two brackets have the same max weight: " + sorted.get(i).getMaxWeight());
+            }
+        }
+        BigDecimal heaviest = sorted.get(sorted.size() - 1).getMaxWeight();
+        if (heaviest.compareTo(BigDecimal.valueOf(PricingRuleTable.MAX_WEIGHT_HUNDREDTHS, 2)) < 0) {
+            throw new InvalidDataException("brackets", "The heaviest bracket must cover weights up to 10000 kg");
+        }
+        return sorted;
+    }
+
+    /**
+     * @return the zone names, including DEFAULT
+     */
+    private static Set<String> validateZones(List<PricingZoneEntry> zones) {
+        Set<String> names = new HashSet<>();
+        names.add(PricingRuleTable.DEFAULT_ZONE);
+        Set<String> locations = new HashSet<>();
+        for (PricingZoneEntry zone : zones) {
+            String name = zone.getName().trim();
+            if (name.equalsIgnoreCase(PricingRuleTable.DEFAULT_ZONE)) {
+                throw new InvalidDataException("zones", PricingRuleTable.DEFAULT_ZONE + " is a reserved zone name");
+            }
+            String city = zone.getCity() == null ? "" : zone.getCity().trim();
+            String location = (zone.getCountry().trim() + "|" + city).toLowerCase(Locale.ROOT);
+            if (!locations.add(location)) {
+                throw new InvalidDataException("zones", "Location listed in more than one zone: "
+                        + zone.getCountry() + (city.isEmpty() ? "" : ", " + city));
+            }
+            names.add(name);
+        }
+        return names;
+    }
+
+    private static void validateSurcharges(List<ZoneSurchargeEntry> surcharges, Set<String> zoneNames) {
+        Set<String> pairs = new HashSet<>();
+        for (ZoneSurchargeEntry surcharge : surcharges) {
+            String origin = surcharge.getOriginZone().trim();
+            String destination = surcharge.getDestinationZone().trim();
+            if (!zoneNames.contains(origin) || !zoneNames.contains(destination)) {
+                throw new InvalidDataException("surcharges",
+                        "Unknown zone in surcharge " + origin + " -> " + destination);
+            }
+            if (!pairs.add(origin + "\n" + destination)) {
+                throw new InvalidDataException("surcharges",
+                        "Surcharge listed twice: " + origin + " -> " + destination);
+            }
+        }
+    }
+
+    /**
+     * Publishes the new snapshot only once the update is committed, so other
+     * threads never price with a config that could still roll back.
+     */
+    private void swapSnapshotAfterCommit(PricingSnapshot updated) {
+        afterCommit(() -> {
+            if (publishSnapshot(updated)) {
+                logger.info("Pricing snapshot swapped to config ID: {}", updated.getId());
+            }
+            pricingHistoryService.historyChanged();
+        });
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
 }
@@ -0,0 +1,144 @@
+package com.logistics.service.impl;
+
+import com.logistics.model.entity.PricingConfig;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Objects;
+
+/**
+ * Immutable copy of the active pricing configuration.
+ *
+ * PricingServiceImpl prices shipments from this snapshot instead of querying
+ * pricing_config each time. (id, updatedAt) identifies the version of the
+ * row it was taken from, so a poll can tell whether the database moved on.
+ *
+ * The config values are also kept as whole cents for batch quotes, which
+ * price in long arithmetic instead of allocating BigDecimals per parcel.
+ */
+final class PricingSnapshot {
+
+    /**
+     * Largest value a DECIMAL(10,2) pricing column holds, in cents. Keeps
+     * weight × price per kg well inside a long for any valid weight.
+     */
+    private static final long MAX_CENTS = 99_999_999_99L;
+
+    private final Long id;
+    private final LocalDateTime updatedAt;
+    private final BigDecimal basePrice;
+    private final BigDecimal pricePerKg;
+    private final BigDecimal addressDeliveryFee;
+
+    /**
+     * False if a config value does not fit in whole cents, e.g. an update
+     * with three decimals before it is reloaded from the database.
+     */
+    private final boolean fixedPoint;
+    private final long basePriceCents;
+    private final long pricePerKgCents;
+    private final long addressDeliveryFeeCents;
+
+    private PricingSnapshot(Long id, LocalDateTime updatedAt, BigDecimal basePrice,
+                            BigDecimal pricePerKg, BigDecimal addressDeliveryFee) {
+        this.id = id;
+        this.updatedAt = updatedAt;
+        this.basePrice = basePrice;
+        this.pricePerKg = pricePerKg;
+        this.addressDeliveryFee = addressDeliveryFee;
+        this.basePriceCents = toCents(basePrice);
+        this.pricePerKgCents = toCents(pricePerKg);
+        this.addressDeliveryFeeCents = toCents(addressDeliveryFee);
+        this.fixedPoint = basePriceCents >= 0 && pricePerKgCents >= 0 && addressDeliveryFeeCents >= 0;
+    }
+
+    /**
+     * @return the value in cents, or -1 if it has more than 2 decimals or is out of range
+     */
+    private static long toCents(BigDecimal value) {
+        try {
+            long cents = value.movePointRight(2).longValueExact();
+            return cents <= MAX_CENTS ? cents : -1;
+        } catch (ArithmeticException e) {
+            return -1;
+        }
+    }
+
+    static PricingSnapshot of(PricingConfig config) {
+        return new PricingSnapshot(config.getId(), config.getUpdatedAt(), config.getBasePrice(),
+                config.getPricePerKg(), config.getAddressDeliveryFee());
+    }
+
+    /**
+     * Formula: BasePrice + (Weight × PricePerKg) + DeliveryFee (if address delivery),
+     * rounded to 2 decimal places.
+     */
+    BigDecimal calculatePrice(BigDecimal weight, boolean isOfficeDelivery) {
+        BigDecimal total = basePrice.add(weight.multiply(pricePerKg));
+
+        if (!isOfficeDelivery) {
+            total = total.add(addressDeliveryFee);
+        }
+
+        return total.setScale(2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Same as calculatePrice for a weight in hundredths of a kilogram, in cents.
+     *
+     * Sums in units of 1/10000 (cents × hundredths of a kilogram), where the
+     * result is exact, then rounds half up to cents - the same value as
+     * calculatePrice's setScale(2, HALF_UP). Prices are never negative, so
+     * rounding half up is (total + 50) / 100.
+     */
+    long quoteCents(long weightHundredths, boolean isOfficeDelivery) {
+        if (!fixedPoint) {
+            return calculatePrice(BigDecimal.valueOf(weightHundredths, 2), isOfficeDelivery)
+                    .unscaledValue().longValueExact();
+        }
+        long total = basePriceCents * 100 + weightHundredths * pricePerKgCents;
+        if (!isOfficeDelivery) {
+            total += addressDeliveryFeeCents * 100;
+        }
+        return (total + 50) / 100;
+    }
+
+    /**
+     * @return true if this snapshot was taken from the same row version as config
+     */
+    boolean isSameVersion(PricingConfig config) {
+        return Objects.equals(id, config.getId()) && Objects.equals(updatedAt, config.getUpdatedAt());
+    }
+
+    /**
+     * Orders versions by config id, then by updatedAt for edits of the same row.
+     * New configs always get a higher id, so a higher id is a later config.
+     *
+     * @return true if this snapshot was taken from a later version than other
+     */
+    boolean isNewerThan(PricingSnapshot other) {
+        int byId = Comparator.nullsFirst(Comparator.<Long>naturalOrder()).compare(id, other.id);
+        if (byId != 0) {
+            return byId > 0;
+        }
+        return updatedAt != null && (other.updatedAt == null || updatedAt.isAfter(other.updatedAt));
+    }
+
+    Long getId() {
+        return id;
+    }
+
+    BigDecimal getBasePrice() {
+        return basePrice;
+    }
+
+    BigDecimal getPricePerKg() {
+        return pricePerKg;
+    }
+
+    BigDecimal getAddressDeliveryFee() {
+        return addressDeliveryFee;
+    }
+}
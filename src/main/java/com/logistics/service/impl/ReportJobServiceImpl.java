@@ -0,0 +1,348 @@
+package com.logistics.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.logistics.dto.report.ReportJobRequest;
+import com.logistics.dto.report.ReportJobResponse;
+import com.logistics.dto.report.RevenueResponse;
+import com.logistics.exception.InvalidDataException;
+import com.logistics.exception.ResourceNotFoundException;
+import com.logistics.model.entity.ReportJob;
+import com.logistics.model.enums.ExportFormat;
+import com.logistics.model.enums.ReportJobStatus;
+import com.logistics.model.enums.ReportType;
+import com.logistics.repository.EmployeeRepository;
+import com.logistics.repository.ReportJobRepository;
+import com.logistics.service.ReportJobService;
+import com.logistics.service.ReportService;
+import com.logistics.service.ShipmentExportService;
+import com.logistics.util.EntityMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Runs report jobs on a fixed pool of report workers.
+ *
+ * The pool size is also the reports' connection budget: each worker holds at
+ * most one connection, for the duration of one export, so big reports can
+ * never take more than that many connections away from interactive requests.
+ * The queue is bounded; a submission that does not fit fails immediately.
+ *
+ * Identical specs are de-duplicated in memory while a job is queued or
+ * running. Results live on this instance's local disk and are removed,
+ * together with their job rows, after the retention period.
+ */
+@Service
+public class ReportJobServiceImpl implements ReportJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportJobServiceImpl.class);
+
+    static final String REVENUE_CSV_HEADER = "startDate,endDate,totalRevenue,deliveredShipmentsCount";
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final ReportJobRepository reportJobRepository;
+    private final EmployeeRepository employeeRepository;
+    private final ShipmentExportService shipmentExportService;
+    private final ReportService reportService;
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+    private final long retentionMs;
+    private final ExecutorService executor;
+
+    /**
+     * Job ID per spec key, for jobs that are queued or running.
+     */
+    private final ConcurrentMap<String, Long> activeJobs = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ReportJobServiceImpl(ReportJobRepository reportJobRepository,
+                                EmployeeRepository employeeRepository,
+                                ShipmentExportService shipmentExportService,
+                                ReportService reportService,
+                                ObjectMapper objectMapper,
+                                @Value("${reports.jobs.directory:${java.io.tmpdir}/logistics-reports}") String directory,
+                                @Value("${reports.jobs.retention-ms:86400000}") long retentionMs,
+                                @Value("${reports.jobs.workers:2}") int workers,
+                                @Value("${reports.jobs.queue-capacity:50}") int queueCapacity) {
+        this(reportJobRepository, employeeRepository, shipmentExportService, reportService, objectMapper,
+                Paths.get(directory), retentionMs,
+                new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                        new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("report-job-")));
+        logger.info("Report jobs: {} workers, queue capacity {}, results in {}", workers, queueCapacity, directory);
+    }
+
+    public ReportJobServiceImpl(ReportJobRepository reportJobRepository,
+                                EmployeeRepository employeeRepository,
+                                ShipmentExportService shipmentExportService,
+                                ReportService reportService,
+                                ObjectMapper objectMapper,
+                                Path directory,
+                                long retentionMs,
+                                ExecutorService executor) {
+        this.reportJobRepository = reportJobRepository;
+        this.employeeRepository = employeeRepository;
+        this.shipmentExportService = shipmentExportService;
+        this.reportService = reportService;
+        this.objectMapper = objectMapper;
+        this.directory = directory;
+        this.retentionMs = retentionMs;
+        this.executor = executor;
+    }
+
+    @Override
+    public ReportJobResponse submit(ReportJobRequest request, String username) {
+        ReportJob spec = toJob(request, username);
+        logger.info("Report job submitted by {}: {}", username, spec.getSpecKey());
+
+        ReportJob[] created = new ReportJob[1];
+        Long jobId = activeJobs.computeIfAbsent(spec.getSpecKey(), key -> {
+            created[0] = reportJobRepository.save(spec);
+            return created[0].getId();
+        });
+
+        if (created[0] == null) {
+            logger.info("Report {} is already queued or running as job {}", spec.getSpecKey(), jobId);
+            return getJob(jobId);
+        }
+
+        ReportJob job = created[0];
+        try {
+            executor.execute(() -> run(job.getId(), job.getSpecKey()));
+        } catch (RejectedExecutionException ex) {
+            activeJobs.remove(job.getSpecKey(), job.getId());
+            logger.warn("Report queue is full, rejecting job {}", job.getId());
+            fail(job, "Report queue is full, try again later");
+        }
+        return EntityMapper.toReportJobResponse(job);
+    }
+
+    @Override
+    public ReportJobResponse getJob(Long id) {
+        return EntityMapper.toReportJobResponse(findJob(id));
+    }
+
+    @Override
+    public Path getResultFile(Long id) {
+        ReportJob job = findJob(id);
+        if (job.getStatus() != ReportJobStatus.COMPLETED) {
+            throw new InvalidDataException("Report job " + id + " is " + job.getStatus() + ", not COMPLETED");
+        }
+
+        Path file = Paths.get(job.getFilePath());
+        if (!Files.isRegularFile(file)) {
+            throw new ResourceNotFoundException("Report file", "job id", id);
+        }
+        return file;
+    }
+
+    /**
+     * Jobs that were queued or running when the application stopped will never
+     * finish, so they are failed on startup to let clients resubmit.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void failInterruptedJobs() {
+        List<ReportJob> interrupted = reportJobRepository.findByStatusIn(
+                EnumSet.of(ReportJobStatus.QUEUED, ReportJobStatus.RUNNING));
+        for (ReportJob job : interrupted) {
+            fail(job, "Interrupted by an application restart");
+        }
+        if (!interrupted.isEmpty()) {
+            logger.warn("Failed {} report jobs interrupted by a restart", interrupted.size());
+        }
+    }
+
+    /**
+     * Deletes finished jobs and their files once they are past the retention period.
+     */
+    @Scheduled(fixedDelayString = "${reports.jobs.purge-interval-ms:3600000}")
+    public void purgeExpiredJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusNanos(retentionMs * 1_000_000L);
+        List<ReportJob> expired = reportJobRepository.findByStatusInAndCreatedAtBefore(
+                EnumSet.of(ReportJobStatus.COMPLETED, ReportJobStatus.FAILED), cutoff);
+        if (expired.isEmpty()) {
+            return;
+        }
+
+        for (ReportJob job : expired) {
+            if (job.getFilePath() != null) {
+                deleteQuietly(Paths.get(job.getFilePath()));
+            }
+        }
+        reportJobRepository.deleteAll(expired);
+        logger.info("Purged {} expired report jobs", expired.size());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Generates one report into a temporary file and moves it into place,
+     * so a download never sees a partially written result.
+     */
+    private void run(Long jobId, String specKey) {
+        ReportJob job = null;
+        Path partial = null;
+        try {
+            job = findJob(jobId);
+            job.setStatus(ReportJobStatus.RUNNING);
+            job.setStartedAt(LocalDateTime.now());
+            job = reportJobRepository.save(job);
+
+            Files.createDirectories(directory);
+            Path target = directory.resolve("report-" + jobId + "." + job.getFormat().getFileExtension() + ".gz");
+            partial = directory.resolve(target.getFileName() + ".part");
+
+            try (OutputStream out = new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(partial)))) {
+                writeReport(job, out);
+            }
+            Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            job.setFilePath(target.toString());
+            job.setFileSize(Files.size(target));
+            job.setStatus(ReportJobStatus.COMPLETED);
+            job.setCompletedAt(LocalDateTime.now());
+            reportJobRepository.save(job);
+            logger.info("Report job {} completed: {} bytes", jobId, job.getFileSize());
+        } catch (IOException | RuntimeException ex) {
+            logger.error("Report job {} failed", jobId, ex);
+            if (partial != null) {
+                deleteQuietly(partial);
+            }
+            if (job != null) {
+                fail(job, ex.getMessage() != null ? ex.getMessage() : ex.getClass().getSimpleName());
+            }
+        } finally {
+            activeJobs.remove(specKey, jobId);
+        }
+    }
+
+    private void writeReport(ReportJob job, OutputStream out) throws IOException {
+        switch (job.getReportType()) {
+            case ALL_SHIPMENTS:
+                shipmentExportService.exportAllShipments(job.getFormat(), out);
+                break;
+            case PENDING_SHIPMENTS:
+                shipmentExportService.exportPendingShipments(job.getFormat(), out);
+                break;
+            case EMPLOYEE_SHIPMENTS:
+                shipmentExportService.exportShipmentsByEmployeeId(job.getEmployeeId(), job.getFormat(), out);
+                break;
+            case REVENUE:
+                writeRevenue(reportService.getRevenueReport(job.getStartDate(), job.getEndDate()),
+                        job.getFormat(), out);
+                break;
+            default:
+                throw new IllegalStateException("Unknown report type: " + job.getReportType());
+        }
+    }
+
+    private void writeRevenue(RevenueResponse revenue, ExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        if (format == ExportFormat.CSV) {
+            writer.write(REVENUE_CSV_HEADER);
+            writer.write('\n');
+            writer.write(String.join(",",
+                    ShipmentExportServiceImpl.csv(revenue.getStartDate()),
+                    ShipmentExportServiceImpl.csv(revenue.getEndDate()),
+                    ShipmentExportServiceImpl.csv(revenue.getTotalRevenue()),
+                    ShipmentExportServiceImpl.csv(revenue.getDeliveredShipmentsCount())));
+        } else {
+            writer.write(objectMapper.writeValueAsString(revenue));
+        }
+        writer.write('\n');
+        writer.flush();
+    }
+
+    /**
+     * Validates the request and builds the unsaved job. Only the parameters
+     * the report type uses are kept, so they alone make up the spec key.
+     */
+    private ReportJob toJob(ReportJobRequest request, String username) {
+        ReportType type = request.getReportType();
+        if (type == null) {
+            throw new InvalidDataException("reportType", "Report type is required");
+        }
+        ExportFormat format = request.getFormat() != null ? request.getFormat() : ExportFormat.NDJSON;
+
+        Long employeeId = null;
+        LocalDate startDate = null;
+        LocalDate endDate = null;
+        String specKey = type + ":" + format;
+
+        if (type == ReportType.EMPLOYEE_SHIPMENTS) {
+            employeeId = request.getEmployeeId();
+            if (employeeId == null) {
+                throw new InvalidDataException("employeeId", "Employee ID is required for " + type);
+            }
+            if (!employeeRepository.existsById(employeeId)) {
+                throw new ResourceNotFoundException("Employee", "id", employeeId);
+            }
+            specKey += ":employee=" + employeeId;
+        } else if (type == ReportType.REVENUE) {
+            startDate = request.getStartDate();
+            endDate = request.getEndDate();
+            if (startDate == null || endDate == null) {
+                throw new InvalidDataException("startDate", "Start and end date are required for " + type);
+            }
+            if (endDate.isBefore(startDate)) {
+                throw new InvalidDataException("endDate", "End date must not be before start date");
+            }
+            specKey += ":" + startDate + ".." + endDate;
+        }
+
+        return new ReportJob(type, format, employeeId, startDate, endDate, specKey, username);
+    }
+
+    private ReportJob findJob(Long id) {
+        return reportJobRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Report job", "id", id));
+    }
+
+    private void fail(ReportJob job, String message) {
+        job.setStatus(ReportJobStatus.FAILED);
+        job.setErrorMessage(message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message);
+        job.setCompletedAt(LocalDateTime.now());
+        reportJobRepository.save(job);
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            logger.warn("Could not delete report file {}", file, ex);
+        }
+    }
+}
@@ -7,11 +7,12 @@ import com.logistics.dto.report.DashboardMetricsResponse;
 import com.logistics.dto.report.RevenueResponse;
 import com.logistics.dto.shipment.ShipmentResponse;
 import com.logistics.exception.ResourceNotFoundException;
-import com.logistics.model.enums.ShipmentStatus;
 import com.logistics.repository.CustomerRepository;
+import com.logistics.repository.DailyRevenueRepository;
 import com.logistics.repository.EmployeeRepository;
 import com.logistics.repository.ShipmentRepository;
 import com.logistics.service.ReportService;
+import com.logistics.service.ShipmentMetricsService;
 import com.logistics.util.EntityMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -20,8 +21,6 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.LocalTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -34,13 +33,22 @@ public class ReportServiceImpl implements ReportService {
     private final EmployeeRepository employeeRepository;
     private final CustomerRepository customerRepository;
     private final ShipmentRepository shipmentRepository;
+    private final DailyRevenueRepository dailyRevenueRepository;
+    private final ShipmentMetricsService shipmentMetricsService;
+    private final CustomerMetricsCache customerMetricsCache;
 
     public ReportServiceImpl(EmployeeRepository employeeRepository,
                              CustomerRepository customerRepository,
-                             ShipmentRepository shipmentRepository) {
+                             ShipmentRepository shipmentRepository,
+                             DailyRevenueRepository dailyRevenueRepository,
+                             ShipmentMetricsService shipmentMetricsService,
+                             CustomerMetricsCache customerMetricsCache) {
         this.employeeRepository = employeeRepository;
         this.customerRepository = customerRepository;
         this.shipmentRepository = shipmentRepository;
+        this.dailyRevenueRepository = dailyRevenueRepository;
+        this.shipmentMetricsService = shipmentMetricsService;
+        this.customerMetricsCache = customerMetricsCache;
     }
 
     @Override
@@ -65,9 +73,7 @@ public class ReportServiceImpl implements ReportService {
     public List<ShipmentResponse> getAllShipmentsReport() {
         logger.debug("Generating all shipments report");
 
-        return shipmentRepository.findAll().stream()
-                .map(EntityMapper::toShipmentResponse)
-                .collect(Collectors.toList());
+        return shipmentRepository.findAllResponses();
     }
 
     @Override
@@ -78,18 +84,14 @@ public class ReportServiceImpl implements ReportService {
             throw new ResourceNotFoundException("Employee", "id", employeeId);
         }
 
-        return shipmentRepository.findByRegisteredById(employeeId).stream()
-                .map(EntityMapper::toShipmentResponse)
-                .collect(Collectors.toList());
+        return shipmentRepository.findResponsesByRegisteredById(employeeId);
     }
 
     @Override
     public List<ShipmentResponse> getPendingShipmentsReport() {
         logger.debug("Generating pending shipments report");
 
-        return shipmentRepository.findAllPendingShipments().stream()
-                .map(EntityMapper::toShipmentResponse)
-                .collect(Collectors.toList());
+        return shipmentRepository.findPendingResponses();
     }
 
     @Override
@@ -100,9 +102,7 @@ public class ReportServiceImpl implements ReportService {
             throw new ResourceNotFoundException("Customer", "id", customerId);
         }
 
-        return shipmentRepository.findBySenderId(customerId).stream()
-                .map(EntityMapper::toShipmentResponse)
-                .collect(Collectors.toList());
+        return shipmentRepository.findResponsesBySenderId(customerId);
     }
 
     @Override
@@ -113,68 +113,60 @@ public class ReportServiceImpl implements ReportService {
             throw new ResourceNotFoundException("Customer", "id", customerId);
         }
 
-        return shipmentRepository.findByRecipientId(customerId).stream()
-                .map(EntityMapper::toShipmentResponse)
-                .collect(Collectors.toList());
+        return shipmentRepository.findResponsesByRecipientId(customerId);
     }
 
     /**
      * Only DELIVERED shipments count as revenue - cancelled/pending shipments haven't been paid for.
+     * Reads the daily_revenue rollup, so the cost depends on the number of days, not shipments.
      */
     @Override
     public RevenueResponse getRevenueReport(LocalDate startDate, LocalDate endDate) {
         logger.info("Generating revenue report from {} to {}", startDate, endDate);
 
-        LocalDateTime startDateTime = startDate.atStartOfDay();
-        LocalDateTime endDateTime = endDate.atTime(LocalTime.MAX);
-
-        BigDecimal totalRevenue = shipmentRepository.calculateRevenueBetweenDates(startDateTime, endDateTime);
-        if (totalRevenue == null) {
-            totalRevenue = BigDecimal.ZERO;
-        }
-
-        long deliveredCount = shipmentRepository.findDeliveredShipmentsBetweenDates(startDateTime, endDateTime).size();
+        BigDecimal totalRevenue = dailyRevenueRepository.sumRevenueBetween(startDate, endDate);
+        long deliveredCount = dailyRevenueRepository.sumShipmentCountBetween(startDate, endDate);
 
         logger.info("Revenue report: {} total from {} delivered shipments", totalRevenue, deliveredCount);
 
         return new RevenueResponse(startDate, endDate, totalRevenue, deliveredCount);
     }
 
+    /**
+     * Served from the in-memory shipment counters, so no aggregate query runs per dashboard load.
+     */
     @Override
     public DashboardMetricsResponse getDashboardMetrics() {
         logger.debug("Generating dashboard metrics");
 
-        long total = shipmentRepository.count();
-        long pending = shipmentRepository.countInTransitShipments();
-        long delivered = shipmentRepository.countByStatus(ShipmentStatus.DELIVERED);
-        BigDecimal totalRevenue = shipmentRepository.calculateTotalRevenue();
+        DashboardMetricsResponse metrics = shipmentMetricsService.getDashboardMetrics();
 
         logger.debug("Dashboard metrics: total={}, pending={}, delivered={}, revenue={}",
-                total, pending, delivered, totalRevenue);
+                metrics.getTotalShipments(), metrics.getPendingShipments(),
+                metrics.getDeliveredShipments(), metrics.getTotalRevenue());
 
-        return new DashboardMetricsResponse(total, pending, delivered, totalRevenue);
+        return metrics;
     }
 
+    /**
+     * One conditional-aggregation query, cached per customer until a shipment
+     * write touches them as sender or recipient. Not readOnly, so a miss is
+     * loaded from the primary rather than a replica that may not have the
+     * write behind the eviction yet.
+     */
     @Override
+    @Transactional
     public CustomerMetricsResponse getCustomerMetrics(Long customerId) {
         logger.debug("Generating customer metrics for customer ID: {}", customerId);
 
-        if (!customerRepository.existsById(customerId)) {
-            throw new ResourceNotFoundException("Customer", "id", customerId);
-        }
-
-        long totalSent = shipmentRepository.countBySenderId(customerId);
-        long totalReceived = shipmentRepository.countDeliveredByRecipientId(customerId);
-
-        long inTransitSent = shipmentRepository.countInTransitBySenderId(customerId);
-        long inTransitReceived = shipmentRepository.countInTransitByRecipientId(customerId);
-        long inTransit = inTransitSent + inTransitReceived;
-
-        BigDecimal totalSpent = shipmentRepository.calculateTotalSpentBySenderId(customerId);
+        CustomerMetricsResponse metrics = customerMetricsCache.getOrLoad(customerId, () ->
+                shipmentRepository.findCustomerMetrics(customerId)
+                        .orElseThrow(() -> new ResourceNotFoundException("Customer", "id", customerId)));
 
         logger.debug("Customer metrics for {}: sent={}, received={}, inTransit={}, spent={}",
-                customerId, totalSent, totalReceived, inTransit, totalSpent);
+                customerId, metrics.getTotalSent(), metrics.getTotalReceived(),
+                metrics.getInTransit(), metrics.getTotalSpent());
 
-        return new CustomerMetricsResponse(totalSent, totalReceived, inTransit, totalSpent);
+        return metrics;
     }
 }
@@ -0,0 +1,159 @@
+package com.logistics.service.impl;
+
+import com.logistics.exception.InvalidDataException;
+import com.logistics.model.entity.DailyRevenue;
+import com.logistics.model.entity.Shipment;
+import com.logistics.model.enums.DeliveryType;
+import com.logistics.model.enums.ShipmentStatus;
+import com.logistics.repository.DailyRevenueRepository;
+import com.logistics.repository.ShipmentRepository;
+import com.logistics.service.RevenueRollupService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Keeps the daily_revenue table in step with DELIVERED transitions.
+ *
+ * Buckets are incremented with an in-place UPDATE, so concurrent deliveries
+ * on the same day add up correctly. The first delivery into a new bucket
+ * first inserts it empty in a transaction of its own; if two deliveries race
+ * on that insert, the loser's fails on the unique key, which is harmless since
+ * the bucket exists either way. Both then add to it in place.
+ */
+@Service
+@Transactional
+public class RevenueRollupServiceImpl implements RevenueRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RevenueRollupServiceImpl.class);
+
+    private final DailyRevenueRepository dailyRevenueRepository;
+    private final ShipmentRepository shipmentRepository;
+
+    /**
+     * Creates missing buckets outside the delivery's transaction, so that a
+     * duplicate-key failure there does not roll the delivery back.
+     */
+    private final TransactionTemplate bucketCreation;
+
+    public RevenueRollupServiceImpl(DailyRevenueRepository dailyRevenueRepository,
+                                    ShipmentRepository shipmentRepository,
+                                    PlatformTransactionManager transactionManager) {
+        this.dailyRevenueRepository = dailyRevenueRepository;
+        this.shipmentRepository = shipmentRepository;
+        this.bucketCreation = new TransactionTemplate(transactionManager);
+        this.bucketCreation.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public void recordDelivery(Shipment shipment) {
+        add(bucketOf(shipment, 1, shipment.getPrice()));
+    }
+
+    @Override
+    public void recordDeliveries(Collection<Long> shipmentIds) {
+        if (shipmentIds.isEmpty()) {
+            return;
+        }
+        for (DailyRevenue bucket : shipmentRepository.aggregateDailyRevenueByIds(shipmentIds)) {
+            add(bucket);
+        }
+    }
+
+    @Override
+    public void recordRemoval(Shipment shipment) {
+        if (!shipment.isDelivered() || shipment.getDeliveredAt() == null) {
+            return;
+        }
+        add(bucketOf(shipment, -1, shipment.getPrice().negate()));
+    }
+
+    @Override
+    public int rebuild(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null || endDate.isBefore(startDate)) {
+            throw new InvalidDataException("endDate", "End date must not be before start date");
+        }
+        logger.info("Rebuilding revenue rollup from {} to {}", startDate, endDate);
+
+        dailyRevenueRepository.deleteBetween(startDate, endDate);
+        List<DailyRevenue> buckets = shipmentRepository.aggregateDailyRevenue(
+                startDate.atStartOfDay(), endDate.atTime(LocalTime.MAX));
+        dailyRevenueRepository.saveAll(buckets);
+
+        logger.info("Revenue rollup rebuilt from {} to {}: {} buckets", startDate, endDate, buckets.size());
+        return buckets.size();
+    }
+
+    @Override
+    public int rebuildAll() {
+        logger.info("Rebuilding the whole revenue rollup");
+
+        dailyRevenueRepository.deleteAllInBatch();
+        List<DailyRevenue> buckets = shipmentRepository.aggregateDailyRevenue(null, null);
+        dailyRevenueRepository.saveAll(buckets);
+
+        logger.info("Revenue rollup rebuilt: {} buckets", buckets.size());
+        return buckets.size();
+    }
+
+    /**
+     * Backfills the rollup on the first start after it was introduced, when the
+     * table is still empty but delivered shipments already exist.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (dailyRevenueRepository.count() == 0
+                && shipmentRepository.countByStatus(ShipmentStatus.DELIVERED) > 0) {
+            rebuildAll();
+        }
+    }
+
+    private void add(DailyRevenue bucket) {
+        if (addToBucket(bucket) == 0) {
+            createEmptyBucket(bucket);
+            if (addToBucket(bucket) == 0) {
+                throw new IllegalStateException("Revenue bucket " + bucket.getRevenueDate() + " "
+                        + bucket.getDeliveryType() + " " + bucket.getOriginOfficeId() + " could not be created");
+            }
+        }
+    }
+
+    private int addToBucket(DailyRevenue bucket) {
+        return dailyRevenueRepository.addToBucket(bucket.getRevenueDate(), bucket.getDeliveryType(),
+                bucket.getOriginOfficeId(), bucket.getShipmentCount(), bucket.getRevenue());
+    }
+
+    /**
+     * Commits an empty bucket with the key of the given one. The amounts are
+     * added by the caller's transaction, so they still roll back with it.
+     */
+    private void createEmptyBucket(DailyRevenue bucket) {
+        try {
+            bucketCreation.executeWithoutResult(status -> dailyRevenueRepository.save(new DailyRevenue(
+                    bucket.getRevenueDate(), bucket.getDeliveryType(), bucket.getOriginOfficeId(),
+                    0, BigDecimal.ZERO)));
+        } catch (DataIntegrityViolationException ex) {
+            logger.debug("Revenue bucket {} {} {} was created concurrently", bucket.getRevenueDate(),
+                    bucket.getDeliveryType(), bucket.getOriginOfficeId());
+        }
+    }
+
+    private static DailyRevenue bucketOf(Shipment shipment, long count, BigDecimal revenue) {
+        Long originOfficeId = shipment.getOriginOffice() != null ? shipment.getOriginOffice().getId() : null;
+        return new DailyRevenue(shipment.getDeliveredAt().toLocalDate(),
+                DeliveryType.of(shipment.isOfficeDelivery()), originOfficeId, count, revenue);
+    }
+}
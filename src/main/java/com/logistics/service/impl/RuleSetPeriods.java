@@ -0,0 +1,79 @@
+package com.logistics.service.impl;
+
+import com.logistics.model.entity.PricingRuleSet;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * The periods in which a pricing rule set replaced the config formula, so
+ * re-pricing can tell which shipments the PricingHistory cannot explain.
+ *
+ * Only one rule set is active at a time, so the periods do not overlap and
+ * the rule set of a moment is the last one created at or before it, if that
+ * one was not yet deactivated. A version deactivated before deactivatedAt
+ * was recorded is taken to end when the next version was created; the last
+ * such version is assumed to be still in force, so its shipments are
+ * flagged rather than re-priced with a formula that may not have applied.
+ *
+ * Immutable, times in microseconds like PricingHistory.
+ */
+final class RuleSetPeriods {
+
+    private final long[] ruleSetIds;
+    private final long[] from;
+    private final long[] until;
+
+    private RuleSetPeriods(long[] ruleSetIds, long[] from, long[] until) {
+        this.ruleSetIds = ruleSetIds;
+        this.from = from;
+        this.until = until;
+    }
+
+    /**
+     * @param ruleSets every rule set version, oldest first
+     */
+    static RuleSetPeriods of(List<PricingRuleSet> ruleSets) {
+        int size = ruleSets.size();
+        long[] ruleSetIds = new long[size];
+        long[] from = new long[size];
+        long[] until = new long[size];
+        for (int i = 0; i < size; i++) {
+            PricingRuleSet ruleSet = ruleSets.get(i);
+            ruleSetIds[i] = ruleSet.getId();
+            from[i] = PricingHistory.toMicros(ruleSet.getCreatedAt());
+            if (Boolean.TRUE.equals(ruleSet.getActive())) {
+                until[i] = Long.MAX_VALUE;
+            } else if (ruleSet.getDeactivatedAt() != null) {
+                until[i] = PricingHistory.toMicros(ruleSet.getDeactivatedAt());
+            } else if (i + 1 < size) {
+                until[i] = PricingHistory.toMicros(ruleSets.get(i + 1).getCreatedAt());
+            } else {
+                until[i] = Long.MAX_VALUE;
+            }
+        }
+        return new RuleSetPeriods(ruleSetIds, from, until);
+    }
+
+    /**
+     * @return the id of the rule set in force at time, or null if prices came from the config
+     */
+    Long at(LocalDateTime time) {
+        long key = PricingHistory.toMicros(time);
+
+        // Last index whose from <= key
+        int low = 0;
+        int high = from.length - 1;
+        int found = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (from[mid] <= key) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return found < 0 || key >= until[found] ? null : ruleSetIds[found];
+    }
+}
@@ -0,0 +1,538 @@
+package com.logistics.service.impl;
+
+import com.logistics.dto.analytics.AnalyticsGroupResponse;
+import com.logistics.dto.analytics.AnalyticsQueryRequest;
+import com.logistics.dto.analytics.AnalyticsQueryResponse;
+import com.logistics.exception.InvalidDataException;
+import com.logistics.model.entity.Shipment;
+import com.logistics.model.enums.AnalyticsDimension;
+import com.logistics.model.enums.DeliveryType;
+import com.logistics.model.enums.ShipmentStatus;
+import com.logistics.repository.ShipmentRepository;
+import com.logistics.service.ShipmentAnalyticsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+
+/**
+ * Answers filter + group-by + aggregate queries from a {@link ShipmentColumns}
+ * snapshot instead of the database.
+ *
+ * A query scans the columns in fixed-size chunks on the common fork/join
+ * pool and merges the per-chunk groups. Writes are applied to the snapshot
+ * after commit under the write lock, so a query always sees whole writes.
+ * While a rebuild loads a new snapshot, writes are also queued and replayed
+ * onto it before the swap; every write is idempotent, so one the load
+ * already saw is harmless.
+ */
+@Service
+public class ShipmentAnalyticsServiceImpl implements ShipmentAnalyticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShipmentAnalyticsServiceImpl.class);
+
+    /**
+     * Rows per query when loading the snapshot.
+     */
+    private static final int LOAD_CHUNK_SIZE = 5_000;
+
+    /**
+     * Rows each parallel task scans; smaller snapshots are scanned by one task.
+     */
+    private static final int SCAN_CHUNK_ROWS = 1 << 16;
+
+    private static final int MAX_DIMENSIONS = 3;
+
+    private static final long SECONDS_PER_DAY = 86_400L;
+
+    private final ShipmentRepository shipmentRepository;
+
+    /**
+     * Runs the load on the primary (a new read-write transaction). Only writes
+     * committed during the load are replayed, so one the replica had not
+     * applied yet would be missing until the next rebuild.
+     */
+    private final TransactionTemplate primaryReads;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Serializes rebuilds, including the lazy first load. Not a monitor, since
+     * it is held while loading from the database and a virtual thread blocked
+     * inside synchronized stays pinned to its carrier thread.
+     */
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    // Guarded by lock
+    private ShipmentColumns columns;
+    private List<ColumnUpdate> pendingUpdates;
+
+    public ShipmentAnalyticsServiceImpl(ShipmentRepository shipmentRepository,
+                                        PlatformTransactionManager transactionManager) {
+        this.shipmentRepository = shipmentRepository;
+        this.primaryReads = new TransactionTemplate(transactionManager);
+        this.primaryReads.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public void recordSaved(Collection<Shipment> shipments) {
+        List<ShipmentColumns.Row> rows = new ArrayList<>(shipments.size());
+        for (Shipment shipment : shipments) {
+            rows.add(toRow(shipment));
+        }
+        afterCommit(target -> rows.forEach(target::upsert));
+    }
+
+    @Override
+    public void recordStatusChange(Collection<Long> ids, Set<ShipmentStatus> sourceStatuses, ShipmentStatus status) {
+        List<Long> targetIds = new ArrayList<>(ids);
+        Set<ShipmentStatus> from = EnumSet.noneOf(ShipmentStatus.class);
+        from.addAll(sourceStatuses);
+        afterCommit(target -> target.updateStatus(targetIds, from, status));
+    }
+
+    @Override
+    public void recordStatusChange(ShipmentStatus currentStatus, Long originOfficeId, ShipmentStatus status) {
+        afterCommit(target -> target.updateStatus(currentStatus, originOfficeId, status));
+    }
+
+    @Override
+    public void recordDeleted(Long id) {
+        afterCommit(target -> target.remove(id));
+    }
+
+    /**
+     * Loads the snapshot at startup and re-reads it periodically, picking up
+     * changes made by other instances or directly in the database.
+     */
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${analytics.rebuild-interval-ms:900000}",
+            initialDelayString = "${analytics.rebuild-interval-ms:900000}")
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            withWriteLock(() -> pendingUpdates = new ArrayList<>());
+            try {
+                ShipmentColumns loaded = load();
+                withWriteLock(() -> {
+                    pendingUpdates.forEach(update -> update.applyTo(loaded));
+                    columns = loaded;
+                });
+                logger.debug("Analytics snapshot rebuilt with {} shipments", loaded.size());
+            } finally {
+                withWriteLock(() -> pendingUpdates = null);
+            }
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    @Override
+    public AnalyticsQueryResponse query(AnalyticsQueryRequest request) {
+        QueryPlan plan = QueryPlan.of(request);
+
+        if (columns() == null) {
+            rebuildLock.lock();
+            try {
+                if (columns() == null) {
+                    rebuild();
+                }
+            } finally {
+                rebuildLock.unlock();
+            }
+        }
+
+        lock.readLock().lock();
+        try {
+            return execute(columns, plan);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private ShipmentColumns columns() {
+        lock.readLock().lock();
+        try {
+            return columns;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Reads every chunk in one transaction, so the snapshot is consistent.
+     */
+    private ShipmentColumns load() {
+        return primaryReads.execute(status -> loadChunks());
+    }
+
+    private ShipmentColumns loadChunks() {
+        ShipmentColumns loaded = new ShipmentColumns();
+        PageRequest chunk = PageRequest.ofSize(LOAD_CHUNK_SIZE);
+        long lastId = 0L;
+        List<Object[]> rows;
+        do {
+            rows = shipmentRepository.findAnalyticsColumnsAfter(lastId, chunk);
+            for (Object[] row : rows) {
+                loaded.upsert(toRow(row));
+                lastId = (Long) row[0];
+            }
+        } while (rows.size() == LOAD_CHUNK_SIZE);
+        return loaded;
+    }
+
+    private static AnalyticsQueryResponse execute(ShipmentColumns snapshot, QueryPlan plan) {
+        int size = snapshot.size();
+        int chunks = Math.max(1, (size + SCAN_CHUNK_ROWS - 1) / SCAN_CHUNK_ROWS);
+
+        Map<GroupKey, long[]> groups = IntStream.range(0, chunks).parallel()
+                .mapToObj(chunk -> scan(snapshot, plan, chunk * SCAN_CHUNK_ROWS,
+                        Math.min(size, (chunk + 1) * SCAN_CHUNK_ROWS)))
+                .reduce(ShipmentAnalyticsServiceImpl::merge)
+                .orElseGet(HashMap::new);
+
+        List<GroupKey> keys = new ArrayList<>(groups.keySet());
+        keys.sort(GroupKey.ORDER);
+
+        List<AnalyticsGroupResponse> results = new ArrayList<>(keys.size());
+        long matched = 0;
+        for (GroupKey key : keys) {
+            long[] totals = groups.get(key);
+            matched += totals[0];
+            results.add(toGroupResponse(plan, key, totals));
+        }
+        return new AnalyticsQueryResponse(plan.dimensions, results, size, matched);
+    }
+
+    /**
+     * Filters and aggregates rows [from, to). Totals are [count, price cents, weight grams].
+     */
+    private static Map<GroupKey, long[]> scan(ShipmentColumns snapshot, QueryPlan plan, int from, int to) {
+        byte[] statuses = snapshot.statuses();
+        long[] originOfficeIds = snapshot.originOfficeIds();
+        long[] deliveryOfficeIds = snapshot.deliveryOfficeIds();
+        long[] pricesCents = snapshot.pricesCents();
+        long[] weightsGrams = snapshot.weightsGrams();
+        long[] registeredAt = snapshot.registeredAt();
+
+        Map<GroupKey, long[]> groups = new HashMap<>();
+        GroupKey probe = new GroupKey();
+        long[] keyValues = new long[MAX_DIMENSIONS];
+
+        for (int i = from; i < to; i++) {
+            if (!plan.statusMask[statuses[i]]
+                    || (plan.filterOriginOffice && originOfficeIds[i] != plan.originOfficeId)
+                    || (plan.filterDeliveryOffice && deliveryOfficeIds[i] != plan.deliveryOfficeId)
+                    || (plan.deliveryType == DeliveryType.OFFICE && deliveryOfficeIds[i] == ShipmentColumns.NO_OFFICE)
+                    || (plan.deliveryType == DeliveryType.ADDRESS && deliveryOfficeIds[i] != ShipmentColumns.NO_OFFICE)
+                    || registeredAt[i] < plan.registeredFrom
+                    || registeredAt[i] >= plan.registeredUntil) {
+                continue;
+            }
+
+            for (int d = 0; d < plan.dimensions.size(); d++) {
+                keyValues[d] = keyValue(plan.dimensions.get(d), i, statuses, originOfficeIds,
+                        deliveryOfficeIds, registeredAt);
+            }
+            probe.set(keyValues);
+
+            long[] totals = groups.get(probe);
+            if (totals == null) {
+                totals = new long[3];
+                groups.put(probe.copy(), totals);
+            }
+            totals[0]++;
+            totals[1] += pricesCents[i];
+            totals[2] += weightsGrams[i];
+        }
+        return groups;
+    }
+
+    private static long keyValue(AnalyticsDimension dimension, int row, byte[] statuses, long[] originOfficeIds,
+                                 long[] deliveryOfficeIds, long[] registeredAt) {
+        switch (dimension) {
+            case STATUS:
+                return statuses[row];
+            case ORIGIN_OFFICE:
+                return originOfficeIds[row];
+            case DELIVERY_OFFICE:
+                return deliveryOfficeIds[row];
+            case DELIVERY_TYPE:
+                return DeliveryType.of(deliveryOfficeIds[row] != ShipmentColumns.NO_OFFICE).ordinal();
+            case REGISTERED_DAY:
+                return Math.floorDiv(registeredAt[row], SECONDS_PER_DAY);
+            case REGISTERED_WEEK:
+                // 1970-01-01 was a Thursday, so Monday-based weekdays are offset by 3
+                long day = Math.floorDiv(registeredAt[row], SECONDS_PER_DAY);
+                return day - Math.floorMod(day + 3, 7);
+            case REGISTERED_MONTH:
+                LocalDate date = LocalDate.ofEpochDay(Math.floorDiv(registeredAt[row], SECONDS_PER_DAY));
+                return date.getYear() * 12L + date.getMonthValue() - 1;
+            default:
+                throw new IllegalStateException("Unknown dimension: " + dimension);
+        }
+    }
+
+    private static String keyLabel(AnalyticsDimension dimension, long value) {
+        switch (dimension) {
+            case STATUS:
+                return ShipmentStatus.values()[(int) value].name();
+            case ORIGIN_OFFICE:
+            case DELIVERY_OFFICE:
+                return value == ShipmentColumns.NO_OFFICE ? null : String.valueOf(value);
+            case DELIVERY_TYPE:
+                return DeliveryType.values()[(int) value].name();
+            case REGISTERED_DAY:
+            case REGISTERED_WEEK:
+                return LocalDate.ofEpochDay(value).toString();
+            case REGISTERED_MONTH:
+                return LocalDate.of((int) (value / 12), (int) (value % 12) + 1, 1).toString();
+            default:
+                throw new IllegalStateException("Unknown dimension: " + dimension);
+        }
+    }
+
+    private static Map<GroupKey, long[]> merge(Map<GroupKey, long[]> left, Map<GroupKey, long[]> right) {
+        Map<GroupKey, long[]> into = left.size() >= right.size() ? left : right;
+        Map<GroupKey, long[]> from = into == left ? right : left;
+        from.forEach((key, totals) -> into.merge(key, totals, (a, b) -> {
+            a[0] += b[0];
+            a[1] += b[1];
+            a[2] += b[2];
+            return a;
+        }));
+        return into;
+    }
+
+    private static AnalyticsGroupResponse toGroupResponse(QueryPlan plan, GroupKey key, long[] totals) {
+        Map<AnalyticsDimension, String> labels = new EnumMap<>(AnalyticsDimension.class);
+        for (int d = 0; d < plan.dimensions.size(); d++) {
+            AnalyticsDimension dimension = plan.dimensions.get(d);
+            labels.put(dimension, keyLabel(dimension, key.values[d]));
+        }
+
+        long count = totals[0];
+        BigDecimal revenue = BigDecimal.valueOf(totals[1], 2);
+        BigDecimal weight = BigDecimal.valueOf(totals[2], 3);
+        BigDecimal shipments = BigDecimal.valueOf(count);
+        return new AnalyticsGroupResponse(labels, count, revenue,
+                revenue.divide(shipments, 2, RoundingMode.HALF_UP),
+                weight, weight.divide(shipments, 3, RoundingMode.HALF_UP));
+    }
+
+    private static ShipmentColumns.Row toRow(Shipment shipment) {
+        LocalDateTime registeredAt = shipment.getRegisteredAt() != null
+                ? shipment.getRegisteredAt() : LocalDateTime.now();
+        return new ShipmentColumns.Row(shipment.getId(), shipment.getStatus(),
+                officeId(shipment.getOriginOffice() != null ? shipment.getOriginOffice().getId() : null),
+                officeId(shipment.getDeliveryOffice() != null ? shipment.getDeliveryOffice().getId() : null),
+                toCents(shipment.getPrice()), toGrams(shipment.getWeight()), toEpochSecond(registeredAt));
+    }
+
+    private static ShipmentColumns.Row toRow(Object[] row) {
+        return new ShipmentColumns.Row((Long) row[0], (ShipmentStatus) row[1],
+                officeId((Long) row[2]), officeId((Long) row[3]),
+                toCents((BigDecimal) row[4]), toGrams((BigDecimal) row[5]),
+                toEpochSecond((LocalDateTime) row[6]));
+    }
+
+    private static long officeId(Long id) {
+        return id != null ? id : ShipmentColumns.NO_OFFICE;
+    }
+
+    private static long toCents(BigDecimal amount) {
+        if (amount == null) {
+            return 0;
+        }
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private static long toGrams(BigDecimal kilograms) {
+        if (kilograms == null) {
+            return 0;
+        }
+        return kilograms.movePointRight(3).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    private static long toEpochSecond(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * Applies a write to the snapshot once the current transaction commits,
+     * or right away when there is no transaction. Nothing happens before the
+     * first load; the load itself will include the change.
+     */
+    private void afterCommit(ColumnUpdate update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(update);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(update);
+            }
+        });
+    }
+
+    private void apply(ColumnUpdate update) {
+        withWriteLock(() -> {
+            if (pendingUpdates != null) {
+                pendingUpdates.add(update);
+            }
+            if (columns != null) {
+                update.applyTo(columns);
+            }
+        });
+    }
+
+    private void withWriteLock(Runnable action) {
+        lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @FunctionalInterface
+    private interface ColumnUpdate {
+        void applyTo(ShipmentColumns columns);
+    }
+
+    /**
+     * A validated request, reduced to what the scan loop compares against.
+     */
+    private static final class QueryPlan {
+        private final boolean[] statusMask = new boolean[ShipmentStatus.values().length];
+        private boolean filterOriginOffice;
+        private long originOfficeId;
+        private boolean filterDeliveryOffice;
+        private long deliveryOfficeId;
+        private DeliveryType deliveryType;
+        private long registeredFrom = Long.MIN_VALUE;
+        private long registeredUntil = Long.MAX_VALUE;
+        private List<AnalyticsDimension> dimensions = List.of();
+
+        private static QueryPlan of(AnalyticsQueryRequest request) {
+            QueryPlan plan = new QueryPlan();
+
+            if (request.getStatuses() == null || request.getStatuses().isEmpty()) {
+                Arrays.fill(plan.statusMask, true);
+            } else {
+                for (ShipmentStatus status : request.getStatuses()) {
+                    if (status != null) {
+                        plan.statusMask[status.ordinal()] = true;
+                    }
+                }
+            }
+
+            if (request.getOriginOfficeId() != null) {
+                plan.filterOriginOffice = true;
+                plan.originOfficeId = request.getOriginOfficeId();
+            }
+            if (request.getDeliveryOfficeId() != null) {
+                plan.filterDeliveryOffice = true;
+                plan.deliveryOfficeId = request.getDeliveryOfficeId();
+            }
+            plan.deliveryType = request.getDeliveryType();
+
+            LocalDate from = request.getRegisteredFrom();
+            LocalDate to = request.getRegisteredTo();
+            if (from != null && to != null && from.isAfter(to)) {
+                throw new InvalidDataException("registeredFrom", "registeredFrom must not be after registeredTo");
+            }
+            if (from != null) {
+                plan.registeredFrom = from.toEpochDay() * SECONDS_PER_DAY;
+            }
+            if (to != null) {
+                plan.registeredUntil = (to.toEpochDay() + 1) * SECONDS_PER_DAY;
+            }
+
+            if (request.getGroupBy() != null) {
+                Set<AnalyticsDimension> unique = EnumSet.noneOf(AnalyticsDimension.class);
+                for (AnalyticsDimension dimension : request.getGroupBy()) {
+                    if (dimension == null || !unique.add(dimension)) {
+                        throw new InvalidDataException("groupBy", "Group-by dimensions must be non-null and distinct");
+                    }
+                }
+                if (unique.size() > MAX_DIMENSIONS) {
+                    throw new InvalidDataException("groupBy",
+                            "At most " + MAX_DIMENSIONS + " group-by dimensions are supported");
+                }
+                plan.dimensions = List.copyOf(request.getGroupBy());
+            }
+            return plan;
+        }
+    }
+
+    /**
+     * Values of the group-by dimensions for one group. Unused slots stay 0.
+     * The scan reuses one mutable probe per task and stores copies.
+     */
+    private static final class GroupKey {
+
+        private static final Comparator<GroupKey> ORDER = (a, b) -> {
+            for (int d = 0; d < MAX_DIMENSIONS; d++) {
+                int compared = Long.compare(a.values[d], b.values[d]);
+                if (compared != 0) {
+                    return compared;
+                }
+            }
+            return 0;
+        };
+
+        private final long[] values = new long[MAX_DIMENSIONS];
+        private int hash;
+
+        private void set(long[] keyValues) {
+            System.arraycopy(keyValues, 0, values, 0, MAX_DIMENSIONS);
+            hash = Arrays.hashCode(values);
+        }
+
+        private GroupKey copy() {
+            GroupKey copy = new GroupKey();
+            copy.set(values);
+            return copy;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof GroupKey && Arrays.equals(values, ((GroupKey) other).values);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
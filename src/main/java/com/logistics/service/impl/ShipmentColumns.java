@@ -0,0 +1,291 @@
+package com.logistics.service.impl;
+
+import com.logistics.model.enums.ShipmentStatus;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Columnar copy of the shipments table: one primitive array per column and
+ * one array slot per shipment, so a scan touches only the columns it reads
+ * and never dereferences an object per row.
+ *
+ * Prices are held in cents, weights in grams and registration times in
+ * epoch seconds (of the stored wall-clock time). A missing office is
+ * {@link #NO_OFFICE}. Row order carries no meaning: a removed row is
+ * replaced by the last one, and rows are found by id through an
+ * open-addressing index of primitive arrays rather than a boxed map.
+ *
+ * Not thread-safe; ShipmentAnalyticsServiceImpl guards it with a read/write lock.
+ */
+final class ShipmentColumns {
+
+    static final long NO_OFFICE = 0L;
+
+    private static final int MIN_CAPACITY = 1024;
+
+    private final RowIndex rowById;
+
+    private long[] ids;
+    private byte[] statuses;
+    private long[] originOfficeIds;
+    private long[] deliveryOfficeIds;
+    private long[] pricesCents;
+    private long[] weightsGrams;
+    private long[] registeredAt;
+    private int size;
+
+    ShipmentColumns() {
+        this(MIN_CAPACITY);
+    }
+
+    ShipmentColumns(int capacity) {
+        int initial = Math.max(MIN_CAPACITY, capacity);
+        rowById = new RowIndex(initial);
+        ids = new long[initial];
+        statuses = new byte[initial];
+        originOfficeIds = new long[initial];
+        deliveryOfficeIds = new long[initial];
+        pricesCents = new long[initial];
+        weightsGrams = new long[initial];
+        registeredAt = new long[initial];
+    }
+
+    /**
+     * Inserts the shipment, or overwrites it if it is already present.
+     */
+    void upsert(Row row) {
+        int existing = rowById.get(row.id);
+        int index;
+        if (existing >= 0) {
+            index = existing;
+        } else {
+            ensureCapacity(size + 1);
+            index = size++;
+            rowById.put(row.id, index);
+        }
+        ids[index] = row.id;
+        statuses[index] = (byte) row.status.ordinal();
+        originOfficeIds[index] = row.originOfficeId;
+        deliveryOfficeIds[index] = row.deliveryOfficeId;
+        pricesCents[index] = row.priceCents;
+        weightsGrams[index] = row.weightGrams;
+        registeredAt[index] = row.registeredAt;
+    }
+
+    void remove(long id) {
+        int removed = rowById.remove(id);
+        if (removed < 0) {
+            return;
+        }
+        int last = --size;
+        if (removed != last) {
+            ids[removed] = ids[last];
+            statuses[removed] = statuses[last];
+            originOfficeIds[removed] = originOfficeIds[last];
+            deliveryOfficeIds[removed] = deliveryOfficeIds[last];
+            pricesCents[removed] = pricesCents[last];
+            weightsGrams[removed] = weightsGrams[last];
+            registeredAt[removed] = registeredAt[last];
+            rowById.put(ids[removed], removed);
+        }
+    }
+
+    /**
+     * Moves the given shipments to status, if they are in one of fromStatuses.
+     * Mirrors the WHERE clause of ShipmentRepository.updateStatusByIds.
+     */
+    void updateStatus(Collection<Long> shipmentIds, Set<ShipmentStatus> fromStatuses, ShipmentStatus status) {
+        for (Long id : shipmentIds) {
+            int index = rowById.get(id);
+            if (index >= 0 && fromStatuses.contains(ShipmentStatus.values()[statuses[index]])) {
+                statuses[index] = (byte) status.ordinal();
+            }
+        }
+    }
+
+    /**
+     * Moves every shipment in fromStatus (registered at originOfficeId, if given)
+     * to status. Mirrors ShipmentRepository.updateStatusByFilter.
+     */
+    void updateStatus(ShipmentStatus fromStatus, Long originOfficeId, ShipmentStatus status) {
+        byte from = (byte) fromStatus.ordinal();
+        byte to = (byte) status.ordinal();
+        boolean anyOffice = originOfficeId == null;
+        long office = anyOffice ? NO_OFFICE : originOfficeId;
+        for (int i = 0; i < size; i++) {
+            if (statuses[i] == from && (anyOffice || originOfficeIds[i] == office)) {
+                statuses[i] = to;
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    byte[] statuses() {
+        return statuses;
+    }
+
+    long[] originOfficeIds() {
+        return originOfficeIds;
+    }
+
+    long[] deliveryOfficeIds() {
+        return deliveryOfficeIds;
+    }
+
+    long[] pricesCents() {
+        return pricesCents;
+    }
+
+    long[] weightsGrams() {
+        return weightsGrams;
+    }
+
+    long[] registeredAt() {
+        return registeredAt;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= ids.length) {
+            return;
+        }
+        int capacity = Math.max(required, ids.length + (ids.length >> 1));
+        ids = Arrays.copyOf(ids, capacity);
+        statuses = Arrays.copyOf(statuses, capacity);
+        originOfficeIds = Arrays.copyOf(originOfficeIds, capacity);
+        deliveryOfficeIds = Arrays.copyOf(deliveryOfficeIds, capacity);
+        pricesCents = Arrays.copyOf(pricesCents, capacity);
+        weightsGrams = Arrays.copyOf(weightsGrams, capacity);
+        registeredAt = Arrays.copyOf(registeredAt, capacity);
+    }
+
+    /**
+     * Map from shipment id to row index, probed linearly over two parallel
+     * arrays so no key or value is boxed. A slot holds its row index plus one;
+     * zero marks it empty. Kept at most half full.
+     */
+    private static final class RowIndex {
+        private long[] keys;
+        private int[] rows;
+        private int mask;
+        private int count;
+
+        RowIndex(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(2, expected) - 1) << 2;
+            keys = new long[capacity];
+            rows = new int[capacity];
+            mask = capacity - 1;
+        }
+
+        /**
+         * Row index of the shipment, or -1 if it is not present.
+         */
+        int get(long id) {
+            for (int slot = slot(id); rows[slot] != 0; slot = (slot + 1) & mask) {
+                if (keys[slot] == id) {
+                    return rows[slot] - 1;
+                }
+            }
+            return -1;
+        }
+
+        void put(long id, int row) {
+            if ((count + 1) * 2 > keys.length) {
+                grow();
+            }
+            int slot = slot(id);
+            while (rows[slot] != 0) {
+                if (keys[slot] == id) {
+                    rows[slot] = row + 1;
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = id;
+            rows[slot] = row + 1;
+            count++;
+        }
+
+        /**
+         * Removes the shipment and returns its row index, or -1 if it was not present.
+         */
+        int remove(long id) {
+            for (int slot = slot(id); rows[slot] != 0; slot = (slot + 1) & mask) {
+                if (keys[slot] == id) {
+                    int row = rows[slot] - 1;
+                    closeGap(slot);
+                    count--;
+                    return row;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Shifts later entries of the probe run back into the freed slot, so
+         * lookups never need tombstones.
+         */
+        private void closeGap(int gap) {
+            for (int slot = (gap + 1) & mask; rows[slot] != 0; slot = (slot + 1) & mask) {
+                int home = slot(keys[slot]);
+                if (((slot - home) & mask) >= ((slot - gap) & mask)) {
+                    keys[gap] = keys[slot];
+                    rows[gap] = rows[slot];
+                    gap = slot;
+                }
+            }
+            rows[gap] = 0;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            int[] oldRows = rows;
+            keys = new long[oldKeys.length << 1];
+            rows = new int[oldRows.length << 1];
+            mask = keys.length - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldRows[i] != 0) {
+                    int slot = slot(oldKeys[i]);
+                    while (rows[slot] != 0) {
+                        slot = (slot + 1) & mask;
+                    }
+                    keys[slot] = oldKeys[i];
+                    rows[slot] = oldRows[i];
+                }
+            }
+        }
+
+        private int slot(long id) {
+            long hash = id * 0x9E3779B97F4A7C15L;
+            return (int) (hash ^ (hash >>> 32)) & mask;
+        }
+    }
+
+    /**
+     * Column values of one shipment, captured when it was written.
+     */
+    static final class Row {
+        private final long id;
+        private final ShipmentStatus status;
+        private final long originOfficeId;
+        private final long deliveryOfficeId;
+        private final long priceCents;
+        private final long weightGrams;
+        private final long registeredAt;
+
+        Row(long id, ShipmentStatus status, long originOfficeId, long deliveryOfficeId,
+            long priceCents, long weightGrams, long registeredAt) {
+            this.id = id;
+            this.status = status;
+            this.originOfficeId = originOfficeId;
+            this.deliveryOfficeId = deliveryOfficeId;
+            this.priceCents = priceCents;
+            this.weightGrams = weightGrams;
+            this.registeredAt = registeredAt;
+        }
+    }
+}
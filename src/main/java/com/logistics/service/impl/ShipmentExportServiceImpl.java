@@ -0,0 +1,141 @@
+package com.logistics.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.logistics.dto.shipment.ShipmentResponse;
+import com.logistics.model.enums.ExportFormat;
+import com.logistics.repository.ShipmentRepository;
+import com.logistics.service.ShipmentExportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+/**
+ * Streams shipment reports as NDJSON or CSV.
+ *
+ * The repository streams ShipmentResponse projections, so the persistence
+ * context never holds managed entities and does not need to be cleared
+ * between chunks. The transaction must stay open while the stream is consumed.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ShipmentExportServiceImpl implements ShipmentExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShipmentExportServiceImpl.class);
+
+    static final String CSV_HEADER = "id,status,senderId,senderName,recipientId,recipientName,"
+            + "registeredByName,originOfficeName,deliveryDestination,weight,price,registeredAt,deliveredAt";
+
+    private final ShipmentRepository shipmentRepository;
+    private final ObjectMapper objectMapper;
+
+    public ShipmentExportServiceImpl(ShipmentRepository shipmentRepository, ObjectMapper objectMapper) {
+        this.shipmentRepository = shipmentRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void exportAllShipments(ExportFormat format, OutputStream out) {
+        logger.debug("Exporting all shipments as {}", format);
+
+        try (Stream<ShipmentResponse> rows = shipmentRepository.streamAllResponses()) {
+            write(rows, format, out);
+        }
+    }
+
+    @Override
+    public void exportPendingShipments(ExportFormat format, OutputStream out) {
+        logger.debug("Exporting pending shipments as {}", format);
+
+        try (Stream<ShipmentResponse> rows = shipmentRepository.streamPendingResponses()) {
+            write(rows, format, out);
+        }
+    }
+
+    @Override
+    public void exportShipmentsByCustomerId(Long customerId, ExportFormat format, OutputStream out) {
+        logger.debug("Exporting shipments for customer ID: {} as {}", customerId, format);
+
+        try (Stream<ShipmentResponse> rows = shipmentRepository.streamResponsesByCustomerId(customerId)) {
+            write(rows, format, out);
+        }
+    }
+
+    @Override
+    public void exportShipmentsByEmployeeId(Long employeeId, ExportFormat format, OutputStream out) {
+        logger.debug("Exporting shipments for employee ID: {} as {}", employeeId, format);
+
+        try (Stream<ShipmentResponse> rows = shipmentRepository.streamResponsesByRegisteredById(employeeId)) {
+            write(rows, format, out);
+        }
+    }
+
+    private void write(Stream<ShipmentResponse> rows, ExportFormat format, OutputStream out) {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        try {
+            if (format == ExportFormat.CSV) {
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+            }
+            rows.forEach(row -> writeRow(writer, row, format));
+            writer.flush();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private void writeRow(Writer writer, ShipmentResponse row, ExportFormat format) {
+        try {
+            if (format == ExportFormat.CSV) {
+                writer.write(toCsvLine(row));
+            } else {
+                writer.write(objectMapper.writeValueAsString(row));
+            }
+            writer.write('\n');
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private String toCsvLine(ShipmentResponse row) {
+        return String.join(",",
+                csv(row.getId()),
+                csv(row.getStatus()),
+                csv(row.getSenderId()),
+                csv(row.getSenderName()),
+                csv(row.getRecipientId()),
+                csv(row.getRecipientName()),
+                csv(row.getRegisteredByName()),
+                csv(row.getOriginOfficeName()),
+                csv(row.getDeliveryDestination()),
+                csv(row.getWeight()),
+                csv(row.getPrice()),
+                csv(row.getRegisteredAt()),
+                csv(row.getDeliveredAt()));
+    }
+
+    /**
+     * Formats one CSV field, quoting it when it contains a separator,
+     * a quote or a line break. Null becomes an empty field.
+     */
+    static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0
+                && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
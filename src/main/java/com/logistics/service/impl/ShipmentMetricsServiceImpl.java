@@ -0,0 +1,211 @@
+package com.logistics.service.impl;
+
+import com.logistics.dto.report.DashboardMetricsResponse;
+import com.logistics.model.enums.ShipmentStatus;
+import com.logistics.repository.ShipmentRepository;
+import com.logistics.service.ShipmentMetricsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps per-status shipment counts and the revenue total in LongAdders, so
+ * writers never contend on a lock and the dashboard is a constant-time read.
+ *
+ * Revenue is held in cents to stay in integer arithmetic. A reconcile swaps
+ * in a fresh set of counters built from one grouped query; a delta applied
+ * to the old set during the swap is lost, which the next reconcile repairs.
+ */
+@Service
+public class ShipmentMetricsServiceImpl implements ShipmentMetricsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShipmentMetricsServiceImpl.class);
+
+    private final ShipmentRepository shipmentRepository;
+
+    /**
+     * Runs the load in a read-write transaction of its own, which the replica
+     * routing sends to the primary. A lagging replica would hand back totals
+     * without deltas that were already applied to the counters being replaced.
+     */
+    private final TransactionTemplate primaryReads;
+
+    private final AtomicReference<Counters> counters = new AtomicReference<>();
+
+    public ShipmentMetricsServiceImpl(ShipmentRepository shipmentRepository,
+                                      PlatformTransactionManager transactionManager) {
+        this.shipmentRepository = shipmentRepository;
+        this.primaryReads = new TransactionTemplate(transactionManager);
+        this.primaryReads.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public void recordRegistered(long count, BigDecimal revenue) {
+        long cents = toCents(revenue);
+        afterCommit(current -> {
+            current.count(ShipmentStatus.REGISTERED).add(count);
+            current.revenueCents.add(cents);
+        });
+    }
+
+    @Override
+    public void recordTransition(ShipmentStatus from, ShipmentStatus to, long count) {
+        if (from == to || count == 0) {
+            return;
+        }
+        afterCommit(current -> {
+            current.count(from).add(-count);
+            current.count(to).add(count);
+        });
+    }
+
+    @Override
+    public void recordPriceChange(BigDecimal delta) {
+        long cents = toCents(delta);
+        if (cents == 0) {
+            return;
+        }
+        afterCommit(current -> current.revenueCents.add(cents));
+    }
+
+    @Override
+    public void recordDeleted(ShipmentStatus status, BigDecimal price) {
+        long cents = toCents(price);
+        afterCommit(current -> {
+            current.count(status).decrement();
+            current.revenueCents.add(-cents);
+        });
+    }
+
+    @Override
+    public void reconcileAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            reconcile();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                reconcile();
+            }
+        });
+    }
+
+    /**
+     * Seeds the counters at startup and re-reads them periodically, picking up
+     * changes made by other instances or directly in the database.
+     */
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${metrics.reconcile-interval-ms:60000}",
+            initialDelayString = "${metrics.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        counters.set(load());
+        logger.debug("Shipment counters reconciled with the database");
+    }
+
+    @Override
+    public DashboardMetricsResponse getDashboardMetrics() {
+        Counters current = currentCounters();
+
+        long registered = current.count(ShipmentStatus.REGISTERED).sum();
+        long inTransit = current.count(ShipmentStatus.IN_TRANSIT).sum();
+        long delivered = current.count(ShipmentStatus.DELIVERED).sum();
+        long cancelled = current.count(ShipmentStatus.CANCELLED).sum();
+
+        return new DashboardMetricsResponse(registered + inTransit + delivered + cancelled,
+                registered + inTransit, delivered, BigDecimal.valueOf(current.revenueCents.sum(), 2));
+    }
+
+    /**
+     * Returns the live counters, loading them if no reconcile has run yet.
+     */
+    private Counters currentCounters() {
+        Counters current = counters.get();
+        if (current != null) {
+            return current;
+        }
+        Counters loaded = load();
+        return counters.compareAndSet(null, loaded) ? loaded : counters.get();
+    }
+
+    private Counters load() {
+        Counters loaded = new Counters();
+        List<Object[]> rows = primaryReads.execute(status -> shipmentRepository.countAndSumPriceByStatus());
+        for (Object[] row : rows) {
+            loaded.count((ShipmentStatus) row[0]).add((Long) row[1]);
+            loaded.revenueCents.add(toCents((BigDecimal) row[2]));
+        }
+        return loaded;
+    }
+
+    /**
+     * Applies a delta once the current transaction commits, or right away
+     * when there is no transaction. Nothing happens before the first load;
+     * the load itself will include the change.
+     */
+    private void afterCommit(CounterUpdate update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(update);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(update);
+            }
+        });
+    }
+
+    private void apply(CounterUpdate update) {
+        Counters current = counters.get();
+        if (current != null) {
+            update.applyTo(current);
+        }
+    }
+
+    private static long toCents(BigDecimal amount) {
+        if (amount == null) {
+            return 0;
+        }
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    @FunctionalInterface
+    private interface CounterUpdate {
+        void applyTo(Counters counters);
+    }
+
+    /**
+     * One set of accumulators: a count per status and the revenue of all shipments.
+     */
+    private static final class Counters {
+
+        private final LongAdder[] countsByStatus = new LongAdder[ShipmentStatus.values().length];
+        private final LongAdder revenueCents = new LongAdder();
+
+        private Counters() {
+            for (int i = 0; i < countsByStatus.length; i++) {
+                countsByStatus[i] = new LongAdder();
+            }
+        }
+
+        private LongAdder count(ShipmentStatus status) {
+            return countsByStatus[status.ordinal()];
+        }
+    }
+}
@@ -1,5 +1,9 @@
 package com.logistics.service.impl;
 
+import com.logistics.dto.shipment.ShipmentBatchItemResult;
+import com.logistics.dto.shipment.ShipmentBatchResponse;
+import com.logistics.dto.shipment.ShipmentBulkStatusResponse;
+import com.logistics.dto.shipment.ShipmentPageResponse;
 import com.logistics.dto.shipment.ShipmentRequest;
 import com.logistics.dto.shipment.ShipmentResponse;
 import com.logistics.dto.shipment.ShipmentStatusUpdateRequest;
@@ -14,17 +18,33 @@ import com.logistics.repository.CustomerRepository;
 import com.logistics.repository.EmployeeRepository;
 import com.logistics.repository.OfficeRepository;
 import com.logistics.repository.ShipmentRepository;
+import com.logistics.service.DeliveryLatencyService;
 import com.logistics.service.PricingService;
+import com.logistics.service.RevenueRollupService;
+import com.logistics.service.ShipmentAnalyticsService;
+import com.logistics.service.ShipmentMetricsService;
 import com.logistics.service.ShipmentService;
 import com.logistics.util.EntityMapper;
+import com.logistics.util.ShipmentCursor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -39,86 +59,183 @@ public class ShipmentServiceImpl implements ShipmentService {
 
     private static final Logger logger = LoggerFactory.getLogger(ShipmentServiceImpl.class);
 
+    /**
+     * Upper bound for keyset page size so one request can't pull the whole table.
+     */
+    private static final int MAX_PAGE_SIZE = 500;
+
+    /**
+     * Upper bound for batch registration so one transaction stays reasonably short.
+     */
+    private static final int MAX_BATCH_SIZE = 1000;
+
     private final ShipmentRepository shipmentRepository;
     private final CustomerRepository customerRepository;
     private final EmployeeRepository employeeRepository;
     private final OfficeRepository officeRepository;
     private final PricingService pricingService;
+    private final RevenueRollupService revenueRollupService;
+    private final ShipmentMetricsService shipmentMetricsService;
+    private final CustomerMetricsCache customerMetricsCache;
+    private final ShipmentAnalyticsService shipmentAnalyticsService;
+    private final DeliveryLatencyService deliveryLatencyService;
 
     public ShipmentServiceImpl(ShipmentRepository shipmentRepository,
                                CustomerRepository customerRepository,
                                EmployeeRepository employeeRepository,
                                OfficeRepository officeRepository,
-                               PricingService pricingService) {
+                               PricingService pricingService,
+                               RevenueRollupService revenueRollupService,
+                               ShipmentMetricsService shipmentMetricsService,
+                               CustomerMetricsCache customerMetricsCache,
+                               ShipmentAnalyticsService shipmentAnalyticsService,
+                               DeliveryLatencyService deliveryLatencyService) {
         this.shipmentRepository = shipmentRepository;
         this.customerRepository = customerRepository;
         this.employeeRepository = employeeRepository;
         this.officeRepository = officeRepository;
         this.pricingService = pricingService;
+        this.revenueRollupService = revenueRollupService;
+        this.shipmentMetricsService = shipmentMetricsService;
+        this.customerMetricsCache = customerMetricsCache;
+        this.shipmentAnalyticsService = shipmentAnalyticsService;
+        this.deliveryLatencyService = deliveryLatencyService;
     }
 
     @Override
     public ShipmentResponse registerShipment(ShipmentRequest request, String employeeUsername) {
         logger.info("Registering shipment by employee: {}", employeeUsername);
 
-        validateDeliveryDestination(request);
-        validateWeight(request.getWeight());
+        validateShipmentRequest(request);
 
         Employee employee = employeeRepository.findByUsername(employeeUsername)
                 .orElseThrow(() -> new ResourceNotFoundException("Employee", "username", employeeUsername));
 
-        Customer sender = customerRepository.findById(request.getSenderId())
-                .orElseThrow(() -> new ResourceNotFoundException("Customer (sender)", "id", request.getSenderId()));
-
-        Customer recipient = customerRepository.findById(request.getRecipientId())
-                .orElseThrow(() -> new ResourceNotFoundException("Customer (recipient)", "id", request.getRecipientId()));
-
-        Shipment shipment = new Shipment();
-        shipment.setSender(sender);
-        shipment.setRecipient(recipient);
-        shipment.setRegisteredBy(employee);
-        shipment.setWeight(request.getWeight());
-        shipment.setStatus(ShipmentStatus.REGISTERED);
-
-        if (request.getOriginOfficeId() != null) {
-            Office originOffice = officeRepository.findById(request.getOriginOfficeId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Office (origin)", "id", request.getOriginOfficeId()));
-            shipment.setOriginOffice(originOffice);
-        } else if (employee.getOffice() != null) {
-            shipment.setOriginOffice(employee.getOffice());
-        }
-
-        boolean isOfficeDelivery = false;
+        // Assembled like a batch item, from single-row lookups
+        Map<Long, Customer> customers = new HashMap<>();
+        putIfFound(customers, request.getSenderId(), customerRepository::findById);
+        putIfFound(customers, request.getRecipientId(), customerRepository::findById);
+        Map<Long, Office> offices = new HashMap<>();
+        putIfFound(offices, request.getOriginOfficeId(), officeRepository::findById);
         if (request.isOfficeDelivery()) {
-            Office deliveryOffice = officeRepository.findById(request.getDeliveryOfficeId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Office", "id", request.getDeliveryOfficeId()));
-            shipment.setDeliveryOffice(deliveryOffice);
-            isOfficeDelivery = true;
-        } else {
-            shipment.setDeliveryAddress(request.getDeliveryAddress());
+            putIfFound(offices, request.getDeliveryOfficeId(), officeRepository::findById);
         }
 
-        BigDecimal price = pricingService.calculatePrice(request.getWeight(), isOfficeDelivery);
+        Shipment shipment = buildShipment(request, employee, customers, offices);
+        boolean isOfficeDelivery = shipment.isOfficeDelivery();
+
+        BigDecimal price = pricingService.calculatePrice(request.getWeight(), isOfficeDelivery,
+                officeIdOf(shipment.getOriginOffice()), officeIdOf(shipment.getDeliveryOffice()));
         shipment.setPrice(price);
 
         logger.debug("Calculated price: {} for weight: {}, isOfficeDelivery: {}",
                 price, request.getWeight(), isOfficeDelivery);
 
         Shipment savedShipment = shipmentRepository.save(shipment);
+        shipmentMetricsService.recordRegistered(1, price);
+        shipmentAnalyticsService.recordSaved(List.of(savedShipment));
+        evictCustomerMetrics(savedShipment);
         logger.info("Shipment registered with ID: {}, price: {}", savedShipment.getId(), price);
 
         return EntityMapper.toShipmentResponse(savedShipment);
     }
 
+    @Override
+    public ShipmentBatchResponse registerShipments(List<ShipmentRequest> requests, String employeeUsername) {
+        if (requests == null || requests.isEmpty()) {
+            throw new InvalidDataException("shipments", "At least one shipment is required");
+        }
+        if (requests.size() > MAX_BATCH_SIZE) {
+            throw new InvalidDataException("shipments", "A batch cannot contain more than " + MAX_BATCH_SIZE + " shipments");
+        }
+
+        logger.info("Registering batch of {} shipments by employee: {}", requests.size(), employeeUsername);
+
+        Employee employee = employeeRepository.findByUsername(employeeUsername)
+                .orElseThrow(() -> new ResourceNotFoundException("Employee", "username", employeeUsername));
+
+        // Resolve every referenced customer and office up front with one IN query each
+        Set<Long> customerIds = new HashSet<>();
+        Set<Long> officeIds = new HashSet<>();
+        for (ShipmentRequest request : requests) {
+            if (request == null) {
+                continue;
+            }
+            addIfPresent(customerIds, request.getSenderId());
+            addIfPresent(customerIds, request.getRecipientId());
+            addIfPresent(officeIds, request.getOriginOfficeId());
+            addIfPresent(officeIds, request.getDeliveryOfficeId());
+        }
+        Map<Long, Customer> customers = customerIds.isEmpty() ? Map.of()
+                : customerRepository.findByIdIn(customerIds).stream()
+                        .collect(Collectors.toMap(Customer::getId, Function.identity()));
+        Map<Long, Office> offices = officeIds.isEmpty() ? Map.of()
+                : officeRepository.findAllById(officeIds).stream()
+                        .collect(Collectors.toMap(Office::getId, Function.identity()));
+
+        ShipmentBatchItemResult[] results = new ShipmentBatchItemResult[requests.size()];
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        List<Shipment> accepted = new ArrayList<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            try {
+                validateShipmentRequest(requests.get(i));
+                accepted.add(buildShipment(requests.get(i), employee, customers, offices));
+                acceptedIndexes.add(i);
+            } catch (InvalidDataException | ResourceNotFoundException ex) {
+                results[i] = new ShipmentBatchItemResult(i, false, null, ex.getMessage());
+            }
+        }
+
+        if (!accepted.isEmpty()) {
+            List<BigDecimal> weights = new ArrayList<>(accepted.size());
+            List<Boolean> officeDeliveries = new ArrayList<>(accepted.size());
+            List<Long> originOfficeIds = new ArrayList<>(accepted.size());
+            List<Long> deliveryOfficeIds = new ArrayList<>(accepted.size());
+            for (Shipment shipment : accepted) {
+                weights.add(shipment.getWeight());
+                officeDeliveries.add(shipment.isOfficeDelivery());
+                originOfficeIds.add(officeIdOf(shipment.getOriginOffice()));
+                deliveryOfficeIds.add(officeIdOf(shipment.getDeliveryOffice()));
+            }
+            List<BigDecimal> prices = pricingService.calculatePrices(
+                    weights, officeDeliveries, originOfficeIds, deliveryOfficeIds);
+            BigDecimal batchRevenue = BigDecimal.ZERO;
+            for (int i = 0; i < accepted.size(); i++) {
+                accepted.get(i).setPrice(prices.get(i));
+                batchRevenue = batchRevenue.add(prices.get(i));
+            }
+
+            // Ids come from the pooled generator, so the INSERTs are flushed as JDBC batches
+            List<Shipment> saved = shipmentRepository.saveAll(accepted);
+            for (int i = 0; i < saved.size(); i++) {
+                int index = acceptedIndexes.get(i);
+                results[index] = new ShipmentBatchItemResult(
+                        index, true, EntityMapper.toShipmentResponse(saved.get(i)), null);
+            }
+            shipmentMetricsService.recordRegistered(saved.size(), batchRevenue);
+            shipmentAnalyticsService.recordSaved(saved);
+            Set<Long> touchedCustomers = new HashSet<>();
+            for (Shipment shipment : saved) {
+                touchedCustomers.add(shipment.getSender().getId());
+                touchedCustomers.add(shipment.getRecipient().getId());
+            }
+            customerMetricsCache.evictAfterCommit(touchedCustomers);
+        }
+
+        int rejected = requests.size() - accepted.size();
+        logger.info("Batch registration finished: {} registered, {} rejected", accepted.size(), rejected);
+
+        return new ShipmentBatchResponse(accepted.size(), rejected, Arrays.asList(results));
+    }
+
     @Override
     @Transactional(readOnly = true)
     public ShipmentResponse getShipmentById(Long id) {
         logger.debug("Fetching shipment with ID: {}", id);
 
-        Shipment shipment = shipmentRepository.findById(id)
+        return shipmentRepository.findResponseById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Shipment", "id", id));
-
-        return EntityMapper.toShipmentResponse(shipment);
     }
 
     @Override
@@ -126,9 +243,7 @@ public class ShipmentServiceImpl implements ShipmentService {
     public List<ShipmentResponse> getAllShipments() {
         logger.debug("Fetching all shipments");
 
-        return shipmentRepository.findAll().stream()
-                .map(EntityMapper::toShipmentResponse)
-                .collect(Collectors.toList());
+        return shipmentRepository.findAllResponses();
     }
 
     @Override
@@ -140,30 +255,153 @@ public class ShipmentServiceImpl implements ShipmentService {
             throw new ResourceNotFoundException("Customer", "id", customerId);
         }
 
-        return shipmentRepository.findBySenderIdOrRecipientId(customerId, customerId).stream()
-                .map(EntityMapper::toShipmentResponse)
-                .collect(Collectors.toList());
+        return shipmentRepository.findResponsesByCustomerId(customerId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ShipmentPageResponse getShipmentsPage(String cursor, int limit) {
+        logger.debug("Fetching shipments page, limit: {}", limit);
+
+        validatePageLimit(limit);
+        PageRequest pageRequest = PageRequest.ofSize(limit + 1);
+
+        List<ShipmentResponse> shipments;
+        if (cursor == null || cursor.isBlank()) {
+            shipments = shipmentRepository.findFirstPage(pageRequest);
+        } else {
+            ShipmentCursor position = ShipmentCursor.decode(cursor);
+            shipments = shipmentRepository.findPageAfter(position.getRegisteredAt(), position.getId(), pageRequest);
+        }
+
+        return toPage(shipments, limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ShipmentPageResponse getShipmentsPageByCustomerId(Long customerId, String cursor, int limit) {
+        logger.debug("Fetching shipments page for customer ID: {}, limit: {}", customerId, limit);
+
+        validatePageLimit(limit);
+
+        if (!customerRepository.existsById(customerId)) {
+            throw new ResourceNotFoundException("Customer", "id", customerId);
+        }
+
+        PageRequest pageRequest = PageRequest.ofSize(limit + 1);
+
+        List<ShipmentResponse> shipments;
+        if (cursor == null || cursor.isBlank()) {
+            shipments = shipmentRepository.findFirstPageByCustomerId(customerId, pageRequest);
+        } else {
+            ShipmentCursor position = ShipmentCursor.decode(cursor);
+            shipments = shipmentRepository.findPageByCustomerIdAfter(
+                    customerId, position.getRegisteredAt(), position.getId(), pageRequest);
+        }
+
+        return toPage(shipments, limit);
     }
 
     @Override
     public ShipmentResponse updateShipmentStatus(Long id, ShipmentStatusUpdateRequest request) {
         logger.info("Updating status of shipment ID: {} to: {}", id, request.getStatus());
 
-        Shipment shipment = shipmentRepository.findById(id)
+        // Locked, so that of two concurrent deliveries only the first sees a
+        // shipment that is not yet DELIVERED
+        Shipment shipment = shipmentRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Shipment", "id", id));
 
-        validateStatusTransition(shipment.getStatus(), request.getStatus());
+        ShipmentStatus previousStatus = shipment.getStatus();
+        validateStatusTransition(previousStatus, request.getStatus());
         shipment.setStatus(request.getStatus());
 
-        if (ShipmentStatus.DELIVERED.equals(request.getStatus())) {
+        // DELIVERED -> DELIVERED is allowed but must not count the delivery again
+        if (ShipmentStatus.DELIVERED.equals(request.getStatus()) && previousStatus != ShipmentStatus.DELIVERED) {
             shipment.setDeliveredAt(LocalDateTime.now());
+            revenueRollupService.recordDelivery(shipment);
+            deliveryLatencyService.recordDelivery(shipment);
             logger.info("Shipment {} marked as DELIVERED at {}", id, shipment.getDeliveredAt());
         }
 
         Shipment updatedShipment = shipmentRepository.save(shipment);
+        shipmentMetricsService.recordTransition(previousStatus, request.getStatus(), 1);
+        shipmentAnalyticsService.recordSaved(List.of(updatedShipment));
+        evictCustomerMetrics(updatedShipment);
         return EntityMapper.toShipmentResponse(updatedShipment);
     }
 
+    @Override
+    public ShipmentBulkStatusResponse updateShipmentStatuses(List<Long> ids, ShipmentStatus status) {
+        if (status == null) {
+            throw new InvalidDataException("status", "Status is required");
+        }
+        if (ids == null || ids.isEmpty()) {
+            throw new InvalidDataException("ids", "At least one shipment ID is required");
+        }
+        Set<Long> uniqueIds = new LinkedHashSet<>(ids);
+        uniqueIds.remove(null);
+        if (uniqueIds.size() > MAX_BATCH_SIZE) {
+            throw new InvalidDataException("ids", "Cannot update more than " + MAX_BATCH_SIZE + " shipments at once");
+        }
+
+        logger.info("Bulk updating status of {} shipments to: {}", uniqueIds.size(), status);
+
+        Set<ShipmentStatus> sourceStatuses = sourceStatusesFor(status);
+        LocalDateTime now = LocalDateTime.now();
+        int updated;
+        if (sourceStatuses.isEmpty()) {
+            updated = 0;
+        } else if (status == ShipmentStatus.DELIVERED) {
+            updated = deliverLocked(shipmentRepository.lockIdsInStatuses(uniqueIds, sourceStatuses), now);
+        } else {
+            updated = shipmentRepository.updateStatusByIds(uniqueIds, status, sourceStatuses, now);
+        }
+        recordBulkTransition(sourceStatuses, status, updated);
+        if (updated > 0) {
+            shipmentAnalyticsService.recordStatusChange(uniqueIds, sourceStatuses, status);
+            customerMetricsCache.evictAfterCommit(shipmentRepository.findCustomerIdsByIds(uniqueIds));
+        }
+
+        // Anything not in the target status now was in a state the transition is illegal from
+        List<Long> rejectedIds = shipmentRepository.findIdsNotInStatus(uniqueIds, status);
+        List<Long> notFoundIds = new ArrayList<>(uniqueIds);
+        notFoundIds.removeAll(shipmentRepository.findExistingIds(uniqueIds));
+
+        logger.info("Bulk status update to {}: {} updated, {} rejected, {} not found",
+                status, updated, rejectedIds.size(), notFoundIds.size());
+
+        return new ShipmentBulkStatusResponse(status, updated, rejectedIds, notFoundIds);
+    }
+
+    @Override
+    public ShipmentBulkStatusResponse updateShipmentStatuses(ShipmentStatus currentStatus, Long originOfficeId,
+                                                             ShipmentStatus status) {
+        if (status == null || currentStatus == null) {
+            throw new InvalidDataException("status", "Current and new status are required");
+        }
+        validateStatusTransition(currentStatus, status);
+
+        logger.info("Bulk updating status from {} to {} (origin office: {})", currentStatus, status, originOfficeId);
+
+        if (currentStatus == status) {
+            return new ShipmentBulkStatusResponse(status, 0, new ArrayList<>(), new ArrayList<>());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        int updated = status == ShipmentStatus.DELIVERED
+                ? deliverLocked(shipmentRepository.lockIdsByFilter(currentStatus, originOfficeId), now)
+                : shipmentRepository.updateStatusByFilter(currentStatus, originOfficeId, status, now);
+        shipmentMetricsService.recordTransition(currentStatus, status, updated);
+        if (updated > 0) {
+            shipmentAnalyticsService.recordStatusChange(currentStatus, originOfficeId, status);
+            customerMetricsCache.evictAllAfterCommit();
+        }
+
+        logger.info("Bulk status update from {} to {}: {} updated", currentStatus, status, updated);
+
+        return new ShipmentBulkStatusResponse(status, updated, new ArrayList<>(), new ArrayList<>());
+    }
+
     @Override
     public ShipmentResponse updateShipment(Long id, ShipmentRequest request, String employeeUsername) {
         logger.info("Updating shipment ID: {}", id);
@@ -178,6 +416,9 @@ public class ShipmentServiceImpl implements ShipmentService {
         validateDeliveryDestination(request);
         validateWeight(request.getWeight());
 
+        // The previous sender and recipient lose this shipment from their metrics
+        evictCustomerMetrics(shipment);
+
         if (!shipment.getSender().getId().equals(request.getSenderId())) {
             Customer sender = customerRepository.findById(request.getSenderId())
                     .orElseThrow(() -> new ResourceNotFoundException("Customer (sender)", "id", request.getSenderId()));
@@ -202,11 +443,18 @@ public class ShipmentServiceImpl implements ShipmentService {
             shipment.setDeliveryOffice(null);
         }
 
+        BigDecimal oldPrice = shipment.getPrice();
         shipment.setWeight(request.getWeight());
-        BigDecimal newPrice = pricingService.calculatePrice(request.getWeight(), isOfficeDelivery);
+        BigDecimal newPrice = pricingService.calculatePrice(request.getWeight(), isOfficeDelivery,
+                officeIdOf(shipment.getOriginOffice()), officeIdOf(shipment.getDeliveryOffice()));
         shipment.setPrice(newPrice);
 
         Shipment updatedShipment = shipmentRepository.save(shipment);
+        if (oldPrice != null) {
+            shipmentMetricsService.recordPriceChange(newPrice.subtract(oldPrice));
+        }
+        shipmentAnalyticsService.recordSaved(List.of(updatedShipment));
+        evictCustomerMetrics(updatedShipment);
         logger.info("Shipment updated with ID: {}", updatedShipment.getId());
 
         return EntityMapper.toShipmentResponse(updatedShipment);
@@ -216,11 +464,15 @@ public class ShipmentServiceImpl implements ShipmentService {
     public void deleteShipment(Long id) {
         logger.info("Deleting shipment with ID: {}", id);
 
-        if (!shipmentRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Shipment", "id", id);
-        }
+        Shipment shipment = shipmentRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Shipment", "id", id));
 
-        shipmentRepository.deleteById(id);
+        revenueRollupService.recordRemoval(shipment);
+        deliveryLatencyService.recordRemoval(shipment);
+        shipmentRepository.delete(shipment);
+        shipmentMetricsService.recordDeleted(shipment.getStatus(), shipment.getPrice());
+        shipmentAnalyticsService.recordDeleted(id);
+        evictCustomerMetrics(shipment);
         logger.info("Shipment deleted with ID: {}", id);
     }
 
@@ -229,9 +481,119 @@ public class ShipmentServiceImpl implements ShipmentService {
     public List<ShipmentResponse> getShipmentsByStatus(ShipmentStatus status) {
         logger.debug("Fetching shipments with status: {}", status);
 
-        return shipmentRepository.findByStatus(status).stream()
-                .map(EntityMapper::toShipmentResponse)
-                .collect(Collectors.toList());
+        return shipmentRepository.findResponsesByStatus(status);
+    }
+
+    /**
+     * Checks the fields of a shipment request that need no lookups.
+     */
+    private void validateShipmentRequest(ShipmentRequest request) {
+        if (request == null) {
+            throw new InvalidDataException("Shipment data is required");
+        }
+        if (request.getSenderId() == null || request.getRecipientId() == null) {
+            throw new InvalidDataException("Sender ID and recipient ID are required");
+        }
+        if (request.getDeliveryAddress() != null && request.getDeliveryAddress().length() > 255) {
+            throw new InvalidDataException("Delivery address must not exceed 255 characters");
+        }
+
+        validateDeliveryDestination(request);
+        validateWeight(request.getWeight());
+    }
+
+    /**
+     * Builds the unsaved shipment of a validated request from the already loaded
+     * customers and offices; a referenced id missing from the maps does not exist.
+     * The caller fills in the price.
+     */
+    private Shipment buildShipment(ShipmentRequest request, Employee employee,
+                                   Map<Long, Customer> customers, Map<Long, Office> offices) {
+        Customer sender = customers.get(request.getSenderId());
+        if (sender == null) {
+            throw new ResourceNotFoundException("Customer (sender)", "id", request.getSenderId());
+        }
+        Customer recipient = customers.get(request.getRecipientId());
+        if (recipient == null) {
+            throw new ResourceNotFoundException("Customer (recipient)", "id", request.getRecipientId());
+        }
+
+        Shipment shipment = new Shipment();
+        shipment.setSender(sender);
+        shipment.setRecipient(recipient);
+        shipment.setRegisteredBy(employee);
+        shipment.setWeight(request.getWeight());
+        shipment.setStatus(ShipmentStatus.REGISTERED);
+
+        if (request.getOriginOfficeId() != null) {
+            Office originOffice = offices.get(request.getOriginOfficeId());
+            if (originOffice == null) {
+                throw new ResourceNotFoundException("Office (origin)", "id", request.getOriginOfficeId());
+            }
+            shipment.setOriginOffice(originOffice);
+        } else if (employee.getOffice() != null) {
+            shipment.setOriginOffice(employee.getOffice());
+        }
+
+        if (request.isOfficeDelivery()) {
+            Office deliveryOffice = offices.get(request.getDeliveryOfficeId());
+            if (deliveryOffice == null) {
+                throw new ResourceNotFoundException("Office", "id", request.getDeliveryOfficeId());
+            }
+            shipment.setDeliveryOffice(deliveryOffice);
+        } else {
+            shipment.setDeliveryAddress(request.getDeliveryAddress());
+        }
+
+        return shipment;
+    }
+
+    /**
+     * Drops the cached portal metrics of the shipment's sender and recipient after commit.
+     */
+    private void evictCustomerMetrics(Shipment shipment) {
+        customerMetricsCache.evictAfterCommit(Arrays.asList(
+                shipment.getSender() != null ? shipment.getSender().getId() : null,
+                shipment.getRecipient() != null ? shipment.getRecipient().getId() : null));
+    }
+
+    private static <T> void putIfFound(Map<Long, T> loaded, Long id, Function<Long, Optional<T>> finder) {
+        if (id != null) {
+            finder.apply(id).ifPresent(entity -> loaded.put(id, entity));
+        }
+    }
+
+    private static void addIfPresent(Set<Long> ids, Long id) {
+        if (id != null) {
+            ids.add(id);
+        }
+    }
+
+    private static Long officeIdOf(Office office) {
+        return office != null ? office.getId() : null;
+    }
+
+    private void validatePageLimit(int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new InvalidDataException("limit", "Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
+    /**
+     * Builds a page from a query that fetched one row more than the limit.
+     * The extra row only signals that another page exists and is not returned.
+     */
+    private ShipmentPageResponse toPage(List<ShipmentResponse> shipments, int limit) {
+        boolean hasMore = shipments.size() > limit;
+        List<ShipmentResponse> items = hasMore ? shipments.subList(0, limit) : shipments;
+
+        String nextCursor = null;
+        if (hasMore) {
+            ShipmentResponse last = items.get(items.size() - 1);
+            nextCursor = new ShipmentCursor(last.getRegisteredAt(), last.getId()).encode();
+        }
+
+        return new ShipmentPageResponse(items, nextCursor, hasMore);
     }
 
     private void validateDeliveryDestination(ShipmentRequest request) {
@@ -269,7 +631,7 @@ public class ShipmentServiceImpl implements ShipmentService {
      * DELIVERED and CANCELLED are terminal states
      */
     private void validateStatusTransition(ShipmentStatus currentStatus, ShipmentStatus newStatus) {
-        if (currentStatus == newStatus) {
+        if (isTransitionAllowed(currentStatus, newStatus)) {
             return;
         }
 
@@ -278,22 +640,73 @@ public class ShipmentServiceImpl implements ShipmentService {
                     String.format("Cannot change status from %s to %s", currentStatus, newStatus));
         }
 
-        if (currentStatus == ShipmentStatus.REGISTERED) {
-            if (newStatus != ShipmentStatus.IN_TRANSIT && newStatus != ShipmentStatus.CANCELLED) {
-                throw new InvalidDataException(
-                        String.format("Invalid status transition from %s to %s. " +
-                                "From REGISTERED, can only transition to IN_TRANSIT or CANCELLED",
-                                currentStatus, newStatus));
-            }
+        String allowed = currentStatus == ShipmentStatus.REGISTERED
+                ? "IN_TRANSIT or CANCELLED"
+                : "DELIVERED or CANCELLED";
+        throw new InvalidDataException(
+                String.format("Invalid status transition from %s to %s. " +
+                        "From %s, can only transition to %s",
+                        currentStatus, newStatus, currentStatus, allowed));
+    }
+
+    private static boolean isTransitionAllowed(ShipmentStatus currentStatus, ShipmentStatus newStatus) {
+        if (currentStatus == newStatus) {
+            return true;
         }
+        switch (currentStatus) {
+            case REGISTERED:
+                return newStatus == ShipmentStatus.IN_TRANSIT || newStatus == ShipmentStatus.CANCELLED;
+            case IN_TRANSIT:
+                return newStatus == ShipmentStatus.DELIVERED || newStatus == ShipmentStatus.CANCELLED;
+            default:
+                return false;
+        }
+    }
 
-        if (currentStatus == ShipmentStatus.IN_TRANSIT) {
-            if (newStatus != ShipmentStatus.DELIVERED && newStatus != ShipmentStatus.CANCELLED) {
-                throw new InvalidDataException(
-                        String.format("Invalid status transition from %s to %s. " +
-                                "From IN_TRANSIT, can only transition to DELIVERED or CANCELLED",
-                                currentStatus, newStatus));
+    /**
+     * Statuses a shipment can legally move to newStatus from, for the bulk UPDATE's
+     * WHERE clause. Shipments already in newStatus are left out so they are not
+     * touched (and, for DELIVERED, keep their original deliveredAt).
+     */
+    private static Set<ShipmentStatus> sourceStatusesFor(ShipmentStatus newStatus) {
+        Set<ShipmentStatus> sources = EnumSet.noneOf(ShipmentStatus.class);
+        for (ShipmentStatus candidate : ShipmentStatus.values()) {
+            if (candidate != newStatus && isTransitionAllowed(candidate, newStatus)) {
+                sources.add(candidate);
             }
         }
+        return sources;
+    }
+
+    /**
+     * Updates the dashboard counters after a bulk update by IDs. With a single
+     * source status the move is exact; otherwise (CANCELLED can come from
+     * REGISTERED or IN_TRANSIT) the counters are re-read after commit.
+     */
+    private void recordBulkTransition(Set<ShipmentStatus> sourceStatuses, ShipmentStatus status, int updated) {
+        if (updated == 0) {
+            return;
+        }
+        if (sourceStatuses.size() == 1) {
+            shipmentMetricsService.recordTransition(sourceStatuses.iterator().next(), status, updated);
+        } else {
+            shipmentMetricsService.reconcileAfterCommit();
+        }
+    }
+
+    /**
+     * Marks already-locked shipments DELIVERED and adds them to the revenue rollup.
+     * The row locks guarantee the rollup sees exactly the rows this call delivered.
+     */
+    private int deliverLocked(List<Long> lockedIds, LocalDateTime now) {
+        Set<ShipmentStatus> sourceStatuses = sourceStatusesFor(ShipmentStatus.DELIVERED);
+        int updated = 0;
+        for (int from = 0; from < lockedIds.size(); from += MAX_BATCH_SIZE) {
+            List<Long> chunk = lockedIds.subList(from, Math.min(from + MAX_BATCH_SIZE, lockedIds.size()));
+            updated += shipmentRepository.updateStatusByIds(chunk, ShipmentStatus.DELIVERED, sourceStatuses, now);
+            revenueRollupService.recordDeliveries(chunk);
+            deliveryLatencyService.recordDeliveries(chunk);
+        }
+        return updated;
     }
 }
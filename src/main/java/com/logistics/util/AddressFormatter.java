@@ -0,0 +1,38 @@
+package com.logistics.util;
+
+/**
+ * Formats office addresses and delivery destinations from plain column
+ * values, so entities and the projections that skip them print the same text.
+ */
+public final class AddressFormatter {
+
+    private AddressFormatter() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * @param address street address
+     * @param city    city
+     * @param country country
+     * @return the office's full address
+     */
+    public static String formatFullAddress(String address, String city, String country) {
+        return String.format("%s, %s, %s", address, city, country);
+    }
+
+    /**
+     * @param deliveryAddress       the delivery address, if address delivery
+     * @param deliveryOfficeName    the delivery office name, or null for address delivery
+     * @param deliveryOfficeAddress the delivery office full address, or null
+     * @return the delivery destination description
+     */
+    public static String describeDestination(String deliveryAddress, String deliveryOfficeName,
+                                             String deliveryOfficeAddress) {
+        if (deliveryOfficeName != null) {
+            return "Office: " + deliveryOfficeName + " - " + deliveryOfficeAddress;
+        } else if (deliveryAddress != null && !deliveryAddress.isBlank()) {
+            return "Address: " + deliveryAddress;
+        }
+        return "Unknown";
+    }
+}
@@ -4,8 +4,16 @@ import com.logistics.dto.company.CompanyResponse;
 import com.logistics.dto.customer.CustomerResponse;
 import com.logistics.dto.employee.EmployeeResponse;
 import com.logistics.dto.office.OfficeResponse;
+import com.logistics.dto.pricing.PricingRulesResponse;
+import com.logistics.dto.pricing.PricingZoneEntry;
+import com.logistics.dto.pricing.WeightBracketEntry;
+import com.logistics.dto.pricing.ZoneSurchargeEntry;
+import com.logistics.dto.report.ReportJobResponse;
 import com.logistics.dto.shipment.ShipmentResponse;
 import com.logistics.model.entity.*;
+import com.logistics.model.enums.ReportJobStatus;
+
+import java.util.List;
 
 /**
  * Converts entities to DTOs. Keeps entity internals separate from API responses.
@@ -125,4 +133,50 @@ public final class EntityMapper {
 
         return response;
     }
+
+    public static ReportJobResponse toReportJobResponse(ReportJob job) {
+        ReportJobResponse response = new ReportJobResponse();
+        response.setId(job.getId());
+        response.setReportType(job.getReportType());
+        response.setFormat(job.getFormat());
+        response.setEmployeeId(job.getEmployeeId());
+        response.setStartDate(job.getStartDate());
+        response.setEndDate(job.getEndDate());
+        response.setStatus(job.getStatus());
+        response.setFileSize(job.getFileSize());
+        response.setErrorMessage(job.getErrorMessage());
+        response.setCreatedAt(job.getCreatedAt());
+        response.setStartedAt(job.getStartedAt());
+        response.setCompletedAt(job.getCompletedAt());
+        if (job.getStatus() == ReportJobStatus.COMPLETED) {
+            response.setDownloadUrl("/api/reports/jobs/" + job.getId() + "/download");
+        }
+        return response;
+    }
+
+    /**
+     * The rules are passed in separately, as loaded by PricingRuleSetRepository,
+     * so the rule set's lazy lists are never touched.
+     */
+    public static PricingRulesResponse toPricingRulesResponse(PricingRuleSet ruleSet,
+                                                              List<PricingWeightBracket> brackets,
+                                                              List<PricingZone> zones,
+                                                              List<PricingZoneSurcharge> surcharges) {
+        PricingRulesResponse response = new PricingRulesResponse();
+        response.setId(ruleSet.getId());
+        response.setName(ruleSet.getName());
+        response.setAddressDeliveryFee(ruleSet.getAddressDeliveryFee());
+        response.setActive(ruleSet.getActive());
+        response.setCreatedAt(ruleSet.getCreatedAt());
+        response.setBrackets(brackets.stream()
+                .map(b -> new WeightBracketEntry(b.getMaxWeight(), b.getBasePrice(), b.getPricePerKg()))
+                .toList());
+        response.setZones(zones.stream()
+                .map(z -> new PricingZoneEntry(z.getName(), z.getCountry(), z.getCity()))
+                .toList());
+        response.setSurcharges(surcharges.stream()
+                .map(s -> new ZoneSurchargeEntry(s.getOriginZone(), s.getDestinationZone(), s.getAmount()))
+                .toList());
+        return response;
+    }
 }
@@ -0,0 +1,63 @@
+package com.logistics.util;
+
+import com.logistics.exception.InvalidDataException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position in the (registeredAt, id) ordering of shipments.
+ *
+ * Encoded as a URL-safe Base64 token so clients treat it as opaque and
+ * we stay free to change the format later.
+ */
+public final class ShipmentCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime registeredAt;
+    private final Long id;
+
+    public ShipmentCursor(LocalDateTime registeredAt, Long id) {
+        this.registeredAt = registeredAt;
+        this.id = id;
+    }
+
+    public LocalDateTime getRegisteredAt() {
+        return registeredAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String encode() {
+        String raw = registeredAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}.
+     *
+     * @param token the continuation token from a previous page
+     * @return the decoded cursor
+     * @throws InvalidDataException if the token is malformed
+     */
+    public static ShipmentCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new InvalidDataException("cursor", "Invalid pagination cursor");
+            }
+            LocalDateTime registeredAt = LocalDateTime.parse(raw.substring(0, separator));
+            Long id = Long.valueOf(raw.substring(separator + 1));
+            return new ShipmentCursor(registeredAt, id);
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new InvalidDataException("cursor", "Invalid pagination cursor");
+        }
+    }
+}
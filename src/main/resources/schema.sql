@@ -118,7 +118,7 @@ CREATE TABLE IF NOT EXISTS shipments (
     weight DECIMAL(10,2) NOT NULL,
     price DECIMAL(10,2) NOT NULL,
     status VARCHAR(20) NOT NULL,
-    registered_at DATETIME NOT NULL,
+    registered_at DATETIME(6) NOT NULL,
     delivered_at DATETIME,
     updated_at DATETIME,
 
@@ -132,13 +132,75 @@ CREATE TABLE IF NOT EXISTS shipments (
     INDEX idx_shipments_employee (registered_by_id),
     INDEX idx_shipments_origin_office (origin_office_id),
     INDEX idx_shipments_status (status),
-    INDEX idx_shipments_delivered_at (delivered_at)
+    INDEX idx_shipments_delivered_at (delivered_at),
+    INDEX idx_shipments_registered_at_id (registered_at, id)
+);
+
+-- ========================================
+-- ID SEQUENCES TABLE
+-- Pooled id generator for shipments (see Shipment.id).
+-- next_val is the upper end of the next block of 50 ids, so it is seeded
+-- with MAX(id) + 50 (the allocationSize) to start handing out MAX(id) + 1.
+-- ShipmentIdSequenceInitializer applies the same seed at every startup,
+-- since this script does not run with spring.sql.init.mode=never.
+-- ========================================
+CREATE TABLE IF NOT EXISTS id_sequences (
+    sequence_name VARCHAR(255) NOT NULL PRIMARY KEY,
+    next_val BIGINT
+);
+
+INSERT INTO id_sequences (sequence_name, next_val)
+SELECT 'shipments', COALESCE(MAX(id), 0) + 50 FROM shipments
+WHERE NOT EXISTS (SELECT 1 FROM id_sequences WHERE sequence_name = 'shipments');
+
+-- ========================================
+-- DAILY REVENUE ROLLUP TABLE
+-- Delivered shipments per day, delivery type and origin office.
+-- Maintained with each DELIVERED transition; origin_office_id 0 means none.
+-- Rebuild with POST /api/reports/revenue/rebuild
+-- ========================================
+CREATE TABLE IF NOT EXISTS daily_revenue (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    revenue_date DATE NOT NULL,
+    delivery_type VARCHAR(20) NOT NULL,
+    origin_office_id BIGINT NOT NULL,
+    shipment_count BIGINT NOT NULL,
+    revenue DECIMAL(14,2) NOT NULL,
+
+    UNIQUE KEY uk_daily_revenue_bucket (revenue_date, delivery_type, origin_office_id)
+);
+
+-- ========================================
+-- REPORT JOBS TABLE
+-- Background reports submitted through POST /api/reports/jobs.
+-- Results are gzip files on the generating instance's local disk.
+-- ========================================
+CREATE TABLE IF NOT EXISTS report_jobs (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    report_type VARCHAR(30) NOT NULL,
+    format VARCHAR(10) NOT NULL,
+    employee_id BIGINT,
+    start_date DATE,
+    end_date DATE,
+    spec_key VARCHAR(200) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    requested_by VARCHAR(50) NOT NULL,
+    file_path VARCHAR(500),
+    file_size BIGINT,
+    error_message VARCHAR(500),
+    created_at DATETIME NOT NULL,
+    started_at DATETIME,
+    completed_at DATETIME,
+
+    INDEX idx_report_jobs_status_created (status, created_at)
 );
 
 -- ========================================
 -- PRICING CONFIGURATION TABLE
 -- Stores configurable pricing values
 -- Only one row should be active at a time
+-- Inactive rows are the pricing history: each row is in effect from
+-- effective_from until the next row's (created_at where it is NULL)
 -- ========================================
 CREATE TABLE IF NOT EXISTS pricing_config (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
@@ -146,8 +208,72 @@ CREATE TABLE IF NOT EXISTS pricing_config (
     price_per_kg DECIMAL(10,2) NOT NULL,
     address_delivery_fee DECIMAL(10,2) NOT NULL,
     active BOOLEAN NOT NULL DEFAULT true,
+    effective_from DATETIME(6),
     created_at DATETIME NOT NULL,
     updated_at DATETIME,
 
     INDEX idx_pricing_active (active)
 );
+
+-- ========================================
+-- PRICING RULE SET TABLES
+-- Weight brackets and zone surcharges, versioned like pricing_config:
+-- each PUT /api/pricing/rules inserts a new active rule set.
+-- While a rule set is active it replaces the pricing_config formula,
+-- from created_at until deactivated_at.
+-- ========================================
+CREATE TABLE IF NOT EXISTS pricing_rule_sets (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(100) NOT NULL,
+    address_delivery_fee DECIMAL(10,2) NOT NULL,
+    active BOOLEAN NOT NULL DEFAULT true,
+    created_at DATETIME NOT NULL,
+    updated_at DATETIME,
+    deactivated_at DATETIME(6),
+
+    INDEX idx_pricing_rule_sets_active (active)
+);
+
+CREATE TABLE IF NOT EXISTS pricing_weight_brackets (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    rule_set_id BIGINT NOT NULL,
+    max_weight DECIMAL(10,2) NOT NULL,
+    base_price DECIMAL(10,2) NOT NULL,
+    price_per_kg DECIMAL(10,2) NOT NULL,
+
+    FOREIGN KEY (rule_set_id) REFERENCES pricing_rule_sets(id),
+    INDEX idx_pricing_weight_brackets_rule_set (rule_set_id)
+);
+
+-- city NULL: the zone covers every office in the country without a city entry
+CREATE TABLE IF NOT EXISTS pricing_zones (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    rule_set_id BIGINT NOT NULL,
+    name VARCHAR(50) NOT NULL,
+    country VARCHAR(100) NOT NULL,
+    city VARCHAR(100),
+
+    FOREIGN KEY (rule_set_id) REFERENCES pricing_rule_sets(id),
+    INDEX idx_pricing_zones_rule_set (rule_set_id)
+);
+
+CREATE TABLE IF NOT EXISTS pricing_zone_surcharges (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    rule_set_id BIGINT NOT NULL,
+    origin_zone VARCHAR(50) NOT NULL,
+    destination_zone VARCHAR(50) NOT NULL,
+    amount DECIMAL(10,2) NOT NULL,
+
+    FOREIGN KEY (rule_set_id) REFERENCES pricing_rule_sets(id),
+    INDEX idx_pricing_zone_surcharges_rule_set (rule_set_id)
+);
+
+-- ========================================
+-- REPLICA HEARTBEAT TABLE
+-- Single row written to the primary by the read replica lag check
+-- (datasource.replica.enabled=true). Created on first use if missing.
+-- ========================================
+CREATE TABLE IF NOT EXISTS replica_heartbeat (
+    id INT NOT NULL PRIMARY KEY,
+    beat_millis BIGINT NOT NULL
+);
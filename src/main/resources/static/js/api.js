@@ -307,7 +307,8 @@ export const api = {
     pricing: {
         getInfo: () => api.get('/api/pricing'),
         getConfig: () => api.get('/api/pricing/config'),
-        updateConfig: (data) => api.put('/api/pricing/config', data)
+        updateConfig: (data) => api.put('/api/pricing/config', data),
+        quoteBatch: (data) => api.post('/api/pricing/quote/batch', data)
     }
 };
 
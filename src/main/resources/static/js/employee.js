@@ -201,7 +201,10 @@ function setupShipmentForm() {
     const officeSelect = document.getElementById('destinationOfficeId');
 
     // Price preview calculation using backend pricing info
-    // Note: This is just for UI preview - actual price is calculated by backend
+    // Note: The local estimate is shown immediately, then replaced by the backend quote,
+    // which is rounded exactly like the price the shipment will get
+    let quoteTimer = null;
+
     function updatePricePreview() {
         const weight = parseFloat(weightInput.value) || 0;
         const toAddress = deliveryType.value === 'true';
@@ -214,6 +217,24 @@ function setupShipmentForm() {
 
         const total = basePrice + (weight * pricePerKg) + deliveryFee;
         document.getElementById('estimatedPrice').textContent = total.toFixed(2);
+
+        clearTimeout(quoteTimer);
+        if (!weightInput.checkValidity() || weight <= 0) return;
+        quoteTimer = setTimeout(async () => {
+            try {
+                const officeId = toAddress ? 0 : (parseInt(officeSelect.value) || 0);
+                const quote = await api.pricing.quoteBatch({
+                    weights: [weight],
+                    officeDeliveries: [!toAddress],
+                    deliveryOfficeIds: [officeId]
+                });
+                if (parseFloat(weightInput.value) === weight && (deliveryType.value === 'true') === toAddress) {
+                    document.getElementById('estimatedPrice').textContent = parseFloat(quote.prices[0]).toFixed(2);
+                }
+            } catch (error) {
+                // Keep the local estimate
+            }
+        }, 250);
     }
 
     deliveryType.addEventListener('change', () => {
@@ -234,6 +255,7 @@ function setupShipmentForm() {
     });
 
     weightInput.addEventListener('input', updatePricePreview);
+    officeSelect.addEventListener('change', updatePricePreview);
 
     form.addEventListener('submit', async (e) => {
         e.preventDefault();
@@ -0,0 +1,103 @@
+package com.logistics.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.logistics.dto.analytics.AnalyticsGroupResponse;
+import com.logistics.dto.analytics.AnalyticsQueryRequest;
+import com.logistics.dto.analytics.AnalyticsQueryResponse;
+import com.logistics.model.enums.AnalyticsDimension;
+import com.logistics.service.ShipmentAnalyticsService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for AnalyticsController.
+ * Tests HTTP endpoints with authentication/authorization.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AnalyticsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private ShipmentAnalyticsService shipmentAnalyticsService;
+
+    @Nested
+    @DisplayName("POST /api/analytics/query Tests")
+    class QueryTests {
+
+        @Test
+        @WithMockUser(username = "employee", roles = {"EMPLOYEE"})
+        @DisplayName("Should return grouped results when authenticated as employee")
+        void query_AuthenticatedEmployee_Success() throws Exception {
+            // Arrange
+            AnalyticsGroupResponse group = new AnalyticsGroupResponse(
+                    Map.of(AnalyticsDimension.STATUS, "DELIVERED"), 3L, new BigDecimal("45.00"),
+                    new BigDecimal("15.00"), new BigDecimal("4.500"), new BigDecimal("1.500"));
+            when(shipmentAnalyticsService.query(any(AnalyticsQueryRequest.class))).thenReturn(
+                    new AnalyticsQueryResponse(List.of(AnalyticsDimension.STATUS), List.of(group), 10L, 3L));
+
+            AnalyticsQueryRequest request = new AnalyticsQueryRequest();
+            request.setGroupBy(List.of(AnalyticsDimension.STATUS));
+
+            // Act & Assert
+            mockMvc.perform(post("/api/analytics/query")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.shipmentsScanned").value(10))
+                    .andExpect(jsonPath("$.groups[0].key.STATUS").value("DELIVERED"))
+                    .andExpect(jsonPath("$.groups[0].shipmentCount").value(3))
+                    .andExpect(jsonPath("$.groups[0].totalRevenue").value(45.00));
+        }
+
+        @Test
+        @WithMockUser(username = "employee", roles = {"EMPLOYEE"})
+        @DisplayName("Should return 400 for more than three dimensions")
+        void query_TooManyDimensions_BadRequest() throws Exception {
+            AnalyticsQueryRequest request = new AnalyticsQueryRequest();
+            request.setGroupBy(List.of(AnalyticsDimension.STATUS, AnalyticsDimension.ORIGIN_OFFICE,
+                    AnalyticsDimension.DELIVERY_TYPE, AnalyticsDimension.REGISTERED_MONTH));
+
+            mockMvc.perform(post("/api/analytics/query")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isBadRequest());
+
+            verifyNoInteractions(shipmentAnalyticsService);
+        }
+
+        @Test
+        @WithMockUser(username = "customer", roles = {"CUSTOMER"})
+        @DisplayName("Should return 403 when authenticated as customer")
+        void query_AuthenticatedCustomer_Forbidden() throws Exception {
+            mockMvc.perform(post("/api/analytics/query")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{}"))
+                    .andExpect(status().isForbidden());
+        }
+    }
+}
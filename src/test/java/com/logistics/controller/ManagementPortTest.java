@@ -0,0 +1,61 @@
+package com.logistics.controller;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for serving actuator on its own loopback port, as
+ * application.properties configures it (management.server.*).
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "management.server.port=0",
+        "management.server.address=127.0.0.1"
+})
+@AutoConfigureObservability
+@ActiveProfiles("test")
+class ManagementPortTest {
+
+    @LocalServerPort
+    private int serverPort;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    @DisplayName("Should serve metrics on the management port")
+    void scrape_ManagementPort_ReturnsMetrics() {
+        // Act
+        ResponseEntity<String> response = restTemplate.getForEntity(
+                "http://127.0.0.1:" + managementPort + "/actuator/prometheus", String.class);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(response.getBody().contains("jwt_verification_seconds"));
+    }
+
+    @Test
+    @DisplayName("Should not serve metrics on the application port")
+    void scrape_ApplicationPort_NotServed() {
+        // Act
+        ResponseEntity<String> response = restTemplate.getForEntity(
+                "http://127.0.0.1:" + serverPort + "/actuator/prometheus", String.class);
+
+        // Assert
+        assertNotEquals(managementPort, serverPort);
+        assertNotEquals(HttpStatus.OK, response.getStatusCode());
+    }
+}
@@ -0,0 +1,63 @@
+package com.logistics.controller;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for the Prometheus scrape endpoint.
+ * Tests the application metrics it exposes; the test profile serves actuator
+ * on the application port, see ManagementPortTest for the separate port.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+class MetricsEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Nested
+    @DisplayName("GET /actuator/prometheus Tests")
+    class ScrapeTests {
+
+        @Test
+        @DisplayName("Should serve the application metrics without a token")
+        void scrape_Unauthenticated_ReturnsMetrics() throws Exception {
+            mockMvc.perform(get("/actuator/prometheus"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().string(containsString("jwt_verification_seconds")))
+                    .andExpect(content().string(containsString("password_encoder_seconds")))
+                    .andExpect(content().string(containsString("hikaricp_connections_acquire_seconds")))
+                    .andExpect(content().string(containsString("hibernate_sessions_open_total")));
+        }
+
+        @Test
+        @DisplayName("Should tag request timers with the controller method")
+        void scrape_AfterApiRequest_ContainsHandlerTag() throws Exception {
+            // Arrange - an invalid login still reaches AuthController.login
+            mockMvc.perform(post("/api/auth/login")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{}"))
+                    .andExpect(status().isBadRequest());
+
+            // Act & Assert
+            mockMvc.perform(get("/actuator/prometheus"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().string(containsString("handler=\"AuthController.login\"")));
+        }
+    }
+}
@@ -1,11 +1,17 @@
 package com.logistics.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.logistics.dto.pricing.PriceQuoteBatchRequest;
 import com.logistics.dto.pricing.PricingConfigRequest;
+import com.logistics.dto.pricing.PricingRulesRequest;
+import com.logistics.dto.pricing.PricingRulesResponse;
+import com.logistics.dto.pricing.PricingSimulationRequest;
+import com.logistics.dto.pricing.WeightBracketEntry;
 import com.logistics.model.entity.PricingConfig;
 import com.logistics.security.CustomUserDetailsService;
 import com.logistics.security.JwtAuthenticationEntryPoint;
 import com.logistics.security.JwtTokenProvider;
+import com.logistics.service.PricingHistoryService;
 import com.logistics.service.impl.PricingServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -19,8 +25,13 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -41,6 +52,9 @@ class PricingControllerTest {
     @MockBean
     private PricingServiceImpl pricingService;
 
+    @MockBean
+    private PricingHistoryService pricingHistoryService;
+
     @MockBean
     private JwtTokenProvider jwtTokenProvider;
 
@@ -91,6 +105,42 @@ class PricingControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("POST /api/pricing/quote/batch Tests")
+    class QuoteBatchTests {
+
+        @Test
+        @WithMockUser(username = "user", roles = {"CUSTOMER"})
+        @DisplayName("Should return one price per parcel when authenticated")
+        void quoteBatch_Authenticated_Success() throws Exception {
+            // Arrange
+            PriceQuoteBatchRequest request = new PriceQuoteBatchRequest(
+                    new BigDecimal[]{new BigDecimal("5.0"), new BigDecimal("5.0")}, new boolean[]{true, false});
+            when(pricingService.quotePrices(any(BigDecimal[].class), any(boolean[].class), any(), any()))
+                    .thenReturn(new long[]{1500, 2500});
+
+            // Act & Assert
+            mockMvc.perform(post("/api/pricing/quote/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.prices[0]").value(15.00))
+                    .andExpect(jsonPath("$.prices[1]").value(25.00));
+        }
+
+        @Test
+        @WithMockUser(username = "user", roles = {"CUSTOMER"})
+        @DisplayName("Should return 400 when weights are missing")
+        void quoteBatch_MissingWeights_BadRequest() throws Exception {
+            mockMvc.perform(post("/api/pricing/quote/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"officeDeliveries\": [true]}"))
+                    .andExpect(status().isBadRequest());
+
+            verifyNoInteractions(pricingService);
+        }
+    }
+
     @Nested
     @DisplayName("GET /api/pricing/config Tests")
     class GetPricingConfigTests {
@@ -140,7 +190,7 @@ class PricingControllerTest {
             );
             updatedConfig.setId(2L);
 
-            when(pricingService.updatePricingConfig(any(), any(), any())).thenReturn(updatedConfig);
+            when(pricingService.updatePricingConfig(any(), any(), any(), any())).thenReturn(updatedConfig);
 
             // Act & Assert
             mockMvc.perform(put("/api/pricing/config")
@@ -183,4 +233,145 @@ class PricingControllerTest {
                     .andExpect(status().isForbidden());
         }
     }
+
+    @Nested
+    @DisplayName("DELETE /api/pricing/config/{id} Tests")
+    class CancelScheduledConfigTests {
+
+        @Test
+        @WithMockUser(username = "employee", roles = {"EMPLOYEE"})
+        @DisplayName("Should cancel a scheduled config when authenticated as employee")
+        void cancelScheduledConfig_AuthenticatedEmployee_NoContent() throws Exception {
+            mockMvc.perform(delete("/api/pricing/config/2"))
+                    .andExpect(status().isNoContent());
+
+            verify(pricingService).cancelScheduledConfig(2L);
+        }
+
+        @Test
+        @WithMockUser(username = "customer", roles = {"CUSTOMER"})
+        @DisplayName("Should return 403 when authenticated as customer")
+        void cancelScheduledConfig_AuthenticatedCustomer_Forbidden() throws Exception {
+            mockMvc.perform(delete("/api/pricing/config/2"))
+                    .andExpect(status().isForbidden());
+        }
+    }
+
+    @Nested
+    @DisplayName("/api/pricing/rules Tests")
+    class PricingRulesTests {
+
+        private PricingRulesRequest rulesRequest() {
+            PricingRulesRequest request = new PricingRulesRequest();
+            request.setName("Flat");
+            request.setAddressDeliveryFee(new BigDecimal("4.00"));
+            request.setBrackets(List.of(new WeightBracketEntry(
+                    new BigDecimal("10000.00"), new BigDecimal("3.00"), new BigDecimal("1.00"))));
+            return request;
+        }
+
+        @Test
+        @WithMockUser(username = "employee", roles = {"EMPLOYEE"})
+        @DisplayName("Should return the active rules when authenticated as employee")
+        void getPricingRules_AuthenticatedEmployee_Success() throws Exception {
+            // Arrange
+            PricingRulesResponse response = new PricingRulesResponse(1L, "Flat", new BigDecimal("4.00"), true,
+                    rulesRequest().getBrackets(), List.of(), List.of(), null);
+            when(pricingService.getActivePricingRules()).thenReturn(response);
+
+            // Act & Assert
+            mockMvc.perform(get("/api/pricing/rules"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.name").value("Flat"))
+                    .andExpect(jsonPath("$.brackets[0].pricePerKg").value(1.00));
+        }
+
+        @Test
+        @WithMockUser(username = "employee", roles = {"EMPLOYEE"})
+        @DisplayName("Should return 400 for a rule set without brackets")
+        void updatePricingRules_NoBrackets_BadRequest() throws Exception {
+            // Arrange
+            PricingRulesRequest request = rulesRequest();
+            request.setBrackets(List.of());
+
+            // Act & Assert
+            mockMvc.perform(put("/api/pricing/rules")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isBadRequest());
+
+            verifyNoInteractions(pricingService);
+        }
+
+        @Test
+        @WithMockUser(username = "employee", roles = {"EMPLOYEE"})
+        @DisplayName("Should deactivate the rules when authenticated as employee")
+        void deactivatePricingRules_AuthenticatedEmployee_NoContent() throws Exception {
+            mockMvc.perform(delete("/api/pricing/rules"))
+                    .andExpect(status().isNoContent());
+
+            verify(pricingService).deactivatePricingRules();
+        }
+
+        @Test
+        @WithMockUser(username = "customer", roles = {"CUSTOMER"})
+        @DisplayName("Should return 403 when authenticated as customer")
+        void updatePricingRules_AuthenticatedCustomer_Forbidden() throws Exception {
+            mockMvc.perform(put("/api/pricing/rules")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(rulesRequest())))
+                    .andExpect(status().isForbidden());
+        }
+    }
+
+    @Nested
+    @DisplayName("/api/pricing/history Tests")
+    class PricingHistoryTests {
+
+        @Test
+        @WithMockUser(username = "employee", roles = {"EMPLOYEE"})
+        @DisplayName("Should return the pricing history when authenticated as employee")
+        void getPricingHistory_AuthenticatedEmployee_Success() throws Exception {
+            // Arrange
+            pricingConfig.setEffectiveFrom(LocalDateTime.of(2026, 1, 1, 0, 0));
+            when(pricingHistoryService.getHistory()).thenReturn(List.of(pricingConfig));
+
+            // Act & Assert
+            mockMvc.perform(get("/api/pricing/history"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].id").value(1))
+                    .andExpect(jsonPath("$[0].effectiveFrom").value("2026-01-01T00:00:00"));
+        }
+
+        @Test
+        @WithMockUser(username = "employee", roles = {"EMPLOYEE"})
+        @DisplayName("Should return 400 for a simulation without dates")
+        void simulatePricing_MissingDates_BadRequest() throws Exception {
+            // Arrange
+            PricingSimulationRequest request = new PricingSimulationRequest(null, null, 1L, null, null, null);
+
+            // Act & Assert
+            mockMvc.perform(post("/api/pricing/history/simulations")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isBadRequest());
+
+            verifyNoInteractions(pricingHistoryService);
+        }
+
+        @Test
+        @WithMockUser(username = "customer", roles = {"CUSTOMER"})
+        @DisplayName("Should return 403 when authenticated as customer")
+        void simulatePricing_AuthenticatedCustomer_Forbidden() throws Exception {
+            // Arrange
+            PricingSimulationRequest request = new PricingSimulationRequest(
+                    LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 31), 1L, null, null, null);
+
+            // Act & Assert
+            mockMvc.perform(post("/api/pricing/history/simulations")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isForbidden());
+        }
+    }
 }
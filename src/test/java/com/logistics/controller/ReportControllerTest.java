@@ -5,6 +5,10 @@ import com.logistics.dto.customer.CustomerResponse;
 import com.logistics.dto.employee.EmployeeResponse;
 import com.logistics.dto.report.CustomerMetricsResponse;
 import com.logistics.dto.report.DashboardMetricsResponse;
+import com.logistics.dto.report.DeliveryLatencyResponse;
+import com.logistics.dto.report.LatencyPercentilesResponse;
+import com.logistics.dto.report.ReportJobRequest;
+import com.logistics.dto.report.ReportJobResponse;
 import com.logistics.dto.report.RevenueResponse;
 import com.logistics.dto.shipment.ShipmentResponse;
 import com.logistics.exception.ResourceNotFoundException;
@@ -13,9 +17,16 @@ import com.logistics.model.entity.Customer;
 import com.logistics.model.entity.User;
 import com.logistics.model.enums.EmployeeType;
 import com.logistics.model.enums.Role;
+import com.logistics.model.enums.ReportJobStatus;
+import com.logistics.model.enums.ReportType;
 import com.logistics.model.enums.ShipmentStatus;
 import com.logistics.repository.CustomerRepository;
+import com.logistics.model.enums.ExportFormat;
+import com.logistics.service.DeliveryLatencyService;
+import com.logistics.service.ReportJobService;
 import com.logistics.service.ReportService;
+import com.logistics.service.RevenueRollupService;
+import com.logistics.service.ShipmentExportService;
 import com.logistics.service.ShipmentService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -28,8 +39,13 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -66,6 +82,18 @@ class ReportControllerTest {
     @MockBean
     private CustomerRepository customerRepository;
 
+    @MockBean
+    private ShipmentExportService shipmentExportService;
+
+    @MockBean
+    private RevenueRollupService revenueRollupService;
+
+    @MockBean
+    private ReportJobService reportJobService;
+
+    @MockBean
+    private DeliveryLatencyService deliveryLatencyService;
+
     private EmployeeResponse employeeResponse;
     private CustomerResponse customerResponse;
     private ShipmentResponse shipmentResponse;
@@ -305,6 +333,71 @@ class ReportControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("GET /api/reports/shipments/export Tests")
+    class ExportShipmentsReportTests {
+
+        @Test
+        @WithMockUser(username = "employee", roles = {"EMPLOYEE"})
+        @DisplayName("Should stream all shipments as csv when authenticated as employee")
+        void exportShipmentsReport_AuthenticatedEmployee_StreamsCsv() throws Exception {
+            // Arrange
+            doAnswer(invocation -> {
+                OutputStream out = invocation.getArgument(1);
+                out.write("id\n1\n".getBytes(StandardCharsets.UTF_8));
+                return null;
+            }).when(shipmentExportService).exportAllShipments(eq(ExportFormat.CSV), any());
+
+            // Act
+            MvcResult result = mockMvc.perform(get("/api/reports/shipments/export").param("format", "csv"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            // Assert
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("Content-Type", "text/csv"))
+                    .andExpect(header().string("Content-Disposition", "attachment; filename=\"shipments.csv\""))
+                    .andExpect(content().string("id\n1\n"));
+        }
+
+        @Test
+        @WithMockUser(username = "jane.customer", roles = {"CUSTOMER"})
+        @DisplayName("Should stream only customer's shipments when authenticated as customer")
+        void exportShipmentsReport_AuthenticatedCustomer_StreamsOwnShipments() throws Exception {
+            // Arrange
+            when(customerRepository.findByUsername("jane.customer")).thenReturn(Optional.of(customer));
+
+            // Act
+            MvcResult result = mockMvc.perform(get("/api/reports/shipments/export"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            // Assert
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("Content-Type", "application/x-ndjson"));
+            verify(shipmentExportService).exportShipmentsByCustomerId(eq(1L), eq(ExportFormat.NDJSON), any());
+            verify(shipmentExportService, never()).exportAllShipments(any(), any());
+        }
+
+        @Test
+        @WithMockUser(username = "employee", roles = {"EMPLOYEE"})
+        @DisplayName("Should return 400 for unsupported format")
+        void exportShipmentsReport_UnsupportedFormat_BadRequest() throws Exception {
+            mockMvc.perform(get("/api/reports/shipments/export").param("format", "xml"))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @WithMockUser(username = "customer", roles = {"CUSTOMER"})
+        @DisplayName("Should return 403 for pending export when authenticated as customer")
+        void exportPendingShipmentsReport_AuthenticatedCustomer_Forbidden() throws Exception {
+            mockMvc.perform(get("/api/reports/shipments/pending/export"))
+                    .andExpect(status().isForbidden());
+        }
+    }
+
     @Nested
     @DisplayName("GET /api/reports/shipments/customer/{customerId}/sent Tests")
     class GetShipmentsSentByCustomerTests {
@@ -426,6 +519,141 @@ class ReportControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("POST /api/reports/revenue/rebuild Tests")
+    class RebuildRevenueRollupTests {
+
+        @Test
+        @WithMockUser(username = "employee", roles = {"EMPLOYEE"})
+        @DisplayName("Should rebuild the rollup and return the revenue report")
+        void rebuildRevenueRollup_AuthenticatedEmployee_Success() throws Exception {
+            // Arrange
+            LocalDate startDate = LocalDate.now().minusDays(7);
+            LocalDate endDate = LocalDate.now();
+            when(reportService.getRevenueReport(startDate, endDate)).thenReturn(revenueResponse);
+
+            // Act & Assert
+            mockMvc.perform(post("/api/reports/revenue/rebuild")
+                            .param("startDate", startDate.toString())
+                            .param("endDate", endDate.toString()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.deliveredShipmentsCount").value(50));
+
+            verify(revenueRollupService).rebuild(startDate, endDate);
+        }
+
+        @Test
+        @WithMockUser(username = "customer", roles = {"CUSTOMER"})
+        @DisplayName("Should return 403 when authenticated as customer")
+        void rebuildRevenueRollup_AuthenticatedCustomer_Forbidden() throws Exception {
+            mockMvc.perform(post("/api/reports/revenue/rebuild")
+                            .param("startDate", LocalDate.now().minusDays(7).toString())
+                            .param("endDate", LocalDate.now().toString()))
+                    .andExpect(status().isForbidden());
+
+            verifyNoInteractions(revenueRollupService);
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/reports/latency Tests")
+    class DeliveryLatencyTests {
+
+        @Test
+        @WithMockUser(username = "employee", roles = {"EMPLOYEE"})
+        @DisplayName("Should return latency percentiles when authenticated as employee")
+        void getDeliveryLatency_AuthenticatedEmployee_Success() throws Exception {
+            // Arrange
+            LatencyPercentilesResponse overall = new LatencyPercentilesResponse(
+                    null, null, null, 12L, 86_400L, 172_800L, 259_200L);
+            when(deliveryLatencyService.getLatencyReport(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31),
+                    null, null, null))
+                    .thenReturn(new DeliveryLatencyResponse(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31),
+                            overall, List.of(), List.of()));
+
+            // Act & Assert
+            mockMvc.perform(get("/api/reports/latency")
+                            .param("startDate", "2024-01-01")
+                            .param("endDate", "2024-01-31"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.overall.shipmentCount").value(12))
+                    .andExpect(jsonPath("$.overall.p95Seconds").value(172800));
+        }
+
+        @Test
+        @WithMockUser(username = "customer", roles = {"CUSTOMER"})
+        @DisplayName("Should return 403 when authenticated as customer")
+        void getDeliveryLatency_AuthenticatedCustomer_Forbidden() throws Exception {
+            mockMvc.perform(get("/api/reports/latency")
+                            .param("startDate", "2024-01-01")
+                            .param("endDate", "2024-01-31"))
+                    .andExpect(status().isForbidden());
+        }
+    }
+
+    @Nested
+    @DisplayName("Report job Tests")
+    class ReportJobTests {
+
+        @Test
+        @WithMockUser(username = "employee", roles = {"EMPLOYEE"})
+        @DisplayName("Should accept a report job and return it")
+        void submitReportJob_AuthenticatedEmployee_Accepted() throws Exception {
+            // Arrange
+            ReportJobResponse job = new ReportJobResponse();
+            job.setId(7L);
+            job.setReportType(ReportType.ALL_SHIPMENTS);
+            job.setStatus(ReportJobStatus.QUEUED);
+            when(reportJobService.submit(any(ReportJobRequest.class), eq("employee"))).thenReturn(job);
+
+            // Act & Assert
+            mockMvc.perform(post("/api/reports/jobs")
+                            .contentType("application/json")
+                            .content("{\"reportType\":\"ALL_SHIPMENTS\",\"format\":\"CSV\"}"))
+                    .andExpect(status().isAccepted())
+                    .andExpect(jsonPath("$.id").value(7))
+                    .andExpect(jsonPath("$.status").value("QUEUED"));
+        }
+
+        @Test
+        @WithMockUser(username = "employee", roles = {"EMPLOYEE"})
+        @DisplayName("Should return 400 when the report type is missing")
+        void submitReportJob_MissingType_BadRequest() throws Exception {
+            mockMvc.perform(post("/api/reports/jobs")
+                            .contentType("application/json")
+                            .content("{\"format\":\"CSV\"}"))
+                    .andExpect(status().isBadRequest());
+
+            verifyNoInteractions(reportJobService);
+        }
+
+        @Test
+        @WithMockUser(username = "customer", roles = {"CUSTOMER"})
+        @DisplayName("Should return 403 when authenticated as customer")
+        void getReportJob_AuthenticatedCustomer_Forbidden() throws Exception {
+            mockMvc.perform(get("/api/reports/jobs/7"))
+                    .andExpect(status().isForbidden());
+        }
+
+        @Test
+        @WithMockUser(username = "employee", roles = {"EMPLOYEE"})
+        @DisplayName("Should download the compressed result of a completed job")
+        void downloadReportJob_Completed_ReturnsFile() throws Exception {
+            // Arrange
+            Path file = Files.createTempFile("report-7", ".csv.gz");
+            Files.write(file, new byte[]{31, -117});
+            when(reportJobService.getResultFile(7L)).thenReturn(file);
+
+            // Act & Assert
+            mockMvc.perform(get("/api/reports/jobs/7/download"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType("application/gzip"))
+                    .andExpect(content().bytes(new byte[]{31, -117}));
+
+            Files.deleteIfExists(file);
+        }
+    }
+
     @Nested
     @DisplayName("GET /api/reports/dashboard Tests")
     class GetDashboardMetricsTests {
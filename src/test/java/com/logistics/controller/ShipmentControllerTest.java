@@ -1,10 +1,17 @@
 package com.logistics.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.logistics.dto.shipment.ShipmentBatchItemResult;
+import com.logistics.dto.shipment.ShipmentBatchResponse;
+import com.logistics.dto.shipment.ShipmentBulkStatusRequest;
+import com.logistics.dto.shipment.ShipmentBulkStatusResponse;
+import com.logistics.dto.shipment.ShipmentPageResponse;
 import com.logistics.dto.shipment.ShipmentRequest;
 import com.logistics.dto.shipment.ShipmentResponse;
 import com.logistics.dto.shipment.ShipmentStatusUpdateRequest;
+import com.logistics.model.enums.Role;
 import com.logistics.model.enums.ShipmentStatus;
+import com.logistics.security.AuthenticatedUser;
 import com.logistics.service.ShipmentService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -15,6 +22,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
@@ -25,7 +33,9 @@ import java.util.Arrays;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -127,6 +137,110 @@ class ShipmentControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("POST /api/shipments/batch Tests")
+    class CreateShipmentBatchTests {
+
+        @Test
+        @WithMockUser(username = "employee", roles = {"EMPLOYEE"})
+        @DisplayName("Should return per-item results when authenticated as employee")
+        void createShipmentBatch_AuthenticatedEmployee_Success() throws Exception {
+            // Arrange
+            ShipmentBatchResponse batchResponse = new ShipmentBatchResponse(1, 1, List.of(
+                    new ShipmentBatchItemResult(0, true, shipmentResponse, null),
+                    new ShipmentBatchItemResult(1, false, null, "Weight is required")));
+            when(shipmentService.registerShipments(anyList(), eq("employee"))).thenReturn(batchResponse);
+
+            // Act & Assert
+            mockMvc.perform(post("/api/shipments/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(List.of(shipmentRequest, new ShipmentRequest()))))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.registered").value(1))
+                    .andExpect(jsonPath("$.rejected").value(1))
+                    .andExpect(jsonPath("$.results[0].shipment.id").value(1))
+                    .andExpect(jsonPath("$.results[1].error").value("Weight is required"));
+        }
+
+        @Test
+        @WithMockUser(username = "customer", roles = {"CUSTOMER"})
+        @DisplayName("Should return 403 when authenticated as customer")
+        void createShipmentBatch_AuthenticatedCustomer_Forbidden() throws Exception {
+            mockMvc.perform(post("/api/shipments/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(List.of(shipmentRequest))))
+                    .andExpect(status().isForbidden());
+        }
+    }
+
+    @Nested
+    @DisplayName("PATCH /api/shipments/status Tests")
+    class BulkUpdateStatusTests {
+
+        @Test
+        @WithMockUser(username = "employee", roles = {"EMPLOYEE"})
+        @DisplayName("Should transition listed shipments when authenticated as employee")
+        void bulkUpdateStatus_ByIds_Success() throws Exception {
+            // Arrange
+            ShipmentBulkStatusRequest request = new ShipmentBulkStatusRequest(
+                    ShipmentStatus.IN_TRANSIT, List.of(1L, 2L), null, null);
+            when(shipmentService.updateShipmentStatuses(List.of(1L, 2L), ShipmentStatus.IN_TRANSIT))
+                    .thenReturn(new ShipmentBulkStatusResponse(ShipmentStatus.IN_TRANSIT, 1, List.of(2L), List.of()));
+
+            // Act & Assert
+            mockMvc.perform(patch("/api/shipments/status")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.updated").value(1))
+                    .andExpect(jsonPath("$.rejectedIds[0]").value(2));
+        }
+
+        @Test
+        @WithMockUser(username = "employee", roles = {"EMPLOYEE"})
+        @DisplayName("Should transition by status filter")
+        void bulkUpdateStatus_ByFilter_Success() throws Exception {
+            // Arrange
+            ShipmentBulkStatusRequest request = new ShipmentBulkStatusRequest(
+                    ShipmentStatus.IN_TRANSIT, null, ShipmentStatus.REGISTERED, 1L);
+            when(shipmentService.updateShipmentStatuses(ShipmentStatus.REGISTERED, 1L, ShipmentStatus.IN_TRANSIT))
+                    .thenReturn(new ShipmentBulkStatusResponse(ShipmentStatus.IN_TRANSIT, 12, List.of(), List.of()));
+
+            // Act & Assert
+            mockMvc.perform(patch("/api/shipments/status")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.updated").value(12));
+        }
+
+        @Test
+        @WithMockUser(username = "employee", roles = {"EMPLOYEE"})
+        @DisplayName("Should return 400 when both ids and filter are given")
+        void bulkUpdateStatus_IdsAndFilter_BadRequest() throws Exception {
+            ShipmentBulkStatusRequest request = new ShipmentBulkStatusRequest(
+                    ShipmentStatus.IN_TRANSIT, List.of(1L), ShipmentStatus.REGISTERED, null);
+
+            mockMvc.perform(patch("/api/shipments/status")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @WithMockUser(username = "customer", roles = {"CUSTOMER"})
+        @DisplayName("Should return 403 when authenticated as customer")
+        void bulkUpdateStatus_AuthenticatedCustomer_Forbidden() throws Exception {
+            ShipmentBulkStatusRequest request = new ShipmentBulkStatusRequest(
+                    ShipmentStatus.IN_TRANSIT, List.of(1L), null, null);
+
+            mockMvc.perform(patch("/api/shipments/status")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isForbidden());
+        }
+    }
+
     @Nested
     @DisplayName("GET /api/shipments Tests")
     class GetAllShipmentsTests {
@@ -146,6 +260,22 @@ class ShipmentControllerTest {
                     .andExpect(jsonPath("$[0].id").value(1));
         }
 
+        @Test
+        @DisplayName("Should use the customer id from the token principal")
+        void getAllShipments_CustomerPrincipalFromToken_UsesClaimedCustomerId() throws Exception {
+            // Arrange - no customer row exists for this user, so only the claim can resolve the id
+            AuthenticatedUser principal = new AuthenticatedUser("tokencustomer", Role.CUSTOMER, 10L, 77L, null);
+            when(shipmentService.getShipmentsByCustomerId(77L)).thenReturn(List.of(shipmentResponse));
+
+            // Act & Assert
+            mockMvc.perform(get("/api/shipments")
+                            .with(authentication(new UsernamePasswordAuthenticationToken(
+                                    principal, null, principal.getAuthorities()))))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(1));
+            verify(shipmentService).getShipmentsByCustomerId(77L);
+        }
+
         @Test
         @DisplayName("Should return 401 when not authenticated")
         void getAllShipments_NotAuthenticated_Unauthorized() throws Exception {
@@ -154,6 +284,35 @@ class ShipmentControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("GET /api/shipments?limit= Tests")
+    class GetShipmentsPageTests {
+
+        @Test
+        @WithMockUser(username = "employee", roles = {"EMPLOYEE"})
+        @DisplayName("Should return keyset page when limit is given")
+        void getShipmentsPage_AuthenticatedEmployee_Success() throws Exception {
+            // Arrange
+            ShipmentPageResponse page = new ShipmentPageResponse(List.of(shipmentResponse), "next-token", true);
+            when(shipmentService.getShipmentsPage("abc", 1)).thenReturn(page);
+
+            // Act & Assert
+            mockMvc.perform(get("/api/shipments").param("limit", "1").param("cursor", "abc"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.items.length()").value(1))
+                    .andExpect(jsonPath("$.items[0].id").value(1))
+                    .andExpect(jsonPath("$.nextCursor").value("next-token"))
+                    .andExpect(jsonPath("$.hasMore").value(true));
+        }
+
+        @Test
+        @DisplayName("Should return 401 when not authenticated")
+        void getShipmentsPage_NotAuthenticated_Unauthorized() throws Exception {
+            mockMvc.perform(get("/api/shipments").param("limit", "10"))
+                    .andExpect(status().isUnauthorized());
+        }
+    }
+
     @Nested
     @DisplayName("GET /api/shipments/{id} Tests")
     class GetShipmentByIdTests {
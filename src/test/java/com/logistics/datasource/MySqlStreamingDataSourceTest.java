@@ -0,0 +1,69 @@
+package com.logistics.datasource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for MySqlStreamingDataSource.
+ * Checks which fetch sizes reach the driver's statements.
+ */
+@ExtendWith(MockitoExtension.class)
+class MySqlStreamingDataSourceTest {
+
+    private static final String SQL = "SELECT id FROM shipments";
+
+    @Mock
+    private DataSource target;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement statement;
+
+    private PreparedStatement wrapped;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY))
+                .thenReturn(statement);
+        wrapped = new MySqlStreamingDataSource(target).getConnection()
+                .prepareStatement(SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+    }
+
+    @Test
+    @DisplayName("Should stream row by row when a fetch size is requested")
+    void setFetchSize_Positive_StreamsRowByRow() throws SQLException {
+        // Act
+        wrapped.setFetchSize(500);
+
+        // Assert
+        verify(statement).setFetchSize(Integer.MIN_VALUE);
+        verify(statement, never()).setFetchSize(500);
+    }
+
+    @Test
+    @DisplayName("Should pass other statement calls through unchanged")
+    void setFetchSize_Zero_PassesThrough() throws SQLException {
+        // Act
+        wrapped.setFetchSize(0);
+        wrapped.executeQuery();
+
+        // Assert
+        verify(statement).setFetchSize(0);
+        verify(statement).executeQuery();
+    }
+}
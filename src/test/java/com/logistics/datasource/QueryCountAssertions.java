@@ -0,0 +1,51 @@
+package com.logistics.datasource;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Test support for SQL query budgets: asserts that an action, e.g. a
+ * repository call plus mapping or a MockMvc request, issues at most N statements.
+ *
+ * Statements are only counted through a {@link QueryCountingDataSource},
+ * which the "test" profile turns on (sql.query-budget.enabled): any
+ * @SpringBootTest context with that profile has one, slice tests such as
+ * @DataJpaTest also need @Import(QueryBudgetConfig.class).
+ */
+public final class QueryCountAssertions {
+
+    private QueryCountAssertions() {
+    }
+
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+
+    /**
+     * Runs the action on this thread and fails, listing every statement that
+     * ran more than once, if it issued more than maxQueries statements.
+     *
+     * @return the statements the action issued
+     */
+    public static QueryStatistics assertMaxQueries(int maxQueries, Action action) throws Exception {
+        QueryCounter.start();
+        QueryStatistics statistics;
+        try {
+            action.run();
+        } finally {
+            statistics = QueryCounter.stop();
+        }
+
+        if (statistics.getQueryCount() > maxQueries) {
+            StringBuilder message = new StringBuilder("Expected at most " + maxQueries + " SQL statements but got "
+                    + statistics);
+            for (Map.Entry<String, Integer> entry : statistics.getRepeatedStatements(2).entrySet()) {
+                message.append("\n  ").append(entry.getValue()).append("x ").append(entry.getKey());
+            }
+            fail(message.toString());
+        }
+        return statistics;
+    }
+}
@@ -0,0 +1,168 @@
+package com.logistics.datasource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for QueryCountingDataSource, QueryCounter and QueryBudgetFilter
+ * against an in-memory H2 database.
+ */
+class QueryCountingDataSourceTest {
+
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:queries-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        jdbc = new JdbcTemplate(new QueryCountingDataSource(h2));
+        jdbc.execute("CREATE TABLE office (id BIGINT PRIMARY KEY, name VARCHAR(20))");
+        jdbc.update("INSERT INTO office (id, name) VALUES (1, 'Sofia'), (2, 'Varna'), (3, 'Plovdiv')");
+    }
+
+    @AfterEach
+    void tearDown() {
+        // A failed test must not leave a scope open for the next one on this thread
+        while (QueryCounter.current() != null) {
+            QueryCounter.stop();
+        }
+    }
+
+    private String nameOf(long id) {
+        return jdbc.queryForObject("SELECT name FROM office WHERE id = ?", String.class, id);
+    }
+
+    @Nested
+    @DisplayName("QueryCounter Tests")
+    class QueryCounterTests {
+
+        @Test
+        @DisplayName("Should count statements only while a scope is open")
+        void start_CountsStatementsUntilStop() {
+            // Arrange
+            nameOf(1);
+
+            // Act
+            QueryCounter.start();
+            nameOf(2);
+            jdbc.update("UPDATE office SET name = ? WHERE id = ?", "Ruse", 3);
+            QueryStatistics statistics = QueryCounter.stop();
+            nameOf(3);
+
+            // Assert
+            assertEquals(2, statistics.getQueryCount());
+            assertTrue(statistics.getTotalNanos() > 0);
+            assertNull(QueryCounter.current());
+        }
+
+        @Test
+        @DisplayName("Should group an N+1 pattern into one repeated statement")
+        void getRepeatedStatements_LazyLoadPattern_GroupsByStatement() {
+            // Act
+            QueryCounter.start();
+            jdbc.queryForList("SELECT id FROM office", Long.class).forEach(id -> nameOf(id));
+            jdbc.queryForList("SELECT name FROM office WHERE id IN (?, ?)", String.class, 1, 2);
+            jdbc.queryForList("SELECT name FROM office WHERE id IN (?,?,?)", String.class, 1, 2, 3);
+            QueryStatistics statistics = QueryCounter.stop();
+
+            // Assert
+            Map<String, Integer> repeated = statistics.getRepeatedStatements(2);
+            assertEquals(6, statistics.getQueryCount());
+            assertEquals(2, repeated.size());
+            assertEquals(List.of("SELECT name FROM office WHERE id = ?", "SELECT name FROM office WHERE id IN (?, ...)"),
+                    List.copyOf(repeated.keySet()));
+            assertEquals(3, repeated.get("SELECT name FROM office WHERE id = ?"));
+        }
+
+        @Test
+        @DisplayName("Should count a JDBC batch as one statement")
+        void start_Batch_CountsOneStatement() {
+            // Act
+            QueryCounter.start();
+            jdbc.batchUpdate("UPDATE office SET name = ? WHERE id = ?",
+                    List.of(new Object[]{"A", 1}, new Object[]{"B", 2}, new Object[]{"C", 3}));
+            QueryStatistics statistics = QueryCounter.stop();
+
+            // Assert
+            assertEquals(1, statistics.getQueryCount());
+        }
+
+        @Test
+        @DisplayName("Should count statements in every open scope")
+        void start_NestedScopes_CountInBoth() {
+            // Act
+            QueryStatistics outer = QueryCounter.start();
+            nameOf(1);
+            QueryCounter.start();
+            nameOf(2);
+            QueryStatistics inner = QueryCounter.stop();
+            nameOf(3);
+            QueryCounter.stop();
+
+            // Assert
+            assertEquals(1, inner.getQueryCount());
+            assertEquals(3, outer.getQueryCount());
+        }
+
+        @Test
+        @DisplayName("Should fail when no scope is open")
+        void stop_WithoutStart_ThrowsException() {
+            assertThrows(IllegalStateException.class, QueryCounter::stop);
+        }
+    }
+
+    @Nested
+    @DisplayName("QueryCountAssertions Tests")
+    class QueryCountAssertionsTests {
+
+        @Test
+        @DisplayName("Should pass within the budget and fail above it")
+        void assertMaxQueries_ChecksBudget() throws Exception {
+            // Act
+            QueryStatistics statistics = QueryCountAssertions.assertMaxQueries(2, () -> nameOf(1));
+            AssertionError error = assertThrows(AssertionError.class,
+                    () -> QueryCountAssertions.assertMaxQueries(2, () -> List.of(1L, 2L, 3L).forEach(id -> nameOf(id))));
+
+            // Assert
+            assertEquals(1, statistics.getQueryCount());
+            assertTrue(error.getMessage().contains("3x SELECT name FROM office WHERE id = ?"));
+        }
+    }
+
+    @Nested
+    @DisplayName("QueryBudgetFilter Tests")
+    class QueryBudgetFilterTests {
+
+        @Test
+        @DisplayName("Should attach the request's statements to the request")
+        void doFilter_StoresStatisticsAsRequestAttribute() throws Exception {
+            // Arrange
+            QueryBudgetFilter filter = new QueryBudgetFilter(1, 2);
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/offices");
+
+            // Act
+            filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+                nameOf(1);
+                nameOf(2);
+            });
+
+            // Assert
+            QueryStatistics statistics = (QueryStatistics) request.getAttribute(QueryStatistics.REQUEST_ATTRIBUTE);
+            assertEquals(2, statistics.getQueryCount());
+            assertNull(QueryCounter.current());
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.logistics.datasource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for ReadReplicaRoutingDataSource and ReplicaLagMonitor against two
+ * independent in-memory H2 databases standing in for the primary and the replica.
+ */
+class ReadReplicaRoutingDataSourceTest {
+
+    private DataSource primary;
+    private DataSource replica;
+    private JdbcTemplate replicaJdbc;
+
+    @BeforeEach
+    void setUp() {
+        primary = h2("primary");
+        replica = h2("replica");
+        replicaJdbc = new JdbcTemplate(replica);
+    }
+
+    private static DataSource h2(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE node (name VARCHAR(20))");
+        jdbc.update("INSERT INTO node (name) VALUES (?)", name);
+        return dataSource;
+    }
+
+    private void replicaHeartbeat(long beatMillis) {
+        replicaJdbc.execute(ReplicaLagMonitor.CREATE_HEARTBEAT_TABLE);
+        replicaJdbc.update("INSERT INTO replica_heartbeat (id, beat_millis) VALUES (1, ?)", beatMillis);
+    }
+
+    @Nested
+    @DisplayName("routing Tests")
+    class RoutingTests {
+
+        private ReplicaLagMonitor monitor;
+        private ReadReplicaRoutingDataSource routing;
+        private TransactionTemplate transactions;
+        private JdbcTemplate jdbc;
+
+        @BeforeEach
+        void setUp() {
+            monitor = new ReplicaLagMonitor(primary, replica, 0);
+            routing = new ReadReplicaRoutingDataSource(primary, replica, monitor);
+            routing.afterPropertiesSet();
+
+            DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+            transactions = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+            jdbc = new JdbcTemplate(dataSource);
+        }
+
+        private String currentNode(boolean readOnly) {
+            transactions.setReadOnly(readOnly);
+            return transactions.execute(status -> jdbc.queryForObject("SELECT name FROM node", String.class));
+        }
+
+        @Test
+        @DisplayName("Should send readOnly transactions to the replica and others to the primary")
+        void route_ReplicaUsable_SplitsByReadOnly() {
+            // Arrange
+            monitor.check();
+
+            // Act
+            String read = currentNode(true);
+            String write = currentNode(false);
+
+            // Assert
+            assertEquals("replica", read);
+            assertEquals("primary", write);
+            assertEquals(1L, routing.getReplicaConnections());
+            assertEquals(0L, routing.getReplicaFallbacks());
+        }
+
+        @Test
+        @DisplayName("Should keep reads on the primary until the replica has been checked")
+        void route_ReplicaNotChecked_FallsBackToPrimary() {
+            // Act
+            String read = currentNode(true);
+
+            // Assert
+            assertEquals("primary", read);
+            assertEquals(1L, routing.getReplicaFallbacks());
+            assertEquals(0L, routing.getReplicaConnections());
+        }
+    }
+
+    @Nested
+    @DisplayName("lag check Tests")
+    class LagCheckTests {
+
+        @Test
+        @DisplayName("Should use a replica whose heartbeat is current")
+        void check_RecentHeartbeat_ReplicaUsable() {
+            // Arrange
+            ReplicaLagMonitor monitor = new ReplicaLagMonitor(primary, replica, 5_000);
+            replicaHeartbeat(System.currentTimeMillis());
+
+            // Act
+            monitor.check();
+
+            // Assert
+            assertTrue(monitor.isReplicaUsable());
+            assertTrue(monitor.getLagMs() < 5_000);
+            assertEquals(1, new JdbcTemplate(primary).queryForObject(
+                    "SELECT COUNT(*) FROM replica_heartbeat", Integer.class));
+        }
+
+        @Test
+        @DisplayName("Should stop using a replica that lags behind the primary")
+        void check_StaleHeartbeat_ReplicaNotUsable() {
+            // Arrange
+            ReplicaLagMonitor monitor = new ReplicaLagMonitor(primary, replica, 5_000);
+            replicaHeartbeat(System.currentTimeMillis() - 60_000);
+
+            // Act
+            monitor.check();
+
+            // Assert
+            assertFalse(monitor.isReplicaUsable());
+            assertTrue(monitor.getLagMs() >= 60_000);
+        }
+
+        @Test
+        @DisplayName("Should stop using a replica whose heartbeat cannot be read")
+        void check_MissingHeartbeatTable_ReplicaNotUsable() {
+            // Arrange
+            ReplicaLagMonitor monitor = new ReplicaLagMonitor(primary, replica, 5_000);
+
+            // Act
+            monitor.check();
+
+            // Assert
+            assertFalse(monitor.isReplicaUsable());
+            assertNull(monitor.getLagMs());
+            assertEquals(1L, monitor.getFailedChecks());
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.logistics.datasource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for ShipmentIdSequenceInitializer against an in-memory H2 database
+ * whose shipments table already holds rows.
+ */
+class ShipmentIdSequenceInitializerTest {
+
+    private JdbcTemplate jdbc;
+    private ShipmentIdSequenceInitializer initializer;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:sequences-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE shipments (id BIGINT NOT NULL PRIMARY KEY)");
+        jdbc.execute("CREATE TABLE id_sequences (sequence_name VARCHAR(255) NOT NULL PRIMARY KEY, next_val BIGINT)");
+        initializer = new ShipmentIdSequenceInitializer(dataSource);
+    }
+
+    private Long nextVal() {
+        return jdbc.queryForObject("SELECT next_val FROM id_sequences WHERE sequence_name = 'shipments'", Long.class);
+    }
+
+    @Test
+    void initialize_RowMissing_SeedsPastExistingIds() {
+        // Arrange
+        jdbc.update("INSERT INTO shipments (id) VALUES (1), (2), (1200)");
+
+        // Act
+        initializer.initialize();
+
+        // Assert
+        assertEquals(1250L, nextVal());
+    }
+
+    @Test
+    void initialize_RowBehindExistingIds_RaisesIt() {
+        // Arrange
+        jdbc.update("INSERT INTO shipments (id) VALUES (700)");
+        jdbc.update("INSERT INTO id_sequences (sequence_name, next_val) VALUES ('shipments', 1)");
+
+        // Act
+        initializer.initialize();
+
+        // Assert
+        assertEquals(750L, nextVal());
+    }
+
+    @Test
+    void initialize_RowAhead_LeavesItAlone() {
+        // Arrange
+        jdbc.update("INSERT INTO shipments (id) VALUES (700)");
+        jdbc.update("INSERT INTO id_sequences (sequence_name, next_val) VALUES ('shipments', 5000)");
+
+        // Act
+        initializer.initialize();
+
+        // Assert
+        assertEquals(5000L, nextVal());
+    }
+
+    @Test
+    void initialize_EmptyTable_StartsAtOne() {
+        // Act
+        initializer.initialize();
+
+        // Assert
+        assertEquals(50L, nextVal());
+        assertEquals(1, jdbc.queryForObject("SELECT COUNT(*) FROM id_sequences", Integer.class));
+    }
+}
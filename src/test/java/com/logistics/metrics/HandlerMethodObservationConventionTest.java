@@ -0,0 +1,86 @@
+package com.logistics.metrics;
+
+import io.micrometer.common.KeyValue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for HandlerMethodObservationConvention.
+ * Tests the controller method tag added to HTTP server metrics.
+ */
+class HandlerMethodObservationConventionTest {
+
+    private final HandlerMethodObservationConvention convention = new HandlerMethodObservationConvention();
+
+    @RestController
+    static class SampleController {
+
+        @GetMapping("/sample")
+        public String getSample() {
+            return "sample";
+        }
+    }
+
+    static class NotAController {
+
+        public String handle() {
+            return "handled";
+        }
+    }
+
+    private String handlerTag(Object handler) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/sample");
+        if (handler != null) {
+            request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, handler);
+        }
+        ServerRequestObservationContext context =
+                new ServerRequestObservationContext(request, new MockHttpServletResponse());
+
+        return convention.getLowCardinalityKeyValues(context).stream()
+                .filter(keyValue -> HandlerMethodObservationConvention.HANDLER_KEY.equals(keyValue.getKey()))
+                .map(KeyValue::getValue)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Test
+    @DisplayName("Should tag the controller class and method that handled the request")
+    void getLowCardinalityKeyValues_ControllerMethod_TagsHandler() throws Exception {
+        // Arrange
+        HandlerMethod handler = new HandlerMethod(new SampleController(),
+                SampleController.class.getMethod("getSample"));
+
+        // Act & Assert
+        assertEquals("SampleController.getSample", handlerTag(handler));
+    }
+
+    @Test
+    @DisplayName("Should tag requests that reached no controller as none")
+    void getLowCardinalityKeyValues_NoHandler_TagsNone() throws Exception {
+        HandlerMethod notController = new HandlerMethod(new NotAController(),
+                NotAController.class.getMethod("handle"));
+
+        assertEquals("none", handlerTag(null));
+        assertEquals("none", handlerTag(notController));
+    }
+
+    @Test
+    @DisplayName("Should keep the default tags")
+    void getLowCardinalityKeyValues_KeepsDefaultTags() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/sample");
+        ServerRequestObservationContext context =
+                new ServerRequestObservationContext(request, new MockHttpServletResponse());
+
+        assertTrue(convention.getLowCardinalityKeyValues(context).stream()
+                .anyMatch(keyValue -> "method".equals(keyValue.getKey()) && "GET".equals(keyValue.getValue())));
+    }
+}
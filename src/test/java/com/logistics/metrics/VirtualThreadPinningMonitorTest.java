@@ -0,0 +1,82 @@
+package com.logistics.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for VirtualThreadPinningMonitor.
+ * Pins a real virtual thread, so it only runs on Java 21 and later (mvn -Pjava21 test).
+ */
+@EnabledForJreRange(min = JRE.JAVA_21)
+class VirtualThreadPinningMonitorTest {
+
+    private final Object monitor = new Object();
+
+    private SimpleMeterRegistry meterRegistry;
+    private VirtualThreadPinningMonitor pinningMonitor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        pinningMonitor = new VirtualThreadPinningMonitor(Duration.ofMillis(10), meterRegistry);
+        pinningMonitor.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        pinningMonitor.close();
+    }
+
+    /**
+     * Thread.startVirtualThread through reflection, since the default build compiles for Java 17.
+     */
+    private static Thread startVirtualThread(Runnable task) throws Exception {
+        return (Thread) Thread.class.getMethod("startVirtualThread", Runnable.class).invoke(null, task);
+    }
+
+    private void sleepInsideMonitor() {
+        synchronized (monitor) {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should record a virtual thread that sleeps inside synchronized")
+    void pinnedVirtualThread_RecordsTimer() throws Exception {
+        // Arrange
+        Timer pinned = meterRegistry.get("jvm.threads.virtual.pinned").timer();
+
+        // Act
+        startVirtualThread(this::sleepInsideMonitor).join();
+
+        // Assert - events reach the stream asynchronously, about once a second
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (pinned.count() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+        assertEquals(1, pinned.count());
+        assertTrue(pinned.max(TimeUnit.MILLISECONDS) >= 100);
+    }
+
+    @Test
+    @DisplayName("Should name the call site unknown without a stack trace")
+    void callSite_NoFrames_ReturnsUnknown() {
+        assertEquals("unknown", VirtualThreadPinningMonitor.callSite(List.of()));
+    }
+}
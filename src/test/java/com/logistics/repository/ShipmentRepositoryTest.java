@@ -1,6 +1,12 @@
 package com.logistics.repository;
 
+import com.logistics.config.QueryBudgetConfig;
+import com.logistics.datasource.QueryCountAssertions;
+import com.logistics.datasource.QueryStatistics;
+import com.logistics.dto.report.CustomerMetricsResponse;
+import com.logistics.dto.shipment.ShipmentResponse;
 import com.logistics.model.entity.*;
+import com.logistics.model.enums.DeliveryType;
 import com.logistics.model.enums.EmployeeType;
 import com.logistics.model.enums.Role;
 import com.logistics.model.enums.ShipmentStatus;
@@ -11,12 +17,20 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import com.logistics.util.EntityMapper;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -26,10 +40,12 @@ import static org.junit.jupiter.api.Assertions.*;
  */
 @DataJpaTest
 @ActiveProfiles("test")
+@Import(QueryBudgetConfig.class)
 @org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase(replace = org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace.NONE)
 @org.springframework.test.context.TestPropertySource(properties = {
     "spring.datasource.url=jdbc:h2:mem:testdb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
-    "spring.jpa.hibernate.ddl-auto=create-drop"
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
 })
 class ShipmentRepositoryTest {
 
@@ -39,6 +55,9 @@ class ShipmentRepositoryTest {
     @Autowired
     private ShipmentRepository shipmentRepository;
 
+    @Autowired
+    private DailyRevenueRepository dailyRevenueRepository;
+
     private User senderUser;
     private User recipientUser;
     private User employeeUser;
@@ -196,6 +215,331 @@ class ShipmentRepositoryTest {
         }
     }
 
+    @Nested
+    @DisplayName("Keyset page Tests")
+    class KeysetPageTests {
+
+        @Test
+        @DisplayName("Should walk all shipments in (registeredAt, id) order")
+        void findPageAfter_WalksAllShipmentsInOrder() {
+            // Act
+            List<ShipmentResponse> first = shipmentRepository.findFirstPage(PageRequest.ofSize(1));
+            ShipmentResponse last = first.get(0);
+            List<ShipmentResponse> second = shipmentRepository.findPageAfter(
+                    last.getRegisteredAt(), last.getId(), PageRequest.ofSize(1));
+            ShipmentResponse secondLast = second.get(0);
+            List<ShipmentResponse> third = shipmentRepository.findPageAfter(
+                    secondLast.getRegisteredAt(), secondLast.getId(), PageRequest.ofSize(1));
+
+            // Assert
+            assertEquals(1, first.size());
+            assertEquals(1, second.size());
+            assertNotEquals(last.getId(), secondLast.getId());
+            assertTrue(third.isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should page only the customer's shipments")
+        void findFirstPageByCustomerId_ReturnsCustomerShipments() {
+            // Act
+            List<ShipmentResponse> shipments = shipmentRepository.findFirstPageByCustomerId(
+                    recipient.getId(), PageRequest.ofSize(10));
+            List<ShipmentResponse> none = shipmentRepository.findFirstPageByCustomerId(
+                    999L, PageRequest.ofSize(10));
+
+            // Assert
+            assertEquals(2, shipments.size());
+            assertTrue(none.isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Export stream Tests")
+    class ExportStreamTests {
+
+        @Test
+        @DisplayName("Should stream all shipments in registration order")
+        void streamAllResponses_ReturnsShipmentsInOrder() {
+            // Act
+            List<ShipmentResponse> shipments;
+            try (Stream<ShipmentResponse> stream = shipmentRepository.streamAllResponses()) {
+                shipments = stream.toList();
+            }
+
+            // Assert
+            assertEquals(2, shipments.size());
+            assertEquals(shipment1.getId(), shipments.get(0).getId());
+        }
+
+        @Test
+        @DisplayName("Should stream only pending shipments")
+        void streamPendingResponses_ExcludesDelivered() {
+            // Act
+            List<ShipmentResponse> shipments;
+            try (Stream<ShipmentResponse> stream = shipmentRepository.streamPendingResponses()) {
+                shipments = stream.toList();
+            }
+
+            // Assert
+            assertEquals(1, shipments.size());
+            assertEquals(ShipmentStatus.REGISTERED, shipments.get(0).getStatus());
+        }
+    }
+
+    @Nested
+    @DisplayName("Batch insert Tests")
+    class BatchInsertTests {
+
+        @Test
+        @DisplayName("Should insert many shipments through one batched statement")
+        void saveAll_ManyShipments_InsertsInBatches() {
+            // Arrange
+            List<Shipment> shipments = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                Shipment shipment = new Shipment();
+                shipment.setSender(sender);
+                shipment.setRecipient(recipient);
+                shipment.setRegisteredBy(employee);
+                shipment.setWeight(new BigDecimal("1.00"));
+                shipment.setPrice(new BigDecimal("7.00"));
+                shipment.setDeliveryAddress("Batch St " + i);
+                shipment.setStatus(ShipmentStatus.REGISTERED);
+                shipments.add(shipment);
+            }
+            Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                    .unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+
+            // Act
+            shipmentRepository.saveAll(shipments);
+            entityManager.flush();
+
+            // Assert - ids come from the pool, so the 20 INSERTs share one JDBC batch
+            assertEquals(20, statistics.getEntityInsertCount());
+            assertTrue(statistics.getPrepareStatementCount() <= 3,
+                    "Expected batched inserts but got " + statistics.getPrepareStatementCount() + " statements");
+        }
+    }
+
+    @Nested
+    @DisplayName("Bulk status update Tests")
+    class BulkStatusUpdateTests {
+
+        @Test
+        @DisplayName("Should update only shipments in an allowed source status")
+        void updateStatusByIds_SkipsIllegalTransitions() {
+            // Arrange
+            LocalDateTime now = LocalDateTime.now();
+            List<Long> ids = List.of(shipment1.getId(), shipment2.getId());
+
+            // Act
+            int updated = shipmentRepository.updateStatusByIds(ids, ShipmentStatus.IN_TRANSIT,
+                    List.of(ShipmentStatus.REGISTERED), now);
+            List<Long> rejected = shipmentRepository.findIdsNotInStatus(ids, ShipmentStatus.IN_TRANSIT);
+
+            // Assert
+            assertEquals(1, updated);
+            assertEquals(List.of(shipment2.getId()), rejected);
+            Shipment moved = shipmentRepository.findById(shipment1.getId()).orElseThrow();
+            assertEquals(ShipmentStatus.IN_TRANSIT, moved.getStatus());
+            assertNull(moved.getDeliveredAt());
+        }
+
+        @Test
+        @DisplayName("Should set deliveredAt in the same statement")
+        void updateStatusByFilter_ToDelivered_SetsDeliveredAt() {
+            // Arrange
+            LocalDateTime now = LocalDateTime.now().withNano(0);
+            shipmentRepository.updateStatusByIds(List.of(shipment1.getId()), ShipmentStatus.IN_TRANSIT,
+                    List.of(ShipmentStatus.REGISTERED), now);
+
+            // Act
+            int updated = shipmentRepository.updateStatusByFilter(ShipmentStatus.IN_TRANSIT, null,
+                    ShipmentStatus.DELIVERED, now);
+
+            // Assert
+            assertEquals(1, updated);
+            Shipment delivered = shipmentRepository.findById(shipment1.getId()).orElseThrow();
+            assertEquals(ShipmentStatus.DELIVERED, delivered.getStatus());
+            assertEquals(now, delivered.getDeliveredAt());
+        }
+
+        @Test
+        @DisplayName("Should limit filter updates to the origin office")
+        void updateStatusByFilter_OtherOffice_UpdatesNothing() {
+            // Act
+            int updated = shipmentRepository.updateStatusByFilter(ShipmentStatus.REGISTERED, 999L,
+                    ShipmentStatus.IN_TRANSIT, LocalDateTime.now());
+
+            // Assert
+            assertEquals(0, updated);
+        }
+
+        @Test
+        @DisplayName("Should return each sender and recipient of the shipments once")
+        void findCustomerIdsByIds_ReturnsDistinctCustomers() {
+            // Act
+            List<Long> customerIds = shipmentRepository.findCustomerIdsByIds(
+                    List.of(shipment1.getId(), shipment2.getId()));
+
+            // Assert
+            assertEquals(Set.of(sender.getId(), recipient.getId()), Set.copyOf(customerIds));
+            assertEquals(2, customerIds.size());
+        }
+    }
+
+    @Nested
+    @DisplayName("Daily revenue rollup Tests")
+    class DailyRevenueTests {
+
+        @Test
+        @DisplayName("Should aggregate delivered shipments into day buckets")
+        void aggregateDailyRevenue_GroupsDeliveredShipments() {
+            // Act
+            List<DailyRevenue> buckets = shipmentRepository.aggregateDailyRevenue(null, null);
+
+            // Assert
+            assertEquals(1, buckets.size());
+            DailyRevenue bucket = buckets.get(0);
+            assertEquals(shipment2.getDeliveredAt().toLocalDate(), bucket.getRevenueDate());
+            assertEquals(DeliveryType.ADDRESS, bucket.getDeliveryType());
+            assertEquals(DailyRevenue.NO_ORIGIN_OFFICE, bucket.getOriginOfficeId());
+            assertEquals(1L, bucket.getShipmentCount());
+            assertEquals(0, new BigDecimal("45.00").compareTo(bucket.getRevenue()));
+        }
+
+        @Test
+        @DisplayName("Should aggregate only the given delivered shipments")
+        void aggregateDailyRevenueByIds_IgnoresUndeliveredIds() {
+            // Act
+            List<DailyRevenue> buckets = shipmentRepository.aggregateDailyRevenueByIds(
+                    List.of(shipment1.getId(), shipment2.getId()));
+
+            // Assert
+            assertEquals(1, buckets.size());
+            assertEquals(1L, buckets.get(0).getShipmentCount());
+        }
+
+        @Test
+        @DisplayName("Should lock only shipments in a source status")
+        void lockIdsInStatuses_ReturnsMatchingIds() {
+            // Act
+            List<Long> locked = shipmentRepository.lockIdsInStatuses(
+                    List.of(shipment1.getId(), shipment2.getId()), List.of(ShipmentStatus.REGISTERED));
+
+            // Assert
+            assertEquals(List.of(shipment1.getId()), locked);
+        }
+
+        @Test
+        @DisplayName("Should add to an existing bucket and sum over a date range")
+        void addToBucket_ExistingBucket_SumsBetweenDates() {
+            // Arrange
+            LocalDate today = LocalDate.now();
+            dailyRevenueRepository.save(new DailyRevenue(today, DeliveryType.OFFICE, null, 2, new BigDecimal("30.00")));
+            dailyRevenueRepository.save(new DailyRevenue(today.minusDays(10), DeliveryType.OFFICE, null,
+                    5, new BigDecimal("99.00")));
+
+            // Act
+            int updated = dailyRevenueRepository.addToBucket(today, DeliveryType.OFFICE,
+                    DailyRevenue.NO_ORIGIN_OFFICE, 1, new BigDecimal("12.50"));
+
+            // Assert
+            assertEquals(1, updated);
+            assertEquals(0, new BigDecimal("42.50").compareTo(
+                    dailyRevenueRepository.sumRevenueBetween(today.minusDays(1), today)));
+            assertEquals(3L, dailyRevenueRepository.sumShipmentCountBetween(today.minusDays(1), today));
+            assertEquals(0, dailyRevenueRepository.addToBucket(today, DeliveryType.ADDRESS,
+                    DailyRevenue.NO_ORIGIN_OFFICE, 1, BigDecimal.ONE));
+        }
+    }
+
+    @Nested
+    @DisplayName("Fetch plan Tests")
+    class FetchPlanTests {
+
+        private Statistics statistics;
+
+        @BeforeEach
+        void setUpStatistics() {
+            Office office = new Office();
+            office.setCompany(company);
+            office.setName("Central");
+            office.setAddress("1 Main St");
+            office.setCity("Sofia");
+            office.setCountry("Bulgaria");
+            entityManager.persist(office);
+            shipment1.setOriginOffice(office);
+            shipment2.setDeliveryOffice(office);
+            shipment2.setDeliveryAddress(null);
+            entityManager.flush();
+            entityManager.clear();
+
+            statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                    .unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+        }
+
+        @Test
+        @DisplayName("Should map all shipments to responses with a single statement")
+        void findAll_MappedToResponses_IssuesOneStatement() {
+            // Act
+            shipmentRepository.findAll().forEach(EntityMapper::toShipmentResponse);
+
+            // Assert
+            assertEquals(1, statistics.getPrepareStatementCount());
+        }
+
+        @Test
+        @DisplayName("Should map a customer's shipments to responses within a one-statement budget")
+        void findBySenderIdOrRecipientId_MappedToResponses_WithinQueryBudget() throws Exception {
+            // Act
+            QueryStatistics queries = QueryCountAssertions.assertMaxQueries(1, () -> shipmentRepository
+                    .findBySenderIdOrRecipientId(sender.getId(), sender.getId())
+                    .forEach(EntityMapper::toShipmentResponse));
+
+            // Assert
+            assertEquals(1, queries.getQueryCount());
+        }
+
+        @Test
+        @DisplayName("Should project responses with a single statement and no entity loads")
+        void findAllResponses_IssuesOneStatementWithoutEntities() {
+            // Act
+            List<ShipmentResponse> responses = shipmentRepository.findAllResponses();
+
+            // Assert
+            assertEquals(2, responses.size());
+            assertEquals(1, statistics.getPrepareStatementCount());
+            assertEquals(0, statistics.getEntityLoadCount());
+        }
+
+        @Test
+        @DisplayName("Should project the same values as EntityMapper")
+        void findResponseById_MatchesEntityMapper() {
+            for (Shipment shipment : List.of(shipment1, shipment2)) {
+                // Act
+                ShipmentResponse projected = shipmentRepository.findResponseById(shipment.getId()).orElseThrow();
+                ShipmentResponse mapped = EntityMapper.toShipmentResponse(
+                        shipmentRepository.findById(shipment.getId()).orElseThrow());
+
+                // Assert
+                assertEquals(mapped.getSenderName(), projected.getSenderName());
+                assertEquals(mapped.getRecipientEmail(), projected.getRecipientEmail());
+                assertEquals(mapped.getReceiverName(), projected.getReceiverName());
+                assertEquals(mapped.getRegisteredByName(), projected.getRegisteredByName());
+                assertEquals(mapped.getOriginOfficeName(), projected.getOriginOfficeName());
+                assertEquals(mapped.getDeliveryOfficeId(), projected.getDeliveryOfficeId());
+                assertEquals(mapped.getDestinationOfficeName(), projected.getDestinationOfficeName());
+                assertEquals(mapped.isDeliverToAddress(), projected.isDeliverToAddress());
+                assertEquals(mapped.getDeliveryDestination(), projected.getDeliveryDestination());
+                assertEquals(0, mapped.getPrice().compareTo(projected.getPrice()));
+                assertEquals(mapped.getStatus(), projected.getStatus());
+                assertEquals(mapped.getRegisteredAt(), projected.getRegisteredAt());
+            }
+        }
+    }
+
     @Nested
     @DisplayName("findByStatus Tests")
     class FindByStatusTests {
@@ -279,6 +623,27 @@ class ShipmentRepositoryTest {
         }
     }
 
+    @Nested
+    @DisplayName("countAndSumPriceByStatus Tests")
+    class CountAndSumPriceByStatusTests {
+
+        @Test
+        @DisplayName("Should return one count and price sum per status")
+        void countAndSumPriceByStatus_GroupsByStatus() {
+            // Act
+            List<Object[]> rows = shipmentRepository.countAndSumPriceByStatus();
+
+            // Assert
+            assertEquals(2, rows.size());
+            for (Object[] row : rows) {
+                assertEquals(1L, row[1]);
+                BigDecimal expected = row[0] == ShipmentStatus.DELIVERED
+                        ? new BigDecimal("45.00") : new BigDecimal("25.00");
+                assertEquals(0, expected.compareTo((BigDecimal) row[2]));
+            }
+        }
+    }
+
     @Nested
     @DisplayName("calculateRevenueBetweenDates Tests")
     class CalculateRevenueBetweenDatesTests {
@@ -337,4 +702,41 @@ class ShipmentRepositoryTest {
             assertEquals(0, new BigDecimal("70.00").compareTo(totalSpent));
         }
     }
+
+    @Nested
+    @DisplayName("findCustomerMetrics Tests")
+    class FindCustomerMetricsTests {
+
+        @Test
+        @DisplayName("Should aggregate sender metrics in one query")
+        void findCustomerMetrics_Sender_ReturnsMetrics() {
+            // Act
+            CustomerMetricsResponse metrics = shipmentRepository.findCustomerMetrics(sender.getId()).orElseThrow();
+
+            // Assert
+            assertEquals(2, metrics.getTotalSent());
+            assertEquals(0, metrics.getTotalReceived());
+            assertEquals(1, metrics.getInTransit());
+            assertEquals(0, new BigDecimal("70.00").compareTo(metrics.getTotalSpent()));
+        }
+
+        @Test
+        @DisplayName("Should aggregate recipient metrics in one query")
+        void findCustomerMetrics_Recipient_ReturnsMetrics() {
+            // Act
+            CustomerMetricsResponse metrics = shipmentRepository.findCustomerMetrics(recipient.getId()).orElseThrow();
+
+            // Assert
+            assertEquals(0, metrics.getTotalSent());
+            assertEquals(1, metrics.getTotalReceived());
+            assertEquals(1, metrics.getInTransit());
+            assertEquals(0, BigDecimal.ZERO.compareTo(metrics.getTotalSpent()));
+        }
+
+        @Test
+        @DisplayName("Should return empty for an unknown customer")
+        void findCustomerMetrics_UnknownCustomer_ReturnsEmpty() {
+            assertTrue(shipmentRepository.findCustomerMetrics(999L).isEmpty());
+        }
+    }
 }
@@ -0,0 +1,109 @@
+package com.logistics.security;
+
+import com.logistics.model.enums.Role;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for JwtAuthenticationFilter.
+ */
+class JwtAuthenticationFilterTest {
+
+    private static final String TEST_SECRET = "TestSecretKeyForJWTTokenGenerationMustBeAtLeast256BitsLong12345";
+
+    private JwtTokenProvider jwtTokenProvider;
+    private UserDetailsService userDetailsService;
+    private UserRevalidationCache userRevalidationCache;
+
+    @BeforeEach
+    void setUp() {
+        jwtTokenProvider = new JwtTokenProvider(TEST_SECRET, 3600000L);
+        userDetailsService = mock(UserDetailsService.class);
+        userRevalidationCache = mock(UserRevalidationCache.class);
+        SecurityContextHolder.clearContext();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should build the principal from claims without loading the user")
+    void doFilter_StatelessMode_UsesClaims() throws Exception {
+        // Arrange
+        JwtAuthenticationFilter filter =
+                new JwtAuthenticationFilter(jwtTokenProvider, userDetailsService, userRevalidationCache, true);
+        when(userRevalidationCache.isStillValid(any())).thenReturn(true);
+        String token = jwtTokenProvider.generateToken(new AuthenticatedUser("employee", Role.EMPLOYEE, 3L, null, 9L));
+
+        // Act
+        filter.doFilter(bearer(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentication);
+        assertEquals("employee", authentication.getName());
+        assertTrue(authentication.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_EMPLOYEE")));
+        AuthenticatedUser principal = assertInstanceOf(AuthenticatedUser.class, authentication.getPrincipal());
+        assertEquals(9L, principal.getEmployeeId());
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    @DisplayName("Should leave the request unauthenticated when revalidation fails")
+    void doFilter_RevalidationFails_DoesNotAuthenticate() throws Exception {
+        // Arrange
+        JwtAuthenticationFilter filter =
+                new JwtAuthenticationFilter(jwtTokenProvider, userDetailsService, userRevalidationCache, true);
+        when(userRevalidationCache.isStillValid(any())).thenReturn(false);
+        String token = jwtTokenProvider.generateToken("removed", Role.CUSTOMER);
+
+        // Act
+        filter.doFilter(bearer(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    @DisplayName("Should load the user from the database when stateless mode is off")
+    void doFilter_DatabaseMode_LoadsUser() throws Exception {
+        // Arrange
+        JwtAuthenticationFilter filter =
+                new JwtAuthenticationFilter(jwtTokenProvider, userDetailsService, userRevalidationCache, false);
+        when(userDetailsService.loadUserByUsername("customer")).thenReturn(
+                new User("customer", "password", List.of(new SimpleGrantedAuthority("ROLE_CUSTOMER"))));
+        String token = jwtTokenProvider.generateToken("customer", Role.CUSTOMER);
+
+        // Act
+        filter.doFilter(bearer(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        assertEquals("customer", SecurityContextHolder.getContext().getAuthentication().getName());
+        verify(userDetailsService).loadUserByUsername("customer");
+        verifyNoInteractions(userRevalidationCache);
+    }
+
+    private MockHttpServletRequest bearer(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+}
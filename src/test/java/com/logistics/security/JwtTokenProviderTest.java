@@ -1,11 +1,20 @@
 package com.logistics.security;
 
 import com.logistics.model.enums.Role;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Optional;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -213,6 +222,194 @@ class JwtTokenProviderTest {
         }
     }
 
+    @Nested
+    @DisplayName("validateAndGetToken Tests")
+    class ValidateAndGetTokenTests {
+
+        @Test
+        @DisplayName("Should return username and role from a single validation")
+        void validateAndGetToken_ValidToken_ReturnsClaims() {
+            // Arrange
+            String token = jwtTokenProvider.generateToken("testuser", Role.EMPLOYEE);
+
+            // Act
+            Optional<VerifiedToken> verified = jwtTokenProvider.validateAndGetToken(token);
+
+            // Assert
+            assertTrue(verified.isPresent());
+            assertEquals("testuser", verified.get().getUsername());
+            assertEquals(Role.EMPLOYEE, verified.get().getRole());
+        }
+
+        @Test
+        @DisplayName("Should carry identity ids through the token claims")
+        void validateAndGetToken_TokenWithIds_ReturnsPrincipalWithIds() {
+            // Arrange
+            String token = jwtTokenProvider.generateToken(
+                    new AuthenticatedUser("customer", Role.CUSTOMER, 7L, 42L, null));
+
+            // Act
+            AuthenticatedUser principal = jwtTokenProvider.validateAndGetToken(token).orElseThrow().getPrincipal();
+
+            // Assert
+            assertEquals("customer", principal.getName());
+            assertEquals(Role.CUSTOMER, principal.getRole());
+            assertEquals(7L, principal.getUserId());
+            assertEquals(42L, principal.getCustomerId());
+            assertNull(principal.getEmployeeId());
+        }
+
+        @Test
+        @DisplayName("Should serve repeat validations from the cache")
+        void validateAndGetToken_SameTokenTwice_ReturnsCachedInstance() {
+            // Arrange
+            String token = jwtTokenProvider.generateToken("testuser", Role.CUSTOMER);
+
+            // Act
+            VerifiedToken first = jwtTokenProvider.validateAndGetToken(token).orElseThrow();
+            VerifiedToken second = jwtTokenProvider.validateAndGetToken(token).orElseThrow();
+
+            // Assert
+            assertSame(first, second);
+            assertEquals(1, jwtTokenProvider.cachedTokenCount());
+        }
+
+        @Test
+        @DisplayName("Should not cache tokens with an invalid signature")
+        void validateAndGetToken_TamperedToken_ReturnsEmptyAndIsNotCached() {
+            // Arrange
+            String token = jwtTokenProvider.generateToken("testuser", Role.CUSTOMER);
+            String tamperedToken = token.substring(0, token.lastIndexOf('.') + 1) + "invalidsignature";
+
+            // Act
+            Optional<VerifiedToken> verified = jwtTokenProvider.validateAndGetToken(tamperedToken);
+
+            // Assert
+            assertTrue(verified.isEmpty());
+            assertEquals(0, jwtTokenProvider.cachedTokenCount());
+        }
+
+        @Test
+        @DisplayName("Should reject a cached token once it has expired")
+        void validateAndGetToken_CachedTokenExpires_ReturnsEmpty() throws InterruptedException {
+            // Arrange
+            JwtTokenProvider shortLivedProvider = new JwtTokenProvider(TEST_SECRET, 1000L);
+            String token = shortLivedProvider.generateToken("testuser", Role.CUSTOMER);
+            assertTrue(shortLivedProvider.validateAndGetToken(token).isPresent());
+
+            // Act
+            Thread.sleep(1100);
+            Optional<VerifiedToken> verified = shortLivedProvider.validateAndGetToken(token);
+
+            // Assert
+            assertTrue(verified.isEmpty());
+            assertEquals(0, shortLivedProvider.cachedTokenCount());
+        }
+
+        @Test
+        @DisplayName("Should reject a signed token without a role claim")
+        void validateAndGetToken_MissingRole_ReturnsEmpty() {
+            // Arrange
+            String token = signedToken(null);
+
+            // Act & Assert
+            assertTrue(jwtTokenProvider.validateAndGetToken(token).isEmpty());
+            MalformedJwtException exception = assertThrows(MalformedJwtException.class,
+                    () -> jwtTokenProvider.getRoleFromToken(token));
+            assertEquals("JWT has no role claim", exception.getMessage());
+        }
+
+        @Test
+        @DisplayName("Should reject a signed token with an unknown role")
+        void validateAndGetToken_UnknownRole_ReturnsEmpty() {
+            // Arrange
+            String token = signedToken("ADMIN");
+
+            // Act & Assert
+            assertTrue(jwtTokenProvider.validateAndGetToken(token).isEmpty());
+            UnsupportedJwtException exception = assertThrows(UnsupportedJwtException.class,
+                    () -> jwtTokenProvider.getRoleFromToken(token));
+            assertEquals("JWT has an unknown role: ADMIN", exception.getMessage());
+        }
+
+        /**
+         * A token signed with the test secret, which generateToken cannot produce.
+         */
+        private String signedToken(String role) {
+            return Jwts.builder()
+                    .subject("testuser")
+                    .claim("role", role)
+                    .expiration(new Date(System.currentTimeMillis() + TEST_EXPIRATION))
+                    .signWith(Keys.hmacShaKeyFor(TEST_SECRET.getBytes(StandardCharsets.UTF_8)))
+                    .compact();
+        }
+
+        @Test
+        @DisplayName("Should keep the cache within its configured size")
+        void validateAndGetToken_CacheFull_StillValidatesNewTokens() {
+            // Arrange
+            JwtTokenProvider smallCacheProvider = new JwtTokenProvider(TEST_SECRET, TEST_EXPIRATION, 2);
+            String token1 = smallCacheProvider.generateToken("user1", Role.CUSTOMER);
+            String token2 = smallCacheProvider.generateToken("user2", Role.CUSTOMER);
+            String token3 = smallCacheProvider.generateToken("user3", Role.CUSTOMER);
+
+            // Act
+            smallCacheProvider.validateAndGetToken(token1);
+            smallCacheProvider.validateAndGetToken(token2);
+            Optional<VerifiedToken> third = smallCacheProvider.validateAndGetToken(token3);
+
+            // Assert
+            assertEquals("user3", third.orElseThrow().getUsername());
+            assertEquals(2, smallCacheProvider.cachedTokenCount());
+        }
+    }
+
+    @Nested
+    @DisplayName("Verification Metrics Tests")
+    class VerificationMetricsTests {
+
+        private SimpleMeterRegistry meterRegistry;
+        private JwtTokenProvider meteredProvider;
+
+        @BeforeEach
+        void setUp() {
+            meterRegistry = new SimpleMeterRegistry();
+            meteredProvider = new JwtTokenProvider(TEST_SECRET, TEST_EXPIRATION, 10, meterRegistry);
+        }
+
+        private long count(String result) {
+            return meterRegistry.get("jwt.verification").tag("result", result).timer().count();
+        }
+
+        @Test
+        @DisplayName("Should time the first check as verified and repeats as cached")
+        void validateAndGetToken_RepeatedToken_RecordsVerifiedThenCached() {
+            // Arrange
+            String token = meteredProvider.generateToken("testuser", Role.CUSTOMER);
+
+            // Act
+            meteredProvider.validateAndGetToken(token);
+            meteredProvider.validateAndGetToken(token);
+            meteredProvider.validateAndGetToken(token);
+
+            // Assert
+            assertEquals(1, count("verified"));
+            assertEquals(2, count("cached"));
+            assertEquals(0, count("rejected"));
+        }
+
+        @Test
+        @DisplayName("Should time invalid tokens as rejected")
+        void validateAndGetToken_InvalidToken_RecordsRejected() {
+            // Act
+            meteredProvider.validateAndGetToken("invalid.token.here");
+
+            // Assert
+            assertEquals(1, count("rejected"));
+            assertEquals(0, count("verified"));
+        }
+    }
+
     @Nested
     @DisplayName("Token Round-Trip Tests")
     class TokenRoundTripTests {
@@ -0,0 +1,62 @@
+package com.logistics.security;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TimedPasswordEncoder.
+ * Tests that hashing and checks are delegated and timed separately.
+ */
+class TimedPasswordEncoderTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private TimedPasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // Minimum work factor, to keep the test fast
+        passwordEncoder = new TimedPasswordEncoder(new BCryptPasswordEncoder(4), "bcrypt", meterRegistry);
+    }
+
+    private Timer timer(String operation) {
+        return meterRegistry.get("password.encoder")
+                .tag("algorithm", "bcrypt")
+                .tag("operation", operation)
+                .timer();
+    }
+
+    @Test
+    @DisplayName("Should hash and check passwords through the delegate")
+    void encodeAndMatches_DelegateToBCrypt() {
+        // Act
+        String hash = passwordEncoder.encode("password123");
+
+        // Assert
+        assertTrue(hash.startsWith("$2a$04$"));
+        assertTrue(passwordEncoder.matches("password123", hash));
+        assertFalse(passwordEncoder.matches("wrong", hash));
+    }
+
+    @Test
+    @DisplayName("Should record each operation in its own timer")
+    void encodeAndMatches_RecordsTimers() {
+        // Act
+        String hash = passwordEncoder.encode("password123");
+        passwordEncoder.matches("password123", hash);
+        passwordEncoder.matches("wrong", hash);
+
+        // Assert
+        assertEquals(1, timer("encode").count());
+        assertEquals(2, timer("matches").count());
+        assertTrue(timer("encode").totalTime(TimeUnit.NANOSECONDS) > 0);
+    }
+}
@@ -0,0 +1,93 @@
+package com.logistics.security;
+
+import com.logistics.model.enums.Role;
+import com.logistics.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for UserRevalidationCache.
+ */
+class UserRevalidationCacheTest {
+
+    private UserRepository userRepository;
+    private AuthenticatedUser principal;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        principal = new AuthenticatedUser("customer", Role.CUSTOMER, 1L, 2L, null);
+    }
+
+    @Test
+    @DisplayName("Should query the database once per user within the TTL")
+    void isStillValid_RepeatedCalls_QueriesOnce() {
+        // Arrange
+        UserRevalidationCache cache = new UserRevalidationCache(userRepository, 60_000L, 100);
+        when(userRepository.findRoleByUsername("customer")).thenReturn(Optional.of(Role.CUSTOMER));
+
+        // Act
+        boolean first = cache.isStillValid(principal);
+        boolean second = cache.isStillValid(principal);
+
+        // Assert
+        assertTrue(first);
+        assertTrue(second);
+        verify(userRepository, times(1)).findRoleByUsername("customer");
+    }
+
+    @Test
+    @DisplayName("Should reject a principal whose account no longer exists")
+    void isStillValid_UserRemoved_ReturnsFalse() {
+        // Arrange
+        UserRevalidationCache cache = new UserRevalidationCache(userRepository, 60_000L, 100);
+        when(userRepository.findRoleByUsername("customer")).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertFalse(cache.isStillValid(principal));
+    }
+
+    @Test
+    @DisplayName("Should reject a principal whose role has changed")
+    void isStillValid_RoleChanged_ReturnsFalse() {
+        // Arrange
+        UserRevalidationCache cache = new UserRevalidationCache(userRepository, 60_000L, 100);
+        when(userRepository.findRoleByUsername("customer")).thenReturn(Optional.of(Role.EMPLOYEE));
+
+        // Act & Assert
+        assertFalse(cache.isStillValid(principal));
+    }
+
+    @Test
+    @DisplayName("Should re-check the database once the TTL has passed")
+    void isStillValid_TtlElapsed_QueriesAgain() throws InterruptedException {
+        // Arrange
+        UserRevalidationCache cache = new UserRevalidationCache(userRepository, 1L, 100);
+        when(userRepository.findRoleByUsername("customer")).thenReturn(Optional.of(Role.CUSTOMER));
+
+        // Act
+        cache.isStillValid(principal);
+        Thread.sleep(5);
+        cache.isStillValid(principal);
+
+        // Assert
+        verify(userRepository, times(2)).findRoleByUsername("customer");
+    }
+
+    @Test
+    @DisplayName("Should trust the claims without querying when revalidation is disabled")
+    void isStillValid_TtlZero_NeverQueries() {
+        // Arrange
+        UserRevalidationCache cache = new UserRevalidationCache(userRepository, 0L, 100);
+
+        // Act & Assert
+        assertTrue(cache.isStillValid(principal));
+        verifyNoInteractions(userRepository);
+    }
+}
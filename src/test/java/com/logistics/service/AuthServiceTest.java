@@ -11,6 +11,7 @@ import com.logistics.model.enums.Role;
 import com.logistics.repository.CustomerRepository;
 import com.logistics.repository.EmployeeRepository;
 import com.logistics.repository.UserRepository;
+import com.logistics.security.AuthenticatedUser;
 import com.logistics.security.JwtTokenProvider;
 import com.logistics.service.impl.AuthServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
@@ -112,6 +113,34 @@ class AuthServiceTest {
             verify(employeeRepository, never()).save(any(Employee.class));
         }
 
+        @Test
+        @DisplayName("Should embed the new customer id in the registration token")
+        void register_CustomerRole_TokenCarriesCustomerId() {
+            // Arrange
+            when(userRepository.existsByUsername(anyString())).thenReturn(false);
+            when(userRepository.existsByEmail(anyString())).thenReturn(false);
+            when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
+            when(userRepository.save(any(User.class))).thenAnswer(invocation -> {
+                User user = invocation.getArgument(0);
+                user.setId(1L);
+                return user;
+            });
+            when(customerRepository.save(any(Customer.class))).thenAnswer(invocation -> {
+                Customer customer = invocation.getArgument(0);
+                customer.setId(5L);
+                return customer;
+            });
+
+            // Act
+            AuthResponse response = authService.register(registerRequest);
+
+            // Assert
+            AuthenticatedUser principal = jwtTokenProvider.validateAndGetToken(response.getToken())
+                    .orElseThrow().getPrincipal();
+            assertEquals(1L, principal.getUserId());
+            assertEquals(5L, principal.getCustomerId());
+        }
+
         @Test
         @DisplayName("Should register employee successfully")
         void register_EmployeeRole_Success() {
@@ -243,5 +272,27 @@ class AuthServiceTest {
             // Assert
             verify(authenticationManager).authenticate(any(UsernamePasswordAuthenticationToken.class));
         }
+    
+        @Test
+        @DisplayName("Should embed the customer id in the issued token")
+        void login_CustomerUser_TokenCarriesCustomerId() {
+            // Arrange
+            Customer customer = new Customer(testUser);
+            customer.setId(42L);
+            testUser.setCustomer(customer);
+            when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
+                    .thenReturn(new UsernamePasswordAuthenticationToken("testuser", "password123"));
+            when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+
+            // Act
+            AuthResponse response = authService.login(loginRequest);
+
+            // Assert
+            AuthenticatedUser principal = jwtTokenProvider.validateAndGetToken(response.getToken())
+                    .orElseThrow().getPrincipal();
+            assertEquals(1L, principal.getUserId());
+            assertEquals(42L, principal.getCustomerId());
+            assertNull(principal.getEmployeeId());
+        }
     }
 }
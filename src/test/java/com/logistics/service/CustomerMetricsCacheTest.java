@@ -0,0 +1,123 @@
+package com.logistics.service;
+
+import com.logistics.dto.report.CustomerMetricsResponse;
+import com.logistics.service.impl.CustomerMetricsCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CustomerMetricsCache.
+ * Runs outside a transaction, so evictions apply immediately.
+ */
+class CustomerMetricsCacheTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private final Supplier<CustomerMetricsResponse> loader = () -> {
+        loads.incrementAndGet();
+        return new CustomerMetricsResponse(1L, 0L, 1L, new BigDecimal("10.00"));
+    };
+
+    @Test
+    @DisplayName("Should load a customer's metrics once within the TTL")
+    void getOrLoad_RepeatedCalls_LoadsOnce() {
+        // Arrange
+        CustomerMetricsCache cache = new CustomerMetricsCache(60_000L, 100);
+
+        // Act
+        cache.getOrLoad(1L, loader);
+        cache.getOrLoad(1L, loader);
+
+        // Assert
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should reload after the customer is evicted")
+    void evictAfterCommit_TouchedCustomer_Reloads() {
+        // Arrange
+        CustomerMetricsCache cache = new CustomerMetricsCache(60_000L, 100);
+        cache.getOrLoad(1L, loader);
+        cache.getOrLoad(2L, loader);
+
+        // Act
+        cache.evictAfterCommit(List.of(1L));
+        cache.getOrLoad(1L, loader);
+        cache.getOrLoad(2L, loader);
+
+        // Assert
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should not cache a load that overlapped an eviction")
+    void getOrLoad_EvictionDuringLoad_NotCached() {
+        // Arrange
+        CustomerMetricsCache cache = new CustomerMetricsCache(60_000L, 100);
+
+        // Act
+        cache.getOrLoad(1L, () -> {
+            cache.evictAllAfterCommit();
+            return loader.get();
+        });
+        cache.getOrLoad(1L, loader);
+
+        // Assert
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should cache a load that overlapped an eviction of another customer")
+    void getOrLoad_OtherCustomerEvictedDuringLoad_Cached() {
+        // Arrange
+        CustomerMetricsCache cache = new CustomerMetricsCache(60_000L, 100);
+
+        // Act
+        cache.getOrLoad(1L, () -> {
+            cache.evictAfterCommit(List.of(2L, 3L));
+            return loader.get();
+        });
+        cache.getOrLoad(1L, loader);
+
+        // Assert
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should not cache a load that overlapped an eviction of the same customer")
+    void getOrLoad_SameCustomerEvictedDuringLoad_NotCached() {
+        // Arrange
+        CustomerMetricsCache cache = new CustomerMetricsCache(60_000L, 100);
+
+        // Act
+        cache.getOrLoad(1L, () -> {
+            cache.evictAfterCommit(List.of(1L));
+            return loader.get();
+        });
+        cache.getOrLoad(1L, loader);
+
+        // Assert
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should always load when the TTL is 0")
+    void getOrLoad_Disabled_AlwaysLoads() {
+        // Arrange
+        CustomerMetricsCache cache = new CustomerMetricsCache(0L, 100);
+
+        // Act
+        cache.getOrLoad(1L, loader);
+        cache.getOrLoad(1L, loader);
+
+        // Assert
+        assertEquals(2, loads.get());
+    }
+}
@@ -0,0 +1,305 @@
+package com.logistics.service;
+
+import com.logistics.dto.report.DeliveryLatencyResponse;
+import com.logistics.dto.report.LatencyPercentilesResponse;
+import com.logistics.exception.InvalidDataException;
+import com.logistics.model.entity.Office;
+import com.logistics.model.entity.Shipment;
+import com.logistics.model.enums.DeliveryType;
+import com.logistics.model.enums.ShipmentStatus;
+import com.logistics.repository.ShipmentRepository;
+import com.logistics.service.impl.DeliveryLatencyServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for DeliveryLatencyService.
+ * Runs outside of a transaction, where every recorded delivery is applied immediately.
+ */
+@ExtendWith(MockitoExtension.class)
+class DeliveryLatencyServiceTest {
+
+    private static final long HOUR = 3_600L;
+
+    @Mock
+    private ShipmentRepository shipmentRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private DeliveryLatencyServiceImpl deliveryLatencyService;
+
+    private Office origin;
+    private Office destination;
+    private LocalDateTime deliveredAt;
+    private LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        deliveryLatencyService = new DeliveryLatencyServiceImpl(shipmentRepository, transactionManager, 90);
+
+        origin = new Office();
+        origin.setId(10L);
+        destination = new Office();
+        destination.setId(20L);
+
+        deliveredAt = LocalDateTime.now().withNano(0);
+        today = deliveredAt.toLocalDate();
+    }
+
+    private Shipment delivered(long transitHours, Office deliveryOffice) {
+        Shipment shipment = new Shipment();
+        shipment.setStatus(ShipmentStatus.DELIVERED);
+        shipment.setOriginOffice(origin);
+        shipment.setDeliveryOffice(deliveryOffice);
+        shipment.setRegisteredAt(deliveredAt.minusHours(transitHours));
+        shipment.setDeliveredAt(deliveredAt);
+        return shipment;
+    }
+
+    private static void assertClose(long expectedSeconds, Long actualSeconds) {
+        assertNotNull(actualSeconds);
+        assertEquals(expectedSeconds, actualSeconds, expectedSeconds * 0.07);
+    }
+
+    @Nested
+    @DisplayName("getLatencyReport Tests")
+    class GetLatencyReportTests {
+
+        @Test
+        @DisplayName("Should report percentiles within the histogram's accuracy")
+        void getLatencyReport_RecordedDeliveries_ReturnsPercentiles() {
+            // Arrange
+            for (int hours = 1; hours <= 100; hours++) {
+                deliveryLatencyService.recordDelivery(delivered(hours, destination));
+            }
+
+            // Act
+            DeliveryLatencyResponse result = deliveryLatencyService.getLatencyReport(today, today, null, null, null);
+
+            // Assert
+            LatencyPercentilesResponse overall = result.getOverall();
+            assertEquals(100L, overall.getShipmentCount());
+            assertClose(50 * HOUR, overall.getP50Seconds());
+            assertClose(95 * HOUR, overall.getP95Seconds());
+            assertClose(99 * HOUR, overall.getP99Seconds());
+        }
+
+        @Test
+        @DisplayName("Should break latencies down by origin and destination and filter by delivery type")
+        void getLatencyReport_ByDeliveryType_FiltersDestinations() {
+            // Arrange
+            deliveryLatencyService.recordDelivery(delivered(24, destination));
+            deliveryLatencyService.recordDelivery(delivered(48, null));
+            deliveryLatencyService.recordDelivery(delivered(48, null));
+
+            // Act
+            DeliveryLatencyResponse all = deliveryLatencyService.getLatencyReport(today, today, null, null, null);
+            DeliveryLatencyResponse address = deliveryLatencyService.getLatencyReport(
+                    today, today, null, DeliveryType.ADDRESS, null);
+
+            // Assert
+            assertEquals(1, all.getOrigins().size());
+            assertEquals(10L, all.getOrigins().get(0).getOriginOfficeId());
+            assertEquals(3L, all.getOrigins().get(0).getShipmentCount());
+            assertEquals(2, all.getDestinations().size());
+            LatencyPercentilesResponse addressRow = all.getDestinations().get(0);
+            assertEquals(DeliveryType.ADDRESS, addressRow.getDeliveryType());
+            assertNull(addressRow.getDeliveryOfficeId());
+            assertEquals(2L, addressRow.getShipmentCount());
+            assertEquals(20L, all.getDestinations().get(1).getDeliveryOfficeId());
+
+            assertEquals(2L, address.getOverall().getShipmentCount());
+            assertClose(48 * HOUR, address.getOverall().getP50Seconds());
+            assertTrue(address.getOrigins().isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should report whole weeks around the requested range")
+        void getLatencyReport_WidensRangeToWeeks() {
+            // Act
+            DeliveryLatencyResponse result = deliveryLatencyService.getLatencyReport(today, today, null, null, null);
+
+            // Assert
+            assertEquals(DayOfWeek.MONDAY, result.getStartDate().getDayOfWeek());
+            assertEquals(result.getStartDate().plusDays(6), result.getEndDate());
+            assertFalse(today.isBefore(result.getStartDate()));
+            assertFalse(today.isAfter(result.getEndDate()));
+        }
+
+        @Test
+        @DisplayName("Should reject combining the origin filter with a destination filter")
+        void getLatencyReport_OriginAndDestinationFilters_ThrowsException() {
+            assertThrows(InvalidDataException.class, () -> deliveryLatencyService.getLatencyReport(
+                    today, today, 10L, DeliveryType.ADDRESS, null));
+        }
+
+        @Test
+        @DisplayName("Should leave percentiles empty for a range without deliveries")
+        void getLatencyReport_NoDeliveries_ReturnsEmpty() {
+            // Arrange
+            deliveryLatencyService.recordDelivery(delivered(24, destination));
+
+            // Act
+            DeliveryLatencyResponse result = deliveryLatencyService.getLatencyReport(
+                    today.minusDays(30), today.minusDays(14), null, null, null);
+
+            // Assert
+            assertEquals(0L, result.getOverall().getShipmentCount());
+            assertNull(result.getOverall().getP50Seconds());
+            assertTrue(result.getOrigins().isEmpty());
+            assertTrue(result.getDestinations().isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should reject a range that ends before it starts")
+        void getLatencyReport_InvertedRange_ThrowsException() {
+            assertThrows(InvalidDataException.class, () -> deliveryLatencyService.getLatencyReport(
+                    today, today.minusDays(1), null, null, null));
+        }
+    }
+
+    @Nested
+    @DisplayName("record Tests")
+    class RecordTests {
+
+        @Test
+        @DisplayName("Should take a removed delivery back out")
+        void recordRemoval_Delivered_DecrementsCount() {
+            // Arrange
+            Shipment shipment = delivered(24, destination);
+            deliveryLatencyService.recordDelivery(shipment);
+            deliveryLatencyService.recordDelivery(delivered(12, destination));
+
+            // Act
+            deliveryLatencyService.recordRemoval(shipment);
+
+            // Assert
+            LatencyPercentilesResponse overall = deliveryLatencyService
+                    .getLatencyReport(today, today, null, null, null).getOverall();
+            assertEquals(1L, overall.getShipmentCount());
+            assertClose(12 * HOUR, overall.getP99Seconds());
+        }
+
+        @Test
+        @DisplayName("Should keep at most one histogram per origin and per destination each week")
+        void recordDelivery_ManyRoutes_CapsHistograms() {
+            // Arrange - 30 x 30 routes, delivered on each of 21 days
+            int offices = 30;
+            int days = 21;
+            for (int day = 0; day < days; day++) {
+                for (long from = 1; from <= offices; from++) {
+                    for (long to = 1; to <= offices; to++) {
+                        Office originOffice = new Office();
+                        originOffice.setId(from);
+                        Office deliveryOffice = new Office();
+                        deliveryOffice.setId(100 + to);
+                        Shipment shipment = delivered(24, deliveryOffice);
+                        shipment.setOriginOffice(originOffice);
+                        shipment.setDeliveredAt(deliveredAt.minusDays(day));
+                        shipment.setRegisteredAt(shipment.getDeliveredAt().minusHours(24));
+                        deliveryLatencyService.recordDelivery(shipment);
+                    }
+                }
+            }
+
+            // Assert - 21 days span at most 4 weeks
+            assertTrue(deliveryLatencyService.histogramCount() <= 2 * offices * 4);
+            assertEquals((long) offices * offices * days, deliveryLatencyService
+                    .getLatencyReport(today.minusDays(days), today, null, null, null)
+                    .getOverall().getShipmentCount());
+        }
+
+        @Test
+        @DisplayName("Should read bulk deliveries from the database by ID")
+        void recordDeliveries_LoadsRowsByIds() {
+            // Arrange
+            List<Object[]> rows = new ArrayList<>();
+            rows.add(new Object[]{1L, 10L, null, deliveredAt.minusHours(6), deliveredAt});
+            when(shipmentRepository.findLatencyColumnsByIds(List.of(1L))).thenReturn(rows);
+
+            // Act
+            deliveryLatencyService.recordDeliveries(List.of(1L));
+
+            // Assert
+            LatencyPercentilesResponse overall = deliveryLatencyService
+                    .getLatencyReport(today, today, null, DeliveryType.ADDRESS, null).getOverall();
+            assertEquals(1L, overall.getShipmentCount());
+            assertClose(6 * HOUR, overall.getP50Seconds());
+        }
+    }
+
+    @Nested
+    @DisplayName("rebuild Tests")
+    class RebuildTests {
+
+        @Test
+        @DisplayName("Should replace the histograms with deliveries loaded from the database")
+        void rebuild_ReplacesHistograms() {
+            // Arrange
+            deliveryLatencyService.recordDelivery(delivered(500, destination));
+            List<Object[]> rows = new ArrayList<>();
+            rows.add(new Object[]{1L, 10L, 20L, deliveredAt.minusHours(30), deliveredAt.minusMinutes(1)});
+            rows.add(new Object[]{2L, 10L, 20L, deliveredAt.minusHours(40), deliveredAt.minusMinutes(1)});
+            when(shipmentRepository.findLatencyColumnsDeliveredBetween(
+                    any(LocalDateTime.class), any(LocalDateTime.class), eq(0L), any(Pageable.class)))
+                    .thenReturn(rows);
+
+            // Act
+            deliveryLatencyService.rebuild();
+
+            // Assert
+            LatencyPercentilesResponse overall = deliveryLatencyService
+                    .getLatencyReport(today.minusDays(1), today, null, null, null).getOverall();
+            assertEquals(2L, overall.getShipmentCount());
+            assertClose(40 * HOUR, overall.getP99Seconds());
+        }
+
+        @Test
+        @DisplayName("Should keep deliveries committed during the rebuild, once each")
+        void rebuild_DeliveriesCommittedWhileLoading_CountedOnce() {
+            // Arrange - shipment 1 is loaded and also reported as committed during the load;
+            // shipment 3 was delivered before the rebuild started but committed after the load read past it
+            Shipment loadedShipment = delivered(30, destination);
+            loadedShipment.setId(1L);
+            Shipment lateCommit = delivered(6, destination);
+            lateCommit.setId(3L);
+            List<Object[]> rows = new ArrayList<>();
+            rows.add(new Object[]{1L, 10L, 20L, deliveredAt.minusHours(30), deliveredAt});
+            rows.add(new Object[]{2L, 10L, 20L, deliveredAt.minusHours(40), deliveredAt});
+            when(shipmentRepository.findLatencyColumnsDeliveredBetween(
+                    any(LocalDateTime.class), any(LocalDateTime.class), eq(0L), any(Pageable.class)))
+                    .thenAnswer(invocation -> {
+                        deliveryLatencyService.recordDelivery(loadedShipment);
+                        deliveryLatencyService.recordDelivery(lateCommit);
+                        return rows;
+                    });
+
+            // Act
+            deliveryLatencyService.rebuild();
+
+            // Assert
+            LatencyPercentilesResponse overall = deliveryLatencyService
+                    .getLatencyReport(today, today, null, null, null).getOverall();
+            assertEquals(3L, overall.getShipmentCount());
+            assertClose(30 * HOUR, overall.getP50Seconds());
+        }
+    }
+}
@@ -38,6 +38,9 @@ class OfficeServiceTest {
     @Mock
     private CompanyRepository companyRepository;
 
+    @Mock
+    private PricingService pricingService;
+
     @InjectMocks
     private OfficeServiceImpl officeService;
 
@@ -294,6 +297,7 @@ class OfficeServiceTest {
 
             // Assert
             verify(officeRepository).deleteById(1L);
+            verify(pricingService).officeLocationsChanged();
         }
 
         @Test
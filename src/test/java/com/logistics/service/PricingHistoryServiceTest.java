@@ -0,0 +1,361 @@
+package com.logistics.service;
+
+import com.logistics.dto.pricing.PricingSimulationRequest;
+import com.logistics.dto.pricing.PricingSimulationResponse;
+import com.logistics.dto.pricing.ShipmentRepriceResponse;
+import com.logistics.exception.InvalidDataException;
+import com.logistics.exception.ResourceNotFoundException;
+import com.logistics.model.entity.Office;
+import com.logistics.model.entity.PricingConfig;
+import com.logistics.model.entity.PricingRuleSet;
+import com.logistics.model.entity.Shipment;
+import com.logistics.repository.PricingConfigRepository;
+import com.logistics.repository.PricingRuleSetRepository;
+import com.logistics.repository.ShipmentRepository;
+import com.logistics.service.impl.PricingHistoryServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for PricingHistoryService.
+ * Tests time-travel price lookups and tariff simulations in isolation.
+ */
+@ExtendWith(MockitoExtension.class)
+class PricingHistoryServiceTest {
+
+    private static final LocalDateTime JANUARY = LocalDateTime.of(2026, 1, 1, 0, 0);
+    private static final LocalDateTime MARCH = LocalDateTime.of(2026, 3, 1, 0, 0);
+
+    @Mock
+    private PricingConfigRepository pricingConfigRepository;
+
+    @Mock
+    private PricingRuleSetRepository pricingRuleSetRepository;
+
+    @Mock
+    private ShipmentRepository shipmentRepository;
+
+    @InjectMocks
+    private PricingHistoryServiceImpl pricingHistoryService;
+
+    private PricingConfig january;
+    private PricingConfig march;
+
+    @BeforeEach
+    void setUp() {
+        // 5.00 + 2.00/kg + 10.00 from January, 6.00 + 2.50/kg + 12.00 from March
+        january = config(1L, JANUARY, "5.00", "2.00", "10.00");
+        march = config(2L, MARCH, "6.00", "2.50", "12.00");
+    }
+
+    private static PricingConfig config(Long id, LocalDateTime effectiveFrom,
+                                        String basePrice, String pricePerKg, String addressDeliveryFee) {
+        PricingConfig config = new PricingConfig(
+                new BigDecimal(basePrice), new BigDecimal(pricePerKg), new BigDecimal(addressDeliveryFee));
+        config.setId(id);
+        config.setEffectiveFrom(effectiveFrom);
+        return config;
+    }
+
+    private void stubHistory() {
+        // Insertion order differs from effective order on purpose
+        when(pricingConfigRepository.findAllByOrderByIdAsc()).thenReturn(List.of(march, january));
+    }
+
+    /**
+     * Rule set 5 replaced the formula from February 10 until February 20.
+     */
+    private void stubRuleSetPeriod() {
+        PricingRuleSet ruleSet = new PricingRuleSet("February rules", new BigDecimal("8.00"));
+        ruleSet.setId(5L);
+        ruleSet.setActive(false);
+        ruleSet.setCreatedAt(LocalDateTime.of(2026, 2, 10, 0, 0));
+        ruleSet.setDeactivatedAt(LocalDateTime.of(2026, 2, 20, 0, 0));
+        when(pricingRuleSetRepository.findAllByOrderByCreatedAtAscIdAsc()).thenReturn(List.of(ruleSet));
+    }
+
+    private static Shipment shipment(LocalDateTime registeredAt) {
+        Shipment shipment = new Shipment();
+        shipment.setId(7L);
+        shipment.setWeight(new BigDecimal("5.00"));
+        shipment.setDeliveryOffice(new Office());
+        shipment.setPrice(new BigDecimal("18.50"));
+        shipment.setRegisteredAt(registeredAt);
+        return shipment;
+    }
+
+    @Nested
+    @DisplayName("calculatePriceAt Tests")
+    class CalculatePriceAtTests {
+
+        @Test
+        @DisplayName("Should use the config in effect at the given time")
+        void calculatePriceAt_BetweenConfigs_UsesEarlierConfig() {
+            // Arrange
+            stubHistory();
+
+            // Act
+            // Formula: 5.00 + (5.00 × 2.00) + 0.00 = 15.00
+            BigDecimal february = pricingHistoryService.calculatePriceAt(
+                    new BigDecimal("5.00"), true, MARCH.minusNanos(1_000));
+            // Formula: 6.00 + (5.00 × 2.50) + 0.00 = 18.50
+            BigDecimal onChange = pricingHistoryService.calculatePriceAt(new BigDecimal("5.00"), true, MARCH);
+
+            // Assert
+            assertEquals(new BigDecimal("15.00"), february);
+            assertEquals(new BigDecimal("18.50"), onChange);
+            verify(pricingConfigRepository, times(1)).findAllByOrderByIdAsc();
+        }
+
+        @Test
+        @DisplayName("Should throw exception before the first config took effect")
+        void calculatePriceAt_BeforeHistory_ThrowsException() {
+            // Arrange
+            stubHistory();
+
+            // Act & Assert
+            assertThrows(InvalidDataException.class, () -> pricingHistoryService.calculatePriceAt(
+                    BigDecimal.ONE, true, JANUARY.minusDays(1)));
+        }
+
+        @Test
+        @DisplayName("Should load the history again after it changed")
+        void historyChanged_ReloadsHistory() {
+            // Arrange
+            stubHistory();
+            pricingHistoryService.calculatePriceAt(BigDecimal.ONE, true, MARCH);
+
+            // Act
+            pricingHistoryService.historyChanged();
+            pricingHistoryService.calculatePriceAt(BigDecimal.ONE, true, MARCH);
+
+            // Assert
+            verify(pricingConfigRepository, times(2)).findAllByOrderByIdAsc();
+        }
+    }
+
+    @Nested
+    @DisplayName("repriceShipment Tests")
+    class RepriceShipmentTests {
+
+        @Test
+        @DisplayName("Should compare the charged price with the tariff at registration")
+        void repriceShipment_RegisteredInFebruary_UsesJanuaryConfig() {
+            // Arrange
+            stubHistory();
+            when(shipmentRepository.findById(7L)).thenReturn(Optional.of(shipment(MARCH.minusDays(10))));
+
+            // Act
+            ShipmentRepriceResponse response = pricingHistoryService.repriceShipment(7L);
+
+            // Assert
+            assertTrue(response.isSupported());
+            assertEquals(1L, response.getConfigId());
+            assertEquals(new BigDecimal("15.00"), response.getTariffPrice());
+            assertEquals(new BigDecimal("3.50"), response.getDifference());
+            assertTrue(response.isOfficeDelivery());
+        }
+
+        @Test
+        @DisplayName("Should flag a shipment priced by a rule set instead of quoting a config price")
+        void repriceShipment_RegisteredUnderRuleSet_IsUnsupported() {
+            // Arrange
+            stubRuleSetPeriod();
+            when(shipmentRepository.findById(7L)).thenReturn(Optional.of(
+                    shipment(LocalDateTime.of(2026, 2, 15, 12, 0))));
+
+            // Act
+            ShipmentRepriceResponse response = pricingHistoryService.repriceShipment(7L);
+
+            // Assert
+            assertFalse(response.isSupported());
+            assertEquals(5L, response.getRuleSetId());
+            assertEquals(new BigDecimal("18.50"), response.getChargedPrice());
+            assertNull(response.getConfigId());
+            assertNull(response.getTariffPrice());
+            assertNull(response.getDifference());
+            verifyNoInteractions(pricingConfigRepository);
+        }
+
+        @Test
+        @DisplayName("Should re-price with the config again once the rule set was deactivated")
+        void repriceShipment_RegisteredAfterRuleSet_UsesConfig() {
+            // Arrange
+            stubHistory();
+            stubRuleSetPeriod();
+            when(shipmentRepository.findById(7L)).thenReturn(Optional.of(
+                    shipment(LocalDateTime.of(2026, 2, 20, 0, 0))));
+
+            // Act
+            ShipmentRepriceResponse response = pricingHistoryService.repriceShipment(7L);
+
+            // Assert
+            assertTrue(response.isSupported());
+            assertNull(response.getRuleSetId());
+            assertEquals(new BigDecimal("15.00"), response.getTariffPrice());
+        }
+
+        @Test
+        @DisplayName("Should throw exception when shipment not found")
+        void repriceShipment_NotFound_ThrowsException() {
+            // Arrange
+            when(shipmentRepository.findById(99L)).thenReturn(Optional.empty());
+
+            // Act & Assert
+            assertThrows(ResourceNotFoundException.class, () -> pricingHistoryService.repriceShipment(99L));
+        }
+    }
+
+    @Nested
+    @DisplayName("simulate Tests")
+    class SimulateTests {
+
+        private final LocalDate start = LocalDate.of(2026, 2, 1);
+        private final LocalDate end = LocalDate.of(2026, 2, 28);
+
+        private void stubShipments(List<Object[]> rows) {
+            when(shipmentRepository.streamPricingColumnsRegisteredBetween(
+                    start.atStartOfDay(), end.plusDays(1).atStartOfDay())).thenReturn(rows.stream());
+        }
+
+        @Test
+        @DisplayName("Should re-price every shipment under a config of the history")
+        void simulate_HistoryConfig_SumsRevenue() {
+            // Arrange
+            stubHistory();
+            List<Object[]> rows = new ArrayList<>();
+            // 25,000 office deliveries of 5 kg charged 15.00 and one address delivery of 2 kg charged 19.00
+            for (int i = 0; i < 25_000; i++) {
+                rows.add(new Object[]{new BigDecimal("5.00"), 1L, new BigDecimal("15.00"), JANUARY});
+            }
+            rows.add(new Object[]{new BigDecimal("2.00"), null, new BigDecimal("19.00"), JANUARY});
+            stubShipments(rows);
+
+            // Act
+            PricingSimulationResponse response = pricingHistoryService.simulate(
+                    new PricingSimulationRequest(start, end, 2L, null, null, null));
+
+            // Assert - March: 18.50 per office delivery, 6.00 + (2 × 2.50) + 12.00 = 23.00 for the address
+            assertEquals(25_001L, response.getShipmentCount());
+            assertEquals(new BigDecimal("375019.00"), response.getChargedRevenue());
+            assertEquals(new BigDecimal("462523.00"), response.getSimulatedRevenue());
+            assertEquals(new BigDecimal("87504.00"), response.getDifference());
+            assertEquals(25_001L, response.getIncreasedCount());
+            assertEquals(0L, response.getDecreasedCount());
+            assertEquals(new BigDecimal("2.50"), response.getPricePerKg());
+            assertEquals(0L, response.getRuleSetPricedCount());
+        }
+
+        @Test
+        @DisplayName("Should count the shipments a rule set priced")
+        void simulate_RuleSetPeriod_CountsRuleSetPriced() {
+            // Arrange
+            stubHistory();
+            stubRuleSetPeriod();
+            List<Object[]> rows = new ArrayList<>();
+            rows.add(new Object[]{new BigDecimal("5.00"), 1L, new BigDecimal("15.00"),
+                    LocalDateTime.of(2026, 2, 9, 23, 59)});
+            rows.add(new Object[]{new BigDecimal("5.00"), 1L, new BigDecimal("13.00"),
+                    LocalDateTime.of(2026, 2, 10, 0, 0)});
+            rows.add(new Object[]{new BigDecimal("5.00"), 1L, new BigDecimal("13.00"),
+                    LocalDateTime.of(2026, 2, 19, 23, 59)});
+            rows.add(new Object[]{new BigDecimal("5.00"), 1L, new BigDecimal("15.00"),
+                    LocalDateTime.of(2026, 2, 20, 0, 0)});
+            stubShipments(rows);
+
+            // Act
+            PricingSimulationResponse response = pricingHistoryService.simulate(
+                    new PricingSimulationRequest(start, end, 1L, null, null, null));
+
+            // Assert
+            assertEquals(4L, response.getShipmentCount());
+            assertEquals(2L, response.getRuleSetPricedCount());
+            assertEquals(new BigDecimal("56.00"), response.getChargedRevenue());
+        }
+
+        @Test
+        @DisplayName("Should sum every batch when there are more batches than pool threads")
+        void simulate_MoreBatchesThanThreads_SumsEveryBatch() {
+            // Arrange
+            int rowCount = (ForkJoinPool.getCommonPoolParallelism() + 3) * 10_000 + 1;
+            Object[] row = {new BigDecimal("5.00"), 1L, new BigDecimal("15.00"), JANUARY};
+            stubShipments(Collections.nCopies(rowCount, row));
+
+            // Act
+            PricingSimulationResponse response = pricingHistoryService.simulate(new PricingSimulationRequest(
+                    start, end, null, new BigDecimal("4.00"), new BigDecimal("2.00"), new BigDecimal("10.00")));
+
+            // Assert - 14.00 instead of 15.00 per shipment
+            assertEquals(rowCount, response.getShipmentCount());
+            assertEquals(BigDecimal.valueOf(-100L * rowCount, 2), response.getDifference());
+            assertEquals(rowCount, response.getDecreasedCount());
+        }
+
+        @Test
+        @DisplayName("Should re-price under a proposed tariff without loading the history")
+        void simulate_ProposedTariff_SumsRevenue() {
+            // Arrange
+            List<Object[]> rows = new ArrayList<>();
+            rows.add(new Object[]{new BigDecimal("5.00"), 1L, new BigDecimal("15.00"), JANUARY});
+            stubShipments(rows);
+
+            // Act
+            PricingSimulationResponse response = pricingHistoryService.simulate(new PricingSimulationRequest(
+                    start, end, null, new BigDecimal("4.00"), new BigDecimal("2.00"), new BigDecimal("10.00")));
+
+            // Assert - 4.00 + (5 × 2.00) = 14.00
+            assertNull(response.getConfigId());
+            assertEquals(new BigDecimal("14.00"), response.getSimulatedRevenue());
+            assertEquals(new BigDecimal("-1.00"), response.getDifference());
+            assertEquals(1L, response.getDecreasedCount());
+            verifyNoInteractions(pricingConfigRepository);
+        }
+
+        @Test
+        @DisplayName("Should throw exception without a config ID or a complete tariff")
+        void simulate_NoTariff_ThrowsException() {
+            PricingSimulationRequest request = new PricingSimulationRequest(
+                    start, end, null, BigDecimal.ONE, null, null);
+
+            assertThrows(InvalidDataException.class, () -> pricingHistoryService.simulate(request));
+            verify(shipmentRepository, never()).streamPricingColumnsRegisteredBetween(any(), any());
+        }
+
+        @Test
+        @DisplayName("Should throw exception for a config ID outside the history")
+        void simulate_UnknownConfig_ThrowsException() {
+            // Arrange
+            stubHistory();
+
+            // Act & Assert
+            assertThrows(ResourceNotFoundException.class, () -> pricingHistoryService.simulate(
+                    new PricingSimulationRequest(start, end, 99L, null, null, null)));
+        }
+
+        @Test
+        @DisplayName("Should reject a range that ends before it starts")
+        void simulate_InvertedRange_ThrowsException() {
+            assertThrows(InvalidDataException.class, () -> pricingHistoryService.simulate(
+                    new PricingSimulationRequest(end, start, 1L, null, null, null)));
+        }
+    }
+}
@@ -1,20 +1,36 @@
 package com.logistics.service;
 
+import com.logistics.dto.pricing.PricingRulesRequest;
+import com.logistics.dto.pricing.PricingRulesResponse;
+import com.logistics.dto.pricing.PricingZoneEntry;
+import com.logistics.dto.pricing.WeightBracketEntry;
+import com.logistics.dto.pricing.ZoneSurchargeEntry;
 import com.logistics.exception.InvalidDataException;
 import com.logistics.model.entity.PricingConfig;
+import com.logistics.model.entity.PricingRuleSet;
+import com.logistics.model.entity.PricingWeightBracket;
+import com.logistics.model.entity.PricingZone;
+import com.logistics.model.entity.PricingZoneSurcharge;
+import com.logistics.repository.OfficeRepository;
 import com.logistics.repository.PricingConfigRepository;
+import com.logistics.repository.PricingRuleSetRepository;
 import com.logistics.service.impl.PricingServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -30,6 +46,15 @@ class PricingServiceTest {
     @Mock
     private PricingConfigRepository pricingConfigRepository;
 
+    @Mock
+    private PricingRuleSetRepository pricingRuleSetRepository;
+
+    @Mock
+    private OfficeRepository officeRepository;
+
+    @Mock
+    private PricingHistoryService pricingHistoryService;
+
     @InjectMocks
     private PricingServiceImpl pricingService;
 
@@ -123,6 +148,443 @@ class PricingServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("calculatePrices Tests")
+    class CalculatePricesTests {
+
+        @Test
+        @DisplayName("Should price every shipment with a single config lookup")
+        void calculatePrices_MultipleShipments_LoadsConfigOnce() {
+            // Arrange
+            when(pricingConfigRepository.findByActiveTrue()).thenReturn(Optional.of(defaultConfig));
+
+            // Act
+            List<BigDecimal> prices = pricingService.calculatePrices(
+                    List.of(new BigDecimal("5.00"), new BigDecimal("5.00")), List.of(true, false));
+
+            // Assert
+            assertEquals(List.of(new BigDecimal("15.00"), new BigDecimal("25.00")), prices);
+            verify(pricingConfigRepository, times(1)).findByActiveTrue();
+        }
+
+        @Test
+        @DisplayName("Should reject lists of different sizes")
+        void calculatePrices_SizeMismatch_ThrowsException() {
+            assertThrows(InvalidDataException.class,
+                    () -> pricingService.calculatePrices(List.of(new BigDecimal("1.00")), List.of()));
+        }
+    }
+
+    private static BigDecimal[] weights(String... values) {
+        BigDecimal[] weights = new BigDecimal[values.length];
+        for (int i = 0; i < values.length; i++) {
+            weights[i] = new BigDecimal(values[i]);
+        }
+        return weights;
+    }
+
+    @Nested
+    @DisplayName("quotePrices Tests")
+    class QuotePricesTests {
+
+        @Test
+        @DisplayName("Should quote exactly the prices calculatePrice returns")
+        void quotePrices_ManyWeights_MatchesCalculatePrice() {
+            // Arrange
+            PricingConfig config = new PricingConfig(
+                    new BigDecimal("4.99"), new BigDecimal("1.37"), new BigDecimal("7.55"));
+            when(pricingConfigRepository.findByActiveTrue()).thenReturn(Optional.of(config));
+
+            int count = 20_000;
+            BigDecimal[] weights = new BigDecimal[count];
+            boolean[] officeDeliveries = new boolean[count];
+            for (int i = 0; i < count; i++) {
+                weights[i] = BigDecimal.valueOf(1 + i * 49L, 2);
+                officeDeliveries[i] = i % 2 == 0;
+            }
+
+            // Act
+            long[] cents = pricingService.quotePrices(weights, officeDeliveries);
+
+            // Assert
+            for (int i = 0; i < count; i++) {
+                BigDecimal expected = pricingService.calculatePrice(weights[i], officeDeliveries[i]);
+                assertEquals(expected, BigDecimal.valueOf(cents[i], 2), "weight " + weights[i]);
+            }
+            verify(pricingConfigRepository, times(1)).findByActiveTrue();
+        }
+
+        @Test
+        @DisplayName("Should round half a cent up")
+        void quotePrices_HalfCent_RoundsUp() {
+            // Arrange
+            PricingConfig config = new PricingConfig(
+                    new BigDecimal("0.00"), new BigDecimal("0.50"), new BigDecimal("0.00"));
+            when(pricingConfigRepository.findByActiveTrue()).thenReturn(Optional.of(config));
+
+            // Act
+            long[] cents = pricingService.quotePrices(weights("0.01", "0.03"), new boolean[]{true, true});
+
+            // Assert - 0.005 and 0.015
+            assertArrayEquals(new long[]{1, 2}, cents);
+        }
+
+        @Test
+        @DisplayName("Should still match calculatePrice for a config with more than 2 decimals")
+        void quotePrices_ThreeDecimalConfig_MatchesCalculatePrice() {
+            // Arrange
+            PricingConfig config = new PricingConfig(
+                    new BigDecimal("5.005"), new BigDecimal("2.001"), new BigDecimal("10.00"));
+            when(pricingConfigRepository.findByActiveTrue()).thenReturn(Optional.of(config));
+
+            // Act
+            long[] cents = pricingService.quotePrices(weights("2.5"), new boolean[]{false});
+
+            // Assert
+            assertEquals(pricingService.calculatePrice(new BigDecimal("2.50"), false),
+                    BigDecimal.valueOf(cents[0], 2));
+        }
+
+        @Test
+        @DisplayName("Should reject weights outside the shipment limits or with more than 2 decimals")
+        void quotePrices_InvalidWeight_ThrowsException() {
+            when(pricingConfigRepository.findByActiveTrue()).thenReturn(Optional.of(defaultConfig));
+
+            InvalidDataException exception = assertThrows(InvalidDataException.class,
+                    () -> pricingService.quotePrices(weights("1.0", "1.005"), new boolean[]{true, true}));
+            assertEquals("weights[1]", exception.getField());
+            assertThrows(InvalidDataException.class,
+                    () -> pricingService.quotePrices(weights("0"), new boolean[]{true}));
+            assertThrows(InvalidDataException.class,
+                    () -> pricingService.quotePrices(weights("10000.01"), new boolean[]{true}));
+        }
+
+        @Test
+        @DisplayName("Should quote tenth-of-a-kilogram weights exactly like calculatePrice")
+        void quotePrices_TenthKilogramWeights_MatchSinglePrices() {
+            // Arrange
+            PricingConfig config = new PricingConfig(
+                    new BigDecimal("0.00"), new BigDecimal("0.05"), new BigDecimal("0.00"));
+            when(pricingConfigRepository.findByActiveTrue()).thenReturn(Optional.of(config));
+            BigDecimal[] weights = weights("0.1", "0.3", "0.7", "2.9", "4.1", "8.7");
+            boolean[] officeDeliveries = new boolean[weights.length];
+
+            // Act
+            long[] cents = pricingService.quotePrices(weights, officeDeliveries);
+
+            // Assert - each of these lands on half a cent
+            for (int i = 0; i < weights.length; i++) {
+                assertEquals(pricingService.calculatePrice(weights[i], false),
+                        BigDecimal.valueOf(cents[i], 2), "weight " + weights[i]);
+            }
+        }
+
+        @Test
+        @DisplayName("Should reject a missing weight")
+        void quotePrices_NullWeight_ThrowsException() {
+            when(pricingConfigRepository.findByActiveTrue()).thenReturn(Optional.of(defaultConfig));
+
+            InvalidDataException exception = assertThrows(InvalidDataException.class,
+                    () -> pricingService.quotePrices(new BigDecimal[]{BigDecimal.ONE, null}, new boolean[]{true, true}));
+            assertEquals("weights[1]", exception.getField());
+        }
+
+        @Test
+        @DisplayName("Should reject arrays of different sizes")
+        void quotePrices_SizeMismatch_ThrowsException() {
+            assertThrows(InvalidDataException.class,
+                    () -> pricingService.quotePrices(weights("1.0"), new boolean[0]));
+        }
+    }
+
+    @Nested
+    @DisplayName("Pricing snapshot Tests")
+    class PricingSnapshotTests {
+
+        @Test
+        @DisplayName("Should query the active config only once across calls")
+        void calculatePrice_RepeatedCalls_UsesCachedSnapshot() {
+            // Arrange
+            when(pricingConfigRepository.findByActiveTrue()).thenReturn(Optional.of(defaultConfig));
+
+            // Act
+            pricingService.calculatePrice(new BigDecimal("1.00"), true);
+            pricingService.calculatePrice(new BigDecimal("2.00"), false);
+            BigDecimal basePrice = pricingService.getBasePrice();
+
+            // Assert
+            assertEquals(new BigDecimal("5.00"), basePrice);
+            verify(pricingConfigRepository, times(1)).findByActiveTrue();
+        }
+
+        @Test
+        @DisplayName("Should price with the new config right after an update")
+        void updatePricingConfig_SwapsSnapshot() {
+            // Arrange
+            PricingConfig updated = new PricingConfig(
+                    new BigDecimal("1.00"), new BigDecimal("1.00"), new BigDecimal("1.00"));
+            updated.setId(2L);
+            when(pricingConfigRepository.save(any(PricingConfig.class))).thenReturn(updated);
+
+            // Act
+            pricingService.updatePricingConfig(
+                    new BigDecimal("1.00"), new BigDecimal("1.00"), new BigDecimal("1.00"));
+            BigDecimal price = pricingService.calculatePrice(new BigDecimal("1.00"), false);
+
+            // Assert - formula: 1.00 + (1.00 × 1.00) + 1.00 = 3.00
+            assertEquals(new BigDecimal("3.00"), price);
+            verify(pricingConfigRepository, never()).findByActiveTrue();
+        }
+
+        @Test
+        @DisplayName("Should pick up a config changed by another instance on refresh")
+        void refreshSnapshot_ConfigChanged_SwapsSnapshot() {
+            // Arrange
+            defaultConfig.setId(1L);
+            PricingConfig changed = new PricingConfig(
+                    new BigDecimal("7.00"), new BigDecimal("2.00"), new BigDecimal("10.00"));
+            changed.setId(2L);
+            when(pricingConfigRepository.findByActiveTrue())
+                    .thenReturn(Optional.of(defaultConfig), Optional.of(changed));
+            pricingService.getBasePrice();
+
+            // Act
+            pricingService.refreshSnapshot();
+
+            // Assert
+            assertEquals(new BigDecimal("7.00"), pricingService.getBasePrice());
+        }
+
+        @Test
+        @DisplayName("Should keep a newer config when a refresh read the previous one")
+        void refreshSnapshot_StaleRead_KeepsNewerSnapshot() {
+            // Arrange
+            defaultConfig.setId(1L);
+            PricingConfig updated = new PricingConfig(
+                    new BigDecimal("1.00"), new BigDecimal("1.00"), new BigDecimal("1.00"));
+            updated.setId(2L);
+            when(pricingConfigRepository.save(any(PricingConfig.class))).thenReturn(updated);
+            when(pricingConfigRepository.findByActiveTrue()).thenReturn(Optional.of(defaultConfig));
+            pricingService.updatePricingConfig(
+                    new BigDecimal("1.00"), new BigDecimal("1.00"), new BigDecimal("1.00"));
+
+            // Act - the poll read config 1 before config 2 was committed
+            pricingService.refreshSnapshot();
+
+            // Assert
+            assertEquals(new BigDecimal("1.00"), pricingService.getBasePrice());
+        }
+    }
+
+    @Nested
+    @DisplayName("Pricing rules Tests")
+    class PricingRulesTests {
+
+        private PricingRuleSet ruleSet;
+
+        @BeforeEach
+        void setUpRules() {
+            // Up to 10 kg: 3.00 + 1.00/kg, above: 10.00 + 0.50/kg; NORTH -> SOUTH costs 6.00 more
+            ruleSet = new PricingRuleSet("Zones 2026", new BigDecimal("4.00"));
+            ruleSet.setId(1L);
+            ruleSet.addBracket(new PricingWeightBracket(
+                    new BigDecimal("10.00"), new BigDecimal("3.00"), new BigDecimal("1.00")));
+            ruleSet.addBracket(new PricingWeightBracket(
+                    new BigDecimal("10000.00"), new BigDecimal("10.00"), new BigDecimal("0.50")));
+            ruleSet.addZone(new PricingZone("NORTH", "Bulgaria", "Varna"));
+            ruleSet.addZone(new PricingZone("SOUTH", "Greece", null));
+            ruleSet.addSurcharge(new PricingZoneSurcharge("NORTH", "SOUTH", new BigDecimal("6.00")));
+        }
+
+        private void stubActiveRuleSet() {
+            when(pricingRuleSetRepository.findByActiveTrue()).thenReturn(Optional.of(ruleSet));
+            when(pricingRuleSetRepository.findBrackets(1L)).thenReturn(ruleSet.getBrackets());
+            when(pricingRuleSetRepository.findZones(1L)).thenReturn(ruleSet.getZones());
+            when(pricingRuleSetRepository.findSurcharges(1L)).thenReturn(ruleSet.getSurcharges());
+            when(officeRepository.findLocationColumns()).thenReturn(officeLocations());
+        }
+
+        private List<Object[]> officeLocations() {
+            List<Object[]> rows = new ArrayList<>();
+            rows.add(new Object[]{1L, "Varna", "Bulgaria"});
+            rows.add(new Object[]{2L, "Athens", "Greece"});
+            rows.add(new Object[]{3L, "Sofia", "Bulgaria"});
+            return rows;
+        }
+
+        private PricingRulesRequest rulesRequest() {
+            PricingRulesRequest request = new PricingRulesRequest();
+            request.setName("Zones 2026");
+            request.setAddressDeliveryFee(new BigDecimal("4.00"));
+            request.setBrackets(new ArrayList<>(List.of(
+                    new WeightBracketEntry(new BigDecimal("10000.00"), new BigDecimal("10.00"), new BigDecimal("0.50")),
+                    new WeightBracketEntry(new BigDecimal("10.00"), new BigDecimal("3.00"), new BigDecimal("1.00")))));
+            request.setZones(new ArrayList<>(List.of(
+                    new PricingZoneEntry("NORTH", "Bulgaria", "Varna"),
+                    new PricingZoneEntry("SOUTH", "Greece", null))));
+            request.setSurcharges(new ArrayList<>(List.of(
+                    new ZoneSurchargeEntry("NORTH", "SOUTH", new BigDecimal("6.00")))));
+            return request;
+        }
+
+        @Test
+        @DisplayName("Should price by weight bracket and zone surcharge")
+        void calculatePrice_ActiveRuleSet_UsesBracketAndSurcharge() {
+            // Arrange
+            stubActiveRuleSet();
+
+            // Act
+            // Office delivery Varna -> Athens: 3.00 + (5.00 × 1.00) + 6.00 = 14.00
+            BigDecimal office = pricingService.calculatePrice(new BigDecimal("5.00"), true, 1L, 2L);
+            // Address delivery from Varna stays in NORTH: 10.00 + (20.00 × 0.50) + 4.00 = 24.00
+            BigDecimal address = pricingService.calculatePrice(new BigDecimal("20.00"), false, 1L, null);
+            // Bracket limits are inclusive: 3.00 + (10.00 × 1.00) = 13.00
+            BigDecimal limit = pricingService.calculatePrice(new BigDecimal("10.00"), true, 3L, 3L);
+
+            // Assert
+            assertEquals(new BigDecimal("14.00"), office);
+            assertEquals(new BigDecimal("24.00"), address);
+            assertEquals(new BigDecimal("13.00"), limit);
+            verify(pricingRuleSetRepository, times(1)).findByActiveTrue();
+            verifyNoInteractions(pricingConfigRepository);
+        }
+
+        @Test
+        @DisplayName("Should quote the same prices as calculatePrice, with unknown offices in DEFAULT")
+        void quotePrices_ActiveRuleSet_MatchesCalculatePrice() {
+            // Arrange
+            stubActiveRuleSet();
+
+            // Act
+            long[] cents = pricingService.quotePrices(weights("5.0", "20.0", "7.5"),
+                    new boolean[]{true, true, true}, new long[]{1, 3, 1}, new long[]{2, 2, 99});
+
+            // Assert - Sofia and office 99 are in DEFAULT, which has no surcharges
+            assertArrayEquals(new long[]{1400, 2000, 1050}, cents);
+            assertEquals(BigDecimal.valueOf(cents[0], 2),
+                    pricingService.calculatePrice(new BigDecimal("5.00"), true, 1L, 2L));
+        }
+
+        @Test
+        @DisplayName("Should price with the new rule set right after an update")
+        void updatePricingRules_SwapsRules() {
+            // Arrange
+            when(pricingRuleSetRepository.save(any(PricingRuleSet.class))).thenAnswer(invocation -> {
+                PricingRuleSet saved = invocation.getArgument(0);
+                saved.setId(2L);
+                return saved;
+            });
+            when(officeRepository.findLocationColumns()).thenReturn(officeLocations());
+
+            // Act
+            PricingRulesResponse response = pricingService.updatePricingRules(rulesRequest());
+            BigDecimal price = pricingService.calculatePrice(new BigDecimal("5.00"), true, 1L, 2L);
+
+            // Assert
+            assertEquals(2L, response.getId());
+            assertEquals(new BigDecimal("10.00"), response.getBrackets().get(0).getMaxWeight());
+            assertEquals(new BigDecimal("14.00"), price);
+            verify(pricingRuleSetRepository).deactivateAll(any(LocalDateTime.class));
+            verify(pricingRuleSetRepository, never()).findByActiveTrue();
+        }
+
+        @Test
+        @DisplayName("Should reject brackets that stop short of the maximum weight")
+        void updatePricingRules_BracketsTooLight_ThrowsException() {
+            // Arrange
+            PricingRulesRequest request = rulesRequest();
+            request.getBrackets().remove(0);
+
+            // Act & Assert
+            InvalidDataException exception = assertThrows(InvalidDataException.class,
+                    () -> pricingService.updatePricingRules(request));
+            assertEquals("brackets", exception.getField());
+            verify(pricingRuleSetRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("Should reject a surcharge for a zone the rule set does not define")
+        void updatePricingRules_UnknownSurchargeZone_ThrowsException() {
+            // Arrange
+            PricingRulesRequest request = rulesRequest();
+            request.getSurcharges().add(new ZoneSurchargeEntry("NORTH", "EAST", BigDecimal.ONE));
+
+            // Act & Assert
+            InvalidDataException exception = assertThrows(InvalidDataException.class,
+                    () -> pricingService.updatePricingRules(request));
+            assertEquals("surcharges", exception.getField());
+        }
+
+        @Test
+        @DisplayName("Should reject the reserved DEFAULT zone name")
+        void updatePricingRules_DefaultZoneName_ThrowsException() {
+            // Arrange
+            PricingRulesRequest request = rulesRequest();
+            request.getZones().add(new PricingZoneEntry("default", "Romania", null));
+
+            // Act & Assert
+            assertThrows(InvalidDataException.class, () -> pricingService.updatePricingRules(request));
+        }
+
+        @Test
+        @DisplayName("Should fall back to the pricing config once the rules are deactivated")
+        void deactivatePricingRules_FallsBackToConfig() {
+            // Arrange
+            stubActiveRuleSet();
+            when(pricingConfigRepository.findByActiveTrue()).thenReturn(Optional.of(defaultConfig));
+            pricingService.calculatePrice(new BigDecimal("5.00"), true, 1L, 2L);
+
+            // Act
+            pricingService.deactivatePricingRules();
+            BigDecimal price = pricingService.calculatePrice(new BigDecimal("5.00"), true, 1L, 2L);
+
+            // Assert - formula: 5.00 + (5.00 × 2.00) + 0.00 = 15.00
+            assertEquals(new BigDecimal("15.00"), price);
+            verify(pricingRuleSetRepository).deactivateAll(any(LocalDateTime.class));
+            verify(pricingHistoryService).historyChanged();
+        }
+
+        @Test
+        @DisplayName("Should move an office to its new zone after it changes city")
+        void officeLocationsChanged_RecompilesZones() {
+            // Arrange
+            stubActiveRuleSet();
+            pricingService.calculatePrice(new BigDecimal("5.00"), true, 1L, 3L);
+            List<Object[]> moved = officeLocations();
+            moved.set(2, new Object[]{3L, "Thessaloniki", "Greece"});
+            when(officeRepository.findLocationColumns()).thenReturn(moved);
+
+            // Act
+            pricingService.officeLocationsChanged();
+            BigDecimal price = pricingService.calculatePrice(new BigDecimal("5.00"), true, 1L, 3L);
+
+            // Assert - office 3 is now in SOUTH
+            assertEquals(new BigDecimal("14.00"), price);
+        }
+
+        @Test
+        @DisplayName("Should only re-read offices on refresh when their version changed")
+        void refreshSnapshot_OfficeVersion_ReloadsOnlyOnChange() {
+            // Arrange
+            stubActiveRuleSet();
+            pricingService.calculatePrice(new BigDecimal("5.00"), true, 1L, 3L);
+            LocalDateTime updatedAt = LocalDateTime.of(2026, 1, 1, 12, 0);
+            List<Object[]> version = new ArrayList<>();
+            version.add(new Object[]{3L, 3L, updatedAt});
+            List<Object[]> changed = new ArrayList<>();
+            changed.add(new Object[]{3L, 3L, updatedAt.plusMinutes(1)});
+            when(officeRepository.findLocationVersion()).thenReturn(version, version, changed);
+
+            // Act
+            pricingService.refreshSnapshot();
+            pricingService.refreshSnapshot();
+            pricingService.refreshSnapshot();
+
+            // Assert - compiled once, then re-read on the first and the changed poll
+            verify(officeRepository, times(3)).findLocationColumns();
+        }
+    }
+
     @Nested
     @DisplayName("getBasePrice Tests")
     class GetBasePriceTests {
@@ -201,6 +663,153 @@ class PricingServiceTest {
             assertEquals(newAddressDeliveryFee, result.getAddressDeliveryFee());
             verify(pricingConfigRepository).deactivateAll();
             verify(pricingConfigRepository).save(any(PricingConfig.class));
+            verify(pricingHistoryService).historyChanged();
+        }
+
+        @Test
+        @DisplayName("Should take effect now unless back-dated")
+        void updatePricingConfig_EffectiveFrom_SetsEffectiveDate() {
+            // Arrange
+            LocalDateTime backDated = LocalDateTime.now().minusDays(1);
+            when(pricingConfigRepository.findLatestEffectiveFrom(any(LocalDateTime.class)))
+                    .thenReturn(Optional.of(backDated.minusDays(30)));
+            when(pricingConfigRepository.save(any(PricingConfig.class)))
+                    .thenAnswer(invocation -> invocation.getArgument(0));
+
+            // Act
+            PricingConfig dated = pricingService.updatePricingConfig(
+                    BigDecimal.ONE, BigDecimal.ONE, BigDecimal.ONE, backDated);
+            PricingConfig undated = pricingService.updatePricingConfig(BigDecimal.ONE, BigDecimal.ONE, BigDecimal.ONE);
+
+            // Assert
+            assertEquals(backDated, dated.getEffectiveFrom());
+            assertNotNull(undated.getEffectiveFrom());
+            assertTrue(undated.getEffectiveFrom().isAfter(backDated));
+        }
+
+        @Test
+        @DisplayName("Should schedule a config with a future effective date without activating it")
+        void updatePricingConfig_FutureEffectiveFrom_SchedulesConfig() {
+            // Arrange
+            defaultConfig.setId(1L);
+            when(pricingConfigRepository.findByActiveTrue()).thenReturn(Optional.of(defaultConfig));
+            when(pricingConfigRepository.save(any(PricingConfig.class))).thenAnswer(invocation -> {
+                PricingConfig saved = invocation.getArgument(0);
+                saved.setId(2L);
+                return saved;
+            });
+            LocalDateTime tomorrow = LocalDateTime.now().plusDays(1);
+
+            // Act
+            PricingConfig scheduled = pricingService.updatePricingConfig(
+                    new BigDecimal("9.00"), BigDecimal.ONE, BigDecimal.ONE, tomorrow);
+
+            // Assert - the current config keeps pricing
+            assertFalse(scheduled.getActive());
+            assertEquals(tomorrow, scheduled.getEffectiveFrom());
+            assertEquals(new BigDecimal("5.00"), pricingService.getBasePrice());
+            verify(pricingConfigRepository, never()).deactivateAll();
+            verify(pricingHistoryService).historyChanged();
+        }
+
+        @Test
+        @DisplayName("Should activate a scheduled config on refresh once it is due")
+        void refreshSnapshot_ScheduledConfigDue_ActivatesAndSwaps() {
+            // Arrange
+            defaultConfig.setId(1L);
+            PricingConfig due = new PricingConfig(
+                    new BigDecimal("9.00"), new BigDecimal("2.00"), new BigDecimal("10.00"));
+            due.setId(2L);
+            due.setActive(false);
+            due.setEffectiveFrom(LocalDateTime.now().minusSeconds(1));
+            when(pricingConfigRepository.findByActiveTrue())
+                    .thenReturn(Optional.of(defaultConfig), Optional.of(due));
+            when(pricingConfigRepository.findInEffectAt(any(LocalDateTime.class), any()))
+                    .thenReturn(List.of(due));
+            pricingService.getBasePrice();
+
+            // Act
+            pricingService.refreshSnapshot();
+
+            // Assert
+            verify(pricingConfigRepository).activate(2L);
+            assertEquals(new BigDecimal("9.00"), pricingService.getBasePrice());
+        }
+
+        @Test
+        @DisplayName("Should let an immediate update replace a scheduled config")
+        void updatePricingConfig_ScheduledThenChangedNow_ReplacesScheduled() {
+            // Arrange
+            defaultConfig.setId(1L);
+            when(pricingConfigRepository.findByActiveTrue()).thenReturn(Optional.of(defaultConfig));
+            AtomicLong ids = new AtomicLong(1L);
+            when(pricingConfigRepository.save(any(PricingConfig.class))).thenAnswer(invocation -> {
+                PricingConfig saved = invocation.getArgument(0);
+                saved.setId(ids.incrementAndGet());
+                return saved;
+            });
+            LocalDateTime nextMonth = LocalDateTime.now().plusMonths(1);
+            pricingService.updatePricingConfig(new BigDecimal("90.00"), BigDecimal.ONE, BigDecimal.ONE, nextMonth);
+            when(pricingConfigRepository.deleteScheduledFrom(any(LocalDateTime.class), any(LocalDateTime.class)))
+                    .thenReturn(1);
+
+            // Act
+            PricingConfig now = pricingService.updatePricingConfig(
+                    new BigDecimal("9.00"), BigDecimal.ONE, BigDecimal.ONE, null);
+
+            // Assert - the scheduled config is deleted and the new one takes over
+            assertTrue(now.getActive());
+            ArgumentCaptor<LocalDateTime> from = ArgumentCaptor.forClass(LocalDateTime.class);
+            verify(pricingConfigRepository, times(2)).deleteScheduledFrom(from.capture(), any(LocalDateTime.class));
+            assertEquals(now.getEffectiveFrom(), from.getValue());
+            verify(pricingConfigRepository).deactivateAll();
+            assertEquals(new BigDecimal("9.00"), pricingService.getBasePrice());
+        }
+
+        @Test
+        @DisplayName("Should cancel a scheduled config")
+        void cancelScheduledConfig_Scheduled_DeletesConfig() {
+            // Arrange
+            PricingConfig scheduled = new PricingConfig(new BigDecimal("90.00"), BigDecimal.ONE, BigDecimal.ONE);
+            scheduled.setId(2L);
+            scheduled.setActive(false);
+            scheduled.setEffectiveFrom(LocalDateTime.now().plusMonths(1));
+            when(pricingConfigRepository.findById(2L)).thenReturn(Optional.of(scheduled));
+
+            // Act
+            pricingService.cancelScheduledConfig(2L);
+
+            // Assert
+            verify(pricingConfigRepository).delete(scheduled);
+            verify(pricingHistoryService).historyChanged();
+        }
+
+        @Test
+        @DisplayName("Should refuse to cancel a config that is already in effect")
+        void cancelScheduledConfig_InEffect_ThrowsException() {
+            // Arrange
+            defaultConfig.setId(1L);
+            defaultConfig.setEffectiveFrom(LocalDateTime.now().minusDays(1));
+            when(pricingConfigRepository.findById(1L)).thenReturn(Optional.of(defaultConfig));
+
+            // Act & Assert
+            assertThrows(InvalidDataException.class, () -> pricingService.cancelScheduledConfig(1L));
+            verify(pricingConfigRepository, never()).delete(any(PricingConfig.class));
+        }
+
+        @Test
+        @DisplayName("Should reject an effective date that overlaps the current config")
+        void updatePricingConfig_EffectiveFromBeforeLatest_ThrowsException() {
+            // Arrange
+            LocalDateTime latest = LocalDateTime.now().minusDays(1);
+            when(pricingConfigRepository.findLatestEffectiveFrom(any(LocalDateTime.class))).thenReturn(Optional.of(latest));
+
+            // Act & Assert
+            InvalidDataException exception = assertThrows(InvalidDataException.class,
+                    () -> pricingService.updatePricingConfig(BigDecimal.ONE, BigDecimal.ONE, BigDecimal.ONE,
+                            latest.minusHours(1)));
+            assertEquals("effectiveFrom", exception.getField());
+            verify(pricingConfigRepository, never()).deactivateAll();
         }
 
         @Test
@@ -0,0 +1,216 @@
+package com.logistics.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.logistics.dto.report.ReportJobRequest;
+import com.logistics.dto.report.ReportJobResponse;
+import com.logistics.dto.report.RevenueResponse;
+import com.logistics.exception.InvalidDataException;
+import com.logistics.model.entity.ReportJob;
+import com.logistics.model.enums.ExportFormat;
+import com.logistics.model.enums.ReportJobStatus;
+import com.logistics.model.enums.ReportType;
+import com.logistics.repository.EmployeeRepository;
+import com.logistics.repository.ReportJobRepository;
+import com.logistics.service.impl.ReportJobServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ReportJobService.
+ * Jobs are handed to a mocked executor, so each test decides whether they run.
+ */
+@ExtendWith(MockitoExtension.class)
+class ReportJobServiceTest {
+
+    @Mock
+    private ReportJobRepository reportJobRepository;
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private ShipmentExportService shipmentExportService;
+
+    @Mock
+    private ReportService reportService;
+
+    @Mock
+    private ExecutorService executor;
+
+    @TempDir
+    Path directory;
+
+    private ReportJobServiceImpl reportJobService;
+
+    private final Map<Long, ReportJob> jobs = new HashMap<>();
+    private final AtomicLong ids = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        reportJobService = new ReportJobServiceImpl(reportJobRepository, employeeRepository,
+                shipmentExportService, reportService, new ObjectMapper(), directory, 60_000L, executor);
+
+        // In-memory stand-in for the report_jobs table
+        lenient().when(reportJobRepository.save(any(ReportJob.class))).thenAnswer(invocation -> {
+            ReportJob job = invocation.getArgument(0);
+            if (job.getId() == null) {
+                job.setId(ids.incrementAndGet());
+            }
+            jobs.put(job.getId(), job);
+            return job;
+        });
+        lenient().when(reportJobRepository.findById(any()))
+                .thenAnswer(invocation -> Optional.ofNullable(jobs.get(invocation.<Long>getArgument(0))));
+    }
+
+    private void runJobsInline() {
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(executor).execute(any(Runnable.class));
+    }
+
+    @Nested
+    @DisplayName("submit Tests")
+    class SubmitTests {
+
+        @Test
+        @DisplayName("Should write the report to a gzip file and complete the job")
+        void submit_AllShipments_WritesCompressedFile() throws Exception {
+            // Arrange
+            runJobsInline();
+            doAnswer(invocation -> {
+                OutputStream out = invocation.getArgument(1);
+                out.write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+                return null;
+            }).when(shipmentExportService).exportAllShipments(eq(ExportFormat.NDJSON), any(OutputStream.class));
+
+            // Act
+            ReportJobResponse response = reportJobService.submit(
+                    new ReportJobRequest(ReportType.ALL_SHIPMENTS, null, null, null, null), "employee");
+
+            // Assert
+            assertEquals(ReportJobStatus.COMPLETED, response.getStatus());
+            assertEquals("/api/reports/jobs/1/download", response.getDownloadUrl());
+            Path file = reportJobService.getResultFile(response.getId());
+            try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+                assertEquals("{\"id\":1}\n", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+
+        @Test
+        @DisplayName("Should return the running job for an identical spec")
+        void submit_IdenticalSpecWhileQueued_ReturnsSameJob() {
+            // Arrange
+            ReportJobRequest request = new ReportJobRequest(ReportType.REVENUE, ExportFormat.CSV, null,
+                    LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31));
+
+            // Act
+            ReportJobResponse first = reportJobService.submit(request, "employee");
+            ReportJobResponse second = reportJobService.submit(request, "other");
+
+            // Assert
+            assertEquals(first.getId(), second.getId());
+            assertEquals(ReportJobStatus.QUEUED, second.getStatus());
+            verify(reportJobRepository, times(1)).save(any(ReportJob.class));
+            verify(executor, times(1)).execute(any(Runnable.class));
+        }
+
+        @Test
+        @DisplayName("Should write the revenue report as CSV")
+        void submit_RevenueCsv_WritesSummaryRow() throws Exception {
+            // Arrange
+            runJobsInline();
+            LocalDate start = LocalDate.of(2024, 1, 1);
+            LocalDate end = LocalDate.of(2024, 1, 31);
+            when(reportService.getRevenueReport(start, end)).thenReturn(
+                    new RevenueResponse(start, end, new BigDecimal("120.50"), 4L));
+
+            // Act
+            ReportJobResponse response = reportJobService.submit(
+                    new ReportJobRequest(ReportType.REVENUE, ExportFormat.CSV, null, start, end), "employee");
+
+            // Assert
+            Path file = reportJobService.getResultFile(response.getId());
+            try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+                assertEquals("startDate,endDate,totalRevenue,deliveredShipmentsCount\n"
+                                + "2024-01-01,2024-01-31,120.50,4\n",
+                        new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+
+        @Test
+        @DisplayName("Should fail the job when the export throws")
+        void submit_ExportFails_MarksJobFailed() {
+            // Arrange
+            runJobsInline();
+            doThrow(new IllegalStateException("cursor closed"))
+                    .when(shipmentExportService).exportPendingShipments(any(), any());
+
+            // Act
+            ReportJobResponse response = reportJobService.submit(
+                    new ReportJobRequest(ReportType.PENDING_SHIPMENTS, ExportFormat.CSV, null, null, null), "employee");
+
+            // Assert
+            assertEquals(ReportJobStatus.FAILED, response.getStatus());
+            assertEquals("cursor closed", response.getErrorMessage());
+            assertThrows(InvalidDataException.class, () -> reportJobService.getResultFile(response.getId()));
+        }
+
+        @Test
+        @DisplayName("Should fail the job when the report queue is full")
+        void submit_QueueFull_MarksJobFailed() {
+            // Arrange
+            doThrow(new RejectedExecutionException()).when(executor).execute(any(Runnable.class));
+
+            // Act
+            ReportJobResponse response = reportJobService.submit(
+                    new ReportJobRequest(ReportType.ALL_SHIPMENTS, ExportFormat.CSV, null, null, null), "employee");
+
+            // Assert
+            assertEquals(ReportJobStatus.FAILED, response.getStatus());
+            assertNull(response.getDownloadUrl());
+        }
+
+        @Test
+        @DisplayName("Should reject a revenue report without a date range")
+        void submit_RevenueWithoutDates_ThrowsException() {
+            assertThrows(InvalidDataException.class, () -> reportJobService.submit(
+                    new ReportJobRequest(ReportType.REVENUE, null, null, null, null), "employee"));
+            verifyNoInteractions(reportJobRepository, executor);
+        }
+
+        @Test
+        @DisplayName("Should reject an employee report without an employee ID")
+        void submit_EmployeeWithoutId_ThrowsException() {
+            assertThrows(InvalidDataException.class, () -> reportJobService.submit(
+                    new ReportJobRequest(ReportType.EMPLOYEE_SHIPMENTS, null, null, null, null), "employee"));
+            verifyNoInteractions(reportJobRepository, executor);
+        }
+    }
+}
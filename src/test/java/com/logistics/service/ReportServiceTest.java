@@ -12,9 +12,12 @@ import com.logistics.model.enums.EmployeeType;
 import com.logistics.model.enums.Role;
 import com.logistics.model.enums.ShipmentStatus;
 import com.logistics.repository.CustomerRepository;
+import com.logistics.repository.DailyRevenueRepository;
 import com.logistics.repository.EmployeeRepository;
 import com.logistics.repository.ShipmentRepository;
+import com.logistics.service.impl.CustomerMetricsCache;
 import com.logistics.service.impl.ReportServiceImpl;
+import com.logistics.util.EntityMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -22,6 +25,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
@@ -30,6 +34,7 @@ import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -52,6 +57,15 @@ class ReportServiceTest {
     @Mock
     private ShipmentRepository shipmentRepository;
 
+    @Mock
+    private DailyRevenueRepository dailyRevenueRepository;
+
+    @Mock
+    private ShipmentMetricsService shipmentMetricsService;
+
+    @Spy
+    private CustomerMetricsCache customerMetricsCache = new CustomerMetricsCache(30000, 100);
+
     @InjectMocks
     private ReportServiceImpl reportService;
 
@@ -187,7 +201,8 @@ class ReportServiceTest {
         @DisplayName("Should return all shipments")
         void getAllShipmentsReport_ReturnsAllShipments() {
             // Arrange
-            when(shipmentRepository.findAll()).thenReturn(Arrays.asList(shipment));
+            when(shipmentRepository.findAllResponses())
+                    .thenReturn(Arrays.asList(EntityMapper.toShipmentResponse(shipment)));
 
             // Act
             List<ShipmentResponse> result = reportService.getAllShipmentsReport();
@@ -195,14 +210,14 @@ class ReportServiceTest {
             // Assert
             assertNotNull(result);
             assertEquals(1, result.size());
-            verify(shipmentRepository).findAll();
+            verify(shipmentRepository).findAllResponses();
         }
 
         @Test
         @DisplayName("Should return empty list when no shipments exist")
         void getAllShipmentsReport_NoShipments_ReturnsEmptyList() {
             // Arrange
-            when(shipmentRepository.findAll()).thenReturn(Collections.emptyList());
+            when(shipmentRepository.findAllResponses()).thenReturn(Collections.emptyList());
 
             // Act
             List<ShipmentResponse> result = reportService.getAllShipmentsReport();
@@ -221,7 +236,8 @@ class ReportServiceTest {
         void getShipmentsByEmployeeReport_EmployeeExists_ReturnsShipments() {
             // Arrange
             when(employeeRepository.existsById(1L)).thenReturn(true);
-            when(shipmentRepository.findByRegisteredById(1L)).thenReturn(Arrays.asList(shipment));
+            when(shipmentRepository.findResponsesByRegisteredById(1L))
+                    .thenReturn(Arrays.asList(EntityMapper.toShipmentResponse(shipment)));
 
             // Act
             List<ShipmentResponse> result = reportService.getShipmentsByEmployeeReport(1L);
@@ -261,7 +277,8 @@ class ReportServiceTest {
             pendingShipment.setDeliveryAddress("456 Pending St");
             pendingShipment.setStatus(ShipmentStatus.REGISTERED);
 
-            when(shipmentRepository.findAllPendingShipments()).thenReturn(Arrays.asList(pendingShipment));
+            when(shipmentRepository.findPendingResponses())
+                    .thenReturn(Arrays.asList(EntityMapper.toShipmentResponse(pendingShipment)));
 
             // Act
             List<ShipmentResponse> result = reportService.getPendingShipmentsReport();
@@ -281,7 +298,8 @@ class ReportServiceTest {
         void getShipmentsSentByCustomerReport_CustomerExists_ReturnsShipments() {
             // Arrange
             when(customerRepository.existsById(1L)).thenReturn(true);
-            when(shipmentRepository.findBySenderId(1L)).thenReturn(Arrays.asList(shipment));
+            when(shipmentRepository.findResponsesBySenderId(1L))
+                    .thenReturn(Arrays.asList(EntityMapper.toShipmentResponse(shipment)));
 
             // Act
             List<ShipmentResponse> result = reportService.getShipmentsSentByCustomerReport(1L);
@@ -312,7 +330,8 @@ class ReportServiceTest {
         void getShipmentsReceivedByCustomerReport_CustomerExists_ReturnsShipments() {
             // Arrange
             when(customerRepository.existsById(1L)).thenReturn(true);
-            when(shipmentRepository.findByRecipientId(1L)).thenReturn(Arrays.asList(shipment));
+            when(shipmentRepository.findResponsesByRecipientId(1L))
+                    .thenReturn(Arrays.asList(EntityMapper.toShipmentResponse(shipment)));
 
             // Act
             List<ShipmentResponse> result = reportService.getShipmentsReceivedByCustomerReport(1L);
@@ -346,9 +365,8 @@ class ReportServiceTest {
             LocalDate endDate = LocalDate.now();
             BigDecimal totalRevenue = new BigDecimal("100.00");
 
-            when(shipmentRepository.calculateRevenueBetweenDates(any(), any())).thenReturn(totalRevenue);
-            when(shipmentRepository.findDeliveredShipmentsBetweenDates(any(), any()))
-                    .thenReturn(Arrays.asList(shipment));
+            when(dailyRevenueRepository.sumRevenueBetween(startDate, endDate)).thenReturn(totalRevenue);
+            when(dailyRevenueRepository.sumShipmentCountBetween(startDate, endDate)).thenReturn(1L);
 
             // Act
             RevenueResponse result = reportService.getRevenueReport(startDate, endDate);
@@ -359,6 +377,7 @@ class ReportServiceTest {
             assertEquals(endDate, result.getEndDate());
             assertEquals(totalRevenue, result.getTotalRevenue());
             assertEquals(1, result.getDeliveredShipmentsCount());
+            verify(shipmentRepository, never()).findDeliveredShipmentsBetweenDates(any(), any());
         }
 
         @Test
@@ -368,9 +387,8 @@ class ReportServiceTest {
             LocalDate startDate = LocalDate.now().minusDays(7);
             LocalDate endDate = LocalDate.now();
 
-            when(shipmentRepository.calculateRevenueBetweenDates(any(), any())).thenReturn(null);
-            when(shipmentRepository.findDeliveredShipmentsBetweenDates(any(), any()))
-                    .thenReturn(Collections.emptyList());
+            when(dailyRevenueRepository.sumRevenueBetween(startDate, endDate)).thenReturn(BigDecimal.ZERO);
+            when(dailyRevenueRepository.sumShipmentCountBetween(startDate, endDate)).thenReturn(0L);
 
             // Act
             RevenueResponse result = reportService.getRevenueReport(startDate, endDate);
@@ -390,10 +408,8 @@ class ReportServiceTest {
         @DisplayName("Should return dashboard metrics")
         void getDashboardMetrics_ReturnsDashboardMetrics() {
             // Arrange
-            when(shipmentRepository.count()).thenReturn(10L);
-            when(shipmentRepository.countInTransitShipments()).thenReturn(3L);
-            when(shipmentRepository.countByStatus(ShipmentStatus.DELIVERED)).thenReturn(5L);
-            when(shipmentRepository.calculateTotalRevenue()).thenReturn(new BigDecimal("500.00"));
+            when(shipmentMetricsService.getDashboardMetrics())
+                    .thenReturn(new DashboardMetricsResponse(10L, 3L, 5L, new BigDecimal("500.00")));
 
             // Act
             DashboardMetricsResponse result = reportService.getDashboardMetrics();
@@ -404,6 +420,7 @@ class ReportServiceTest {
             assertEquals(3L, result.getPendingShipments());
             assertEquals(5L, result.getDeliveredShipments());
             assertEquals(new BigDecimal("500.00"), result.getTotalRevenue());
+            verifyNoInteractions(shipmentRepository);
         }
     }
 
@@ -415,12 +432,8 @@ class ReportServiceTest {
         @DisplayName("Should return customer metrics")
         void getCustomerMetrics_CustomerExists_ReturnsMetrics() {
             // Arrange
-            when(customerRepository.existsById(1L)).thenReturn(true);
-            when(shipmentRepository.countBySenderId(1L)).thenReturn(5L);
-            when(shipmentRepository.countDeliveredByRecipientId(1L)).thenReturn(3L);
-            when(shipmentRepository.countInTransitBySenderId(1L)).thenReturn(1L);
-            when(shipmentRepository.countInTransitByRecipientId(1L)).thenReturn(1L);
-            when(shipmentRepository.calculateTotalSpentBySenderId(1L)).thenReturn(new BigDecimal("150.00"));
+            when(shipmentRepository.findCustomerMetrics(1L)).thenReturn(
+                    Optional.of(new CustomerMetricsResponse(5L, 3L, 2L, new BigDecimal("150.00"))));
 
             // Act
             CustomerMetricsResponse result = reportService.getCustomerMetrics(1L);
@@ -431,13 +444,30 @@ class ReportServiceTest {
             assertEquals(3L, result.getTotalReceived());
             assertEquals(2L, result.getInTransit());
             assertEquals(new BigDecimal("150.00"), result.getTotalSpent());
+            verifyNoInteractions(customerRepository);
+        }
+
+        @Test
+        @DisplayName("Should serve repeated polls from the cache")
+        void getCustomerMetrics_RepeatedCalls_QueriesOnce() {
+            // Arrange
+            when(shipmentRepository.findCustomerMetrics(1L)).thenReturn(
+                    Optional.of(new CustomerMetricsResponse(5L, 3L, 2L, new BigDecimal("150.00"))));
+
+            // Act
+            reportService.getCustomerMetrics(1L);
+            CustomerMetricsResponse result = reportService.getCustomerMetrics(1L);
+
+            // Assert
+            assertEquals(5L, result.getTotalSent());
+            verify(shipmentRepository, times(1)).findCustomerMetrics(1L);
         }
 
         @Test
         @DisplayName("Should throw exception when customer not found")
         void getCustomerMetrics_CustomerNotFound_ThrowsException() {
             // Arrange
-            when(customerRepository.existsById(999L)).thenReturn(false);
+            when(shipmentRepository.findCustomerMetrics(999L)).thenReturn(Optional.empty());
 
             // Act & Assert
             assertThrows(ResourceNotFoundException.class,
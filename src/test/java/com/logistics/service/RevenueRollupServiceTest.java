@@ -0,0 +1,204 @@
+package com.logistics.service;
+
+import com.logistics.exception.InvalidDataException;
+import com.logistics.model.entity.DailyRevenue;
+import com.logistics.model.entity.Office;
+import com.logistics.model.entity.Shipment;
+import com.logistics.model.enums.DeliveryType;
+import com.logistics.model.enums.ShipmentStatus;
+import com.logistics.repository.DailyRevenueRepository;
+import com.logistics.repository.ShipmentRepository;
+import com.logistics.service.impl.RevenueRollupServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for RevenueRollupService.
+ * Tests incremental maintenance and rebuild of the daily revenue rollup.
+ */
+@ExtendWith(MockitoExtension.class)
+class RevenueRollupServiceTest {
+
+    @Mock
+    private DailyRevenueRepository dailyRevenueRepository;
+
+    @Mock
+    private ShipmentRepository shipmentRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private RevenueRollupServiceImpl revenueRollupService;
+
+    private Shipment shipment;
+    private LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        Office origin = new Office();
+        origin.setId(3L);
+
+        shipment = new Shipment();
+        shipment.setOriginOffice(origin);
+        shipment.setDeliveryAddress("123 Test St");
+        shipment.setPrice(new BigDecimal("25.00"));
+        shipment.setStatus(ShipmentStatus.DELIVERED);
+        shipment.setDeliveredAt(LocalDateTime.now());
+        today = shipment.getDeliveredAt().toLocalDate();
+    }
+
+    @Nested
+    @DisplayName("recordDelivery Tests")
+    class RecordDeliveryTests {
+
+        @Test
+        @DisplayName("Should increment an existing bucket in place")
+        void recordDelivery_ExistingBucket_Increments() {
+            // Arrange
+            when(dailyRevenueRepository.addToBucket(today, DeliveryType.ADDRESS, 3L, 1L, new BigDecimal("25.00")))
+                    .thenReturn(1);
+
+            // Act
+            revenueRollupService.recordDelivery(shipment);
+
+            // Assert
+            verify(dailyRevenueRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("Should create an empty bucket on the first delivery of the day and add to it")
+        void recordDelivery_NewBucket_CreatesThenIncrements() {
+            // Arrange
+            when(dailyRevenueRepository.addToBucket(today, DeliveryType.ADDRESS, 3L, 1L, new BigDecimal("25.00")))
+                    .thenReturn(0, 1);
+
+            // Act
+            revenueRollupService.recordDelivery(shipment);
+
+            // Assert
+            verify(dailyRevenueRepository).save(argThat(bucket ->
+                    bucket.getRevenueDate().equals(today)
+                            && bucket.getDeliveryType() == DeliveryType.ADDRESS
+                            && bucket.getOriginOfficeId() == 3L
+                            && bucket.getShipmentCount() == 0
+                            && bucket.getRevenue().signum() == 0));
+            verify(dailyRevenueRepository, times(2))
+                    .addToBucket(today, DeliveryType.ADDRESS, 3L, 1L, new BigDecimal("25.00"));
+            verify(transactionManager).commit(any());
+        }
+
+        @Test
+        @DisplayName("Should add to a bucket another delivery created concurrently")
+        void recordDelivery_BucketCreatedConcurrently_Increments() {
+            // Arrange
+            when(dailyRevenueRepository.addToBucket(today, DeliveryType.ADDRESS, 3L, 1L, new BigDecimal("25.00")))
+                    .thenReturn(0, 1);
+            when(dailyRevenueRepository.save(any(DailyRevenue.class)))
+                    .thenThrow(new DataIntegrityViolationException("uk_daily_revenue_bucket"));
+
+            // Act
+            revenueRollupService.recordDelivery(shipment);
+
+            // Assert
+            verify(dailyRevenueRepository, times(2))
+                    .addToBucket(today, DeliveryType.ADDRESS, 3L, 1L, new BigDecimal("25.00"));
+            verify(transactionManager).rollback(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("recordRemoval Tests")
+    class RecordRemovalTests {
+
+        @Test
+        @DisplayName("Should subtract a deleted delivered shipment")
+        void recordRemoval_Delivered_Decrements() {
+            // Arrange
+            when(dailyRevenueRepository.addToBucket(today, DeliveryType.ADDRESS, 3L, -1L, new BigDecimal("-25.00")))
+                    .thenReturn(1);
+
+            // Act
+            revenueRollupService.recordRemoval(shipment);
+
+            // Assert
+            verify(dailyRevenueRepository).addToBucket(today, DeliveryType.ADDRESS, 3L, -1L, new BigDecimal("-25.00"));
+        }
+
+        @Test
+        @DisplayName("Should ignore shipments that were never delivered")
+        void recordRemoval_NotDelivered_DoesNothing() {
+            // Arrange
+            shipment.setStatus(ShipmentStatus.IN_TRANSIT);
+            shipment.setDeliveredAt(null);
+
+            // Act
+            revenueRollupService.recordRemoval(shipment);
+
+            // Assert
+            verifyNoInteractions(dailyRevenueRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("rebuild Tests")
+    class RebuildTests {
+
+        @Test
+        @DisplayName("Should replace the buckets of the range with fresh aggregates")
+        void rebuild_ValidRange_ReplacesBuckets() {
+            // Arrange
+            List<DailyRevenue> buckets = List.of(
+                    new DailyRevenue(today, DeliveryType.OFFICE, 1L, 4, new BigDecimal("80.00")));
+            when(shipmentRepository.aggregateDailyRevenue(any(), any())).thenReturn(buckets);
+
+            // Act
+            int written = revenueRollupService.rebuild(today.minusDays(1), today);
+
+            // Assert
+            assertEquals(1, written);
+            verify(dailyRevenueRepository).deleteBetween(today.minusDays(1), today);
+            verify(dailyRevenueRepository).saveAll(buckets);
+        }
+
+        @Test
+        @DisplayName("Should reject a range that ends before it starts")
+        void rebuild_InvertedRange_ThrowsException() {
+            assertThrows(InvalidDataException.class,
+                    () -> revenueRollupService.rebuild(today, today.minusDays(1)));
+            verifyNoInteractions(dailyRevenueRepository);
+        }
+
+        @Test
+        @DisplayName("Should backfill an empty rollup when delivered shipments exist")
+        void backfillIfEmpty_EmptyRollup_RebuildsAll() {
+            // Arrange
+            when(dailyRevenueRepository.count()).thenReturn(0L);
+            when(shipmentRepository.countByStatus(ShipmentStatus.DELIVERED)).thenReturn(2L);
+            when(shipmentRepository.aggregateDailyRevenue(null, null)).thenReturn(List.of());
+
+            // Act
+            revenueRollupService.backfillIfEmpty();
+
+            // Assert
+            verify(dailyRevenueRepository).deleteAllInBatch();
+        }
+    }
+}
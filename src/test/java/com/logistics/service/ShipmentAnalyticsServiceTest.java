@@ -0,0 +1,225 @@
+package com.logistics.service;
+
+import com.logistics.dto.analytics.AnalyticsGroupResponse;
+import com.logistics.dto.analytics.AnalyticsQueryRequest;
+import com.logistics.dto.analytics.AnalyticsQueryResponse;
+import com.logistics.exception.InvalidDataException;
+import com.logistics.model.entity.Office;
+import com.logistics.model.entity.Shipment;
+import com.logistics.model.enums.AnalyticsDimension;
+import com.logistics.model.enums.DeliveryType;
+import com.logistics.model.enums.ShipmentStatus;
+import com.logistics.repository.ShipmentRepository;
+import com.logistics.service.impl.ShipmentAnalyticsServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ShipmentAnalyticsService.
+ * Runs outside of a transaction, where every recorded change is applied immediately.
+ */
+@ExtendWith(MockitoExtension.class)
+class ShipmentAnalyticsServiceTest {
+
+    @Mock
+    private ShipmentRepository shipmentRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private ShipmentAnalyticsServiceImpl shipmentAnalyticsService;
+
+    private List<Object[]> rows;
+
+    @BeforeEach
+    void setUp() {
+        rows = new ArrayList<>();
+        rows.add(new Object[]{1L, ShipmentStatus.DELIVERED, 10L, 20L,
+                new BigDecimal("10.00"), new BigDecimal("1.50"), LocalDateTime.of(2024, 1, 1, 9, 0)});
+        rows.add(new Object[]{2L, ShipmentStatus.DELIVERED, 10L, null,
+                new BigDecimal("15.50"), new BigDecimal("2.25"), LocalDateTime.of(2024, 1, 3, 18, 0)});
+        rows.add(new Object[]{3L, ShipmentStatus.DELIVERED, 11L, null,
+                new BigDecimal("7.00"), new BigDecimal("0.50"), LocalDateTime.of(2024, 1, 8, 8, 0)});
+        rows.add(new Object[]{4L, ShipmentStatus.REGISTERED, 10L, 20L,
+                new BigDecimal("5.00"), new BigDecimal("1.00"), LocalDateTime.of(2024, 1, 2, 12, 0)});
+    }
+
+    private AnalyticsQueryRequest groupBy(AnalyticsDimension... dimensions) {
+        AnalyticsQueryRequest request = new AnalyticsQueryRequest();
+        request.setGroupBy(List.of(dimensions));
+        return request;
+    }
+
+    @Nested
+    @DisplayName("query Tests")
+    class QueryTests {
+
+        @BeforeEach
+        void load() {
+            when(shipmentRepository.findAnalyticsColumnsAfter(anyLong(), any(Pageable.class))).thenReturn(rows);
+        }
+
+        @Test
+        @DisplayName("Should group delivered revenue by origin office and week")
+        void query_RevenueByOfficeAndWeek_GroupsAndAggregates() {
+            // Arrange
+            AnalyticsQueryRequest request = groupBy(AnalyticsDimension.ORIGIN_OFFICE, AnalyticsDimension.REGISTERED_WEEK);
+            request.setStatuses(List.of(ShipmentStatus.DELIVERED));
+
+            // Act
+            AnalyticsQueryResponse result = shipmentAnalyticsService.query(request);
+
+            // Assert
+            assertEquals(4L, result.getShipmentsScanned());
+            assertEquals(3L, result.getShipmentsMatched());
+            assertEquals(2, result.getGroups().size());
+
+            AnalyticsGroupResponse first = result.getGroups().get(0);
+            assertEquals("10", first.getKey().get(AnalyticsDimension.ORIGIN_OFFICE));
+            assertEquals("2024-01-01", first.getKey().get(AnalyticsDimension.REGISTERED_WEEK));
+            assertEquals(2L, first.getShipmentCount());
+            assertEquals(new BigDecimal("25.50"), first.getTotalRevenue());
+            assertEquals(new BigDecimal("12.75"), first.getAveragePrice());
+            assertEquals(new BigDecimal("3.750"), first.getTotalWeight());
+            assertEquals(new BigDecimal("1.875"), first.getAverageWeight());
+
+            AnalyticsGroupResponse second = result.getGroups().get(1);
+            assertEquals("11", second.getKey().get(AnalyticsDimension.ORIGIN_OFFICE));
+            assertEquals("2024-01-08", second.getKey().get(AnalyticsDimension.REGISTERED_WEEK));
+            assertEquals(new BigDecimal("7.00"), second.getTotalRevenue());
+        }
+
+        @Test
+        @DisplayName("Should return one total row when nothing is grouped")
+        void query_NoGroupBy_ReturnsSingleTotal() {
+            // Arrange
+            AnalyticsQueryRequest request = new AnalyticsQueryRequest();
+            request.setDeliveryType(DeliveryType.ADDRESS);
+            request.setRegisteredTo(LocalDate.of(2024, 1, 7));
+
+            // Act
+            AnalyticsQueryResponse result = shipmentAnalyticsService.query(request);
+
+            // Assert
+            assertEquals(1, result.getGroups().size());
+            AnalyticsGroupResponse total = result.getGroups().get(0);
+            assertTrue(total.getKey().isEmpty());
+            assertEquals(1L, total.getShipmentCount());
+            assertEquals(new BigDecimal("15.50"), total.getTotalRevenue());
+        }
+
+        @Test
+        @DisplayName("Should load the snapshot once and answer later queries from memory")
+        void query_Repeated_LoadsOnce() {
+            // Act
+            shipmentAnalyticsService.query(groupBy(AnalyticsDimension.STATUS));
+            AnalyticsQueryResponse result = shipmentAnalyticsService.query(groupBy(AnalyticsDimension.DELIVERY_TYPE));
+
+            // Assert
+            assertEquals(2, result.getGroups().size());
+            assertEquals("OFFICE", result.getGroups().get(0).getKey().get(AnalyticsDimension.DELIVERY_TYPE));
+            assertEquals(2L, result.getGroups().get(0).getShipmentCount());
+            verify(shipmentRepository, times(1)).findAnalyticsColumnsAfter(anyLong(), any(Pageable.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("record Tests")
+    class RecordTests {
+
+        @BeforeEach
+        void load() {
+            when(shipmentRepository.findAnalyticsColumnsAfter(anyLong(), any(Pageable.class))).thenReturn(rows);
+            shipmentAnalyticsService.rebuild();
+        }
+
+        @Test
+        @DisplayName("Should apply saves, filtered status changes and deletes to the snapshot")
+        void record_Changes_AreQueryable() {
+            // Arrange
+            Office office = new Office();
+            office.setId(11L);
+            Shipment shipment = new Shipment();
+            shipment.setId(5L);
+            shipment.setStatus(ShipmentStatus.IN_TRANSIT);
+            shipment.setOriginOffice(office);
+            shipment.setPrice(new BigDecimal("3.00"));
+            shipment.setWeight(new BigDecimal("1.00"));
+            shipment.setRegisteredAt(LocalDateTime.of(2024, 1, 9, 10, 0));
+
+            // Act
+            shipmentAnalyticsService.recordSaved(List.of(shipment));
+            shipmentAnalyticsService.recordStatusChange(ShipmentStatus.REGISTERED, 10L, ShipmentStatus.IN_TRANSIT);
+            shipmentAnalyticsService.recordDeleted(1L);
+
+            // Assert
+            AnalyticsQueryResponse result = shipmentAnalyticsService.query(groupBy(AnalyticsDimension.STATUS));
+            assertEquals(4L, result.getShipmentsScanned());
+            assertEquals(2, result.getGroups().size());
+            assertEquals("IN_TRANSIT", result.getGroups().get(0).getKey().get(AnalyticsDimension.STATUS));
+            assertEquals(2L, result.getGroups().get(0).getShipmentCount());
+            assertEquals(new BigDecimal("8.00"), result.getGroups().get(0).getTotalRevenue());
+            assertEquals("DELIVERED", result.getGroups().get(1).getKey().get(AnalyticsDimension.STATUS));
+            assertEquals(2L, result.getGroups().get(1).getShipmentCount());
+        }
+
+        @Test
+        @DisplayName("Should only move shipments that were in a source status")
+        void recordStatusChange_ByIds_SkipsOtherStatuses() {
+            // Act
+            shipmentAnalyticsService.recordStatusChange(List.of(2L, 4L),
+                    EnumSet.of(ShipmentStatus.REGISTERED), ShipmentStatus.CANCELLED);
+
+            // Assert
+            AnalyticsQueryRequest request = groupBy(AnalyticsDimension.STATUS);
+            request.setStatuses(List.of(ShipmentStatus.CANCELLED));
+            AnalyticsQueryResponse result = shipmentAnalyticsService.query(request);
+            assertEquals(1L, result.getShipmentsMatched());
+            assertEquals(new BigDecimal("5.00"), result.getGroups().get(0).getTotalRevenue());
+        }
+    }
+
+    @Nested
+    @DisplayName("validation Tests")
+    class ValidationTests {
+
+        @Test
+        @DisplayName("Should reject a date range that ends before it starts")
+        void query_InvertedDateRange_ThrowsException() {
+            AnalyticsQueryRequest request = new AnalyticsQueryRequest();
+            request.setRegisteredFrom(LocalDate.of(2024, 2, 1));
+            request.setRegisteredTo(LocalDate.of(2024, 1, 1));
+
+            assertThrows(InvalidDataException.class, () -> shipmentAnalyticsService.query(request));
+            verifyNoInteractions(shipmentRepository);
+        }
+
+        @Test
+        @DisplayName("Should reject a dimension listed twice")
+        void query_DuplicateDimension_ThrowsException() {
+            assertThrows(InvalidDataException.class, () -> shipmentAnalyticsService.query(
+                    groupBy(AnalyticsDimension.STATUS, AnalyticsDimension.STATUS)));
+            verifyNoInteractions(shipmentRepository);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.logistics.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.logistics.dto.shipment.ShipmentResponse;
+import com.logistics.model.enums.ExportFormat;
+import com.logistics.model.enums.ShipmentStatus;
+import com.logistics.repository.ShipmentRepository;
+import com.logistics.service.impl.ShipmentExportServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ShipmentExportService.
+ * Tests NDJSON and CSV row formatting over a mocked repository stream.
+ */
+@ExtendWith(MockitoExtension.class)
+class ShipmentExportServiceTest {
+
+    @Mock
+    private ShipmentRepository shipmentRepository;
+
+    private ShipmentExportServiceImpl shipmentExportService;
+
+    private ShipmentResponse shipment;
+    private ByteArrayOutputStream out;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        shipmentExportService = new ShipmentExportServiceImpl(shipmentRepository, objectMapper);
+
+        shipment = new ShipmentResponse();
+        shipment.setId(1L);
+        shipment.setSenderId(1L);
+        shipment.setSenderName("sender");
+        shipment.setRecipientId(2L);
+        shipment.setRecipientName("recipient");
+        shipment.setRegisteredByName("employee");
+        shipment.setDeliveryDestination("Address: 1 Main St, Sofia");
+        shipment.setWeight(new BigDecimal("2.50"));
+        shipment.setPrice(new BigDecimal("20.00"));
+        shipment.setStatus(ShipmentStatus.REGISTERED);
+        shipment.setRegisteredAt(LocalDateTime.of(2024, 1, 10, 9, 0));
+
+        out = new ByteArrayOutputStream();
+    }
+
+    @Nested
+    @DisplayName("NDJSON export Tests")
+    class NdjsonExportTests {
+
+        @Test
+        @DisplayName("Should write one JSON object per line")
+        void exportAllShipments_Ndjson_WritesOneObjectPerLine() {
+            // Arrange
+            ShipmentResponse second = new ShipmentResponse();
+            second.setId(2L);
+            when(shipmentRepository.streamAllResponses()).thenReturn(Stream.of(shipment, second));
+
+            // Act
+            shipmentExportService.exportAllShipments(ExportFormat.NDJSON, out);
+
+            // Assert
+            String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+            assertEquals(2, lines.length);
+            assertTrue(lines[0].startsWith("{\"id\":1,"));
+            assertTrue(lines[0].contains("\"registeredAt\":\"2024-01-10T09:00:00\""));
+            assertTrue(lines[1].startsWith("{\"id\":2,"));
+        }
+
+        @Test
+        @DisplayName("Should write nothing when there are no shipments")
+        void exportPendingShipments_NoShipments_WritesNothing() {
+            // Arrange
+            when(shipmentRepository.streamPendingResponses()).thenReturn(Stream.empty());
+
+            // Act
+            shipmentExportService.exportPendingShipments(ExportFormat.NDJSON, out);
+
+            // Assert
+            assertEquals(0, out.size());
+        }
+    }
+
+    @Nested
+    @DisplayName("CSV export Tests")
+    class CsvExportTests {
+
+        @Test
+        @DisplayName("Should write header and quote fields containing separators")
+        void exportShipmentsByCustomerId_Csv_WritesHeaderAndQuotedRows() {
+            // Arrange
+            when(shipmentRepository.streamResponsesByCustomerId(1L)).thenReturn(Stream.of(shipment));
+
+            // Act
+            shipmentExportService.exportShipmentsByCustomerId(1L, ExportFormat.CSV, out);
+
+            // Assert
+            String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+            assertEquals(2, lines.length);
+            assertTrue(lines[0].startsWith("id,status,senderId,"));
+            assertEquals("1,REGISTERED,1,sender,2,recipient,employee,,\"Address: 1 Main St, Sofia\","
+                    + "2.50,20.00,2024-01-10T09:00,", lines[1]);
+        }
+
+        @Test
+        @DisplayName("Should close the repository stream")
+        void exportAllShipments_ClosesStream() {
+            // Arrange
+            boolean[] closed = {false};
+            when(shipmentRepository.streamAllResponses())
+                    .thenReturn(Stream.of(shipment).onClose(() -> closed[0] = true));
+
+            // Act
+            shipmentExportService.exportAllShipments(ExportFormat.CSV, out);
+
+            // Assert
+            assertTrue(closed[0]);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.logistics.service;
+
+import com.logistics.dto.report.DashboardMetricsResponse;
+import com.logistics.model.enums.ShipmentStatus;
+import com.logistics.repository.ShipmentRepository;
+import com.logistics.service.impl.ShipmentMetricsServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ShipmentMetricsService.
+ * Tests the in-memory dashboard counters outside of a transaction,
+ * where every update is applied immediately.
+ */
+@ExtendWith(MockitoExtension.class)
+class ShipmentMetricsServiceTest {
+
+    @Mock
+    private ShipmentRepository shipmentRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private ShipmentMetricsServiceImpl shipmentMetricsService;
+
+    private List<Object[]> seedRows;
+
+    @BeforeEach
+    void setUp() {
+        seedRows = new ArrayList<>();
+        seedRows.add(new Object[]{ShipmentStatus.REGISTERED, 4L, new BigDecimal("40.00")});
+        seedRows.add(new Object[]{ShipmentStatus.IN_TRANSIT, 2L, new BigDecimal("30.00")});
+        seedRows.add(new Object[]{ShipmentStatus.DELIVERED, 3L, new BigDecimal("45.50")});
+    }
+
+    @Nested
+    @DisplayName("getDashboardMetrics Tests")
+    class GetDashboardMetricsTests {
+
+        @Test
+        @DisplayName("Should load the counters once and serve later reads from memory")
+        void getDashboardMetrics_LoadsOnce() {
+            // Arrange
+            when(shipmentRepository.countAndSumPriceByStatus()).thenReturn(seedRows);
+
+            // Act
+            shipmentMetricsService.getDashboardMetrics();
+            DashboardMetricsResponse result = shipmentMetricsService.getDashboardMetrics();
+
+            // Assert
+            assertEquals(9L, result.getTotalShipments());
+            assertEquals(6L, result.getPendingShipments());
+            assertEquals(3L, result.getDeliveredShipments());
+            assertEquals(new BigDecimal("115.50"), result.getTotalRevenue());
+            verify(shipmentRepository, times(1)).countAndSumPriceByStatus();
+        }
+    }
+
+    @Nested
+    @DisplayName("record Tests")
+    class RecordTests {
+
+        @BeforeEach
+        void seed() {
+            when(shipmentRepository.countAndSumPriceByStatus()).thenReturn(seedRows);
+            shipmentMetricsService.reconcile();
+        }
+
+        @Test
+        @DisplayName("Should count registrations and their revenue")
+        void recordRegistered_AddsCountAndRevenue() {
+            // Act
+            shipmentMetricsService.recordRegistered(2, new BigDecimal("20.25"));
+
+            // Assert
+            DashboardMetricsResponse result = shipmentMetricsService.getDashboardMetrics();
+            assertEquals(11L, result.getTotalShipments());
+            assertEquals(8L, result.getPendingShipments());
+            assertEquals(new BigDecimal("135.75"), result.getTotalRevenue());
+        }
+
+        @Test
+        @DisplayName("Should move counts between statuses without changing the total")
+        void recordTransition_MovesCount() {
+            // Act
+            shipmentMetricsService.recordTransition(ShipmentStatus.IN_TRANSIT, ShipmentStatus.DELIVERED, 2);
+
+            // Assert
+            DashboardMetricsResponse result = shipmentMetricsService.getDashboardMetrics();
+            assertEquals(9L, result.getTotalShipments());
+            assertEquals(4L, result.getPendingShipments());
+            assertEquals(5L, result.getDeliveredShipments());
+        }
+
+        @Test
+        @DisplayName("Should remove deleted shipments and apply price changes")
+        void recordDeletedAndPriceChange_AdjustRevenue() {
+            // Act
+            shipmentMetricsService.recordDeleted(ShipmentStatus.DELIVERED, new BigDecimal("15.50"));
+            shipmentMetricsService.recordPriceChange(new BigDecimal("-5.00"));
+
+            // Assert
+            DashboardMetricsResponse result = shipmentMetricsService.getDashboardMetrics();
+            assertEquals(8L, result.getTotalShipments());
+            assertEquals(2L, result.getDeliveredShipments());
+            assertEquals(new BigDecimal("95.00"), result.getTotalRevenue());
+        }
+
+        @Test
+        @DisplayName("Should replace drifted counters on reconcile")
+        void reconcile_ReplacesCounters() {
+            // Arrange
+            shipmentMetricsService.recordRegistered(100, new BigDecimal("1000.00"));
+
+            // Act
+            shipmentMetricsService.reconcile();
+
+            // Assert
+            assertEquals(9L, shipmentMetricsService.getDashboardMetrics().getTotalShipments());
+        }
+
+        @Test
+        @DisplayName("Should reconcile in a new read-write transaction, which is routed to the primary")
+        void reconcile_ReadsInReadWriteTransaction() {
+            // Act
+            shipmentMetricsService.reconcile();
+
+            // Assert - once for the seed, once here
+            ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+            verify(transactionManager, times(2)).getTransaction(definition.capture());
+            assertFalse(definition.getValue().isReadOnly());
+            assertEquals(TransactionDefinition.PROPAGATION_REQUIRES_NEW,
+                    definition.getValue().getPropagationBehavior());
+        }
+    }
+}
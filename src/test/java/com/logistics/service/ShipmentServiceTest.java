@@ -1,5 +1,8 @@
 package com.logistics.service;
 
+import com.logistics.dto.shipment.ShipmentBatchResponse;
+import com.logistics.dto.shipment.ShipmentBulkStatusResponse;
+import com.logistics.dto.shipment.ShipmentPageResponse;
 import com.logistics.dto.shipment.ShipmentRequest;
 import com.logistics.dto.shipment.ShipmentResponse;
 import com.logistics.dto.shipment.ShipmentStatusUpdateRequest;
@@ -13,7 +16,10 @@ import com.logistics.repository.CustomerRepository;
 import com.logistics.repository.EmployeeRepository;
 import com.logistics.repository.OfficeRepository;
 import com.logistics.repository.ShipmentRepository;
+import com.logistics.service.impl.CustomerMetricsCache;
 import com.logistics.service.impl.ShipmentServiceImpl;
+import com.logistics.util.EntityMapper;
+import com.logistics.util.ShipmentCursor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -22,12 +28,16 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -55,6 +65,21 @@ class ShipmentServiceTest {
     @Mock
     private PricingService pricingService;
 
+    @Mock
+    private RevenueRollupService revenueRollupService;
+
+    @Mock
+    private ShipmentMetricsService shipmentMetricsService;
+
+    @Mock
+    private CustomerMetricsCache customerMetricsCache;
+
+    @Mock
+    private ShipmentAnalyticsService shipmentAnalyticsService;
+
+    @Mock
+    private DeliveryLatencyService deliveryLatencyService;
+
     @InjectMocks
     private ShipmentServiceImpl shipmentService;
 
@@ -153,7 +178,7 @@ class ShipmentServiceTest {
             when(employeeRepository.findByUsername("employee")).thenReturn(Optional.of(employee));
             when(customerRepository.findById(1L)).thenReturn(Optional.of(sender));
             when(customerRepository.findById(2L)).thenReturn(Optional.of(recipient));
-            when(pricingService.calculatePrice(any(), eq(false))).thenReturn(new BigDecimal("25.00"));
+            when(pricingService.calculatePrice(any(), eq(false), any(), any())).thenReturn(new BigDecimal("25.00"));
             when(shipmentRepository.save(any(Shipment.class))).thenAnswer(invocation -> {
                 Shipment s = invocation.getArgument(0);
                 s.setId(1L);
@@ -169,6 +194,8 @@ class ShipmentServiceTest {
             assertEquals("789 Delivery Rd", response.getDeliveryAddress());
             assertEquals(ShipmentStatus.REGISTERED, response.getStatus());
             verify(shipmentRepository).save(any(Shipment.class));
+            verify(shipmentMetricsService).recordRegistered(1, new BigDecimal("25.00"));
+            verify(shipmentAnalyticsService).recordSaved(anyList());
         }
 
         @Test
@@ -185,7 +212,7 @@ class ShipmentServiceTest {
             when(customerRepository.findById(1L)).thenReturn(Optional.of(sender));
             when(customerRepository.findById(2L)).thenReturn(Optional.of(recipient));
             when(officeRepository.findById(1L)).thenReturn(Optional.of(office));
-            when(pricingService.calculatePrice(any(), eq(true))).thenReturn(new BigDecimal("15.00"));
+            when(pricingService.calculatePrice(any(), eq(true), any(), any())).thenReturn(new BigDecimal("15.00"));
             when(shipmentRepository.save(any(Shipment.class))).thenAnswer(invocation -> {
                 Shipment s = invocation.getArgument(0);
                 s.setId(1L);
@@ -199,7 +226,7 @@ class ShipmentServiceTest {
             assertNotNull(response);
             assertEquals(new BigDecimal("15.00"), response.getPrice());
             assertNotNull(response.getDeliveryOfficeName());
-            verify(pricingService).calculatePrice(any(), eq(true));
+            verify(pricingService).calculatePrice(any(), eq(true), isNull(), eq(1L));
         }
 
         @Test
@@ -272,6 +299,126 @@ class ShipmentServiceTest {
 
             assertTrue(exception.getMessage().contains("sender"));
         }
+
+        @Test
+        @DisplayName("Should apply the batch validation to a single shipment")
+        void registerShipment_AddressTooLong_ThrowsException() {
+            // Arrange
+            ShipmentRequest request = new ShipmentRequest();
+            request.setSenderId(1L);
+            request.setRecipientId(2L);
+            request.setDeliveryAddress("x".repeat(256));
+            request.setWeight(new BigDecimal("5.00"));
+
+            // Act & Assert
+            InvalidDataException exception = assertThrows(InvalidDataException.class,
+                    () -> shipmentService.registerShipment(request, "employee"));
+
+            assertTrue(exception.getMessage().contains("255 characters"));
+            verify(shipmentRepository, never()).save(any(Shipment.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("registerShipments Tests")
+    class RegisterShipmentsTests {
+
+        private ShipmentRequest addressRequest;
+        private ShipmentRequest officeRequest;
+
+        @BeforeEach
+        void setUpBatch() {
+            addressRequest = new ShipmentRequest();
+            addressRequest.setSenderId(1L);
+            addressRequest.setRecipientId(2L);
+            addressRequest.setDeliveryAddress("789 Delivery Rd");
+            addressRequest.setWeight(new BigDecimal("5.00"));
+
+            officeRequest = new ShipmentRequest();
+            officeRequest.setSenderId(2L);
+            officeRequest.setRecipientId(1L);
+            officeRequest.setDeliveryOfficeId(1L);
+            officeRequest.setWeight(new BigDecimal("2.00"));
+        }
+
+        @Test
+        @DisplayName("Should resolve references once, price in one pass and save all")
+        void registerShipments_ValidItems_RegistersAll() {
+            // Arrange
+            when(employeeRepository.findByUsername("employee")).thenReturn(Optional.of(employee));
+            when(customerRepository.findByIdIn(anyCollection())).thenReturn(List.of(sender, recipient));
+            when(officeRepository.findAllById(anyCollection())).thenReturn(List.of(office));
+            when(pricingService.calculatePrices(anyList(), anyList(), anyList(), anyList()))
+                    .thenReturn(List.of(new BigDecimal("25.00"), new BigDecimal("9.00")));
+            when(shipmentRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+            // Act
+            ShipmentBatchResponse response = shipmentService.registerShipments(
+                    List.of(addressRequest, officeRequest), "employee");
+
+            // Assert
+            assertEquals(2, response.getRegistered());
+            assertEquals(0, response.getRejected());
+            assertEquals(new BigDecimal("25.00"), response.getResults().get(0).getShipment().getPrice());
+            assertEquals("Main Office", response.getResults().get(1).getShipment().getDeliveryOfficeName());
+            verify(pricingService).calculatePrices(
+                    List.of(new BigDecimal("5.00"), new BigDecimal("2.00")), List.of(false, true),
+                    Arrays.asList(null, null), Arrays.asList(null, 1L));
+            verify(customerRepository, never()).findById(any());
+            verify(shipmentRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("Should reject invalid items and still register the rest")
+        void registerShipments_MixedItems_ReportsPerItemResults() {
+            // Arrange
+            ShipmentRequest unknownSender = new ShipmentRequest();
+            unknownSender.setSenderId(99L);
+            unknownSender.setRecipientId(2L);
+            unknownSender.setDeliveryAddress("Somewhere");
+            unknownSender.setWeight(new BigDecimal("1.00"));
+
+            ShipmentRequest noDestination = new ShipmentRequest();
+            noDestination.setSenderId(1L);
+            noDestination.setRecipientId(2L);
+            noDestination.setWeight(new BigDecimal("1.00"));
+
+            when(employeeRepository.findByUsername("employee")).thenReturn(Optional.of(employee));
+            when(customerRepository.findByIdIn(anyCollection())).thenReturn(List.of(sender, recipient));
+            when(pricingService.calculatePrices(anyList(), anyList(), anyList(), anyList()))
+                    .thenReturn(List.of(new BigDecimal("25.00")));
+            when(shipmentRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+            // Act
+            ShipmentBatchResponse response = shipmentService.registerShipments(
+                    Arrays.asList(unknownSender, addressRequest, noDestination), "employee");
+
+            // Assert
+            assertEquals(1, response.getRegistered());
+            assertEquals(2, response.getRejected());
+            assertFalse(response.getResults().get(0).isSuccess());
+            assertTrue(response.getResults().get(0).getError().contains("sender"));
+            assertTrue(response.getResults().get(1).isSuccess());
+            assertEquals(1, response.getResults().get(1).getIndex());
+            assertFalse(response.getResults().get(2).isSuccess());
+        }
+
+        @Test
+        @DisplayName("Should reject empty batch")
+        void registerShipments_EmptyBatch_ThrowsException() {
+            assertThrows(InvalidDataException.class,
+                    () -> shipmentService.registerShipments(List.of(), "employee"));
+            verifyNoInteractions(shipmentRepository);
+        }
+
+        @Test
+        @DisplayName("Should throw exception when employee not found")
+        void registerShipments_EmployeeNotFound_ThrowsException() {
+            when(employeeRepository.findByUsername("unknown")).thenReturn(Optional.empty());
+
+            assertThrows(ResourceNotFoundException.class,
+                    () -> shipmentService.registerShipments(List.of(addressRequest), "unknown"));
+        }
     }
 
     @Nested
@@ -282,7 +429,8 @@ class ShipmentServiceTest {
         @DisplayName("Should return shipment when found")
         void getShipmentById_Exists_ReturnsShipment() {
             // Arrange
-            when(shipmentRepository.findById(1L)).thenReturn(Optional.of(shipment));
+            when(shipmentRepository.findResponseById(1L))
+                    .thenReturn(Optional.of(EntityMapper.toShipmentResponse(shipment)));
 
             // Act
             ShipmentResponse response = shipmentService.getShipmentById(1L);
@@ -297,7 +445,7 @@ class ShipmentServiceTest {
         @DisplayName("Should throw exception when shipment not found")
         void getShipmentById_NotFound_ThrowsException() {
             // Arrange
-            when(shipmentRepository.findById(999L)).thenReturn(Optional.empty());
+            when(shipmentRepository.findResponseById(999L)).thenReturn(Optional.empty());
 
             // Act & Assert
             assertThrows(ResourceNotFoundException.class,
@@ -323,7 +471,8 @@ class ShipmentServiceTest {
             shipment2.setDeliveryAddress("Another Address");
             shipment2.setStatus(ShipmentStatus.IN_TRANSIT);
 
-            when(shipmentRepository.findAll()).thenReturn(Arrays.asList(shipment, shipment2));
+            when(shipmentRepository.findAllResponses()).thenReturn(Arrays.asList(
+                    EntityMapper.toShipmentResponse(shipment), EntityMapper.toShipmentResponse(shipment2)));
 
             // Act
             List<ShipmentResponse> responses = shipmentService.getAllShipments();
@@ -336,7 +485,7 @@ class ShipmentServiceTest {
         @DisplayName("Should return empty list when no shipments exist")
         void getAllShipments_NoShipments_ReturnsEmptyList() {
             // Arrange
-            when(shipmentRepository.findAll()).thenReturn(Arrays.asList());
+            when(shipmentRepository.findAllResponses()).thenReturn(Arrays.asList());
 
             // Act
             List<ShipmentResponse> responses = shipmentService.getAllShipments();
@@ -346,6 +495,109 @@ class ShipmentServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("getShipmentsPage Tests")
+    class GetShipmentsPageTests {
+
+        private Shipment shipment2;
+
+        @BeforeEach
+        void setUpPage() {
+            shipment.setRegisteredAt(LocalDateTime.of(2024, 1, 10, 9, 0));
+
+            shipment2 = new Shipment();
+            shipment2.setId(2L);
+            shipment2.setSender(sender);
+            shipment2.setRecipient(recipient);
+            shipment2.setRegisteredBy(employee);
+            shipment2.setWeight(new BigDecimal("3.00"));
+            shipment2.setPrice(new BigDecimal("16.00"));
+            shipment2.setDeliveryAddress("Another Address");
+            shipment2.setStatus(ShipmentStatus.IN_TRANSIT);
+            shipment2.setRegisteredAt(LocalDateTime.of(2024, 1, 10, 9, 5));
+        }
+
+        @Test
+        @DisplayName("Should return first page with cursor when more rows exist")
+        void getShipmentsPage_FirstPage_ReturnsCursor() {
+            // Arrange - limit 1, repository returns limit + 1 rows
+            when(shipmentRepository.findFirstPage(any(Pageable.class)))
+                    .thenReturn(Arrays.asList(EntityMapper.toShipmentResponse(shipment),
+                            EntityMapper.toShipmentResponse(shipment2)));
+
+            // Act
+            ShipmentPageResponse page = shipmentService.getShipmentsPage(null, 1);
+
+            // Assert
+            assertEquals(1, page.getItems().size());
+            assertEquals(1L, page.getItems().get(0).getId());
+            assertTrue(page.isHasMore());
+
+            ShipmentCursor cursor = ShipmentCursor.decode(page.getNextCursor());
+            assertEquals(1L, cursor.getId());
+            assertEquals(shipment.getRegisteredAt(), cursor.getRegisteredAt());
+            verify(shipmentRepository).findFirstPage(argThat(p -> p.getPageSize() == 2));
+        }
+
+        @Test
+        @DisplayName("Should continue after cursor position and end without cursor")
+        void getShipmentsPage_WithCursor_ReturnsLastPage() {
+            // Arrange
+            String cursor = new ShipmentCursor(shipment.getRegisteredAt(), 1L).encode();
+            when(shipmentRepository.findPageAfter(eq(shipment.getRegisteredAt()), eq(1L), any(Pageable.class)))
+                    .thenReturn(List.of(EntityMapper.toShipmentResponse(shipment2)));
+
+            // Act
+            ShipmentPageResponse page = shipmentService.getShipmentsPage(cursor, 1);
+
+            // Assert
+            assertEquals(1, page.getItems().size());
+            assertEquals(2L, page.getItems().get(0).getId());
+            assertFalse(page.isHasMore());
+            assertNull(page.getNextCursor());
+        }
+
+        @Test
+        @DisplayName("Should reject malformed cursor")
+        void getShipmentsPage_InvalidCursor_ThrowsException() {
+            assertThrows(InvalidDataException.class,
+                    () -> shipmentService.getShipmentsPage("not-a-cursor", 10));
+        }
+
+        @Test
+        @DisplayName("Should reject limit outside allowed range")
+        void getShipmentsPage_InvalidLimit_ThrowsException() {
+            assertThrows(InvalidDataException.class, () -> shipmentService.getShipmentsPage(null, 0));
+            assertThrows(InvalidDataException.class, () -> shipmentService.getShipmentsPage(null, 501));
+            verifyNoInteractions(shipmentRepository);
+        }
+
+        @Test
+        @DisplayName("Should page customer shipments")
+        void getShipmentsPageByCustomerId_ReturnsCustomerPage() {
+            // Arrange
+            when(customerRepository.existsById(1L)).thenReturn(true);
+            when(shipmentRepository.findFirstPageByCustomerId(eq(1L), any(Pageable.class)))
+                    .thenReturn(List.of(EntityMapper.toShipmentResponse(shipment)));
+
+            // Act
+            ShipmentPageResponse page = shipmentService.getShipmentsPageByCustomerId(1L, null, 10);
+
+            // Assert
+            assertEquals(1, page.getItems().size());
+            assertFalse(page.isHasMore());
+        }
+
+        @Test
+        @DisplayName("Should throw exception when customer not found")
+        void getShipmentsPageByCustomerId_CustomerNotFound_ThrowsException() {
+            when(customerRepository.existsById(999L)).thenReturn(false);
+
+            assertThrows(ResourceNotFoundException.class,
+                    () -> shipmentService.getShipmentsPageByCustomerId(999L, null, 10));
+        }
+    }
+
     @Nested
     @DisplayName("updateShipmentStatus Tests")
     class UpdateShipmentStatusTests {
@@ -357,7 +609,7 @@ class ShipmentServiceTest {
             ShipmentStatusUpdateRequest request = new ShipmentStatusUpdateRequest();
             request.setStatus(ShipmentStatus.IN_TRANSIT);
 
-            when(shipmentRepository.findById(1L)).thenReturn(Optional.of(shipment));
+            when(shipmentRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(shipment));
             when(shipmentRepository.save(any(Shipment.class))).thenReturn(shipment);
 
             // Act
@@ -375,7 +627,7 @@ class ShipmentServiceTest {
             ShipmentStatusUpdateRequest request = new ShipmentStatusUpdateRequest();
             request.setStatus(ShipmentStatus.DELIVERED);
 
-            when(shipmentRepository.findById(1L)).thenReturn(Optional.of(shipment));
+            when(shipmentRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(shipment));
             when(shipmentRepository.save(any(Shipment.class))).thenReturn(shipment);
 
             // Act
@@ -384,6 +636,9 @@ class ShipmentServiceTest {
             // Assert
             assertEquals(ShipmentStatus.DELIVERED, response.getStatus());
             assertNotNull(shipment.getDeliveredAt());
+            verify(revenueRollupService).recordDelivery(shipment);
+            verify(deliveryLatencyService).recordDelivery(shipment);
+            verify(shipmentMetricsService).recordTransition(ShipmentStatus.IN_TRANSIT, ShipmentStatus.DELIVERED, 1);
         }
 
         @Test
@@ -394,7 +649,7 @@ class ShipmentServiceTest {
             ShipmentStatusUpdateRequest request = new ShipmentStatusUpdateRequest();
             request.setStatus(ShipmentStatus.IN_TRANSIT);
 
-            when(shipmentRepository.findById(1L)).thenReturn(Optional.of(shipment));
+            when(shipmentRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(shipment));
 
             // Act & Assert
             InvalidDataException exception = assertThrows(InvalidDataException.class,
@@ -411,7 +666,7 @@ class ShipmentServiceTest {
             ShipmentStatusUpdateRequest request = new ShipmentStatusUpdateRequest();
             request.setStatus(ShipmentStatus.IN_TRANSIT);
 
-            when(shipmentRepository.findById(1L)).thenReturn(Optional.of(shipment));
+            when(shipmentRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(shipment));
 
             // Act & Assert
             assertThrows(InvalidDataException.class,
@@ -425,7 +680,7 @@ class ShipmentServiceTest {
             ShipmentStatusUpdateRequest request = new ShipmentStatusUpdateRequest();
             request.setStatus(ShipmentStatus.DELIVERED);
 
-            when(shipmentRepository.findById(1L)).thenReturn(Optional.of(shipment));
+            when(shipmentRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(shipment));
 
             // Act & Assert
             InvalidDataException exception = assertThrows(InvalidDataException.class,
@@ -433,6 +688,30 @@ class ShipmentServiceTest {
 
             assertTrue(exception.getMessage().contains("Invalid status transition"));
         }
+
+        @Test
+        @DisplayName("Should count a delivery once when DELIVERED is sent again")
+        void updateShipmentStatus_DeliveredTwice_RecordsDeliveryOnce() {
+            // Arrange
+            shipment.setStatus(ShipmentStatus.IN_TRANSIT);
+            ShipmentStatusUpdateRequest request = new ShipmentStatusUpdateRequest();
+            request.setStatus(ShipmentStatus.DELIVERED);
+
+            when(shipmentRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(shipment));
+            when(shipmentRepository.save(any(Shipment.class))).thenReturn(shipment);
+            shipmentService.updateShipmentStatus(1L, request);
+            LocalDateTime deliveredAt = shipment.getDeliveredAt();
+
+            // Act
+            ShipmentResponse response = shipmentService.updateShipmentStatus(1L, request);
+
+            // Assert
+            assertEquals(ShipmentStatus.DELIVERED, response.getStatus());
+            assertEquals(deliveredAt, shipment.getDeliveredAt());
+            verify(revenueRollupService, times(1)).recordDelivery(shipment);
+            verify(deliveryLatencyService, times(1)).recordDelivery(shipment);
+            verify(shipmentRepository, never()).findById(any());
+        }
     }
 
     @Nested
@@ -450,7 +729,7 @@ class ShipmentServiceTest {
             request.setWeight(new BigDecimal("7.00"));
 
             when(shipmentRepository.findById(1L)).thenReturn(Optional.of(shipment));
-            when(pricingService.calculatePrice(any(), eq(false))).thenReturn(new BigDecimal("29.00"));
+            when(pricingService.calculatePrice(any(), eq(false), any(), any())).thenReturn(new BigDecimal("29.00"));
             when(shipmentRepository.save(any(Shipment.class))).thenReturn(shipment);
 
             // Act
@@ -490,21 +769,25 @@ class ShipmentServiceTest {
         @DisplayName("Should delete shipment successfully")
         void deleteShipment_Exists_Success() {
             // Arrange
-            when(shipmentRepository.existsById(1L)).thenReturn(true);
-            doNothing().when(shipmentRepository).deleteById(1L);
+            when(shipmentRepository.findById(1L)).thenReturn(Optional.of(shipment));
 
             // Act
             shipmentService.deleteShipment(1L);
 
             // Assert
-            verify(shipmentRepository).deleteById(1L);
+            verify(revenueRollupService).recordRemoval(shipment);
+            verify(deliveryLatencyService).recordRemoval(shipment);
+            verify(shipmentRepository).delete(shipment);
+            verify(shipmentMetricsService).recordDeleted(ShipmentStatus.REGISTERED, new BigDecimal("25.00"));
+            verify(shipmentAnalyticsService).recordDeleted(1L);
+            verify(customerMetricsCache).evictAfterCommit(List.of(1L, 2L));
         }
 
         @Test
         @DisplayName("Should throw exception when shipment not found")
         void deleteShipment_NotFound_ThrowsException() {
             // Arrange
-            when(shipmentRepository.existsById(999L)).thenReturn(false);
+            when(shipmentRepository.findById(999L)).thenReturn(Optional.empty());
 
             // Act & Assert
             assertThrows(ResourceNotFoundException.class,
@@ -512,6 +795,129 @@ class ShipmentServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("updateShipmentStatuses Tests")
+    class UpdateShipmentStatusesTests {
+
+        @Test
+        @DisplayName("Should update legal transitions and report rejected and unknown IDs")
+        void updateShipmentStatuses_ByIds_ReportsRejectedAndNotFound() {
+            // Arrange
+            when(shipmentRepository.updateStatusByIds(anyCollection(), eq(ShipmentStatus.IN_TRANSIT),
+                    eq(EnumSet.of(ShipmentStatus.REGISTERED)), any(LocalDateTime.class)))
+                    .thenReturn(1);
+            when(shipmentRepository.findIdsNotInStatus(anyCollection(), eq(ShipmentStatus.IN_TRANSIT)))
+                    .thenReturn(List.of(2L));
+            when(shipmentRepository.findExistingIds(anyCollection())).thenReturn(List.of(1L, 2L));
+            when(shipmentRepository.findCustomerIdsByIds(anyCollection())).thenReturn(List.of(7L, 8L));
+
+            // Act
+            ShipmentBulkStatusResponse response = shipmentService.updateShipmentStatuses(
+                    Arrays.asList(1L, 2L, 3L, 1L), ShipmentStatus.IN_TRANSIT);
+
+            // Assert
+            assertEquals(1, response.getUpdated());
+            assertEquals(List.of(2L), response.getRejectedIds());
+            assertEquals(List.of(3L), response.getNotFoundIds());
+            verify(shipmentRepository, never()).findById(any());
+            verify(shipmentMetricsService).recordTransition(ShipmentStatus.REGISTERED, ShipmentStatus.IN_TRANSIT, 1);
+            verify(shipmentAnalyticsService).recordStatusChange(Set.of(1L, 2L, 3L),
+                    EnumSet.of(ShipmentStatus.REGISTERED), ShipmentStatus.IN_TRANSIT);
+            verify(customerMetricsCache).evictAfterCommit(List.of(7L, 8L));
+            verify(customerMetricsCache, never()).evictAllAfterCommit();
+        }
+
+        @Test
+        @DisplayName("Should re-read the dashboard counters after a bulk cancel")
+        void updateShipmentStatuses_ToCancelled_ReconcilesCounters() {
+            // Arrange
+            when(shipmentRepository.updateStatusByIds(anyCollection(), eq(ShipmentStatus.CANCELLED),
+                    eq(EnumSet.of(ShipmentStatus.REGISTERED, ShipmentStatus.IN_TRANSIT)), any(LocalDateTime.class)))
+                    .thenReturn(2);
+
+            // Act
+            shipmentService.updateShipmentStatuses(List.of(1L, 2L), ShipmentStatus.CANCELLED);
+
+            // Assert
+            verify(shipmentMetricsService).reconcileAfterCommit();
+            verify(shipmentMetricsService, never()).recordTransition(any(), any(), anyLong());
+        }
+
+        @Test
+        @DisplayName("Should only deliver shipments that are in transit")
+        void updateShipmentStatuses_ToDelivered_OnlyFromInTransit() {
+            // Arrange
+            when(shipmentRepository.lockIdsInStatuses(anyCollection(), eq(EnumSet.of(ShipmentStatus.IN_TRANSIT))))
+                    .thenReturn(List.of(1L));
+            when(shipmentRepository.updateStatusByIds(eq(List.of(1L)), eq(ShipmentStatus.DELIVERED),
+                    eq(EnumSet.of(ShipmentStatus.IN_TRANSIT)), any(LocalDateTime.class)))
+                    .thenReturn(1);
+
+            // Act
+            ShipmentBulkStatusResponse response = shipmentService.updateShipmentStatuses(
+                    List.of(1L, 2L), ShipmentStatus.DELIVERED);
+
+            // Assert
+            assertEquals(1, response.getUpdated());
+            verify(revenueRollupService).recordDeliveries(List.of(1L));
+            verify(deliveryLatencyService).recordDeliveries(List.of(1L));
+        }
+
+        @Test
+        @DisplayName("Should add filter-delivered shipments to the revenue rollup")
+        void updateShipmentStatuses_ByFilterToDelivered_RecordsRevenue() {
+            // Arrange
+            when(shipmentRepository.lockIdsByFilter(ShipmentStatus.IN_TRANSIT, null)).thenReturn(List.of(4L, 5L));
+            when(shipmentRepository.updateStatusByIds(eq(List.of(4L, 5L)), eq(ShipmentStatus.DELIVERED),
+                    eq(EnumSet.of(ShipmentStatus.IN_TRANSIT)), any(LocalDateTime.class)))
+                    .thenReturn(2);
+
+            // Act
+            ShipmentBulkStatusResponse response = shipmentService.updateShipmentStatuses(
+                    ShipmentStatus.IN_TRANSIT, null, ShipmentStatus.DELIVERED);
+
+            // Assert
+            assertEquals(2, response.getUpdated());
+            verify(revenueRollupService).recordDeliveries(List.of(4L, 5L));
+            verify(deliveryLatencyService).recordDeliveries(List.of(4L, 5L));
+            verify(shipmentRepository, never()).updateStatusByFilter(any(), any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should update all shipments matching the filter")
+        void updateShipmentStatuses_ByFilter_UpdatesMatching() {
+            // Arrange
+            when(shipmentRepository.updateStatusByFilter(eq(ShipmentStatus.REGISTERED), eq(1L),
+                    eq(ShipmentStatus.IN_TRANSIT), any(LocalDateTime.class)))
+                    .thenReturn(40);
+
+            // Act
+            ShipmentBulkStatusResponse response = shipmentService.updateShipmentStatuses(
+                    ShipmentStatus.REGISTERED, 1L, ShipmentStatus.IN_TRANSIT);
+
+            // Assert
+            assertEquals(40, response.getUpdated());
+            assertTrue(response.getRejectedIds().isEmpty());
+            verify(shipmentMetricsService).recordTransition(ShipmentStatus.REGISTERED, ShipmentStatus.IN_TRANSIT, 40);
+            verify(customerMetricsCache).evictAllAfterCommit();
+        }
+
+        @Test
+        @DisplayName("Should reject an illegal filter transition without touching the database")
+        void updateShipmentStatuses_IllegalFilterTransition_ThrowsException() {
+            assertThrows(InvalidDataException.class, () -> shipmentService.updateShipmentStatuses(
+                    ShipmentStatus.DELIVERED, null, ShipmentStatus.IN_TRANSIT));
+            verifyNoInteractions(shipmentRepository);
+        }
+
+        @Test
+        @DisplayName("Should reject an empty ID list")
+        void updateShipmentStatuses_NoIds_ThrowsException() {
+            assertThrows(InvalidDataException.class,
+                    () -> shipmentService.updateShipmentStatuses(List.of(), ShipmentStatus.IN_TRANSIT));
+        }
+    }
+
     @Nested
     @DisplayName("getShipmentsByStatus Tests")
     class GetShipmentsByStatusTests {
@@ -520,8 +926,8 @@ class ShipmentServiceTest {
         @DisplayName("Should return shipments filtered by status")
         void getShipmentsByStatus_ReturnsFilteredShipments() {
             // Arrange
-            when(shipmentRepository.findByStatus(ShipmentStatus.REGISTERED))
-                    .thenReturn(Arrays.asList(shipment));
+            when(shipmentRepository.findResponsesByStatus(ShipmentStatus.REGISTERED))
+                    .thenReturn(Arrays.asList(EntityMapper.toShipmentResponse(shipment)));
 
             // Act
             List<ShipmentResponse> responses = shipmentService.getShipmentsByStatus(ShipmentStatus.REGISTERED);